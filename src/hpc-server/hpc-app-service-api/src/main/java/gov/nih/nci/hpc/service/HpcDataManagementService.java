@@ -14,9 +14,11 @@ import java.util.Optional;
 
 import gov.nih.nci.hpc.domain.datamanagement.HpcAuditRequestType;
 import gov.nih.nci.hpc.domain.datamanagement.HpcBulkDataObjectRegistrationTaskStatus;
+import gov.nih.nci.hpc.domain.datamanagement.HpcBulkMetadataUpdateTaskStatus;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollection;
 import gov.nih.nci.hpc.domain.datamanagement.HpcDataObject;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPathAttributes;
+import gov.nih.nci.hpc.domain.datamanagement.HpcPathType;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPermissionForCollection;
 import gov.nih.nci.hpc.domain.datamanagement.HpcSubjectPermission;
 import gov.nih.nci.hpc.domain.datatransfer.HpcFileLocation;
@@ -27,6 +29,8 @@ import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationResult;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationStatus;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTaskItem;
 import gov.nih.nci.hpc.domain.model.HpcDataManagementConfiguration;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectRegistrationRequest;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectRegistrationResult;
@@ -705,4 +709,108 @@ public interface HpcDataManagementService {
 	public void addBulkUpdateAuditRecord(String userId, HpcCompoundMetadataQuery query,
 			HpcCompoundMetadataQueryType queryType, List<HpcMetadataEntry> metadataEntries);
 
+	/**
+	 * Create a bulk metadata update task. The collection and data object paths
+	 * requested explicitly are added to the task as (pending) items. The queries
+	 * are resolved into items when the task is processed. A bulk update audit
+	 * record (linked to the task) is added for each query and metadata entry.
+	 *
+	 * @param userId                  The user submitting the task.
+	 * @param dataObjectCompoundQuery (Optional) The query to find the data objects
+	 *                                to update.
+	 * @param collectionCompoundQuery (Optional) The query to find the collections
+	 *                                to update.
+	 * @param metadataEntries         The metadata entries to update.
+	 * @param dataObjectPaths         The data object paths to update.
+	 * @param collectionPaths         The collection paths to update.
+	 * @return The created bulk metadata update task.
+	 * @throws HpcException on service failure.
+	 */
+	public HpcBulkMetadataUpdateTask createBulkMetadataUpdateTask(String userId,
+			HpcCompoundMetadataQuery dataObjectCompoundQuery, HpcCompoundMetadataQuery collectionCompoundQuery,
+			List<HpcMetadataEntry> metadataEntries, List<String> dataObjectPaths, List<String> collectionPaths)
+			throws HpcException;
+
+	/**
+	 * Get a bulk metadata update task. The items counts of a task in progress are
+	 * calculated.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @return The bulk metadata update task, or null if not found.
+	 * @throws HpcException on service failure.
+	 */
+	public HpcBulkMetadataUpdateTask getBulkMetadataUpdateTask(String taskId) throws HpcException;
+
+	/**
+	 * Get bulk metadata update tasks.
+	 *
+	 * @param status Get tasks in this status.
+	 * @return A list of bulk metadata update tasks.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcBulkMetadataUpdateTask> getBulkMetadataUpdateTasks(HpcBulkMetadataUpdateTaskStatus status)
+			throws HpcException;
+
+	/**
+	 * Update a bulk metadata update task (status).
+	 *
+	 * @param bulkMetadataUpdateTask The bulk metadata update task to update.
+	 * @throws HpcException on service failure.
+	 */
+	public void updateBulkMetadataUpdateTask(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask) throws HpcException;
+
+	/**
+	 * Add (pending) items to a bulk metadata update task. Paths already added to
+	 * the task are ignored.
+	 *
+	 * @param taskId   The bulk metadata update task ID.
+	 * @param paths    The collection / data object paths to add.
+	 * @param pathType The path type.
+	 * @throws HpcException on service failure.
+	 */
+	public void addBulkMetadataUpdateTaskItems(String taskId, List<String> paths, HpcPathType pathType)
+			throws HpcException;
+
+	/**
+	 * Get the next chunk of pending items of a bulk metadata update task.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @return A list of pending items.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcBulkMetadataUpdateTaskItem> getPendingBulkMetadataUpdateTaskItems(String taskId)
+			throws HpcException;
+
+	/**
+	 * Get the failed items of a bulk metadata update task.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @return A list of failed items (up to a configured limit).
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcBulkMetadataUpdateTaskItem> getFailedBulkMetadataUpdateTaskItems(String taskId)
+			throws HpcException;
+
+	/**
+	 * Record the result of bulk metadata update task items.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @param items  The items w/ the update result (and message) set.
+	 * @throws HpcException on service failure.
+	 */
+	public void completeBulkMetadataUpdateTaskItems(String taskId, List<HpcBulkMetadataUpdateTaskItem> items)
+			throws HpcException;
+
+	/**
+	 * Complete a bulk metadata update task. The items counts and the task result
+	 * are recorded.
+	 *
+	 * @param bulkMetadataUpdateTask The bulk metadata update task to complete.
+	 * @param result                 The task result. A successful task is recorded
+	 *                               as failed if any of its items failed.
+	 * @throws HpcException on service failure.
+	 */
+	public void completeBulkMetadataUpdateTask(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask, boolean result)
+			throws HpcException;
+
 }
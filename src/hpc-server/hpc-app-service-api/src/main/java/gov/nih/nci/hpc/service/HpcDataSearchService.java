@@ -14,9 +14,11 @@ import gov.nih.nci.hpc.domain.metadata.HpcMetadataLevelAttributes;
 import gov.nih.nci.hpc.domain.metadata.HpcNamedCompoundMetadataQuery;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntry;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntryForCollection;
+import gov.nih.nci.hpc.domain.metadata.HpcSearchObjectPath;
 import gov.nih.nci.hpc.exception.HpcException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * HPC Data Search Application Service Interface.
@@ -51,6 +53,47 @@ public interface HpcDataSearchService {
 	public List<HpcSearchMetadataEntryForCollection> getDetailedCollectionPaths(
 			HpcCompoundMetadataQuery compoundMetadataQuery, int page, int pageSize) throws HpcException;
 
+	/**
+	 * Get detailed collection attributes and metadata of a list of collection
+	 * paths.
+	 *
+	 * @param collectionPaths The collection paths.
+	 * @return A list of HpcSearchMetadataEntryForCollection. Collections not found
+	 *         in the hierarchical metadata views are not included.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcSearchMetadataEntryForCollection> getDetailedCollectionPaths(List<String> collectionPaths)
+			throws HpcException;
+
+	/**
+	 * Get collection paths by compound metadata query, using keyset pagination.
+	 *
+	 * @param compoundMetadataQuery The compound metadata query.
+	 * @param afterObjectId         (Optional) The object ID of the last collection
+	 *                              in the previous page. Null for the first page.
+	 * @param pageSize              The page size specified by the user or 0 for
+	 *                              default.
+	 * @return A list of collection IDs and paths.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcSearchObjectPath> getCollectionPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			Integer afterObjectId, int pageSize) throws HpcException;
+
+	/**
+	 * Get detailed collection paths and attributes by compound metadata query,
+	 * using keyset pagination.
+	 *
+	 * @param compoundMetadataQuery The compound metadata query.
+	 * @param afterObjectId         (Optional) The object ID of the last collection
+	 *                              in the previous page. Null for the first page.
+	 * @param pageSize              The page size specified by the user or 0 for
+	 *                              default.
+	 * @return A list of HpcSearchMetadataEntryForCollection.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcSearchMetadataEntryForCollection> getDetailedCollectionPathsAfter(
+			HpcCompoundMetadataQuery compoundMetadataQuery, Integer afterObjectId, int pageSize) throws HpcException;
+
 	/**
 	 * Get count of collections matching a compound metadata query.
 	 *
@@ -86,6 +129,17 @@ public interface HpcDataSearchService {
 	public List<HpcSearchMetadataEntry> getDetailedDataObjectPaths(HpcCompoundMetadataQuery compoundMetadataQuery,
 			int page, int pageSize) throws HpcException;
 
+	/**
+	 * Get detailed data object metadata of a list of data object paths.
+	 *
+	 * @param dataObjectPaths The data object paths.
+	 * @return A list of HpcSearchMetadataEntry. Data objects not found in the
+	 *         hierarchical metadata views are not included.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcSearchMetadataEntry> getDetailedDataObjectPaths(List<String> dataObjectPaths)
+			throws HpcException;
+
 	/**
 	 * Get all data object and user attributes under the specified path.
 	 * 
@@ -100,6 +154,21 @@ public interface HpcDataSearchService {
 	public List<HpcSearchMetadataEntry> getAllDataObjectPaths(String dataManagementUsername, String path, int offset,
 			int pageSize) throws HpcException;
 
+	/**
+	 * Stream all data object and user attributes under the specified path. The
+	 * entries are passed to the consumer as they are read from the DB, ordered by
+	 * data object ID and level, so memory use does not depend on the result size.
+	 *
+	 * @param dataManagementUsername The user who requested the search
+	 * @param path                   The path in search in if specified.
+	 * @param fetchSize              The number of rows to fetch from the DB per
+	 *                               round trip.
+	 * @param consumer               The consumer of the streamed entries.
+	 * @throws HpcException on service failure.
+	 */
+	public void streamAllDataObjectPaths(String dataManagementUsername, String path, int fetchSize,
+			Consumer<HpcSearchMetadataEntry> consumer) throws HpcException;
+
 	/**
 	 * Get count of all data object under a specified path.
 	 *
@@ -137,6 +206,37 @@ public interface HpcDataSearchService {
 	public List<HpcSearchMetadataEntryForCollection> getDetailedDataObjectParentPaths(
 			HpcCompoundMetadataQuery compoundMetadataQuery, int page, int pageSize) throws HpcException;
 
+	/**
+	 * Get data object paths by compound metadata query, using keyset pagination.
+	 *
+	 * @param compoundMetadataQuery The compound metadata query.
+	 * @param afterObjectId         (Optional) The object ID of the last data
+	 *                              object in the previous page. Null for the first
+	 *                              page.
+	 * @param pageSize              The page size specified by the user or 0 for
+	 *                              default.
+	 * @return A list of data object IDs and paths.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcSearchObjectPath> getDataObjectPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			Integer afterObjectId, int pageSize) throws HpcException;
+
+	/**
+	 * Get detailed data object paths and attributes by compound metadata query,
+	 * using keyset pagination.
+	 *
+	 * @param compoundMetadataQuery The compound metadata query.
+	 * @param afterObjectId         (Optional) The object ID of the last data
+	 *                              object in the previous page. Null for the first
+	 *                              page.
+	 * @param pageSize              The page size specified by the user or 0 for
+	 *                              default.
+	 * @return A list of HpcSearchMetadataEntry.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcSearchMetadataEntry> getDetailedDataObjectPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			Integer afterObjectId, int pageSize) throws HpcException;
+
 	/**
 	 * Get count of data object matching a compound metadata query.
 	 *
@@ -146,6 +246,16 @@ public interface HpcDataSearchService {
 	 */
 	public int getDataObjectCount(HpcCompoundMetadataQuery compoundMetadataQuery) throws HpcException;
 
+	/**
+	 * Get a high-water mark of the searchable metadata. Search results computed
+	 * under the same high-water mark are still valid (excluding permission
+	 * changes).
+	 *
+	 * @return The metadata high-water mark.
+	 * @throws HpcException on service failure.
+	 */
+	public String getMetadataHighWaterMark() throws HpcException;
+
 	/**
 	 * Get the search results page size.
 	 *
@@ -25,6 +25,8 @@ import gov.nih.nci.hpc.domain.datatransfer.HpcAsperaAccount;
 import gov.nih.nci.hpc.domain.datatransfer.HpcAsperaDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcBoxDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTask;
+import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItem;
+import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItemsSummary;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskStatus;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadResponse;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadTask;
@@ -494,15 +496,34 @@ public interface HpcDataTransferService {
 	 */
 	public HpcDownloadTaskStatus getDownloadTaskStatus(String taskId, HpcDownloadTaskType taskType) throws HpcException;
 
+	/**
+	 * Get download task status.
+	 *
+	 * @param taskId       The download task ID.
+	 * @param taskType     The download task type (data-object or collection).
+	 * @param includeItems If false, the items of a collection download task /
+	 *                     result are not loaded. Use getCollectionDownloadTaskItems()
+	 *                     to page through them.
+	 * @return A download status object, or null if the task can't be found.
+	 * @throws HpcException on service failure.
+	 */
+	public HpcDownloadTaskStatus getDownloadTaskStatus(String taskId, HpcDownloadTaskType taskType,
+			boolean includeItems) throws HpcException;
+
 	/**
 	 * Get current status of active (result not captured yet) download items in a
 	 * collection download task.
 	 *
-	 * @param downloadTask The collection download task to get items status for
+	 * @param collectionDownloadTaskId The collection download task ID.
+	 * @param downloadItems            The download items to get status for.
+	 * @param updatedSince             Include only in-progress data object
+	 *                                 download tasks updated after this time. If
+	 *                                 null, all in-progress tasks are included.
 	 * @return A map from download item ID to the status
 	 * @throws HpcException on service failure.
 	 */
-	public Map<String, HpcDownloadTaskStatus> getDownloadItemsStatus(HpcCollectionDownloadTask downloadTask)
+	public Map<String, HpcDownloadTaskStatus> getDownloadItemsStatus(String collectionDownloadTaskId,
+			List<HpcCollectionDownloadTaskItem> downloadItems, Calendar updatedSince)
 			throws HpcException;
 
 	/**
@@ -603,6 +624,21 @@ public interface HpcDataTransferService {
 	 */
 	public void resetDataObjectDownloadTask(HpcDataObjectDownloadTask downloadTask) throws HpcException;
 
+	/**
+	 * Claim the next batch of RECEIVED data object download tasks of a given data
+	 * transfer type. The claimed tasks are marked in-process and processed, so they
+	 * are not picked up by another server or thread. The batch size is configured
+	 * per data transfer type.
+	 *
+	 * @param dataTransferType The data object download task data transfer type.
+	 * @param processed        The processed date to pick up only records that have
+	 *                         not yet been processed in this run.
+	 * @return The claimed data object download tasks (empty list if none found).
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcDataObjectDownloadTask> claimDataObjectDownloadTasks(HpcDataTransferType dataTransferType,
+			Date processed) throws HpcException;
+
 	/**
 	 * Reset all download tasks in-process indicator to false
 	 *
@@ -778,6 +814,85 @@ public interface HpcDataTransferService {
 	 */
 	public void updateCollectionDownloadTask(HpcCollectionDownloadTask downloadTask) throws HpcException;
 
+	/**
+	 * Update collection download task items. Items that were not persisted yet are
+	 * added.
+	 *
+	 * @param taskId        The collection download task ID.
+	 * @param downloadItems The download items to update.
+	 * @throws HpcException on service failure.
+	 */
+	public void updateCollectionDownloadTaskItems(String taskId, List<HpcCollectionDownloadTaskItem> downloadItems)
+			throws HpcException;
+
+	/**
+	 * Get a page of collection download task items.
+	 *
+	 * @param taskId      The collection download task ID.
+	 * @param afterItemId Return items w/ item ID greater than this value (0 for
+	 *                    the first page).
+	 * @param limit       The max number of items to return.
+	 * @return A list of download items ordered by item ID.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcCollectionDownloadTaskItem> getCollectionDownloadTaskItems(String taskId, int afterItemId,
+			int limit) throws HpcException;
+
+	/**
+	 * Get the collection download task items w/o a result, whose data object
+	 * download task was updated since a given time or completed.
+	 *
+	 * @param taskId       The collection download task ID.
+	 * @param updatedSince Get items updated after this time. If null, all items
+	 *                     w/o a result are returned.
+	 * @return A list of download items.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcCollectionDownloadTaskItem> getUpdatedCollectionDownloadTaskItems(String taskId,
+			Calendar updatedSince) throws HpcException;
+
+	/**
+	 * Get a summary (counts, size, bytes transferred) of the items in a collection
+	 * download task.
+	 *
+	 * @param taskId The collection download task ID.
+	 * @return The items summary.
+	 * @throws HpcException on service failure.
+	 */
+	public HpcCollectionDownloadTaskItemsSummary getCollectionDownloadTaskItemsSummary(String taskId)
+			throws HpcException;
+
+	/**
+	 * Set the time the status of collection download task items was last
+	 * refreshed.
+	 *
+	 * @param taskId         The collection download task ID.
+	 * @param itemsRefreshed The refresh time.
+	 * @throws HpcException on service failure.
+	 */
+	public void setCollectionDownloadTaskItemsRefreshed(String taskId, Calendar itemsRefreshed)
+			throws HpcException;
+
+	/**
+	 * Count the data object download tasks of a collection download task in a
+	 * given status.
+	 *
+	 * @param taskId             The collection download task ID.
+	 * @param dataTransferStatus The data transfer status to count.
+	 * @return The count of data object download tasks.
+	 * @throws HpcException on service failure.
+	 */
+	public int getDataObjectDownloadTasksCountByCollectionDownloadTaskId(String taskId,
+			HpcDataTransferDownloadStatus dataTransferStatus) throws HpcException;
+
+	/**
+	 * Delete all the items of a collection download task.
+	 *
+	 * @param taskId The collection download task ID.
+	 * @throws HpcException on service failure.
+	 */
+	public void deleteCollectionDownloadTaskItems(String taskId) throws HpcException;
+
 	/**
 	 * Process the second hop download to Globus of a collection, by submitting a
 	 * single transfer request for the entire bunch.
@@ -853,6 +968,16 @@ public interface HpcDataTransferService {
 	public List<HpcCollectionDownloadTask> getCollectionDownloadTasks(HpcCollectionDownloadTaskStatus status)
 			throws HpcException;
 
+	/**
+	 * Get collection download tasks w/o their items.
+	 *
+	 * @param status Get tasks in this status.
+	 * @return A list of collection download tasks.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcCollectionDownloadTask> getCollectionDownloadTasksWithoutItems(
+			HpcCollectionDownloadTaskStatus status) throws HpcException;
+
 	/**
 	 * Get collection download tasks.
 	 *
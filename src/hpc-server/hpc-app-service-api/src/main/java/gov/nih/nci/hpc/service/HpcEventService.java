@@ -27,19 +27,22 @@ import gov.nih.nci.hpc.exception.HpcException;
  */
 public interface HpcEventService {
 	/**
-	 * Get all (active) events.
+	 * Get a page of (active) events, ordered by ID.
 	 *
+	 * @param afterEventId Get events with ID greater than this ID.
+	 * @param limit        The max number of events to get.
 	 * @return A list of events.
 	 * @throws HpcException on service failure.
 	 */
-	public List<HpcEvent> getEvents() throws HpcException;
+	public List<HpcEvent> getEvents(int afterEventId, int limit) throws HpcException;
 
 	/**
-	 * Archive an event. Move it from the active table to the history table.
+	 * Archive a batch of events. Move them from the active table to the history
+	 * table.
 	 *
-	 * @param event The event to archive
+	 * @param events The events to archive
 	 */
-	public void archiveEvent(HpcEvent event);
+	public void archiveEvents(List<HpcEvent> events);
 
 	/**
 	 * Get an archived event.
@@ -27,6 +27,7 @@ import gov.nih.nci.hpc.domain.datatransfer.HpcFileLocation;
 import gov.nih.nci.hpc.domain.metadata.HpcGroupedMetadataEntries;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntries;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataViewRefreshStatus;
 import gov.nih.nci.hpc.domain.model.HpcSystemGeneratedMetadata;
 import gov.nih.nci.hpc.exception.HpcException;
 
@@ -271,6 +272,16 @@ public interface HpcMetadataService {
 	 */
 	public HpcSystemGeneratedMetadata getDataObjectSystemGeneratedMetadata(String path) throws HpcException;
 
+	/**
+	 * Get the system generated metadata of a list of data objects (in one query).
+	 *
+	 * @param paths The data object paths.
+	 * @return A map of data object path to its system generated metadata.
+	 * @throws HpcException on service failure.
+	 */
+	public Map<String, HpcSystemGeneratedMetadata> getDataObjectsSystemGeneratedMetadata(List<String> paths)
+			throws HpcException;
+
 	/**
 	 * Update system generated metadata of a data object.
 	 *
@@ -349,6 +360,14 @@ public interface HpcMetadataService {
 	 */
 	public void refreshViews() throws HpcException;
 
+	/**
+	 * Get the last refresh status of the incrementally refreshed metadata views.
+	 *
+	 * @return A list of metadata view refresh status.
+	 * @throws HpcException on service failure.
+	 */
+	public List<HpcMetadataViewRefreshStatus> getViewsRefreshStatus() throws HpcException;
+
 	/**
 	 * Get collection system metadata attribute names.
 	 *
@@ -8,6 +8,7 @@
  */
 package gov.nih.nci.hpc.service;
 
+import gov.nih.nci.hpc.domain.notification.HpcEvent;
 import gov.nih.nci.hpc.domain.notification.HpcEventPayloadEntry;
 import gov.nih.nci.hpc.domain.notification.HpcEventType;
 import gov.nih.nci.hpc.domain.notification.HpcNotificationDeliveryMethod;
@@ -17,6 +18,7 @@ import gov.nih.nci.hpc.domain.notification.HpcSystemAdminNotificationType;
 import gov.nih.nci.hpc.exception.HpcException;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * HPC Notification Application Service Interface.
@@ -62,6 +64,17 @@ public interface HpcNotificationService {
   public HpcNotificationSubscription getNotificationSubscription(
       String userId, HpcEventType eventType) throws HpcException;
 
+  /**
+   * Get all notification subscriptions to an event type. Note: the subscriptions triggers are not
+   * populated.
+   *
+   * @param eventType The event type.
+   * @return A map of notification subscriptions by user ID.
+   * @throws HpcException on service failure.
+   */
+  public Map<String, HpcNotificationSubscription> getNotificationSubscriptionsByEventType(
+      HpcEventType eventType) throws HpcException;
+
   /**
    * Get notification subscribed users.
    *
@@ -117,6 +130,56 @@ public interface HpcNotificationService {
       HpcNotificationDeliveryMethod deliveryMethod,
       boolean deliveryStatus);
 
+  /**
+   * Add an event to a user's notification digest. The event is notified when the
+   * digest is sent.
+   *
+   * @param userId The user ID.
+   * @param eventId The event ID.
+   * @throws HpcException on service failure.
+   */
+  public void addNotificationDigestEntry(String userId, int eventId) throws HpcException;
+
+  /**
+   * Get the users w/ a notification digest due to be sent, i.e. the digest window
+   * elapsed since the oldest event was added to their digest.
+   *
+   * @return A list of user IDs.
+   * @throws HpcException on service failure.
+   */
+  public List<String> getNotificationDigestUsers() throws HpcException;
+
+  /**
+   * Get the (archived) events in a user's notification digest.
+   *
+   * @param userId The user ID.
+   * @return A list of events, ordered by event ID.
+   * @throws HpcException on service failure.
+   */
+  public List<HpcEvent> getNotificationDigestEvents(String userId) throws HpcException;
+
+  /**
+   * Send a user a notification digest (a single notification summarizing the
+   * events).
+   *
+   * @param userId The user ID.
+   * @param events The events to summarize in the digest.
+   * @param deliveryMethod The delivery method.
+   * @return true if the digest was sent successfully.
+   */
+  public boolean sendNotificationDigest(
+      String userId, List<HpcEvent> events, HpcNotificationDeliveryMethod deliveryMethod);
+
+  /**
+   * Delete events from a user's notification digest.
+   *
+   * @param userId The user ID.
+   * @param events The events to delete from the digest.
+   * @throws HpcException on service failure.
+   */
+  public void deleteNotificationDigestEntries(String userId, List<HpcEvent> events)
+      throws HpcException;
+
   /**
    * Get Notification Delivery Receipts for a user.
    *
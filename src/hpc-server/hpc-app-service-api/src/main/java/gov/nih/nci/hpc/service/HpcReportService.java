@@ -36,5 +36,13 @@ public interface HpcReportService {
    */
   public void refreshViews() throws HpcException;
 
+  /**
+   * Roll up the reports materialized views into the daily report rollups (days since the last
+   * roll up). Called after the reports materialized views are refreshed.
+   *
+   * @throws HpcException on service failure.
+   */
+  public void refreshRollups() throws HpcException;
+
 
 }
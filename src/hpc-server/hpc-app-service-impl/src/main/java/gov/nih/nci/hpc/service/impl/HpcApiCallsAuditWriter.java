@@ -0,0 +1,285 @@
+/**
+ * HpcApiCallsAuditWriter.java
+ *
+ * <p>
+ * Copyright SVG, Inc. Copyright Leidos Biomedical Research, Inc
+ *
+ * <p>
+ * Distributed under the OSI-approved BSD 3-Clause License. See
+ * http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+package gov.nih.nci.hpc.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import gov.nih.nci.hpc.dao.HpcApiCallsAuditDAO;
+import gov.nih.nci.hpc.domain.error.HpcErrorType;
+import gov.nih.nci.hpc.domain.model.HpcApiCallAuditRecord;
+import gov.nih.nci.hpc.exception.HpcException;
+
+/**
+ * Asynchronous API calls audit writer. Audit records are added to a bounded
+ * queue, and a background thread drains the queue and stores the records in
+ * batches (JDBC batch insert). When the queue is full, the overflow policy
+ * determines if the record is dropped or stored synchronously by the caller.
+ *
+ * @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+ */
+public class HpcApiCallsAuditWriter {
+	// ---------------------------------------------------------------------//
+	// Constants
+	// ---------------------------------------------------------------------//
+
+	// Queue overflow policies.
+	public enum HpcOverflowPolicy {
+		// Drop the audit record (and count it).
+		DROP,
+		// Store the audit record synchronously in the calling thread.
+		CALLER_RUNS
+	}
+
+	// Log a warning every this many dropped audit records.
+	private static final long DROPPED_WARNING_INTERVAL = 1000;
+
+	// ---------------------------------------------------------------------//
+	// Instance members
+	// ---------------------------------------------------------------------//
+
+	// The API Calls Audit DAO instance.
+	@Autowired
+	private HpcApiCallsAuditDAO apiCallsAuditDAO = null;
+
+	// The pending audit records.
+	private BlockingQueue<HpcApiCallAuditRecord> auditRecords = null;
+
+	// The max number of audit records stored in one batch.
+	private int batchSize = 0;
+
+	// The max time (in milliseconds) an audit record waits in the queue before
+	// a (partial) batch is stored.
+	private long flushInterval = 0;
+
+	// The queue overflow policy.
+	private HpcOverflowPolicy overflowPolicy = null;
+
+	// The interval (in milliseconds) to log the writer metrics.
+	private long metricsLogInterval = 0;
+
+	// The writer thread.
+	private Thread writer = null;
+	private volatile boolean running = false;
+
+	// Metrics.
+	private final AtomicLong queuedCount = new AtomicLong();
+	private final AtomicLong writtenCount = new AtomicLong();
+	private final AtomicLong droppedCount = new AtomicLong();
+	private final AtomicLong callerRunsCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+
+	// The logger instance.
+	private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
+
+	// ---------------------------------------------------------------------//
+	// Constructors
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 *
+	 * @param queueCapacity      The max number of audit records pending to be
+	 *                           stored.
+	 * @param batchSize          The max number of audit records stored in one
+	 *                           batch.
+	 * @param flushInterval      The max time (in milliseconds) an audit record
+	 *                           waits in the queue.
+	 * @param overflowPolicy     The queue overflow policy (DROP or CALLER_RUNS).
+	 * @param metricsLogInterval The interval (in seconds) to log the writer
+	 *                           metrics.
+	 */
+	private HpcApiCallsAuditWriter(int queueCapacity, int batchSize, long flushInterval, String overflowPolicy,
+			int metricsLogInterval) {
+		this.auditRecords = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		this.overflowPolicy = HpcOverflowPolicy.valueOf(overflowPolicy);
+		this.metricsLogInterval = TimeUnit.SECONDS.toMillis(metricsLogInterval);
+	}
+
+	// ---------------------------------------------------------------------//
+	// Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Start the writer thread. Called by Spring as init-method.
+	 */
+	public void start() {
+		running = true;
+		writer = new Thread(this::write, "hpc-api-calls-audit-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Stop the writer thread. Pending audit records are stored before the thread
+	 * ends. Called by Spring as destroy-method.
+	 */
+	public void stop() {
+		running = false;
+		if (writer != null) {
+			try {
+				writer.join(flushInterval + TimeUnit.SECONDS.toMillis(30));
+
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		logMetrics();
+	}
+
+	/**
+	 * Add an API call audit record. The record is stored asynchronously.
+	 *
+	 * @param auditRecord The audit record.
+	 * @throws HpcException if the record was stored synchronously (writer not
+	 *                      running or CALLER_RUNS overflow policy) and failed.
+	 */
+	public void add(HpcApiCallAuditRecord auditRecord) throws HpcException {
+		if (auditRecord == null) {
+			throw new HpcException("Null API call audit record", HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		if (!running) {
+			apiCallsAuditDAO.insert(List.of(auditRecord));
+			return;
+		}
+
+		if (auditRecords.offer(auditRecord)) {
+			queuedCount.incrementAndGet();
+			return;
+		}
+
+		// The queue is full.
+		if (overflowPolicy == HpcOverflowPolicy.CALLER_RUNS) {
+			callerRunsCount.incrementAndGet();
+			apiCallsAuditDAO.insert(List.of(auditRecord));
+			writtenCount.incrementAndGet();
+		} else {
+			long dropped = droppedCount.incrementAndGet();
+			if (dropped % DROPPED_WARNING_INTERVAL == 1) {
+				logger.warn("API calls audit queue is full - {} audit records dropped so far", dropped);
+			}
+		}
+	}
+
+	/**
+	 * Get the number of audit records pending to be stored.
+	 *
+	 * @return The queue size.
+	 */
+	public int getQueueSize() {
+		return auditRecords.size();
+	}
+
+	/**
+	 * Get the number of audit records dropped because the queue was full.
+	 *
+	 * @return The dropped audit records count.
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * Get the number of audit records that failed to be stored.
+	 *
+	 * @return The failed audit records count.
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	/**
+	 * Get the number of audit records stored.
+	 *
+	 * @return The stored audit records count.
+	 */
+	public long getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	// ---------------------------------------------------------------------//
+	// Helper Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * The writer thread loop. Drain the queue and store the audit records in
+	 * batches until stopped and the queue is empty.
+	 */
+	private void write() {
+		long lastMetricsLog = System.currentTimeMillis();
+		List<HpcApiCallAuditRecord> batch = new ArrayList<>(batchSize);
+		while (running || !auditRecords.isEmpty()) {
+			try {
+				HpcApiCallAuditRecord auditRecord = auditRecords.poll(flushInterval, TimeUnit.MILLISECONDS);
+				if (auditRecord != null) {
+					batch.add(auditRecord);
+					auditRecords.drainTo(batch, batchSize - 1);
+					store(batch);
+					batch.clear();
+				}
+
+			} catch (InterruptedException e) {
+				logger.error("API calls audit writer interrupted", e);
+				running = false;
+				auditRecords.drainTo(batch);
+				store(batch);
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			if (System.currentTimeMillis() - lastMetricsLog >= metricsLogInterval) {
+				logMetrics();
+				lastMetricsLog = System.currentTimeMillis();
+			}
+		}
+	}
+
+	/**
+	 * Store a batch of audit records. Failures are logged and counted.
+	 *
+	 * @param batch The audit records to store.
+	 */
+	private void store(List<HpcApiCallAuditRecord> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		try {
+			apiCallsAuditDAO.insert(batch);
+			writtenCount.addAndGet(batch.size());
+
+		} catch (Exception e) {
+			failedCount.addAndGet(batch.size());
+			logger.error("Failed to store {} API call audit records", batch.size(), e);
+		}
+	}
+
+	/**
+	 * Log the writer metrics.
+	 */
+	private void logMetrics() {
+		logger.info(
+				"API calls audit writer: queue size - {}, queued - {}, written - {}, dropped - {}, caller-runs - {}, failed - {}",
+				auditRecords.size(), queuedCount.get(), writtenCount.get(), droppedCount.get(), callerRunsCount.get(),
+				failedCount.get());
+	}
+}
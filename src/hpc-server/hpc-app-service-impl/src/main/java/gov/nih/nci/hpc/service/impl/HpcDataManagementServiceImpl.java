@@ -34,19 +34,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.CollectionUtils;
 
+import gov.nih.nci.hpc.dao.HpcBulkMetadataUpdateDAO;
 import gov.nih.nci.hpc.dao.HpcBulkUpdateAuditDAO;
 import gov.nih.nci.hpc.dao.HpcDataManagementAuditDAO;
 import gov.nih.nci.hpc.dao.HpcDataRegistrationDAO;
 import gov.nih.nci.hpc.dao.HpcMetadataDAO;
 import gov.nih.nci.hpc.domain.datamanagement.HpcAuditRequestType;
 import gov.nih.nci.hpc.domain.datamanagement.HpcBulkDataObjectRegistrationTaskStatus;
+import gov.nih.nci.hpc.domain.datamanagement.HpcBulkMetadataUpdateTaskStatus;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollection;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollectionListingEntry;
 import gov.nih.nci.hpc.domain.datamanagement.HpcDataObject;
 import gov.nih.nci.hpc.domain.datamanagement.HpcDataObjectRegistrationTaskItem;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPathAttributes;
+import gov.nih.nci.hpc.domain.datamanagement.HpcPathType;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPermission;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPermissionForCollection;
 import gov.nih.nci.hpc.domain.datamanagement.HpcSubjectPermission;
@@ -69,6 +73,8 @@ import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationItem;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationResult;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationStatus;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTaskItem;
 import gov.nih.nci.hpc.domain.model.HpcDataManagementConfiguration;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectRegistrationRequest;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectRegistrationResult;
@@ -130,6 +136,10 @@ public class HpcDataManagementServiceImpl implements HpcDataManagementService {
 	@Autowired
 	private HpcBulkUpdateAuditDAO bulkUpdateAuditDAO = null;
 
+	// The Bulk Metadata Update DAO instance.
+	@Autowired
+	private HpcBulkMetadataUpdateDAO bulkMetadataUpdateDAO = null;
+
 	// Metadata DAO.
 	@Autowired
 	private HpcMetadataDAO metadataDAO = null;
@@ -216,6 +226,15 @@ public class HpcDataManagementServiceImpl implements HpcDataManagementService {
 	// The number of days a deleted data object is retained
 	private Integer deletedDataObjectRetentionDays = 0;
 
+	// The number of bulk metadata update task items processed in a chunk.
+	@Value("${hpc.service.dataManagement.bulkMetadataUpdateTaskChunkSize:1000}")
+	private int bulkMetadataUpdateTaskChunkSize = 0;
+
+	// The max number of failed items reported in a bulk metadata update task
+	// status.
+	@Value("${hpc.service.dataManagement.bulkMetadataUpdateTaskFailedItemsLimit:1000}")
+	private int bulkMetadataUpdateTaskFailedItemsLimit = 0;
+
 	// The logger instance.
 	private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
@@ -1390,6 +1409,143 @@ public class HpcDataManagementServiceImpl implements HpcDataManagementService {
 			}
 		}
 	}
+
+	@Override
+	public HpcBulkMetadataUpdateTask createBulkMetadataUpdateTask(String userId,
+			HpcCompoundMetadataQuery dataObjectCompoundQuery, HpcCompoundMetadataQuery collectionCompoundQuery,
+			List<HpcMetadataEntry> metadataEntries, List<String> dataObjectPaths, List<String> collectionPaths)
+			throws HpcException {
+		// Input validation.
+		if (StringUtils.isBlank(userId) || CollectionUtils.isEmpty(metadataEntries)) {
+			throw new HpcException("Invalid bulk metadata update task request", HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		// Create the task.
+		HpcBulkMetadataUpdateTask bulkMetadataUpdateTask = new HpcBulkMetadataUpdateTask();
+		bulkMetadataUpdateTask.setId(keyGenerator.generateKey());
+		bulkMetadataUpdateTask.setUserId(userId);
+		bulkMetadataUpdateTask.setStatus(HpcBulkMetadataUpdateTaskStatus.RECEIVED);
+		bulkMetadataUpdateTask.setDataObjectCompoundQuery(dataObjectCompoundQuery);
+		bulkMetadataUpdateTask.setCollectionCompoundQuery(collectionCompoundQuery);
+		bulkMetadataUpdateTask.getMetadataEntries().addAll(metadataEntries);
+		bulkMetadataUpdateTask.setCreated(Calendar.getInstance());
+
+		// Add the paths requested explicitly as task items. The task is persisted after
+		// its items, so the scheduler never picks up a task w/ only some of its items
+		// (if an item insert failed).
+		if (!CollectionUtils.isEmpty(dataObjectPaths)) {
+			bulkMetadataUpdateDAO.insertBulkMetadataUpdateTaskItems(bulkMetadataUpdateTask.getId(), dataObjectPaths,
+					HpcPathType.DATAOBJECT);
+		}
+		if (!CollectionUtils.isEmpty(collectionPaths)) {
+			bulkMetadataUpdateDAO.insertBulkMetadataUpdateTaskItems(bulkMetadataUpdateTask.getId(), collectionPaths,
+					HpcPathType.COLLECTION);
+		}
+		bulkMetadataUpdateDAO.insertBulkMetadataUpdateTask(bulkMetadataUpdateTask);
+
+		// Add the audit records of this task.
+		List<HpcCompoundMetadataQuery> queries = new ArrayList<>();
+		List<HpcCompoundMetadataQueryType> queryTypes = new ArrayList<>();
+		if (dataObjectCompoundQuery != null) {
+			queries.add(dataObjectCompoundQuery);
+			queryTypes.add(HpcCompoundMetadataQueryType.DATA_OBJECT);
+		}
+		if (collectionCompoundQuery != null) {
+			queries.add(collectionCompoundQuery);
+			queryTypes.add(HpcCompoundMetadataQueryType.COLLECTION);
+		}
+		if (queries.isEmpty()) {
+			// A task w/ paths only is audited w/o a query.
+			queries.add(null);
+			queryTypes.add(null);
+		}
+
+		for (int i = 0; i < queries.size(); i++) {
+			for (HpcMetadataEntry entry : metadataEntries) {
+				try {
+					bulkUpdateAuditDAO.insert(bulkMetadataUpdateTask.getId(), userId, queries.get(i),
+							queryTypes.get(i), entry.getAttribute(), entry.getValue(),
+							bulkMetadataUpdateTask.getCreated());
+
+				} catch (HpcException e) {
+					logger.error("Failed to add a bulk update audit record", HpcErrorType.DATABASE_ERROR, e);
+				}
+			}
+		}
+
+		return bulkMetadataUpdateTask;
+	}
+
+	@Override
+	public HpcBulkMetadataUpdateTask getBulkMetadataUpdateTask(String taskId) throws HpcException {
+		HpcBulkMetadataUpdateTask bulkMetadataUpdateTask = bulkMetadataUpdateDAO.getBulkMetadataUpdateTask(taskId);
+		if (bulkMetadataUpdateTask != null
+				&& !bulkMetadataUpdateTask.getStatus().equals(HpcBulkMetadataUpdateTaskStatus.COMPLETED)) {
+			// The task is in progress. Calculate the items counts.
+			bulkMetadataUpdateTask
+					.setItemsCount(bulkMetadataUpdateDAO.getBulkMetadataUpdateTaskItemsCount(taskId, null));
+			bulkMetadataUpdateTask.setCompletedItemsCount(
+					bulkMetadataUpdateDAO.getBulkMetadataUpdateTaskItemsCount(taskId, true));
+			bulkMetadataUpdateTask
+					.setFailedItemsCount(bulkMetadataUpdateDAO.getBulkMetadataUpdateTaskItemsCount(taskId, false));
+		}
+
+		return bulkMetadataUpdateTask;
+	}
+
+	@Override
+	public List<HpcBulkMetadataUpdateTask> getBulkMetadataUpdateTasks(HpcBulkMetadataUpdateTaskStatus status)
+			throws HpcException {
+		return bulkMetadataUpdateDAO.getBulkMetadataUpdateTasks(status);
+	}
+
+	@Override
+	public void updateBulkMetadataUpdateTask(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask) throws HpcException {
+		bulkMetadataUpdateDAO.updateBulkMetadataUpdateTask(bulkMetadataUpdateTask);
+	}
+
+	@Override
+	public void addBulkMetadataUpdateTaskItems(String taskId, List<String> paths, HpcPathType pathType)
+			throws HpcException {
+		if (!CollectionUtils.isEmpty(paths)) {
+			bulkMetadataUpdateDAO.insertBulkMetadataUpdateTaskItems(taskId, paths, pathType);
+		}
+	}
+
+	@Override
+	public List<HpcBulkMetadataUpdateTaskItem> getPendingBulkMetadataUpdateTaskItems(String taskId)
+			throws HpcException {
+		return bulkMetadataUpdateDAO.getPendingBulkMetadataUpdateTaskItems(taskId, bulkMetadataUpdateTaskChunkSize);
+	}
+
+	@Override
+	public List<HpcBulkMetadataUpdateTaskItem> getFailedBulkMetadataUpdateTaskItems(String taskId)
+			throws HpcException {
+		return bulkMetadataUpdateDAO.getFailedBulkMetadataUpdateTaskItems(taskId,
+				bulkMetadataUpdateTaskFailedItemsLimit);
+	}
+
+	@Override
+	public void completeBulkMetadataUpdateTaskItems(String taskId, List<HpcBulkMetadataUpdateTaskItem> items)
+			throws HpcException {
+		bulkMetadataUpdateDAO.updateBulkMetadataUpdateTaskItems(taskId, items);
+	}
+
+	@Override
+	public void completeBulkMetadataUpdateTask(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask, boolean result)
+			throws HpcException {
+		String taskId = bulkMetadataUpdateTask.getId();
+		bulkMetadataUpdateTask.setItemsCount(bulkMetadataUpdateDAO.getBulkMetadataUpdateTaskItemsCount(taskId, null));
+		bulkMetadataUpdateTask
+				.setCompletedItemsCount(bulkMetadataUpdateDAO.getBulkMetadataUpdateTaskItemsCount(taskId, true));
+		bulkMetadataUpdateTask
+				.setFailedItemsCount(bulkMetadataUpdateDAO.getBulkMetadataUpdateTaskItemsCount(taskId, false));
+		bulkMetadataUpdateTask.setResult(result && bulkMetadataUpdateTask.getFailedItemsCount() == 0);
+		bulkMetadataUpdateTask.setStatus(HpcBulkMetadataUpdateTaskStatus.COMPLETED);
+		bulkMetadataUpdateTask.setCompleted(Calendar.getInstance());
+
+		bulkMetadataUpdateDAO.updateBulkMetadataUpdateTask(bulkMetadataUpdateTask);
+	}
 	// ---------------------------------------------------------------------//
 	// Helper Methods
 	// ---------------------------------------------------------------------//
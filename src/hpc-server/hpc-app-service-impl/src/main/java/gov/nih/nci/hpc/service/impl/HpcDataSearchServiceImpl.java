@@ -15,6 +15,7 @@ import static gov.nih.nci.hpc.service.impl.HpcDomainValidator.isValidNamedCompou
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -30,6 +31,7 @@ import gov.nih.nci.hpc.domain.metadata.HpcMetadataQueryLevelFilter;
 import gov.nih.nci.hpc.domain.metadata.HpcNamedCompoundMetadataQuery;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntry;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntryForCollection;
+import gov.nih.nci.hpc.domain.metadata.HpcSearchObjectPath;
 import gov.nih.nci.hpc.exception.HpcException;
 import gov.nih.nci.hpc.integration.HpcDataManagementProxy;
 import gov.nih.nci.hpc.service.HpcDataSearchService;
@@ -165,6 +167,70 @@ public class HpcDataSearchServiceImpl implements HpcDataSearchService {
 		return hpcSearchMetadataEntries;
 	}
 
+	@Override
+	public List<HpcSearchMetadataEntryForCollection> getDetailedCollectionPaths(List<String> collectionPaths)
+			throws HpcException {
+		// Input validation.
+		if (collectionPaths == null) {
+			throw new HpcException("Null collection paths", HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		List<HpcSearchMetadataEntryForCollection> hpcSearchMetadataEntries = metadataDAO
+				.getDetailedCollectionPaths(toAbsolutePaths(collectionPaths));
+		for (HpcSearchMetadataEntryForCollection hpcSearchMetadataEntry : hpcSearchMetadataEntries) {
+			hpcSearchMetadataEntry.setCollectionName(toRelativePath(hpcSearchMetadataEntry.getCollectionName()));
+			hpcSearchMetadataEntry.setAbsolutePath(toRelativePath(hpcSearchMetadataEntry.getAbsolutePath()));
+			hpcSearchMetadataEntry
+					.setCollectionParentName(toRelativePath(hpcSearchMetadataEntry.getCollectionParentName()));
+		}
+		return hpcSearchMetadataEntries;
+	}
+
+	@Override
+	public List<HpcSearchObjectPath> getCollectionPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			Integer afterObjectId, int pageSize) throws HpcException {
+		// Input validation.
+		HpcDomainValidationResult validationResult = isValidCompoundMetadataQuery(compoundMetadataQuery,
+				dataManagementProxy);
+		if (!validationResult.getValid()) {
+			throw new HpcException("Invalid compound metadata query: " + validationResult.getMessage(),
+					HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		// Use the hierarchical metadata views to perform the search.
+		String dataManagementUsername = HpcRequestContext.getRequestInvoker().getDataManagementAccount().getUsername();
+		List<HpcSearchObjectPath> objectPaths = metadataDAO.getCollectionPathsAfter(compoundMetadataQuery,
+				dataManagementUsername, afterObjectId, getSearchResultsPageSize(pageSize),
+				defaultCollectionLevelFilter);
+		objectPaths.forEach(objectPath -> objectPath.setAbsolutePath(toRelativePath(objectPath.getAbsolutePath())));
+		return objectPaths;
+	}
+
+	@Override
+	public List<HpcSearchMetadataEntryForCollection> getDetailedCollectionPathsAfter(
+			HpcCompoundMetadataQuery compoundMetadataQuery, Integer afterObjectId, int pageSize) throws HpcException {
+		// Input validation.
+		HpcDomainValidationResult validationResult = isValidCompoundMetadataQuery(compoundMetadataQuery,
+				dataManagementProxy);
+		if (!validationResult.getValid()) {
+			throw new HpcException("Invalid compound metadata query: " + validationResult.getMessage(),
+					HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		// Use the hierarchical metadata views to perform the search.
+		String dataManagementUsername = HpcRequestContext.getRequestInvoker().getDataManagementAccount().getUsername();
+		List<HpcSearchMetadataEntryForCollection> hpcSearchMetadataEntries = metadataDAO
+				.getDetailedCollectionPathsAfter(compoundMetadataQuery, dataManagementUsername, afterObjectId,
+						getSearchResultsPageSize(pageSize), defaultDataObjectLevelFilter);
+		for (HpcSearchMetadataEntryForCollection hpcSearchMetadataEntry : hpcSearchMetadataEntries) {
+			hpcSearchMetadataEntry.setCollectionName(toRelativePath(hpcSearchMetadataEntry.getCollectionName()));
+			hpcSearchMetadataEntry.setAbsolutePath(toRelativePath(hpcSearchMetadataEntry.getAbsolutePath()));
+			hpcSearchMetadataEntry
+					.setCollectionParentName(toRelativePath(hpcSearchMetadataEntry.getCollectionParentName()));
+		}
+		return hpcSearchMetadataEntries;
+	}
+
 	@Override
 	public int getCollectionCount(HpcCompoundMetadataQuery compoundMetadataQuery) throws HpcException {
 		// Input validation.
@@ -238,6 +304,66 @@ public class HpcDataSearchServiceImpl implements HpcDataSearchService {
 		return hpcSearchMetadataEntries;
 	}
 
+	@Override
+	public List<HpcSearchMetadataEntry> getDetailedDataObjectPaths(List<String> dataObjectPaths)
+			throws HpcException {
+		// Input validation.
+		if (dataObjectPaths == null) {
+			throw new HpcException("Null data object paths", HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		List<HpcSearchMetadataEntry> hpcSearchMetadataEntries = metadataDAO
+				.getDetailedDataObjectPaths(toAbsolutePaths(dataObjectPaths));
+		for (HpcSearchMetadataEntry hpcSearchMetadataEntry : hpcSearchMetadataEntries) {
+			hpcSearchMetadataEntry.setCollectionName(toRelativePath(hpcSearchMetadataEntry.getCollectionName()));
+			hpcSearchMetadataEntry.setAbsolutePath(toRelativePath(hpcSearchMetadataEntry.getAbsolutePath()));
+		}
+		return hpcSearchMetadataEntries;
+	}
+
+	@Override
+	public List<HpcSearchObjectPath> getDataObjectPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			Integer afterObjectId, int pageSize) throws HpcException {
+		// Input Validation.
+		HpcDomainValidationResult validationResult = isValidCompoundMetadataQuery(compoundMetadataQuery,
+				dataManagementProxy);
+		if (!validationResult.getValid()) {
+			throw new HpcException("Invalid compound metadata query: " + validationResult.getMessage(),
+					HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		// Use the hierarchical metadata views to perform the search.
+		String dataManagementUsername = HpcRequestContext.getRequestInvoker().getDataManagementAccount().getUsername();
+		List<HpcSearchObjectPath> objectPaths = metadataDAO.getDataObjectPathsAfter(compoundMetadataQuery,
+				dataManagementUsername, afterObjectId, getSearchResultsPageSize(pageSize),
+				defaultDataObjectLevelFilter);
+		objectPaths.forEach(objectPath -> objectPath.setAbsolutePath(toRelativePath(objectPath.getAbsolutePath())));
+		return objectPaths;
+	}
+
+	@Override
+	public List<HpcSearchMetadataEntry> getDetailedDataObjectPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			Integer afterObjectId, int pageSize) throws HpcException {
+		// Input Validation.
+		HpcDomainValidationResult validationResult = isValidCompoundMetadataQuery(compoundMetadataQuery,
+				dataManagementProxy);
+		if (!validationResult.getValid()) {
+			throw new HpcException("Invalid compound metadata query: " + validationResult.getMessage(),
+					HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		// Use the hierarchical metadata views to perform the search.
+		String dataManagementUsername = HpcRequestContext.getRequestInvoker().getDataManagementAccount().getUsername();
+		List<HpcSearchMetadataEntry> hpcSearchMetadataEntries = metadataDAO.getDetailedDataObjectPathsAfter(
+				compoundMetadataQuery, dataManagementUsername, afterObjectId, getSearchResultsPageSize(pageSize),
+				defaultDataObjectLevelFilter);
+		for (HpcSearchMetadataEntry hpcSearchMetadataEntry : hpcSearchMetadataEntries) {
+			hpcSearchMetadataEntry.setCollectionName(toRelativePath(hpcSearchMetadataEntry.getCollectionName()));
+			hpcSearchMetadataEntry.setAbsolutePath(toRelativePath(hpcSearchMetadataEntry.getAbsolutePath()));
+		}
+		return hpcSearchMetadataEntries;
+	}
+
 	@Override
 	public int getDataObjectCount(HpcCompoundMetadataQuery compoundMetadataQuery) throws HpcException {
 		// Input Validation.
@@ -254,6 +380,11 @@ public class HpcDataSearchServiceImpl implements HpcDataSearchService {
 				defaultDataObjectLevelFilter);
 	}
 
+	@Override
+	public String getMetadataHighWaterMark() throws HpcException {
+		return metadataDAO.getMetadataHighWaterMark();
+	}
+
 	@Override
 	public List<HpcSearchMetadataEntry> getAllDataObjectPaths(String dataManagementUsername, String path, int offset,
 			int pageSize) throws HpcException {
@@ -275,6 +406,22 @@ public class HpcDataSearchServiceImpl implements HpcDataSearchService {
 		return hpcSearchMetadataEntries;
 	}
 
+	@Override
+	public void streamAllDataObjectPaths(String dataManagementUsername, String path, int fetchSize,
+			Consumer<HpcSearchMetadataEntry> consumer) throws HpcException {
+		// Input validation.
+		if (consumer == null || fetchSize < 1) {
+			throw new HpcException("Null consumer or invalid fetch size", HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		// Use the hierarchical metadata views to perform the search.
+		metadataDAO.streamAllDataObjectPaths(path, dataManagementUsername, fetchSize, hpcSearchMetadataEntry -> {
+			hpcSearchMetadataEntry.setCollectionName(toRelativePath(hpcSearchMetadataEntry.getCollectionName()));
+			hpcSearchMetadataEntry.setAbsolutePath(toRelativePath(hpcSearchMetadataEntry.getAbsolutePath()));
+			consumer.accept(hpcSearchMetadataEntry);
+		});
+	}
+
 	@Override
 	public int getAllDataObjectCount(String path) throws HpcException {
 
@@ -411,6 +558,21 @@ public class HpcDataSearchServiceImpl implements HpcDataSearchService {
 	// Helper Methods
 	// ---------------------------------------------------------------------//
 
+	/**
+	 * Convert a list of relative paths, to absolute paths.
+	 *
+	 * @param paths The list of relative paths.
+	 * @return List of absolute paths.
+	 */
+	private List<String> toAbsolutePaths(List<String> paths) {
+		List<String> absolutePaths = new ArrayList<>();
+		for (String path : paths) {
+			absolutePaths.add(dataManagementProxy.getAbsolutePath(path));
+		}
+
+		return absolutePaths;
+	}
+
 	/**
 	 * Convert a list of absolute paths, to relative paths.
 	 *
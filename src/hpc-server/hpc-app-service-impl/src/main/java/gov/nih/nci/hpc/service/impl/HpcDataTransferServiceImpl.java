@@ -64,6 +64,7 @@ import gov.nih.nci.hpc.domain.datatransfer.HpcAsperaDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcBoxDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTask;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItem;
+import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItemsSummary;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskStatus;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadRequest;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadResponse;
@@ -250,6 +251,23 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 	@Value("${hpc.service.dataTransfer.googleAccessTokenRetentionPeriod}")
 	private Integer googleAccessTokenRetentionPeriod = null;
 
+	// The number of RECEIVED download tasks claimed in one DB round trip, per data
+	// transfer type.
+	@Value("${hpc.service.dataTransfer.s3DownloadTaskClaimBatchSize:100}")
+	private int s3DownloadTaskClaimBatchSize = 100;
+
+	@Value("${hpc.service.dataTransfer.googleDriveDownloadTaskClaimBatchSize:50}")
+	private int googleDriveDownloadTaskClaimBatchSize = 50;
+
+	@Value("${hpc.service.dataTransfer.googleCloudStorageDownloadTaskClaimBatchSize:50}")
+	private int googleCloudStorageDownloadTaskClaimBatchSize = 50;
+
+	@Value("${hpc.service.dataTransfer.asperaDownloadTaskClaimBatchSize:20}")
+	private int asperaDownloadTaskClaimBatchSize = 20;
+
+	@Value("${hpc.service.dataTransfer.boxDownloadTaskClaimBatchSize:50}")
+	private int boxDownloadTaskClaimBatchSize = 50;
+
 	// List of authenticated tokens
 	private List<HpcDataTransferAuthenticatedToken> dataTransferAuthenticatedTokens = new ArrayList<>();
 
@@ -1060,12 +1078,19 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 	@Override
 	public HpcDownloadTaskStatus getDownloadTaskStatus(String taskId, HpcDownloadTaskType taskType)
 			throws HpcException {
+		return getDownloadTaskStatus(taskId, taskType, true);
+	}
+
+	@Override
+	public HpcDownloadTaskStatus getDownloadTaskStatus(String taskId, HpcDownloadTaskType taskType,
+			boolean includeItems) throws HpcException {
 		if (taskType == null) {
 			throw new HpcException("Null download task type", HpcErrorType.INVALID_REQUEST_INPUT);
 		}
 
 		HpcDownloadTaskStatus taskStatus = new HpcDownloadTaskStatus();
-		HpcDownloadTaskResult taskResult = dataDownloadDAO.getDownloadTaskResult(taskId, taskType);
+		HpcDownloadTaskResult taskResult = dataDownloadDAO.getDownloadTaskResult(taskId, taskType,
+				includeItems);
 		if (taskResult != null) {
 			// Task completed or failed. Return the result.
 			taskStatus.setInProgress(false);
@@ -1087,7 +1112,7 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 
 		if (taskType.equals(HpcDownloadTaskType.COLLECTION) || taskType.equals(HpcDownloadTaskType.DATA_OBJECT_LIST)
 				|| taskType.equals(HpcDownloadTaskType.COLLECTION_LIST)) {
-			HpcCollectionDownloadTask task = dataDownloadDAO.getCollectionDownloadTask(taskId);
+			HpcCollectionDownloadTask task = dataDownloadDAO.getCollectionDownloadTask(taskId, includeItems);
 			if (task != null) {
 				taskStatus.setCollectionDownloadTask(task);
 
@@ -1100,12 +1125,13 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 	}
 
 	@Override
-	public Map<String, HpcDownloadTaskStatus> getDownloadItemsStatus(HpcCollectionDownloadTask downloadTask)
-			throws HpcException {
+	public Map<String, HpcDownloadTaskStatus> getDownloadItemsStatus(String collectionDownloadTaskId,
+			List<HpcCollectionDownloadTaskItem> downloadItems, Calendar updatedSince) throws HpcException {
 		Map<String, HpcDownloadTaskStatus> downloadItemsStatus = new HashMap<>();
 
-		// Get all the data object download tasks that are in progress.
-		dataDownloadDAO.getDataObjectDownloadTaskByCollectionDownloadTaskId(downloadTask.getId())
+		// Get the data object download tasks that are in progress and were updated
+		// since the last refresh.
+		dataDownloadDAO.getDataObjectDownloadTaskByCollectionDownloadTaskId(collectionDownloadTaskId, updatedSince)
 				.forEach(dataObjectDownloadTask -> {
 					HpcDownloadTaskStatus taskStatus = new HpcDownloadTaskStatus();
 					taskStatus.setInProgress(true);
@@ -1115,7 +1141,7 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 
 		// Get all the data object download tasks that completed but a result was not
 		// recorded yet.
-		for (HpcCollectionDownloadTaskItem downloadItem : downloadTask.getItems()) {
+		for (HpcCollectionDownloadTaskItem downloadItem : downloadItems) {
 			if (downloadItem.getResult() == null) {
 				String dataObjectDownloadTaskId = downloadItem.getDataObjectDownloadTaskId();
 				if (!StringUtils.isEmpty(dataObjectDownloadTaskId)
@@ -1617,6 +1643,41 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 		dataDownloadDAO.resetDataObjectDownloadTaskInProcess(s3DownloadTaskServerId);
 	}
 
+	@Override
+	public List<HpcDataObjectDownloadTask> claimDataObjectDownloadTasks(HpcDataTransferType dataTransferType,
+			Date processed) throws HpcException {
+		int batchSize = 1;
+		switch (dataTransferType) {
+		case S_3:
+			batchSize = s3DownloadTaskClaimBatchSize;
+			break;
+		case GOOGLE_DRIVE:
+			batchSize = googleDriveDownloadTaskClaimBatchSize;
+			break;
+		case GOOGLE_CLOUD_STORAGE:
+			batchSize = googleCloudStorageDownloadTaskClaimBatchSize;
+			break;
+		case ASPERA:
+			batchSize = asperaDownloadTaskClaimBatchSize;
+			break;
+		case BOX:
+			batchSize = boxDownloadTaskClaimBatchSize;
+			break;
+		default:
+			break;
+		}
+
+		String serverId = HpcDataTransferType.S_3.equals(dataTransferType) ? s3DownloadTaskServerId : null;
+		List<HpcDataObjectDownloadTask> downloadTasks = dataDownloadDAO.claimDataObjectDownloadTasks(dataTransferType,
+				processed, Math.max(batchSize, 1), serverId);
+		if (!downloadTasks.isEmpty()) {
+			logger.info("Claimed {} download tasks [transfer-type={}, server-id={}]", downloadTasks.size(),
+					dataTransferType, serverId);
+		}
+
+		return downloadTasks;
+	}
+
 	@Override
 	public boolean markProcessedDataObjectDownloadTask(HpcDataObjectDownloadTask downloadTask,
 			HpcDataTransferType dataTransferType, boolean inProcess) throws HpcException {
@@ -1824,6 +1885,50 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 		dataDownloadDAO.upsertCollectionDownloadTask(downloadTask);
 	}
 
+	@Override
+	public void updateCollectionDownloadTaskItems(String taskId, List<HpcCollectionDownloadTaskItem> downloadItems)
+			throws HpcException {
+		if (!downloadItems.isEmpty()) {
+			dataDownloadDAO.updateCollectionDownloadTaskItems(taskId, downloadItems);
+		}
+	}
+
+	@Override
+	public List<HpcCollectionDownloadTaskItem> getCollectionDownloadTaskItems(String taskId, int afterItemId,
+			int limit) throws HpcException {
+		return dataDownloadDAO.getCollectionDownloadTaskItems(taskId, afterItemId, limit);
+	}
+
+	@Override
+	public List<HpcCollectionDownloadTaskItem> getUpdatedCollectionDownloadTaskItems(String taskId,
+			Calendar updatedSince) throws HpcException {
+		return dataDownloadDAO.getUpdatedCollectionDownloadTaskItems(taskId, updatedSince);
+	}
+
+	@Override
+	public HpcCollectionDownloadTaskItemsSummary getCollectionDownloadTaskItemsSummary(String taskId)
+			throws HpcException {
+		return dataDownloadDAO.getCollectionDownloadTaskItemsSummary(taskId);
+	}
+
+	@Override
+	public void setCollectionDownloadTaskItemsRefreshed(String taskId, Calendar itemsRefreshed)
+			throws HpcException {
+		dataDownloadDAO.setCollectionDownloadTaskItemsRefreshed(taskId, itemsRefreshed);
+	}
+
+	@Override
+	public int getDataObjectDownloadTasksCountByCollectionDownloadTaskId(String taskId,
+			HpcDataTransferDownloadStatus dataTransferStatus) throws HpcException {
+		return dataDownloadDAO.getDataObjectDownloadTasksCountByCollectionDownloadTaskId(taskId,
+				dataTransferStatus);
+	}
+
+	@Override
+	public void deleteCollectionDownloadTaskItems(String taskId) throws HpcException {
+		dataDownloadDAO.deleteCollectionDownloadTaskItems(taskId);
+	}
+
 	public void processCollectionDownloadTaskSecondHopBunch(HpcCollectionDownloadTask collectionDownloadTask,
 			List<HpcDataObjectDownloadTask> dataObjectDownloadTasks) throws HpcException {
 
@@ -2046,6 +2151,12 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 		return dataDownloadDAO.getCollectionDownloadTasks(status);
 	}
 
+	@Override
+	public List<HpcCollectionDownloadTask> getCollectionDownloadTasksWithoutItems(
+			HpcCollectionDownloadTaskStatus status) throws HpcException {
+		return dataDownloadDAO.getCollectionDownloadTasksWithoutItems(status);
+	}
+
 	@Override
 	public int getCollectionDownloadTasksCount(String userId, HpcCollectionDownloadTaskStatus status, boolean inProcess)
 			throws HpcException {
@@ -2103,6 +2214,16 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 		// Cleanup the DB record.
 		dataDownloadDAO.deleteCollectionDownloadTask(downloadTask.getId());
 
+		// Persist download items that were not persisted yet (e.g. the collection
+		// breakdown failed), so they are included in the items summary.
+		List<HpcCollectionDownloadTaskItem> newDownloadItems = new ArrayList<>();
+		for (HpcCollectionDownloadTaskItem downloadItem : downloadTask.getItems()) {
+			if (downloadItem.getItemId() == null) {
+				newDownloadItems.add(downloadItem);
+			}
+		}
+		updateCollectionDownloadTaskItems(downloadTask.getId(), newDownloadItems);
+
 		// Remove from HPC_GLOBUS_TRANSFER_TASK if Globus request
 		if (downloadTask.getDestinationType().equals(HpcDataTransferType.GLOBUS)
 				&& !StringUtils.isEmpty(downloadTask.getDataTransferRequestId()))
@@ -2151,23 +2272,13 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 		taskResult.setDataTransferRequestId(downloadTask.getDataTransferRequestId());
 		taskResult.setDoc(downloadTask.getDoc());
 
-		// Calculate the effective transfer speed (Bytes per second). This is done by
-		// averaging the effective transfer speed
-		// of all successful download items.
-		int effectiveTransferSpeed = 0;
-		int completedItems = 0;
-		long totalSize = 0;
-		for (HpcCollectionDownloadTaskItem item : downloadTask.getItems()) {
-			if (item.getResult() != null && item.getResult().equals(HpcDownloadResult.COMPLETED)
-					&& item.getEffectiveTransferSpeed() != null) {
-				effectiveTransferSpeed += item.getEffectiveTransferSpeed();
-				completedItems++;
-			}
-			// Compute the total size of the collection
-			totalSize = totalSize + Optional.ofNullable(item.getSize()).orElse(0L);
-		}
-		taskResult.setEffectiveTransferSpeed(completedItems > 0 ? effectiveTransferSpeed / completedItems : null);
-		taskResult.setSize(totalSize);
+		// Calculate the effective transfer speed (Bytes per second) and the total size
+		// of the collection. The effective transfer speed is the average effective
+		// transfer speed of all successful download items.
+		HpcCollectionDownloadTaskItemsSummary itemsSummary = dataDownloadDAO
+				.getCollectionDownloadTaskItemsSummary(downloadTask.getId());
+		taskResult.setEffectiveTransferSpeed(itemsSummary.getEffectiveTransferSpeed());
+		taskResult.setSize(itemsSummary.getSize());
 
 		// Persist to DB.
 		dataDownloadDAO.upsertDownloadTaskResult(taskResult);
@@ -2606,8 +2717,7 @@ public class HpcDataTransferServiceImpl implements HpcDataTransferService {
 
 		// Authenticate with the data transfer system.
 		Object token = dataTransferProxies.get(dataTransferType).authenticate(dataTransferSystemAccount,
-				dataTransferConfiguration.getUrlOrRegion(), dataTransferConfiguration.getEncryptionAlgorithm(),
-				dataTransferConfiguration.getEncryptionKey());
+				dataTransferConfiguration);
 		if (token == null) {
 			throw new HpcException("Invalid data transfer account credentials", HpcErrorType.DATA_TRANSFER_ERROR,
 					dataTransferSystemAccount.getIntegratedSystem());
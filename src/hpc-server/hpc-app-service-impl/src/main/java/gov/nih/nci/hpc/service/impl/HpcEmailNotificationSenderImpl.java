@@ -11,9 +11,8 @@ package gov.nih.nci.hpc.service.impl;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
 
+import gov.nih.nci.hpc.domain.notification.HpcEvent;
 import gov.nih.nci.hpc.domain.notification.HpcEventPayloadEntry;
 import gov.nih.nci.hpc.domain.notification.HpcEventType;
 import gov.nih.nci.hpc.domain.notification.HpcSystemAdminNotificationType;
@@ -29,9 +28,9 @@ public class HpcEmailNotificationSenderImpl implements HpcNotificationSender {
 	// Instance members
 	// ---------------------------------------------------------------------//
 
-	// Mail Sender.
+	// SMTP Transport Pool. Messages are sent over pooled SMTP connections.
 	@Autowired
-	JavaMailSender mailSender = null;
+	HpcSmtpTransportPool transportPool = null;
 
 	// MIME Message Preparator.
 	@Autowired
@@ -48,22 +47,18 @@ public class HpcEmailNotificationSenderImpl implements HpcNotificationSender {
 	@Override
 	public void sendNotification(String userId, HpcEventType eventType, String doc,
 			List<HpcEventPayloadEntry> payloadEntries, String attachment) throws HpcException {
-		try {
-			mailSender.send(messagePreparator.getPreparator(userId, eventType, doc, payloadEntries, attachment));
-
-		} catch (MailException e) {
-			throw new HpcException(e.getMessage(), e);
-		}
+		transportPool.send(messagePreparator.getPreparator(userId, eventType, doc, payloadEntries, attachment));
 	}
 
 	@Override
 	public void sendNotification(String userId, HpcSystemAdminNotificationType notificationType,
 			List<HpcEventPayloadEntry> payloadEntries) throws HpcException {
-		try {
-			mailSender.send(messagePreparator.getPreparator(userId, notificationType, payloadEntries));
+		transportPool.send(messagePreparator.getPreparator(userId, notificationType, payloadEntries));
+	}
 
-		} catch (MailException e) {
-			throw new HpcException(e.getMessage(), e);
-		}
+	@Override
+	public void sendNotificationDigest(String userId, List<HpcEventPayloadEntry> payloadEntries,
+			List<HpcEvent> events) throws HpcException {
+		transportPool.send(messagePreparator.getDigestPreparator(userId, payloadEntries, events));
 	}
 }
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -133,23 +134,23 @@ public class HpcEventServiceImpl implements HpcEventService {
 	// ---------------------------------------------------------------------//
 
 	@Override
-	public List<HpcEvent> getEvents() throws HpcException {
-		return eventDAO.getEvents();
+	public List<HpcEvent> getEvents(int afterEventId, int limit) throws HpcException {
+		return eventDAO.getEvents(afterEventId, limit);
 	}
 
 	@Override
-	public void archiveEvent(HpcEvent event) {
-		if (event == null) {
+	public void archiveEvents(List<HpcEvent> events) {
+		if (events == null || events.isEmpty()) {
 			return;
 		}
 
-		// Delete the event from the active table and insert to the history.
+		// Delete the events from the active table and insert to the history.
 		try {
-			eventDAO.deleteEvent(event.getId());
-			eventDAO.insertEventHistory(event);
+			eventDAO.deleteEvents(events.stream().map(HpcEvent::getId).collect(Collectors.toList()));
+			eventDAO.insertEventsHistory(events);
 
 		} catch (HpcException e) {
-			logger.error("Failed to archive event", e);
+			logger.error("Failed to archive events", e);
 		}
 	}
 
@@ -8,7 +8,9 @@
  */
 package gov.nih.nci.hpc.service.impl;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -54,6 +56,18 @@ public class HpcIrodsMetadataRetrieverImpl implements HpcMetadataRetriever {
 		return dataManagementProxy.getDataObjectMetadata(dataManagementAuthenticator.getAuthenticatedToken(), path);
 	}
 	
+	@Override
+	public Map<String, List<HpcMetadataEntry>> getDataObjectsMetadata(List<String> paths) throws HpcException {
+		// iRODS has no multi-path metadata query. Get the metadata one data object at
+		// a time.
+		Map<String, List<HpcMetadataEntry>> metadataEntries = new LinkedHashMap<>();
+		for (String path : paths) {
+			metadataEntries.put(path, getDataObjectMetadata(path));
+		}
+
+		return metadataEntries;
+	}
+
 	@Override
 	public List<HpcDataObject> getDataObjects(List<HpcMetadataQuery> metadataQueries) throws HpcException {
 		return dataManagementProxy.getDataObjects(dataManagementAuthenticator.getAuthenticatedToken(), metadataQueries);
@@ -9,6 +9,7 @@
 package gov.nih.nci.hpc.service.impl;
 
 import java.util.List;
+import java.util.Map;
 
 import gov.nih.nci.hpc.domain.datamanagement.HpcDataObject;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
@@ -39,6 +40,16 @@ public interface HpcMetadataRetriever {
 	 */
 	public List<HpcMetadataEntry> getDataObjectMetadata(String path) throws HpcException;
 
+	/**
+	 * Get metadata of a list of data objects.
+	 *
+	 * @param paths The data object paths.
+	 * @return A map of data object path to its metadata entries. Every path is
+	 *         included in the map.
+	 * @throws HpcException on data management system failure.
+	 */
+	public Map<String, List<HpcMetadataEntry>> getDataObjectsMetadata(List<String> paths) throws HpcException;
+
 	/**
 	 * Get data objects by metadata query.
 	 *
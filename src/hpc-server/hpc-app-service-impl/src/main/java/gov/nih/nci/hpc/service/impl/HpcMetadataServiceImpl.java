@@ -61,6 +61,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -94,6 +95,7 @@ import gov.nih.nci.hpc.domain.metadata.HpcDupMetadataEntry;
 import gov.nih.nci.hpc.domain.metadata.HpcGroupedMetadataEntries;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntries;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataViewRefreshStatus;
 import gov.nih.nci.hpc.domain.metadata.HpcSelfMetadataEntries;
 import gov.nih.nci.hpc.domain.model.HpcDistinguishedNameSearch;
 import gov.nih.nci.hpc.domain.model.HpcDistinguishedNameSearchResult;
@@ -774,6 +776,23 @@ public class HpcMetadataServiceImpl implements HpcMetadataService {
 		return toSystemGeneratedMetadata(metadataRetriever.getDataObjectMetadata(path));
 	}
 
+	@Override
+	public Map<String, HpcSystemGeneratedMetadata> getDataObjectsSystemGeneratedMetadata(List<String> paths)
+			throws HpcException {
+		// Input validation.
+		if (paths == null || paths.contains(null)) {
+			throw new HpcException(INVALID_PATH_MSG, HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		Map<String, HpcSystemGeneratedMetadata> systemGeneratedMetadata = new LinkedHashMap<>();
+		for (Map.Entry<String, List<HpcMetadataEntry>> metadataEntries : metadataRetriever
+				.getDataObjectsMetadata(paths).entrySet()) {
+			systemGeneratedMetadata.put(metadataEntries.getKey(), toSystemGeneratedMetadata(metadataEntries.getValue()));
+		}
+
+		return systemGeneratedMetadata;
+	}
+
 	@Override
 	public void updateDataObjectSystemGeneratedMetadata(String path, HpcFileLocation archiveLocation,
 			String dataTransferRequestId, String checksum, HpcDataTransferUploadStatus dataTransferStatus,
@@ -994,6 +1013,11 @@ public class HpcMetadataServiceImpl implements HpcMetadataService {
 		metadataDAO.refreshViews();
 	}
 
+	@Override
+	public List<HpcMetadataViewRefreshStatus> getViewsRefreshStatus() throws HpcException {
+		return metadataDAO.getViewsRefreshStatus();
+	}
+
 	@Override
 	public List<String> getCollectionSystemMetadataAttributeNames() throws HpcException {
 		return metadataValidator.getCollectionSystemGeneratedMetadataAttributeNames();
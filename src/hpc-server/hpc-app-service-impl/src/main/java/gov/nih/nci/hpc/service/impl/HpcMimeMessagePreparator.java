@@ -20,6 +20,7 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.mail.javamail.MimeMessagePreparator;
 
+import gov.nih.nci.hpc.domain.notification.HpcEvent;
 import gov.nih.nci.hpc.domain.notification.HpcEventPayloadEntry;
 import gov.nih.nci.hpc.domain.notification.HpcEventType;
 import gov.nih.nci.hpc.domain.notification.HpcSystemAdminNotificationType;
@@ -94,4 +95,24 @@ public class HpcMimeMessagePreparator {
 			mimeMessage.setText(notificationFormatter.formatText(notificationType, payloadEntries));
 		};
 	}
+
+	/**
+	 * Instantiate a MIME message preparator for a notification digest.
+	 *
+	 * @param userId         The recipient user ID
+	 * @param payloadEntries The payload entries to use for the message text and
+	 *                       subject arguments.
+	 * @param events         The events to summarize in the digest.
+	 * @return MimeMessagePreparator
+	 */
+	public MimeMessagePreparator getDigestPreparator(String userId, List<HpcEventPayloadEntry> payloadEntries,
+			List<HpcEvent> events) {
+		return mimeMessage -> {
+			MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+			helper.setTo(new InternetAddress(userId + "@" + NIH_EMAIL_DOMAIN));
+			helper.setSubject(notificationFormatter.formatDigestSubject(payloadEntries));
+			helper.setText(notificationFormatter.formatDigestText(payloadEntries, events), true);
+			helper.setFrom("DME Notification <dme-notification@doNotReply.nih.gov>");
+		};
+	}
 }
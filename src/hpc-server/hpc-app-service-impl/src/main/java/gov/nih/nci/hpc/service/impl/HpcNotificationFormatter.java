@@ -26,6 +26,7 @@ import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 
 import gov.nih.nci.hpc.domain.error.HpcErrorType;
+import gov.nih.nci.hpc.domain.notification.HpcEvent;
 import gov.nih.nci.hpc.domain.notification.HpcEventPayloadEntry;
 import gov.nih.nci.hpc.domain.notification.HpcEventType;
 import gov.nih.nci.hpc.domain.notification.HpcNotificationFormat;
@@ -46,6 +47,10 @@ public class HpcNotificationFormatter {
 	// Default Payload entry value.
 	private static final String DEFAULT_PAYLOAD_ENTRY_VALUE = "<N/A>";
 
+	// Notification digest payload entry attributes.
+	private static final String DIGEST_ENTRIES_PAYLOAD_ATTRIBUTE = "DIGEST_ENTRIES";
+	private static final String SUBJECT_PAYLOAD_ATTRIBUTE = "SUBJECT";
+
 	// ---------------------------------------------------------------------//
 	// Instance members
 	// ---------------------------------------------------------------------//
@@ -55,6 +60,11 @@ public class HpcNotificationFormatter {
 
 	private Map<HpcSystemAdminNotificationType, HpcNotificationFormat> systemAdminNotificationFormats = new HashMap<>();
 
+	// The notification digest format, and the format of a single event (entry) in
+	// the digest text.
+	private HpcNotificationFormat notificationDigestFormat = null;
+	private HpcNotificationFormat notificationDigestEntryFormat = null;
+
 	private String defaultBaseUiURL = null;
 
 	// The logger instance.
@@ -190,10 +200,84 @@ public class HpcNotificationFormatter {
 		return format(format.getSubjectFormat(), format.getSubjectArguments(), payloadEntries);
 	}
 
+	/**
+	 * Generate a notification digest subject.
+	 *
+	 * @param payloadEntries The payload entries to use for the format arguments.
+	 * @return A notification digest subject.
+	 * @throws HpcException If the notification digest format is not configured.
+	 */
+	public String formatDigestSubject(List<HpcEventPayloadEntry> payloadEntries) throws HpcException {
+		HpcNotificationFormat format = getDigestFormat();
+		return format(format.getSubjectFormat(), format.getSubjectArguments(), payloadEntries);
+	}
+
+	/**
+	 * Generate a notification digest text message. Each event is formatted w/ the
+	 * digest entry format, where the SUBJECT payload entry is the event's
+	 * notification subject.
+	 *
+	 * @param payloadEntries The payload entries to use for the format arguments.
+	 * @param events         The events included in the digest.
+	 * @return A notification digest text message.
+	 * @throws HpcException If the notification digest format (or the format of
+	 *                      one of the events) is not configured.
+	 */
+	public String formatDigestText(List<HpcEventPayloadEntry> payloadEntries, List<HpcEvent> events)
+			throws HpcException {
+		HpcNotificationFormat format = getDigestFormat();
+
+		StringBuilder digestEntries = new StringBuilder();
+		for (HpcEvent event : events) {
+			List<HpcEventPayloadEntry> eventPayloadEntries = new ArrayList<>(event.getPayloadEntries());
+			HpcEventPayloadEntry docPayloadEntry = eventPayloadEntries.stream()
+					.filter(entry -> "DOC".equals(entry.getAttribute())).findAny().orElse(null);
+			eventPayloadEntries.add(toPayloadEntry(SUBJECT_PAYLOAD_ATTRIBUTE, formatSubject(event.getType(),
+					docPayloadEntry != null ? docPayloadEntry.getValue() : null, event.getPayloadEntries())));
+
+			digestEntries.append(format(notificationDigestEntryFormat.getTextFormat(),
+					notificationDigestEntryFormat.getTextArguments(), eventPayloadEntries));
+		}
+
+		List<HpcEventPayloadEntry> digestPayloadEntries = new ArrayList<>(payloadEntries);
+		digestPayloadEntries.add(toPayloadEntry(DIGEST_ENTRIES_PAYLOAD_ATTRIBUTE, digestEntries.toString()));
+		digestPayloadEntries.add(toPayloadEntry("BASE_UI_URL", defaultBaseUiURL));
+
+		return format(format.getTextFormat(), format.getTextArguments(), digestPayloadEntries);
+	}
+
 	// ---------------------------------------------------------------------//
 	// Helper Methods
 	// ---------------------------------------------------------------------//
 
+	/**
+	 * Get the notification digest format.
+	 *
+	 * @return The notification digest format.
+	 * @throws HpcException If the notification digest format is not configured.
+	 */
+	private HpcNotificationFormat getDigestFormat() throws HpcException {
+		if (notificationDigestFormat == null) {
+			throw new HpcException("Notification digest format not found", HpcErrorType.UNEXPECTED_ERROR);
+		}
+
+		return notificationDigestFormat;
+	}
+
+	/**
+	 * Instantiate a payload entry.
+	 *
+	 * @param attribute The payload entry attribute.
+	 * @param value     The payload entry value.
+	 * @return A payload entry.
+	 */
+	private HpcEventPayloadEntry toPayloadEntry(String attribute, String value) {
+		HpcEventPayloadEntry payloadEntry = new HpcEventPayloadEntry();
+		payloadEntry.setAttribute(attribute);
+		payloadEntry.setValue(value);
+		return payloadEntry;
+	}
+
 	/**
 	 * Generate a formatted string from a format and argument.
 	 *
@@ -319,12 +403,11 @@ public class HpcNotificationFormatter {
 		}
 
 		// Open and Parse the notification formats JSON file.
-		JSONArray jsonNotificationFormats = null;
+		JSONObject jsonNotificationFormatsFile = null;
 
 		if (resource.isFile()) {
 			try (FileReader reader = new FileReader(resource.getFile())) {
-				jsonNotificationFormats = (JSONArray) ((JSONObject) new JSONParser().parse(reader))
-						.get("notificationFormats");
+				jsonNotificationFormatsFile = (JSONObject) new JSONParser().parse(reader);
 
 			} catch (Exception e) {
 				throw new HpcException("Could not open or parse file: " + notificationFormatPath,
@@ -332,8 +415,7 @@ public class HpcNotificationFormatter {
 			}
 		} else {
 			try (InputStreamReader reader = new InputStreamReader(resource.getInputStream())) {
-				jsonNotificationFormats = (JSONArray) ((JSONObject) new JSONParser().parse(reader))
-						.get("notificationFormats");
+				jsonNotificationFormatsFile = (JSONObject) new JSONParser().parse(reader);
 
 			} catch (Exception e) {
 				throw new HpcException("Could not open or parse input-stream: " + notificationFormatPath,
@@ -342,6 +424,7 @@ public class HpcNotificationFormatter {
 		}
 
 		// Validate formats are defined.
+		JSONArray jsonNotificationFormats = (JSONArray) jsonNotificationFormatsFile.get("notificationFormats");
 		if (jsonNotificationFormats == null || jsonNotificationFormats.isEmpty()) {
 			throw new HpcException("No notification formats found in JSON file",
 					HpcErrorType.SPRING_CONFIGURATION_ERROR);
@@ -376,6 +459,23 @@ public class HpcNotificationFormatter {
 			}
 		}
 		
+		// The notification digest format (optional).
+		JSONObject jsonNotificationDigestFormat = (JSONObject) jsonNotificationFormatsFile
+				.get("notificationDigestFormat");
+		if (jsonNotificationDigestFormat != null) {
+			if (!jsonNotificationDigestFormat.containsKey("entryFormat")
+					|| !jsonNotificationDigestFormat.containsKey("entryArguments")) {
+				throw new HpcException("Invalid notification digest format JSON object: " + jsonNotificationDigestFormat,
+						HpcErrorType.SPRING_CONFIGURATION_ERROR);
+			}
+
+			notificationDigestFormat = notificationFormatFromJSON(jsonNotificationDigestFormat);
+			notificationDigestEntryFormat = new HpcNotificationFormat();
+			notificationDigestEntryFormat.setTextFormat((String) jsonNotificationDigestFormat.get("entryFormat"));
+			notificationDigestEntryFormat.getTextArguments().addAll(
+					notificationFormatArgumentsFromJSON((JSONArray) jsonNotificationDigestFormat.get("entryArguments")));
+		}
+
 		logger.info("Loaded {} notification formats", notificationFormats.size());
 	}
 
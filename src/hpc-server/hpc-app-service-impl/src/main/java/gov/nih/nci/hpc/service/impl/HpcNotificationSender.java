@@ -8,6 +8,7 @@
  */
 package gov.nih.nci.hpc.service.impl;
 
+import gov.nih.nci.hpc.domain.notification.HpcEvent;
 import gov.nih.nci.hpc.domain.notification.HpcEventPayloadEntry;
 import gov.nih.nci.hpc.domain.notification.HpcEventType;
 import gov.nih.nci.hpc.domain.notification.HpcSystemAdminNotificationType;
@@ -48,4 +49,16 @@ public interface HpcNotificationSender {
       HpcSystemAdminNotificationType notificationType,
       List<HpcEventPayloadEntry> payloadEntries)
       throws HpcException;
+
+  /**
+   * Send a user notification digest.
+   *
+   * @param userId The user to send the notification digest to.
+   * @param payloadEntries The payload entries to use for the notification digest message.
+   * @param events The events to summarize in the notification digest.
+   * @throws HpcException if the delivery failed.
+   */
+  public void sendNotificationDigest(
+      String userId, List<HpcEventPayloadEntry> payloadEntries, List<HpcEvent> events)
+      throws HpcException;
 }
@@ -13,12 +13,14 @@ package gov.nih.nci.hpc.service.impl;
 import static gov.nih.nci.hpc.service.impl.HpcDomainValidator.isValidNotificationSubscription;
 import static gov.nih.nci.hpc.service.impl.HpcEventServiceImpl.COLLECTION_PATH_PAYLOAD_ATTRIBUTE;
 import static gov.nih.nci.hpc.service.impl.HpcEventServiceImpl.DATA_OBJECT_PATH_PAYLOAD_ATTRIBUTE;
+import gov.nih.nci.hpc.dao.HpcEventDAO;
 import gov.nih.nci.hpc.dao.HpcNotificationDAO;
 import gov.nih.nci.hpc.dao.HpcUserDAO;
 import gov.nih.nci.hpc.domain.error.HpcErrorType;
 import gov.nih.nci.hpc.domain.error.HpcRequestRejectReason;
 import gov.nih.nci.hpc.domain.model.HpcRequestInvoker;
 import gov.nih.nci.hpc.domain.model.HpcUser;
+import gov.nih.nci.hpc.domain.notification.HpcEvent;
 import gov.nih.nci.hpc.domain.notification.HpcEventPayloadEntry;
 import gov.nih.nci.hpc.domain.notification.HpcEventType;
 import gov.nih.nci.hpc.domain.notification.HpcNotificationDeliveryMethod;
@@ -37,6 +39,7 @@ import java.util.Calendar;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -67,6 +70,10 @@ public class HpcNotificationServiceImpl implements HpcNotificationService {
   @Autowired
   private HpcNotificationDAO notificationDAO = null;
 
+  // The Event DAO instance.
+  @Autowired
+  private HpcEventDAO eventDAO = null;
+
   //The User DAO instance.
    @Autowired
   private HpcUserDAO userDAO = null;
@@ -92,6 +99,15 @@ public class HpcNotificationServiceImpl implements HpcNotificationService {
   @Value("${hpc.service.notification.storageAdministratorUserIds}")
   private String storageAdministratorUserIds = null;
 
+  // The notification digest window (in minutes). A user's digest is sent once this
+  // window elapsed since the oldest event was added to the digest.
+  @Value("${hpc.service.notification.digestWindow:60}")
+  private int notificationDigestWindow = 0;
+
+  // The max number of events included in a single notification digest.
+  @Value("${hpc.service.notification.digestMaxEvents:1000}")
+  private int notificationDigestMaxEvents = 0;
+
   // The logger instance.
   private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
@@ -225,6 +241,18 @@ public class HpcNotificationServiceImpl implements HpcNotificationService {
     return notificationDAO.getSubscription(userId, eventType);
   }
 
+  @Override
+  public Map<String, HpcNotificationSubscription> getNotificationSubscriptionsByEventType(
+      HpcEventType eventType) throws HpcException {
+    // Input validation.
+    if (eventType == null) {
+      throw new HpcException("Null event type", HpcErrorType.INVALID_REQUEST_INPUT);
+    }
+
+    // Query the DB.
+    return notificationDAO.getSubscriptionsByEventType(eventType);
+  }
+
   @Override
   public boolean sendNotification(String userId, HpcEventType eventType,
       List<HpcEventPayloadEntry> payloadEntries, HpcNotificationDeliveryMethod deliveryMethod, String attachment) {
@@ -318,6 +346,84 @@ public class HpcNotificationServiceImpl implements HpcNotificationService {
     }
   }
 
+  @Override
+  public void addNotificationDigestEntry(String userId, int eventId) throws HpcException {
+    // Input validation.
+    if (userId == null) {
+      throw new HpcException("Null user ID", HpcErrorType.INVALID_REQUEST_INPUT);
+    }
+
+    notificationDAO.insertDigestEntry(userId, eventId);
+  }
+
+  @Override
+  public List<String> getNotificationDigestUsers() throws HpcException {
+    Calendar createdBefore = Calendar.getInstance();
+    createdBefore.add(Calendar.MINUTE, -notificationDigestWindow);
+    return notificationDAO.getDigestUsers(createdBefore);
+  }
+
+  @Override
+  public List<HpcEvent> getNotificationDigestEvents(String userId) throws HpcException {
+    // Input validation.
+    if (userId == null) {
+      throw new HpcException("Null user ID", HpcErrorType.INVALID_REQUEST_INPUT);
+    }
+
+    return eventDAO.getDigestEvents(userId, notificationDigestMaxEvents);
+  }
+
+  @Override
+  public boolean sendNotificationDigest(String userId, List<HpcEvent> events,
+      HpcNotificationDeliveryMethod deliveryMethod) {
+    // Input validation.
+    if (userId == null || events == null || events.isEmpty() || deliveryMethod == null) {
+      return false;
+    }
+
+    // Locate the notification sender for this delivery method.
+    HpcNotificationSender notificationSender = notificationSenders.get(deliveryMethod);
+    if (notificationSender == null) {
+      logger.error("Could not locate notification sender for: " + deliveryMethod);
+      return false;
+    }
+
+    // Send the notification digest.
+    try {
+      List<HpcEventPayloadEntry> payloadEntries = new ArrayList<>();
+      HpcUser user = userDAO.getUser(userId);
+      HpcEventPayloadEntry payloadEntry = new HpcEventPayloadEntry();
+      payloadEntry.setAttribute("FIRST_NAME");
+      payloadEntry.setValue(user.getNciAccount().getFirstName());
+      payloadEntries.add(payloadEntry);
+
+      payloadEntry = new HpcEventPayloadEntry();
+      payloadEntry.setAttribute("LAST_NAME");
+      payloadEntry.setValue(user.getNciAccount().getLastName());
+      payloadEntries.add(payloadEntry);
+
+      payloadEntry = new HpcEventPayloadEntry();
+      payloadEntry.setAttribute("EVENT_COUNT");
+      payloadEntry.setValue(String.valueOf(events.size()));
+      payloadEntries.add(payloadEntry);
+
+      notificationSender.sendNotificationDigest(userId, payloadEntries, events);
+
+    } catch (HpcException e) {
+      logger.error("failed to send user notification digest", e);
+      return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public void deleteNotificationDigestEntries(String userId, List<HpcEvent> events)
+      throws HpcException {
+    notificationDAO.deleteDigestEntries(userId,
+        events.stream().map(HpcEvent::getId).collect(Collectors.toList()));
+  }
+
   @Override
   public List<HpcNotificationDeliveryReceipt> getNotificationDeliveryReceipts(int page)
       throws HpcException {
@@ -8,7 +8,10 @@
  */
 package gov.nih.nci.hpc.service.impl;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -57,6 +60,24 @@ public class HpcOracleMetadataRetrieverImpl implements HpcMetadataRetriever {
 				HpcRequestContext.getRequestInvoker().getDataManagementAccount().getUsername());
 	}
 
+	@Override
+	public Map<String, List<HpcMetadataEntry>> getDataObjectsMetadata(List<String> paths) throws HpcException {
+		Map<String, String> absolutePaths = new LinkedHashMap<>();
+		for (String path : paths) {
+			absolutePaths.put(dataManagementProxy.getAbsolutePath(path), path);
+		}
+
+		Map<String, List<HpcMetadataEntry>> absolutePathsMetadataEntries = metadataDAO.getDataObjectsMetadata(
+				new ArrayList<>(absolutePaths.keySet()),
+				HpcRequestContext.getRequestInvoker().getDataManagementAccount().getUsername());
+
+		Map<String, List<HpcMetadataEntry>> metadataEntries = new LinkedHashMap<>();
+		absolutePaths.forEach((absolutePath, path) -> metadataEntries.put(path,
+				absolutePathsMetadataEntries.getOrDefault(absolutePath, new ArrayList<>())));
+
+		return metadataEntries;
+	}
+
 	@Override
 	public List<HpcDataObject> getDataObjects(List<HpcMetadataQuery> metadataQueries) throws HpcException {
 		List<HpcDataObject> dataObjects = metadataDAO.getDataObjects(metadataQueries,
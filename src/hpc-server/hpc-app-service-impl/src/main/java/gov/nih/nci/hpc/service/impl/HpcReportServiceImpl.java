@@ -22,6 +22,7 @@ import gov.nih.nci.hpc.service.HpcReportService;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
  * HPC Report Application Service Implementation.
@@ -41,6 +42,10 @@ public class HpcReportServiceImpl implements HpcReportService {
   // The Event DAO instance.
   @Autowired private HpcReportsDAO reportsDAO = null;
 
+  // Generate usage summary reports (other than path reports) from the daily report rollups.
+  @Value("${hpc.service.report.rollupsEnabled}")
+  private Boolean rollupsEnabled = null;
+
   // ---------------------------------------------------------------------//
   // Constructors
   // ---------------------------------------------------------------------//
@@ -80,11 +85,22 @@ public class HpcReportServiceImpl implements HpcReportService {
     	  criteria.getDocs().add(invoker.getNciAccount().getDoc());
       }
     }
-    return reportsDAO.generatReport(criteria);
+
+    // The rollups are used once populated. Path reports are always generated from the report
+    // materialized views, as the rollups are not maintained per path.
+    boolean useRollups = rollupsEnabled && reportsDAO.getRollupsLastDate() != null;
+    return reportsDAO.generatReport(criteria, useRollups);
   }
 
   @Override
   public void refreshViews() throws HpcException {
     reportsDAO.refreshViews();
   }
+
+  @Override
+  public void refreshRollups() throws HpcException {
+    if (rollupsEnabled) {
+      reportsDAO.refreshRollups();
+    }
+  }
 }
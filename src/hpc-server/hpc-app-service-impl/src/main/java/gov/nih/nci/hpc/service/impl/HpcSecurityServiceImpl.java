@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -32,15 +33,19 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
-import gov.nih.nci.hpc.dao.HpcApiCallsAuditDAO;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import gov.nih.nci.hpc.dao.HpcGroupDAO;
 import gov.nih.nci.hpc.dao.HpcInvestigatorDAO;
 import gov.nih.nci.hpc.dao.HpcQueryConfigDAO;
 import gov.nih.nci.hpc.dao.HpcSystemAccountDAO;
 import gov.nih.nci.hpc.dao.HpcUserDAO;
+import gov.nih.nci.hpc.dao.HpcUserRateLimitDAO;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataTransferType;
 import gov.nih.nci.hpc.domain.error.HpcErrorType;
 import gov.nih.nci.hpc.domain.error.HpcRequestRejectReason;
+import gov.nih.nci.hpc.domain.model.HpcApiCallAuditRecord;
 import gov.nih.nci.hpc.domain.model.HpcAuthenticationTokenClaims;
 import gov.nih.nci.hpc.domain.model.HpcDataManagementConfiguration;
 import gov.nih.nci.hpc.domain.model.HpcDistinguishedNameSearch;
@@ -116,9 +121,13 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 	@Autowired
 	private HpcQueryConfigDAO queryConfigDAO = null;
 
-	// The Query Config DAO instance.
+	// The API calls audit writer.
 	@Autowired
-	private HpcApiCallsAuditDAO apiCallsAuditDAO = null;
+	private HpcApiCallsAuditWriter apiCallsAuditWriter = null;
+
+	// The User Rate Limit DAO instance.
+	@Autowired
+	private HpcUserRateLimitDAO userRateLimitDAO = null;
 
 	// The Investigator DAO instance.
 	@Autowired
@@ -156,7 +165,6 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 	private HpcQueryConfigurationLocator queryConfigurationLocator = null;
 
 	// The authentication token signature key.
-	@Value("${hpc.service.security.authenticationTokenSignatureKey}")
 	private String authenticationTokenSignatureKey = null;
 
 	// The authentication token expiration period in minutes.
@@ -171,9 +179,34 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 	@Value("${hpc.service.security.dataManagementAccountExpirationPeriod}")
 	private int dataManagementExpirationPeriod = 0;
 
+	// Parsed authentication tokens cache (token to claims), so a token is not
+	// verified and parsed on every call.
+	private Cache<String, HpcParsedAuthenticationToken> authenticationTokens = null;
+
 	// The logger instance.
 	private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
+	// ---------------------------------------------------------------------//
+	// Constructors
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 *
+	 * @param authenticationTokenSignatureKey The authentication token signature
+	 *                                        key.
+	 * @param authenticationTokenCacheMaxSize The max number of parsed
+	 *                                        authentication tokens to cache.
+	 * @param authenticationTokenCacheTtl     The time (in seconds) a parsed
+	 *                                        authentication token is cached.
+	 */
+	HpcSecurityServiceImpl(String authenticationTokenSignatureKey, int authenticationTokenCacheMaxSize,
+			int authenticationTokenCacheTtl) {
+		this.authenticationTokenSignatureKey = authenticationTokenSignatureKey;
+		authenticationTokens = CacheBuilder.newBuilder().maximumSize(authenticationTokenCacheMaxSize)
+				.expireAfterWrite(authenticationTokenCacheTtl, TimeUnit.SECONDS).build();
+	}
+
 	// ---------------------------------------------------------------------//
 	// Methods
 	// ---------------------------------------------------------------------//
@@ -286,6 +319,7 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 
 		// Persist to the DB.
 		upsert(user);
+		invalidateAuthenticationTokens(nciUserId);
 	}
 
 	@Override
@@ -302,6 +336,7 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 		}
 
 		userDAO.deleteUser(nciUserId);
+		invalidateAuthenticationTokens(nciUserId);
 	}
 
 	@Override
@@ -594,8 +629,23 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 
 	@Override
 	public HpcAuthenticationTokenClaims parseAuthenticationToken(String authenticationToken) throws HpcException {
+		// Check if this token was recently parsed, and has not expired since.
+		HpcParsedAuthenticationToken parsedToken = authenticationTokens.getIfPresent(authenticationToken);
+		if (parsedToken != null) {
+			if (parsedToken.expiration.after(new Date())) {
+				// Return a copy of the claims, so the caller can modify them (e.g. add iRODS
+				// session properties to the data management account).
+				HpcAuthenticationTokenClaims tokenClaims = new HpcAuthenticationTokenClaims();
+				tokenClaims.setUserId(parsedToken.userId);
+				tokenClaims.setDataManagementAccount(fromJSON(parsedToken.dataManagementAccount));
+				return tokenClaims;
+			}
+			authenticationTokens.invalidate(authenticationToken);
+		}
+
 		try {
 			HpcAuthenticationTokenClaims tokenClaims = null;
+			Date expiration = null;
 			Base64.Decoder decoder = Base64.getUrlDecoder();
 			String[] chunks = authenticationToken.split("\\.");
 			String jwtHeader = new String(decoder.decode(chunks[0]));
@@ -614,9 +664,13 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 				// Check if the data management account expired.
 				Date dataManagementAccountExpiration = jwsClaims
 						.get(DATA_MANAGEMENT_ACCOUNT_EXPIRATION_TOKEN_CLAIM, Date.class);
+				expiration = jwsClaims.getExpiration();
 				if (dataManagementAccountExpiration.before(new Date())) {
 					// Data management account expired. Remove its properties.
 					tokenClaims.getDataManagementAccount().getProperties().clear();
+				} else if (dataManagementAccountExpiration.before(expiration)) {
+					// Re-parse the token when the data management account expires.
+					expiration = dataManagementAccountExpiration;
 				}
 			} else if (jwtHeader.contains("RS256")) {
 				// This is OIDC access token.
@@ -639,11 +693,16 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 				dataManagementAccount.setPassword("");
 				tokenClaims.setDataManagementAccount(dataManagementAccount);
 				tokenClaims.getDataManagementAccount().getProperties().clear();
+				expiration = jwsClaims.getExpiration();
 			} else {
 				logger.error("Invalid algorithm for token authentication");
 				return null;
 			}
 
+			if (expiration != null) {
+				authenticationTokens.put(authenticationToken, new HpcParsedAuthenticationToken(tokenClaims.getUserId(),
+						toJSON(tokenClaims.getDataManagementAccount()), expiration));
+			}
 			return tokenClaims;
 
 		} catch (SignatureException se) {
@@ -725,7 +784,29 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 	@Override
 	public void addApiCallAuditRecord(String userId, String httpRequestMethod, String endpoint, String httpResponseCode,
 			String serverId, Calendar created, Calendar completed, String jsonBody) throws HpcException {
-		apiCallsAuditDAO.insert(userId, httpRequestMethod, endpoint, httpResponseCode, serverId, created, completed, jsonBody);
+		HpcApiCallAuditRecord auditRecord = new HpcApiCallAuditRecord();
+		auditRecord.setUserId(userId);
+		auditRecord.setHttpRequestMethod(httpRequestMethod);
+		auditRecord.setEndpoint(endpoint);
+		auditRecord.setHttpResponseCode(httpResponseCode);
+		auditRecord.setServerId(serverId);
+		auditRecord.setCreated(created);
+		auditRecord.setCompleted(completed);
+		auditRecord.setJsonBody(jsonBody);
+
+		apiCallsAuditWriter.add(auditRecord);
+	}
+
+	@Override
+	public long consumeUserRateLimitTokens(String userId, long tokens, long capacity, int refillPeriod)
+			throws HpcException {
+		// Input validation.
+		if (StringUtils.isEmpty(userId) || tokens <= 0 || capacity <= 0 || refillPeriod <= 0) {
+			throw new HpcException("Invalid user rate limit request", HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		return userRateLimitDAO.consume(userId, Math.min(tokens, capacity), capacity,
+				TimeUnit.SECONDS.toMillis(refillPeriod));
 	}
 
 	@Override
@@ -746,6 +827,16 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 	// Helper Methods
 	// ---------------------------------------------------------------------//
 
+	/**
+	 * Remove the parsed authentication tokens of a user from the cache.
+	 *
+	 * @param nciUserId The user ID.
+	 */
+	private void invalidateAuthenticationTokens(String nciUserId) {
+		authenticationTokens.asMap().values()
+				.removeIf(parsedToken -> nciUserId.equals(parsedToken.userId));
+	}
+
 	/**
 	 * Persist user to the DB.
 	 *
@@ -878,4 +969,21 @@ public class HpcSecurityServiceImpl implements HpcSecurityService {
 		HpcRequestContext.setRequestInvoker(invoker);
 	}
 
+
+	/**
+	 * A parsed authentication token (cached). The claims are kept as immutable
+	 * values (the data management account as JSON), and a new claims object is
+	 * created for each request.
+	 */
+	private static class HpcParsedAuthenticationToken {
+		private final String userId;
+		private final String dataManagementAccount;
+		private final Date expiration;
+
+		private HpcParsedAuthenticationToken(String userId, String dataManagementAccount, Date expiration) {
+			this.userId = userId;
+			this.dataManagementAccount = dataManagementAccount;
+			this.expiration = expiration;
+		}
+	}
 }
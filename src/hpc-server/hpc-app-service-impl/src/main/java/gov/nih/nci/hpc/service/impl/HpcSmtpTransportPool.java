@@ -0,0 +1,256 @@
+/**
+ * HpcSmtpTransportPool.java
+ *
+ * <p>
+ * Copyright SVG, Inc. Copyright Leidos Biomedical Research, Inc
+ *
+ * <p>
+ * Distributed under the OSI-approved BSD 3-Clause License. See
+ * http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+package gov.nih.nci.hpc.service.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.NoSuchProviderException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import com.sun.mail.util.MailConnectException;
+
+import gov.nih.nci.hpc.domain.error.HpcErrorType;
+import gov.nih.nci.hpc.exception.HpcException;
+
+/**
+ * A pool of long-lived SMTP transports (connections). Messages are sent over
+ * pooled connections, so the SMTP connection setup (handshake and
+ * authentication) is done once per connection rather than once per message.
+ * Connections are (re)established on demand, and a send that failed on a
+ * transient error (SMTP 4xx reply or connection failure) is retried on a new
+ * connection w/ exponential back-off. Sending is optionally rate limited.
+ *
+ * @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+ */
+public class HpcSmtpTransportPool {
+	// ---------------------------------------------------------------------//
+	// Constants
+	// ---------------------------------------------------------------------//
+
+	// The back-off interval multiplier between send attempts.
+	private static final double RETRY_INTERVAL_MULTIPLIER = 2.0;
+
+	// ---------------------------------------------------------------------//
+	// Instance members
+	// ---------------------------------------------------------------------//
+
+	// The mail sender. Provides the mail session and the SMTP server settings.
+	private JavaMailSenderImpl mailSender = null;
+
+	// The pooled transports. A transport is taken from the pool for the duration
+	// of a send, so the pool size bounds the number of concurrent connections.
+	private BlockingQueue<Transport> transports = null;
+
+	// The send rate limiter (null if sending is not rate limited).
+	private RateLimiter rateLimiter = null;
+
+	// Retry template. Used to retry failed sends.
+	private RetryTemplate retryTemplate = null;
+
+	// The logger instance.
+	private final Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+	// ---------------------------------------------------------------------//
+	// Constructors
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 *
+	 * @param mailSender           The mail sender.
+	 * @param poolSize             The number of pooled SMTP transports
+	 *                             (connections).
+	 * @param maxMessagesPerSecond The max number of messages sent per second. 0
+	 *                             - no limit.
+	 * @param maxAttempts          The max number of attempts to send a message.
+	 * @param retryInitialInterval The time (in milliseconds) to wait before the
+	 *                             first retry.
+	 * @param retryMaxInterval     The max time (in milliseconds) to wait between
+	 *                             retries.
+	 * @throws NoSuchProviderException if the mail sender protocol is not
+	 *                                 supported.
+	 */
+	HpcSmtpTransportPool(JavaMailSenderImpl mailSender, int poolSize, int maxMessagesPerSecond,
+			int maxAttempts, int retryInitialInterval, int retryMaxInterval) throws NoSuchProviderException {
+		this.mailSender = mailSender;
+
+		transports = new ArrayBlockingQueue<>(poolSize);
+		for (int i = 0; i < poolSize; i++) {
+			transports.add(mailSender.getSession().getTransport(mailSender.getProtocol()));
+		}
+
+		if (maxMessagesPerSecond > 0) {
+			rateLimiter = RateLimiter.create(maxMessagesPerSecond);
+		}
+
+		ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+		backOffPolicy.setInitialInterval(retryInitialInterval);
+		backOffPolicy.setMaxInterval(retryMaxInterval);
+		backOffPolicy.setMultiplier(RETRY_INTERVAL_MULTIPLIER);
+
+		retryTemplate = new RetryTemplate();
+		retryTemplate.setRetryPolicy(new SimpleRetryPolicy(maxAttempts) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public boolean canRetry(RetryContext context) {
+				return (context.getLastThrowable() == null || isTransient(context.getLastThrowable()))
+						&& super.canRetry(context);
+			}
+		});
+		retryTemplate.setBackOffPolicy(backOffPolicy);
+	}
+
+	// ---------------------------------------------------------------------//
+	// Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Prepare and send a message over a pooled SMTP transport.
+	 *
+	 * @param messagePreparator The message preparator.
+	 * @throws HpcException on message preparation failure, or if the message
+	 *                      could not be sent after all attempts.
+	 */
+	public void send(MimeMessagePreparator messagePreparator) throws HpcException {
+		MimeMessage message = mailSender.createMimeMessage();
+		try {
+			messagePreparator.prepare(message);
+			message.saveChanges();
+
+		} catch (Exception e) {
+			throw new HpcException("Failed to prepare email message: " + e.getMessage(), HpcErrorType.UNEXPECTED_ERROR,
+					e);
+		}
+
+		try {
+			retryTemplate.execute(retryContext -> {
+				if (retryContext.getRetryCount() > 0) {
+					logger.info("Retrying to send email message, attempt #{}: {}", retryContext.getRetryCount() + 1,
+							retryContext.getLastThrowable().getMessage());
+				}
+				sendMessage(message);
+				return null;
+			});
+
+		} catch (MessagingException e) {
+			throw new HpcException("Failed to send email message: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Close all pooled transports.
+	 */
+	public void close() {
+		List<Transport> idleTransports = new ArrayList<>();
+		transports.drainTo(idleTransports);
+		idleTransports.forEach(this::closeTransport);
+		transports.addAll(idleTransports);
+	}
+
+	// ---------------------------------------------------------------------//
+	// Helper Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Send a message over a pooled transport. The transport is connected if it
+	 * isn't (or if the connection is no longer alive), and closed if the send
+	 * failed, so the next send reconnects.
+	 *
+	 * @param message The message to send.
+	 * @throws MessagingException on SMTP failure.
+	 */
+	private void sendMessage(MimeMessage message) throws MessagingException {
+		if (rateLimiter != null) {
+			rateLimiter.acquire();
+		}
+
+		Transport transport = null;
+		try {
+			transport = transports.take();
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessagingException("Interrupted waiting for an SMTP transport", e);
+		}
+
+		try {
+			if (!transport.isConnected()) {
+				transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+						mailSender.getPassword());
+			}
+			transport.sendMessage(message, message.getAllRecipients());
+
+		} catch (MessagingException e) {
+			closeTransport(transport);
+			throw e;
+
+		} finally {
+			transports.add(transport);
+		}
+	}
+
+	/**
+	 * Determine if a send failure is transient, i.e. worth retrying on a new
+	 * connection. SMTP 4xx replies and connection failures are transient.
+	 * Permanent rejections (SMTP 5xx replies, invalid addresses) and
+	 * interruptions are not.
+	 *
+	 * @param throwable The send failure.
+	 * @return true if the failure is transient.
+	 */
+	private static boolean isTransient(Throwable throwable) {
+		if (Thread.currentThread().isInterrupted() || throwable.getCause() instanceof InterruptedException) {
+			return false;
+		}
+		if (throwable instanceof SMTPSendFailedException) {
+			int returnCode = ((SMTPSendFailedException) throwable).getReturnCode();
+			return returnCode >= 400 && returnCode < 500;
+		}
+		if (throwable instanceof SendFailedException) {
+			return false;
+		}
+
+		return throwable instanceof MailConnectException || throwable.getCause() instanceof IOException;
+	}
+
+	/**
+	 * Close a transport (ignoring errors).
+	 *
+	 * @param transport The transport to close.
+	 */
+	private void closeTransport(Transport transport) {
+		try {
+			transport.close();
+
+		} catch (MessagingException e) {
+			logger.debug("Failed to close SMTP transport", e);
+		}
+	}
+}
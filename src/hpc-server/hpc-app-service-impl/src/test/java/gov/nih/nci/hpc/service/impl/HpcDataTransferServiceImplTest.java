@@ -160,7 +160,7 @@ public class HpcDataTransferServiceImplTest {
 		Mockito.lenient().when(systemAccountLocatorMock.getSystemAccount(any(), any()))
 				.thenReturn(new HpcIntegratedSystemAccount());
 		Mockito.lenient().when(systemAccountLocatorMock.getSystemAccount(any())).thenReturn(new HpcIntegratedSystemAccount());
-		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(), any(), any()))
+		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(HpcDataTransferConfiguration.class)))
 				.thenReturn("token");
 		Mockito.lenient().when(dataManagementConfigurationLocatorMock.getDataTransferConfiguration(any(), any(), any()))
 				.thenReturn(new HpcDataTransferConfiguration());
@@ -214,7 +214,7 @@ public class HpcDataTransferServiceImplTest {
 		Mockito.lenient().when(systemAccountLocatorMock.getSystemAccount(any(), any()))
 				.thenReturn(new HpcIntegratedSystemAccount());
 		Mockito.lenient().when(systemAccountLocatorMock.getSystemAccount(any())).thenReturn(new HpcIntegratedSystemAccount());
-		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(), any(), any()))
+		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(HpcDataTransferConfiguration.class)))
 				.thenReturn("token");
 		HpcDataManagementConfiguration testConfiguration = new HpcDataManagementConfiguration();
 		testConfiguration.setDoc("testDoc");
@@ -295,7 +295,7 @@ public class HpcDataTransferServiceImplTest {
 		Mockito.lenient().when(systemAccountLocatorMock.getSystemAccount(any(), any()))
 				.thenReturn(new HpcIntegratedSystemAccount());
 		Mockito.lenient().when(systemAccountLocatorMock.getSystemAccount(any())).thenReturn(new HpcIntegratedSystemAccount());
-		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(), any(), any()))
+		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(HpcDataTransferConfiguration.class)))
 				.thenReturn("token");
 
 		// Prepare test data.
@@ -374,7 +374,7 @@ public class HpcDataTransferServiceImplTest {
 		HpcIntegratedSystemAccount account = new HpcIntegratedSystemAccount();
 		account.setUsername("test-globus-account");
 		when(systemAccountLocatorMock.getSystemAccount(any(HpcDataTransferType.class), any())).thenReturn(account);
-		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(), any(), any())).thenReturn("mock-token");
+		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(HpcDataTransferConfiguration.class))).thenReturn("mock-token");
 		HpcTransferAcceptanceResponse response = new HpcTransferAcceptanceResponse() {
 			@Override
 			public boolean canAcceptTransfer() {
@@ -410,7 +410,7 @@ public class HpcDataTransferServiceImplTest {
 		HpcIntegratedSystemAccount account = new HpcIntegratedSystemAccount();
 		account.setUsername("test-globus-account");
 		when(systemAccountLocatorMock.getSystemAccount(any(HpcDataTransferType.class), any())).thenReturn(account);
-		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(), any(), any())).thenReturn("mock-token");
+		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(HpcDataTransferConfiguration.class))).thenReturn("mock-token");
 		HpcTransferAcceptanceResponse response = new HpcTransferAcceptanceResponse() {
 			@Override
 			public boolean canAcceptTransfer() {
@@ -446,7 +446,7 @@ public class HpcDataTransferServiceImplTest {
 		HpcIntegratedSystemAccount account = new HpcIntegratedSystemAccount();
 		account.setUsername("test-globus-account");
 		when(systemAccountLocatorMock.getSystemAccount(any(HpcDataTransferType.class), any())).thenReturn(account);
-		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(), any(), any())).thenReturn("mock-token");
+		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(HpcDataTransferConfiguration.class))).thenReturn("mock-token");
 		HpcTransferAcceptanceResponse response = new HpcTransferAcceptanceResponse() {
 			@Override
 			public boolean canAcceptTransfer() {
@@ -506,7 +506,7 @@ public class HpcDataTransferServiceImplTest {
 		HpcIntegratedSystemAccount account = new HpcIntegratedSystemAccount();
 		account.setUsername("test-globus-account");
 		when(systemAccountLocatorMock.getSystemAccount(any(HpcDataTransferType.class), any())).thenReturn(account);
-		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(), any(), any())).thenReturn("mock-token");
+		Mockito.lenient().when(dataTransferProxyMock.authenticate(any(), any(HpcDataTransferConfiguration.class))).thenReturn("mock-token");
 		HpcTransferAcceptanceResponse response = new HpcTransferAcceptanceResponse() {
 			@Override
 			public boolean canAcceptTransfer() {
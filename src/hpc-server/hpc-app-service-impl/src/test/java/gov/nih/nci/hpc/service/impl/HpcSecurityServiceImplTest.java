@@ -0,0 +1,101 @@
+/**
+ * HpcSecurityServiceImplTest.java
+ *
+ * <p>
+ * Copyright SVG, Inc. Copyright Leidos Biomedical Research, Inc
+ *
+ * <p>
+ * Distributed under the OSI-approved BSD 3-Clause License. See
+ * http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+package gov.nih.nci.hpc.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import gov.nih.nci.hpc.dao.HpcUserDAO;
+import gov.nih.nci.hpc.domain.model.HpcAuthenticationTokenClaims;
+import gov.nih.nci.hpc.domain.model.HpcUser;
+import gov.nih.nci.hpc.exception.HpcException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * HPC Security Service Implementation Test.
+ *
+ * @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+ */
+@ExtendWith(MockitoExtension.class)
+public class HpcSecurityServiceImplTest {
+	// ---------------------------------------------------------------------//
+	// Constants
+	// ---------------------------------------------------------------------//
+
+	// The authentication token signature key.
+	private static final String SIGNATURE_KEY = "hpcauthenticationtokensignaturekeyhpcauthenticationtokensignaturekey";
+
+	// ---------------------------------------------------------------------//
+	// Instance members
+	// ---------------------------------------------------------------------//
+
+	// Mocks.
+	@Mock
+	private HpcUserDAO userDAOMock = null;
+
+	// The app service under test.
+	@InjectMocks
+	private HpcSecurityServiceImpl securityService = new HpcSecurityServiceImpl(SIGNATURE_KEY, 100, 300);
+
+	// ---------------------------------------------------------------------//
+	// Unit Tests
+	// ---------------------------------------------------------------------//
+
+	/*
+	 * Test Case: Delete a user after its token (and another user's token) was
+	 * parsed and cached. Expected: The cached tokens are invalidated, and both
+	 * tokens are parsed again w/ the same claims.
+	 */
+	@Test
+	public void testDeleteUser_ParsedTokensInvalidated() throws HpcException {
+		String userToken = newToken("user");
+		String otherUserToken = newToken("otherUser");
+		assertEquals("user", securityService.parseAuthenticationToken(userToken).getUserId());
+		assertEquals("otherUser", securityService.parseAuthenticationToken(otherUserToken).getUserId());
+
+		when(userDAOMock.getUser("user")).thenReturn(new HpcUser());
+		securityService.deleteUser("user");
+		verify(userDAOMock).deleteUser("user");
+
+		HpcAuthenticationTokenClaims tokenClaims = securityService.parseAuthenticationToken(userToken);
+		assertEquals("user", tokenClaims.getUserId());
+		assertEquals("user", tokenClaims.getDataManagementAccount().getUsername());
+		assertEquals("otherUser", securityService.parseAuthenticationToken(otherUserToken).getUserId());
+	}
+
+	// ---------------------------------------------------------------------//
+	// Helper Methods
+	// ---------------------------------------------------------------------//
+
+	private String newToken(String userId) {
+		Date expiration = new Date(System.currentTimeMillis() + 3600000);
+		Map<String, Object> claims = new HashMap<>();
+		claims.put("UserName", userId);
+		claims.put("DataManagementAccount",
+				"{\"integratedSystem\":\"IRODS\",\"username\":\"" + userId + "\",\"password\":\"\",\"properties\":{}}");
+		claims.put("DataManagementAccountExpiration", expiration);
+
+		return Jwts.builder().setClaims(claims).setExpiration(expiration)
+				.signWith(SignatureAlgorithm.HS256, SIGNATURE_KEY).compact();
+	}
+}
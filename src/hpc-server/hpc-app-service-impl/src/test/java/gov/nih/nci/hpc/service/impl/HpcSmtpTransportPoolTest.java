@@ -0,0 +1,229 @@
+/**
+ * HpcSmtpTransportPoolTest.java
+ *
+ * <p>
+ * Copyright SVG, Inc. Copyright Leidos Biomedical Research, Inc
+ *
+ * <p>
+ * Distributed under the OSI-approved BSD 3-Clause License. See
+ * http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+package gov.nih.nci.hpc.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.mail.Message;
+import jakarta.mail.internet.InternetAddress;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import gov.nih.nci.hpc.exception.HpcException;
+
+/**
+ * HPC SMTP Transport Pool Test. Messages are sent to an in-process SMTP
+ * stand-in.
+ *
+ * @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+ */
+public class HpcSmtpTransportPoolTest {
+	// ---------------------------------------------------------------------//
+	// Instance members
+	// ---------------------------------------------------------------------//
+
+	// The in-process SMTP server.
+	private HpcSmtpServerStandIn smtpServer = null;
+
+	// The transport pool under test.
+	private HpcSmtpTransportPool transportPool = null;
+
+	// ---------------------------------------------------------------------//
+	// Unit Tests
+	// ---------------------------------------------------------------------//
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		smtpServer = new HpcSmtpServerStandIn();
+		transportPool = newTransportPool(1, 3);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		transportPool.close();
+		smtpServer.close();
+	}
+
+	/*
+	 * Test Case: Send several messages. Expected: All messages are sent over a
+	 * single connection.
+	 */
+	@Test
+	public void testSend_ConnectionReused() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			transportPool.send(toMessage("user" + i));
+		}
+
+		assertEquals(5, smtpServer.messages.get());
+		assertEquals(1, smtpServer.connections.get());
+	}
+
+	/*
+	 * Test Case: The server rejects the first send attempt. Expected: The message
+	 * is sent on retry, over a new connection.
+	 */
+	@Test
+	public void testSend_Retry() throws Exception {
+		smtpServer.rejections.set(1);
+		transportPool.send(toMessage("user"));
+
+		assertEquals(1, smtpServer.messages.get());
+		assertEquals(2, smtpServer.connections.get());
+	}
+
+	/*
+	 * Test Case: The server rejects all send attempts. Expected: HpcException is
+	 * thrown after max attempts.
+	 */
+	@Test
+	public void testSend_RetryExhausted() throws Exception {
+		smtpServer.rejections.set(3);
+
+		assertThrows(HpcException.class, () -> transportPool.send(toMessage("user")));
+		assertEquals(0, smtpServer.messages.get());
+		assertEquals(3, smtpServer.connections.get());
+	}
+
+	/*
+	 * Test Case: The server permanently rejects the send attempt. Expected:
+	 * HpcException is thrown w/o retry.
+	 */
+	@Test
+	public void testSend_PermanentRejectionNotRetried() throws Exception {
+		smtpServer.permanentRejections.set(1);
+
+		assertThrows(HpcException.class, () -> transportPool.send(toMessage("user")));
+		assertEquals(0, smtpServer.messages.get());
+		assertEquals(1, smtpServer.connections.get());
+	}
+
+	// ---------------------------------------------------------------------//
+	// Helper Methods
+	// ---------------------------------------------------------------------//
+
+	private HpcSmtpTransportPool newTransportPool(int poolSize, int maxAttempts) throws Exception {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(smtpServer.getPort());
+		Properties properties = new Properties();
+		properties.setProperty("mail.smtp.auth", "false");
+		properties.setProperty("mail.smtp.connectiontimeout", "5000");
+		properties.setProperty("mail.smtp.timeout", "5000");
+		mailSender.setJavaMailProperties(properties);
+
+		return new HpcSmtpTransportPool(mailSender, poolSize, 0, maxAttempts, 10, 10);
+	}
+
+	private MimeMessagePreparator toMessage(String userId) {
+		return mimeMessage -> {
+			mimeMessage.setFrom(new InternetAddress("dme-notification@doNotReply.nih.gov"));
+			mimeMessage.setRecipient(Message.RecipientType.TO, new InternetAddress(userId + "@nih.gov"));
+			mimeMessage.setSubject("Test");
+			mimeMessage.setText("Test message");
+		};
+	}
+
+	/**
+	 * A minimal in-process SMTP server. It accepts every message, except that
+	 * the configured number of MAIL commands are rejected (temporarily or
+	 * permanently).
+	 */
+	private static class HpcSmtpServerStandIn {
+		private ServerSocket serverSocket = null;
+		private AtomicInteger connections = new AtomicInteger();
+		private AtomicInteger messages = new AtomicInteger();
+		private AtomicInteger rejections = new AtomicInteger();
+		private AtomicInteger permanentRejections = new AtomicInteger();
+
+		private HpcSmtpServerStandIn() throws IOException {
+			serverSocket = new ServerSocket(0);
+			Thread acceptor = new Thread(() -> {
+				while (!serverSocket.isClosed()) {
+					try {
+						Socket socket = serverSocket.accept();
+						connections.incrementAndGet();
+						Thread session = new Thread(() -> serve(socket));
+						session.setDaemon(true);
+						session.start();
+
+					} catch (IOException e) {
+						return;
+					}
+				}
+			});
+			acceptor.setDaemon(true);
+			acceptor.start();
+		}
+
+		private int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		private void close() throws IOException {
+			serverSocket.close();
+		}
+
+		private void serve(Socket socket) {
+			try (Socket s = socket;
+					BufferedReader reader = new BufferedReader(
+							new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+					Writer writer = new OutputStreamWriter(s.getOutputStream(), StandardCharsets.US_ASCII)) {
+				reply(writer, "220 localhost SMTP stand-in");
+				String line = null;
+				while ((line = reader.readLine()) != null) {
+					String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+					if (command.equals("MAIL") && rejections.getAndUpdate(r -> Math.max(r - 1, 0)) > 0) {
+						reply(writer, "451 Try again later");
+					} else if (command.equals("MAIL")
+							&& permanentRejections.getAndUpdate(r -> Math.max(r - 1, 0)) > 0) {
+						reply(writer, "550 Mailbox unavailable");
+					} else if (command.equals("DATA")) {
+						reply(writer, "354 End data with <CR><LF>.<CR><LF>");
+						while ((line = reader.readLine()) != null && !line.equals(".")) {
+							// Discard the message content.
+						}
+						messages.incrementAndGet();
+						reply(writer, "250 OK");
+					} else if (command.equals("QUIT")) {
+						reply(writer, "221 Bye");
+						return;
+					} else {
+						reply(writer, "250 OK");
+					}
+				}
+
+			} catch (IOException e) {
+				// Connection closed.
+			}
+		}
+
+		private void reply(Writer writer, String reply) throws IOException {
+			writer.write(reply + "\r\n");
+			writer.flush();
+		}
+	}
+}
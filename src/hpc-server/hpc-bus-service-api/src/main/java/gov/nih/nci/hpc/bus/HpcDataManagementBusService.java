@@ -11,7 +11,10 @@
 package gov.nih.nci.hpc.bus;
 
 import java.io.File;
+import java.util.List;
 
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTaskItem;
 import gov.nih.nci.hpc.domain.model.HpcStorageRecoveryConfiguration;
 import gov.nih.nci.hpc.domain.model.HpcSystemGeneratedMetadata;
 import gov.nih.nci.hpc.dto.datamanagement.HpcArchivePermissionsRequestDTO;
@@ -19,6 +22,8 @@ import gov.nih.nci.hpc.dto.datamanagement.HpcArchivePermissionsResponseDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkDataObjectDownloadResponseDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateRequestDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateResponseDTO;
+import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateTaskResponseDTO;
+import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateTaskStatusDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMoveRequestDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMoveResponseDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcCollectionDTO;
@@ -168,12 +173,17 @@ public interface HpcDataManagementBusService {
 	/**
 	 * Get collection download task status.
 	 *
-	 * @param taskId The collection download task ID.
+	 * @param taskId        The collection download task ID.
+	 * @param itemsAfter    (Optional) Return download items after this item ID
+	 *                      (the 'nextItemsAfter' of the previous page).
+	 * @param itemsPageSize (Optional) The max number of download items to return.
+	 *                      If not provided, all the download items are returned.
 	 * @return A collection download status DTO. Null if the task could not be
 	 *         found.
 	 * @throws HpcException on service failure.
 	 */
-	public HpcCollectionDownloadStatusDTO getCollectionDownloadStatus(String taskId) throws HpcException;
+	public HpcCollectionDownloadStatusDTO getCollectionDownloadStatus(String taskId, Integer itemsAfter,
+			Integer itemsPageSize) throws HpcException;
 
 	/**
 	 * Cancel a collection download task.
@@ -207,12 +217,17 @@ public interface HpcDataManagementBusService {
 	/**
 	 * Get download task status of a list of data objects or a list of collections.
 	 *
-	 * @param taskId The download task ID.
+	 * @param taskId        The download task ID.
+	 * @param itemsAfter    (Optional) Return download items after this item ID
+	 *                      (the 'nextItemsAfter' of the previous page).
+	 * @param itemsPageSize (Optional) The max number of download items to return.
+	 *                      If not provided, all the download items are returned.
 	 * @return A collection download status DTO. Null if the task could not be
 	 *         found.
 	 * @throws HpcException on service failure.
 	 */
-	public HpcCollectionDownloadStatusDTO getDataObjectsOrCollectionsDownloadStatus(String taskId) throws HpcException;
+	public HpcCollectionDownloadStatusDTO getDataObjectsOrCollectionsDownloadStatus(String taskId, Integer itemsAfter,
+			Integer itemsPageSize) throws HpcException;
 
 	/**
 	 * Cancel download task of a list of data objects or a list of collections.
@@ -701,6 +716,37 @@ public interface HpcDataManagementBusService {
 	public HpcBulkMetadataUpdateResponseDTO updateMetadata(HpcBulkMetadataUpdateRequestDTO bulkMetadataUpdateRequest)
 			throws HpcException;
 
+	/**
+	 * Submit a bulk metadata update task. The task is processed asynchronously
+	 * (by the scheduler), w/o limit on the number of collections / data objects
+	 * to update.
+	 *
+	 * @param bulkMetadataUpdateRequest The bulk metadata update request.
+	 * @return A response DTO containing the bulk metadata update task ID.
+	 * @throws HpcException on service failure.
+	 */
+	public HpcBulkMetadataUpdateTaskResponseDTO submitBulkMetadataUpdateTask(
+			HpcBulkMetadataUpdateRequestDTO bulkMetadataUpdateRequest) throws HpcException;
+
+	/**
+	 * Get bulk metadata update task status.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @return A bulk metadata update task status DTO. Null if the task could not
+	 *         be found.
+	 * @throws HpcException on service failure.
+	 */
+	public HpcBulkMetadataUpdateTaskStatusDTO getBulkMetadataUpdateTaskStatus(String taskId) throws HpcException;
+
+	/**
+	 * Update the metadata of a bulk metadata update task item (collection or data
+	 * object). The result (and error message) is set on the item.
+	 *
+	 * @param item            The bulk metadata update task item.
+	 * @param metadataEntries The metadata entries to update.
+	 */
+	public void updateMetadata(HpcBulkMetadataUpdateTaskItem item, List<HpcMetadataEntry> metadataEntries);
+
 	/**
 	 * Update download task of a data object, collection, list of data objects or a list of collections.
 	 *
@@ -8,9 +8,12 @@
  */
 package gov.nih.nci.hpc.bus;
 
+import java.util.function.Consumer;
+
 import gov.nih.nci.hpc.dto.catalog.HpcCatalogRequestDTO;
 import gov.nih.nci.hpc.dto.catalog.HpcCatalogsDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcCollectionListDTO;
+import gov.nih.nci.hpc.dto.datamanagement.HpcDataObjectDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcDataObjectListDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcMetadataAttributesListDTO;
 import gov.nih.nci.hpc.dto.datasearch.HpcCompoundMetadataQueryDTO;
@@ -78,6 +81,19 @@ public interface HpcDataSearchBusService {
 	public HpcDataObjectListDTO getAllDataObjects(String path, Integer page, Integer pageSize, Boolean totalCount)
 			throws HpcException;
 
+	/**
+	 * Stream all data objects under path. Unlike getAllDataObjects(), the results
+	 * are not paged nor held in memory. Each data object is passed to the consumer
+	 * as soon as all its metadata was read from the DB, so the consumer controls
+	 * the pace of the stream.
+	 *
+	 * @param path     The path specified (optional).
+	 * @param consumer The consumer of the streamed data objects.
+	 * @return The number of data objects streamed.
+	 * @throws HpcException on service failure.
+	 */
+	public long streamAllDataObjects(String path, Consumer<HpcDataObjectDTO> consumer) throws HpcException;
+
 	/**
 	 * Get data objects by named query.
 	 *
@@ -274,6 +274,20 @@ public interface HpcSecurityBusService {
 	public void addApiCallAuditRecord(String userId, String httpRequestMethod, String endpoint, String httpResponseCode,
 			String serverId, Calendar created, Calendar completed, String jsonBody) throws HpcException;
 	
+	/**
+	 * Consume user rate limit tokens from the user bucket shared by all servers.
+	 *
+	 * @param userId       The user ID.
+	 * @param tokens       The number of tokens to consume.
+	 * @param capacity     The bucket capacity.
+	 * @param refillPeriod The time (in seconds) to refill an empty bucket.
+	 * @return 0 if the tokens were consumed, otherwise the time (in milliseconds)
+	 *         to wait until enough tokens are available.
+	 * @throws HpcException on database error.
+	 */
+	public long consumeUserRateLimitTokens(String userId, long tokens, long capacity, int refillPeriod)
+			throws HpcException;
+
 	/**
 	 * Refresh Investigators.
 	 *
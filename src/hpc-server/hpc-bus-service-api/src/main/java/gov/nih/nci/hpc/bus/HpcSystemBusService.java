@@ -11,6 +11,7 @@
 package gov.nih.nci.hpc.bus;
 
 import gov.nih.nci.hpc.domain.datatransfer.HpcDownloadResult;
+import gov.nih.nci.hpc.dto.datasearch.HpcMetadataViewsRefreshStatusDTO;
 import gov.nih.nci.hpc.exception.HpcException;
 
 /**
@@ -222,6 +223,15 @@ public interface HpcSystemBusService {
 	 */
 	public void completeBulkDataObjectRegistrationTasks() throws HpcException;
 
+	/**
+	 * Process bulk metadata update tasks. Received tasks are resolved into items
+	 * (collections / data objects to update), and the items of tasks in progress
+	 * are updated.
+	 *
+	 * @throws HpcException on service failure.
+	 */
+	public void processBulkMetadataUpdateTasks() throws HpcException;
+
 	/**
 	 * Complete a synchronous data object download task
 	 *
@@ -238,6 +248,14 @@ public interface HpcSystemBusService {
 	 */
 	public void processEvents() throws HpcException;
 
+	/**
+	 * Send notification digests to users w/ a digest subscription, once the digest
+	 * window elapsed.
+	 *
+	 * @throws HpcException on service failure.
+	 */
+	public void sendNotificationDigests() throws HpcException;
+
 	/**
 	 * Generate summary report event.
 	 *
@@ -288,7 +306,16 @@ public interface HpcSystemBusService {
 	public void refreshHourlyViews() throws HpcException;
 
 	/**
-	 * Refresh the daily materialized views.
+	 * Get the last refresh status (type, duration, staleness) of the
+	 * incrementally refreshed metadata views.
+	 *
+	 * @return The metadata views refresh status.
+	 * @throws HpcException on service failure.
+	 */
+	public HpcMetadataViewsRefreshStatusDTO getMetadataViewsRefreshStatus() throws HpcException;
+
+	/**
+	 * Refresh the daily materialized views, and roll up the reports views into the daily report rollups.
 	 *
 	 * @throws HpcException on service failure.
 	 */
@@ -40,6 +40,7 @@ import com.google.common.io.Files;
 import gov.nih.nci.hpc.bus.HpcDataManagementBusService;
 import gov.nih.nci.hpc.bus.HpcDataMigrationBusService;
 import gov.nih.nci.hpc.domain.datamanagement.HpcAuditRequestType;
+import gov.nih.nci.hpc.domain.datamanagement.HpcBulkMetadataUpdateTaskStatus;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCalculateTotalSizeEntry;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollection;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollectionListingEntry;
@@ -49,6 +50,7 @@ import gov.nih.nci.hpc.domain.datamanagement.HpcGroupPermission;
 import gov.nih.nci.hpc.domain.datamanagement.HpcListObjectsEntry;
 import gov.nih.nci.hpc.domain.datamanagement.HpcMetadataUpdateItem;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPathAttributes;
+import gov.nih.nci.hpc.domain.datamanagement.HpcPathType;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPathPermissions;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPermission;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPermissionForCollection;
@@ -62,6 +64,7 @@ import gov.nih.nci.hpc.domain.datatransfer.HpcAsperaDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcBoxDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTask;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItem;
+import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItemsSummary;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskStatus;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadResponse;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadTask;
@@ -98,6 +101,8 @@ import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationItem;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationResult;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationStatus;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTaskItem;
 import gov.nih.nci.hpc.domain.model.HpcDataManagementConfiguration;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectRegistrationRequest;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectRegistrationResult;
@@ -125,6 +130,8 @@ import gov.nih.nci.hpc.dto.datamanagement.HpcArchivePermissionsResponseDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkDataObjectDownloadResponseDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateRequestDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateResponseDTO;
+import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateTaskResponseDTO;
+import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateTaskStatusDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMoveRequestDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMoveResponseDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcCollectionDTO;
@@ -197,6 +204,10 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 	private static final int ARCHIVE_FILE_PERMISSIONS_MODE = 440;
 	private static final int ARCHIVE_DIRECTORY_PERMISSIONS_MODE = 550;
 
+	// The number of download items read in one page when all the items of a
+	// collection download task are needed.
+	private static final int COLLECTION_DOWNLOAD_ITEMS_PAGE_SIZE = 5000;
+
 	// ---------------------------------------------------------------------//
 	// Instance members
 	// ---------------------------------------------------------------------//
@@ -846,8 +857,9 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 
 
 	@Override
-	public HpcCollectionDownloadStatusDTO getCollectionDownloadStatus(String taskId) throws HpcException {
-		return getCollectionDownloadStatus(taskId, HpcDownloadTaskType.COLLECTION);
+	public HpcCollectionDownloadStatusDTO getCollectionDownloadStatus(String taskId, Integer itemsAfter,
+			Integer itemsPageSize) throws HpcException {
+		return getCollectionDownloadStatus(taskId, HpcDownloadTaskType.COLLECTION, itemsAfter, itemsPageSize);
 	}
 
 	@Override
@@ -987,11 +999,12 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 	}
 
 	@Override
-	public HpcCollectionDownloadStatusDTO getDataObjectsOrCollectionsDownloadStatus(String taskId) throws HpcException {
+	public HpcCollectionDownloadStatusDTO getDataObjectsOrCollectionsDownloadStatus(String taskId, Integer itemsAfter,
+			Integer itemsPageSize) throws HpcException {
 		HpcCollectionDownloadStatusDTO downloadStatus = getCollectionDownloadStatus(taskId,
-				HpcDownloadTaskType.DATA_OBJECT_LIST);
+				HpcDownloadTaskType.DATA_OBJECT_LIST, itemsAfter, itemsPageSize);
 		return downloadStatus != null ? downloadStatus
-				: getCollectionDownloadStatus(taskId, HpcDownloadTaskType.COLLECTION_LIST);
+				: getCollectionDownloadStatus(taskId, HpcDownloadTaskType.COLLECTION_LIST, itemsAfter, itemsPageSize);
 	}
 
 	@Override
@@ -2621,18 +2634,7 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 	public HpcBulkMetadataUpdateResponseDTO updateMetadata(HpcBulkMetadataUpdateRequestDTO bulkMetadataUpdateRequest)
 			throws HpcException {
 		// Input Validation
-		if (bulkMetadataUpdateRequest == null || (bulkMetadataUpdateRequest.getDataObjectPaths().size() == 0
-				&& bulkMetadataUpdateRequest.getCollectionPaths().size() == 0
-				&& bulkMetadataUpdateRequest.getDataObjectCompoundQuery() == null
-				&& bulkMetadataUpdateRequest.getCollectionCompoundQuery() == null)) {
-			throw new HpcException("No data object / collection paths or queries in metadata update request",
-					HpcErrorType.INVALID_REQUEST_INPUT);
-		}
-
-		if (bulkMetadataUpdateRequest.getMetadataEntries().size() == 0) {
-			throw new HpcException("No metadata entries in metadata update request",
-					HpcErrorType.INVALID_REQUEST_INPUT);
-		}
+		validateBulkMetadataUpdateRequest(bulkMetadataUpdateRequest);
 
 		// Perform the collection and data objects queries to get paths to include in
 		// the bulk metadata update request.
@@ -2730,6 +2732,112 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 		return bulkMetadataUpdateResponse;
 	}
 
+	@Override
+	public HpcBulkMetadataUpdateTaskResponseDTO submitBulkMetadataUpdateTask(
+			HpcBulkMetadataUpdateRequestDTO bulkMetadataUpdateRequest) throws HpcException {
+		// Input Validation
+		validateBulkMetadataUpdateRequest(bulkMetadataUpdateRequest);
+
+		// Normalize the collection and data object paths the user requested
+		// explicitly. The queries are performed when the task is processed.
+		List<String> collectionPaths = new ArrayList<>();
+		bulkMetadataUpdateRequest.getCollectionPaths()
+				.forEach(collectionPath -> collectionPaths.add(toNormalizedPath(collectionPath)));
+		List<String> dataObjectPaths = new ArrayList<>();
+		bulkMetadataUpdateRequest.getDataObjectPaths()
+				.forEach(dataObjectPath -> dataObjectPaths.add(toNormalizedPath(dataObjectPath)));
+
+		// Create the bulk metadata update task.
+		HpcBulkMetadataUpdateTask bulkMetadataUpdateTask = dataManagementService.createBulkMetadataUpdateTask(
+				securityService.getRequestInvoker().getNciAccount().getUserId(),
+				bulkMetadataUpdateRequest.getDataObjectCompoundQuery(),
+				bulkMetadataUpdateRequest.getCollectionCompoundQuery(), bulkMetadataUpdateRequest.getMetadataEntries(),
+				dataObjectPaths, collectionPaths);
+
+		// Package and return the response.
+		HpcBulkMetadataUpdateTaskResponseDTO bulkMetadataUpdateTaskResponse = new HpcBulkMetadataUpdateTaskResponseDTO();
+		bulkMetadataUpdateTaskResponse.setTaskId(bulkMetadataUpdateTask.getId());
+		return bulkMetadataUpdateTaskResponse;
+	}
+
+	@Override
+	public HpcBulkMetadataUpdateTaskStatusDTO getBulkMetadataUpdateTaskStatus(String taskId) throws HpcException {
+		// Input validation.
+		if (StringUtils.isEmpty(taskId)) {
+			throw new HpcException("Null / Empty bulk metadata update task ID", HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		// Get the bulk metadata update task.
+		HpcBulkMetadataUpdateTask bulkMetadataUpdateTask = dataManagementService.getBulkMetadataUpdateTask(taskId);
+		if (bulkMetadataUpdateTask == null) {
+			return null;
+		}
+
+		// Map the task to a status DTO.
+		HpcBulkMetadataUpdateTaskStatusDTO taskStatus = new HpcBulkMetadataUpdateTaskStatusDTO();
+		taskStatus.setTaskId(bulkMetadataUpdateTask.getId());
+		taskStatus.setUserId(bulkMetadataUpdateTask.getUserId());
+		taskStatus.setInProgress(
+				!bulkMetadataUpdateTask.getStatus().equals(HpcBulkMetadataUpdateTaskStatus.COMPLETED));
+		taskStatus.setResult(bulkMetadataUpdateTask.getResult());
+		taskStatus.setCreated(bulkMetadataUpdateTask.getCreated());
+		taskStatus.setCompleted(bulkMetadataUpdateTask.getCompleted());
+
+		int itemsCount = Optional.ofNullable(bulkMetadataUpdateTask.getItemsCount()).orElse(0);
+		int completedItemsCount = Optional.ofNullable(bulkMetadataUpdateTask.getCompletedItemsCount()).orElse(0);
+		int failedItemsCount = Optional.ofNullable(bulkMetadataUpdateTask.getFailedItemsCount()).orElse(0);
+		taskStatus.setItemsCount(itemsCount);
+		taskStatus.setCompletedItemsCount(completedItemsCount);
+		taskStatus.setFailedItemsCount(failedItemsCount);
+
+		// The queries are not resolved into items until the task is in progress, so
+		// the percent complete is calculated from that point.
+		if (!taskStatus.getInProgress()) {
+			taskStatus.setPercentComplete(100);
+		} else if (bulkMetadataUpdateTask.getStatus().equals(HpcBulkMetadataUpdateTaskStatus.IN_PROGRESS)
+				&& itemsCount > 0) {
+			taskStatus.setPercentComplete((int) (((long) completedItemsCount + failedItemsCount) * 100 / itemsCount));
+		} else {
+			taskStatus.setPercentComplete(0);
+		}
+
+		// Add the failed items.
+		if (failedItemsCount > 0) {
+			dataManagementService.getFailedBulkMetadataUpdateTaskItems(taskId).forEach(failedItem -> {
+				HpcMetadataUpdateItem item = new HpcMetadataUpdateItem();
+				item.setPath(failedItem.getPath());
+				item.setResult(false);
+				item.setMessage(failedItem.getMessage());
+				taskStatus.getFailedItems().add(item);
+			});
+		}
+
+		return taskStatus;
+	}
+
+	@Override
+	public void updateMetadata(HpcBulkMetadataUpdateTaskItem item, List<HpcMetadataEntry> metadataEntries) {
+		item.setResult(true);
+		item.setMessage(null);
+
+		try {
+			String userId = securityService.getRequestInvoker().getNciAccount().getUserId();
+			String path = item.getPath();
+			if (item.getPathType().equals(HpcPathType.DATAOBJECT)) {
+				updateDataObject(path, metadataEntries,
+						dataManagementService.getCollectionType(path.substring(0, path.lastIndexOf('/'))), false, null,
+						null, null, userId, null, true);
+			} else {
+				updateCollection(path, metadataEntries, userId);
+			}
+
+		} catch (HpcException e) {
+			logger.error("Failed to update metadata in a bulk metadata update task: {}", item.getPath(), e);
+			item.setResult(false);
+			item.setMessage(e.getMessage());
+		}
+	}
+
 	@Override
 	public void updateDownloadTask(HpcDownloadTaskUpdateRequestDTO downloadTaskUpdateRequest) throws HpcException {
 		// Input validation
@@ -3234,27 +3342,47 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 	/**
 	 * Get collection download task status.
 	 *
-	 * @param taskId   The collection download task ID.
-	 * @param taskType COLLECTION or DATA_OBJECT_LIST.
+	 * @param taskId        The collection download task ID.
+	 * @param taskType      COLLECTION or DATA_OBJECT_LIST.
+	 * @param itemsAfter    (Optional) Return download items after this item ID
+	 *                      (the 'nextItemsAfter' of the previous page).
+	 * @param itemsPageSize (Optional) The max number of download items to return.
+	 *                      If not provided, all the download items are returned.
 	 * @return A collection download status DTO. Null if the task could not be
 	 *         found.
 	 * @throws HpcException on service failure.
 	 */
-	private HpcCollectionDownloadStatusDTO getCollectionDownloadStatus(String taskId, HpcDownloadTaskType taskType)
-			throws HpcException {
+	private HpcCollectionDownloadStatusDTO getCollectionDownloadStatus(String taskId, HpcDownloadTaskType taskType,
+			Integer itemsAfter, Integer itemsPageSize) throws HpcException {
 		// Input validation.
 		if (taskId == null) {
 			throw new HpcException("Null collection download task ID", HpcErrorType.INVALID_REQUEST_INPUT);
 		}
+		if (itemsPageSize != null && itemsPageSize <= 0) {
+			throw new HpcException("Invalid items page size: " + itemsPageSize, HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+		boolean pagedItems = itemsPageSize != null;
+		int afterItemId = Optional.ofNullable(itemsAfter).orElse(0);
 
-		// Get the download task status.
-		HpcDownloadTaskStatus taskStatus = dataTransferService.getDownloadTaskStatus(taskId, taskType);
+		// Get the download task status. If the download items are paged, only the
+		// requested page of items is loaded.
+		HpcDownloadTaskStatus taskStatus = dataTransferService.getDownloadTaskStatus(taskId, taskType, !pagedItems);
 		if (taskStatus == null) {
 			return null;
 		}
 		// Map the task status to DTO.
 		HpcCollectionDownloadStatusDTO downloadStatus = new HpcCollectionDownloadStatusDTO();
 		downloadStatus.setInProgress(taskStatus.getInProgress());
+
+		// Get the requested page of download items.
+		List<HpcCollectionDownloadTaskItem> itemsPage = null;
+		if (pagedItems) {
+			itemsPage = dataTransferService.getCollectionDownloadTaskItems(taskId, afterItemId, itemsPageSize);
+			if (itemsPage.size() == itemsPageSize) {
+				downloadStatus.setNextItemsAfter(itemsPage.get(itemsPage.size() - 1).getItemId());
+			}
+		}
+
 		if (taskStatus.getInProgress()) {
 			logger.info("Transfer of file is in progress: " + taskStatus.getCollectionDownloadTask().getPath());
 			// Download in progress. Populate the DTO accordingly.
@@ -3300,8 +3428,12 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 			// is not yet ACTIVE, because the collection items field does not get populated before that
 
 			List<HpcCollectionDownloadTaskItem> items = taskStatus.getCollectionDownloadTask().getItems();
+			if (pagedItems) {
+				items.addAll(itemsPage);
+			}
+			boolean itemsPersisted = !CollectionUtils.isEmpty(items) || afterItemId > 0;
 			if (!HpcCollectionDownloadTaskStatus.ACTIVE.equals(taskStatus.getCollectionDownloadTask().getStatus())
-					&& CollectionUtils.isEmpty(items)) {
+					&& !itemsPersisted) {
 				logger.info("Retrieving download tasks in collection {} with status {}",
 						taskStatus.getCollectionDownloadTask().getPath(),
 						taskStatus.getCollectionDownloadTask().getStatus());
@@ -3358,8 +3490,18 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 
 			}
 
-			downloadStatus.setPercentComplete(
-					calculateCollectionDownloadPercentComplete(taskStatus.getCollectionDownloadTask()));
+			// When paging, the items in the response are a subset of the task items, so
+			// the overall progress is calculated in the DB.
+			if (pagedItems && itemsPersisted) {
+				HpcCollectionDownloadTaskItemsSummary itemsSummary = dataTransferService
+						.getCollectionDownloadTaskItemsSummary(taskId);
+				downloadStatus.setPercentComplete(calculateCollectionDownloadPercentComplete(
+						taskStatus.getCollectionDownloadTask(), itemsSummary.getSize(),
+						itemsSummary.getBytesTransferred()));
+			} else {
+				downloadStatus.setPercentComplete(
+						calculateCollectionDownloadPercentComplete(taskStatus.getCollectionDownloadTask()));
+			}
 			populateDownloadItems(downloadStatus, taskStatus.getCollectionDownloadTask().getItems());
 
 		} else {
@@ -3378,10 +3520,15 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 			downloadStatus.setEffectiveTrasnsferSpeed(taskStatus.getResult().getEffectiveTransferSpeed() > 0
 					? taskStatus.getResult().getEffectiveTransferSpeed()
 					: null);
+			if (pagedItems) {
+				taskStatus.getResult().getItems().addAll(itemsPage);
+			}
 			populateDownloadItems(downloadStatus, taskStatus.getResult().getItems());
-			if (taskType.equals(HpcDownloadTaskType.COLLECTION_LIST)) {
+			if (taskType.equals(HpcDownloadTaskType.COLLECTION_LIST) && afterItemId == 0) {
+				// The collection list summary is calculated from all the items, and returned
+				// w/ the first page only.
 				populateCollectionListResultSummary(downloadStatus, taskStatus.getResult().getCollectionPaths(),
-						taskStatus.getResult().getItems());
+						pagedItems ? getAllCollectionDownloadTaskItems(taskId) : taskStatus.getResult().getItems());
 			}
 			downloadStatus.setRetryable(
 					(taskStatus.getResult().getGoogleDriveDownloadDestination() != null
@@ -3394,6 +3541,30 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 		return downloadStatus;
 	}
 
+	/**
+	 * Get all the items of a collection download task, reading them page by page.
+	 *
+	 * @param taskId The collection download task ID.
+	 * @return A list of all the download items.
+	 * @throws HpcException on service failure.
+	 */
+	private List<HpcCollectionDownloadTaskItem> getAllCollectionDownloadTaskItems(String taskId)
+			throws HpcException {
+		List<HpcCollectionDownloadTaskItem> items = new ArrayList<>();
+		List<HpcCollectionDownloadTaskItem> itemsPage = null;
+		int afterItemId = 0;
+		do {
+			itemsPage = dataTransferService.getCollectionDownloadTaskItems(taskId, afterItemId,
+					COLLECTION_DOWNLOAD_ITEMS_PAGE_SIZE);
+			if (!itemsPage.isEmpty()) {
+				items.addAll(itemsPage);
+				afterItemId = itemsPage.get(itemsPage.size() - 1).getItemId();
+			}
+		} while (itemsPage.size() == COLLECTION_DOWNLOAD_ITEMS_PAGE_SIZE);
+
+		return items;
+	}
+
 	/**
 	 * Split the list of download items into completed, failed and in-progress
 	 * buckets.
@@ -3929,6 +4100,28 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 		return dataObjectRegistration;
 	}
 
+	/**
+	 * Validate a bulk metadata update request.
+	 *
+	 * @param bulkMetadataUpdateRequest The bulk metadata update request.
+	 * @throws HpcException If the request is invalid.
+	 */
+	private void validateBulkMetadataUpdateRequest(HpcBulkMetadataUpdateRequestDTO bulkMetadataUpdateRequest)
+			throws HpcException {
+		if (bulkMetadataUpdateRequest == null || (bulkMetadataUpdateRequest.getDataObjectPaths().size() == 0
+				&& bulkMetadataUpdateRequest.getCollectionPaths().size() == 0
+				&& bulkMetadataUpdateRequest.getDataObjectCompoundQuery() == null
+				&& bulkMetadataUpdateRequest.getCollectionCompoundQuery() == null)) {
+			throw new HpcException("No data object / collection paths or queries in metadata update request",
+					HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		if (bulkMetadataUpdateRequest.getMetadataEntries().size() == 0) {
+			throw new HpcException("No metadata entries in metadata update request",
+					HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+	}
+
 	/**
 	 * Update collection metadata.
 	 *
@@ -4211,7 +4404,6 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 	 */
 	private int calculateCollectionDownloadPercentComplete(HpcCollectionDownloadTask downloadTask) {
 		long totalDownloadSize = 0;
-		long totalEstimatedDownloadSize = 0;
 		long totalBytesTransferred = 0;
 
 		// Sum the total download size and bytes transferred from the task's items.
@@ -4222,6 +4414,21 @@ public class HpcDataManagementBusServiceImpl implements HpcDataManagementBusServ
 					: 0;
 		}
 
+		return calculateCollectionDownloadPercentComplete(downloadTask, totalDownloadSize, totalBytesTransferred);
+	}
+
+	/**
+	 * Calculate the overall % complete of a collection download task
+	 *
+	 * @param downloadTask          The collection download task.
+	 * @param totalDownloadSize     The total size of the task's items.
+	 * @param totalBytesTransferred The bytes transferred of the task's items.
+	 * @return The overall % complete of the collection download task.
+	 */
+	private int calculateCollectionDownloadPercentComplete(HpcCollectionDownloadTask downloadTask,
+			long totalDownloadSize, long totalBytesTransferred) {
+		long totalEstimatedDownloadSize = 0;
+
 		// Create a logging prefix.
 		StringBuffer logPrefix = new StringBuffer("Bulk download task: [taskId={}] - Bytes transferred for ");
 		String logPrefixValue = null;
@@ -8,8 +8,12 @@
  */
 package gov.nih.nci.hpc.bus.impl;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -20,13 +24,19 @@ import java.util.Base64;
 import java.util.Calendar;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -47,6 +57,7 @@ import gov.nih.nci.hpc.domain.catalog.HpcCatalogCriteria;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollection;
 import gov.nih.nci.hpc.domain.datamanagement.HpcDataObject;
 import gov.nih.nci.hpc.domain.error.HpcErrorType;
+import gov.nih.nci.hpc.domain.metadata.HpcCompoundMetadataQuery;
 import gov.nih.nci.hpc.domain.metadata.HpcCompoundMetadataQueryFrequency;
 import gov.nih.nci.hpc.domain.metadata.HpcCompoundMetadataQueryType;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntries;
@@ -54,6 +65,7 @@ import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
 import gov.nih.nci.hpc.domain.metadata.HpcNamedCompoundMetadataQuery;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntry;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntryForCollection;
+import gov.nih.nci.hpc.domain.metadata.HpcSearchObjectPath;
 import gov.nih.nci.hpc.domain.model.HpcQueryConfiguration;
 import gov.nih.nci.hpc.domain.model.HpcRequestInvoker;
 import gov.nih.nci.hpc.domain.model.HpcUser;
@@ -115,14 +127,27 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 	@Autowired
 	private HpcExporter exporter = null;
 
+	// Search results cache.
+	@Autowired
+	private HpcSearchResultsCache searchResultsCache = null;
+
 	// The collection download task executor.
 	@Autowired
 	@Qualifier("hpcGetAllDataObjectsExecutorService")
 	ExecutorService hpcGetAllDataObjectsExecutorService = null;
 
+	// The search results details lookup executor.
+	@Autowired
+	@Qualifier("hpcSearchDetailsExecutorService")
+	ExecutorService searchDetailsExecutorService = null;
+
 	@Value("${hpc.bus.getAllDataObjectsDefaultPageSize}")
 	private int getAllDataObjectsDefaultPageSize = 0;
 
+	// The JDBC fetch size to use when streaming all data objects.
+	@Value("${hpc.bus.streamAllDataObjectsFetchSize}")
+	private int streamAllDataObjectsFetchSize = 0;
+
 	// Directory to create the user query excel export.
 	@Value("${hpc.bus.exportDirectory}")
 	private String exportDirectory = null;
@@ -166,18 +191,27 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 		boolean totalCount = compoundMetadataQueryDTO.getTotalCount() != null
 				&& compoundMetadataQueryDTO.getTotalCount();
 
-		// Execute the query and package the results in a DTO.
+		if (compoundMetadataQueryDTO.getPageToken() != null) {
+			return getCollectionsAfter(compoundMetadataQueryDTO, detailedResponse, pageSize, totalCount);
+		}
+
+		// Execute the query (or get the cached results) and package the results in a
+		// DTO.
+		HpcCompoundMetadataQuery compoundQuery = compoundMetadataQueryDTO.getCompoundQuery();
+		String dataManagementUsername = securityService.getRequestInvoker().getDataManagementAccount().getUsername();
 		int count = 0;
 		HpcCollectionListDTO collectionsDTO = null;
 		if (!detailedResponse) {
-			List<String> collectionPaths = dataSearchService
-					.getCollectionPaths(compoundMetadataQueryDTO.getCompoundQuery(), page, pageSize);
+			List<String> collectionPaths = searchResultsCache.getPage("collections", dataManagementUsername,
+					compoundQuery, page, pageSize,
+					() -> dataSearchService.getCollectionPaths(compoundQuery, page, pageSize));
 			collectionsDTO = toCollectionListDTO(collectionPaths, detailedResponse);
 			count = collectionPaths.size();
 		} else {
-			List<HpcSearchMetadataEntryForCollection> collectionPaths = dataSearchService
-					.getDetailedCollectionPaths(compoundMetadataQueryDTO.getCompoundQuery(), page, pageSize);
-			collectionsDTO = toDetailedCollectionListDTO(collectionPaths);
+			List<HpcSearchMetadataEntryForCollection> collectionPaths = searchResultsCache.getPage(
+					"detailedCollections", dataManagementUsername, compoundQuery, page, pageSize,
+					() -> dataSearchService.getDetailedCollectionPaths(compoundQuery, page, pageSize));
+			collectionsDTO = toDetailedCollectionListDTO(new ArrayList<>(collectionPaths));
 			count = collectionsDTO.getCollections().size();
 		}
 
@@ -188,7 +222,8 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 
 		if (totalCount) {
 			collectionsDTO.setTotalCount((page == 1 && count < limit) ? count
-					: dataSearchService.getCollectionCount(compoundMetadataQueryDTO.getCompoundQuery()));
+					: searchResultsCache.getCount("collections", dataManagementUsername, compoundQuery,
+							() -> dataSearchService.getCollectionCount(compoundQuery)));
 		}
 		return collectionsDTO;
 	}
@@ -214,18 +249,27 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 		boolean totalCount = compoundMetadataQueryDTO.getTotalCount() != null
 				&& compoundMetadataQueryDTO.getTotalCount();
 
-		// Execute the query and package the results into a DTO.
+		if (compoundMetadataQueryDTO.getPageToken() != null) {
+			return getDataObjectsAfter(compoundMetadataQueryDTO, detailedResponse, pageSize, totalCount);
+		}
+
+		// Execute the query (or get the cached results) and package the results into a
+		// DTO.
+		HpcCompoundMetadataQuery compoundQuery = compoundMetadataQueryDTO.getCompoundQuery();
+		String dataManagementUsername = securityService.getRequestInvoker().getDataManagementAccount().getUsername();
 		int count = 0;
 		HpcDataObjectListDTO dataObjectsDTO = null;
 		if (!detailedResponse) {
-			List<String> dataObjectPaths = dataSearchService
-					.getDataObjectPaths(compoundMetadataQueryDTO.getCompoundQuery(), page, pageSize);
+			List<String> dataObjectPaths = searchResultsCache.getPage("dataObjects", dataManagementUsername,
+					compoundQuery, page, pageSize,
+					() -> dataSearchService.getDataObjectPaths(compoundQuery, page, pageSize));
 			dataObjectsDTO = toDataObjectListDTO(dataObjectPaths, detailedResponse);
 			count = dataObjectPaths.size();
 		} else {
-			List<HpcSearchMetadataEntry> dataObjectPaths = dataSearchService
-					.getDetailedDataObjectPaths(compoundMetadataQueryDTO.getCompoundQuery(), page, pageSize);
-			dataObjectsDTO = toDetailedDataObjectListDTO(dataObjectPaths);
+			List<HpcSearchMetadataEntry> dataObjectPaths = searchResultsCache.getPage("detailedDataObjects",
+					dataManagementUsername, compoundQuery, page, pageSize,
+					() -> dataSearchService.getDetailedDataObjectPaths(compoundQuery, page, pageSize));
+			dataObjectsDTO = toDetailedDataObjectListDTO(new ArrayList<>(dataObjectPaths));
 			count = dataObjectsDTO.getDataObjects().size();
 		}
 
@@ -236,7 +280,8 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 
 		if (totalCount) {
 			dataObjectsDTO.setTotalCount((page == 1 && count < limit) ? count
-					: dataSearchService.getDataObjectCount(compoundMetadataQueryDTO.getCompoundQuery()));
+					: searchResultsCache.getCount("dataObjects", dataManagementUsername, compoundQuery,
+							() -> dataSearchService.getDataObjectCount(compoundQuery)));
 		}
 
 		return dataObjectsDTO;
@@ -327,6 +372,26 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 
 	}
 
+	@Override
+	public long streamAllDataObjects(String path, Consumer<HpcDataObjectDTO> consumer) throws HpcException {
+		// Input validation.
+		if (consumer == null) {
+			throw new HpcException("Null data object consumer", HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		HpcRequestInvoker invoker = securityService.getRequestInvoker();
+		HpcDataObjectStreamAssembler assembler = new HpcDataObjectStreamAssembler(consumer,
+				invoker.getMetadataOnly());
+
+		logger.info("Streaming all data objects for path {}", path);
+		dataSearchService.streamAllDataObjectPaths(invoker.getDataManagementAccount().getUsername(), path,
+				streamAllDataObjectsFetchSize, assembler);
+		assembler.flush();
+		logger.info("Streamed {} data objects for path {}", assembler.count, path);
+
+		return assembler.count;
+	}
+
 	@Override
 	public HpcDataObjectListDTO getDataObjects(String queryName, Boolean detailedResponse, Integer page,
 			Integer pageSize, Boolean totalCount) throws HpcException {
@@ -596,10 +661,14 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 		HpcCollectionListDTO collectionsDTO = new HpcCollectionListDTO();
 
 		if (detailedResponse) {
-			for (String collectionPath : collectionPaths) {
-				collectionsDTO.getCollections()
-						.add(dataManagementBusService.getCollection(collectionPath, false, false));
-			}
+			// Get the details of all the collections in a single batched query, and
+			// fall back to the data management system for collections not (yet) in the
+			// hierarchical metadata views.
+			HpcCollectionListDTO detailedCollectionsDTO = toDetailedCollectionListDTO(
+					dataSearchService.getDetailedCollectionPaths(collectionPaths));
+			collectionsDTO.getCollections().addAll(getSearchDetails(collectionPaths,
+					detailedCollectionsDTO.getCollections(), collection -> collection.getCollection().getAbsolutePath(),
+					collectionPath -> dataManagementBusService.getCollection(collectionPath, false, false)));
 		} else {
 			collectionsDTO.getCollectionPaths().addAll(collectionPaths);
 		}
@@ -681,10 +750,14 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 		HpcDataObjectListDTO dataObjectsDTO = new HpcDataObjectListDTO();
 
 		if (detailedResponse) {
-			for (String dataObjectPath : dataObjectPaths) {
-				dataObjectsDTO.getDataObjects()
-						.add(dataManagementBusService.getDataObjectV1(dataObjectPath, false, false, false));
-			}
+			// Get the details of all the data objects in a single batched query, and
+			// fall back to the data management system for data objects not (yet) in the
+			// hierarchical metadata views.
+			HpcDataObjectListDTO detailedDataObjectsDTO = toDetailedDataObjectListDTO(
+					dataSearchService.getDetailedDataObjectPaths(dataObjectPaths));
+			dataObjectsDTO.getDataObjects().addAll(getSearchDetails(dataObjectPaths,
+					detailedDataObjectsDTO.getDataObjects(), dataObject -> dataObject.getDataObject().getAbsolutePath(),
+					dataObjectPath -> dataManagementBusService.getDataObjectV1(dataObjectPath, false, false, false)));
 		} else {
 			dataObjectsDTO.getDataObjectPaths().addAll(dataObjectPaths);
 		}
@@ -692,6 +765,89 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 		return dataObjectsDTO;
 	}
 
+	/**
+	 * Get the details of a list of paths, in the order of the requested paths.
+	 * Paths not found by the batched details query are looked up in the data
+	 * management system.
+	 *
+	 * @param paths        The requested paths.
+	 * @param foundDetails The details found by the batched details query.
+	 * @param getPath      Get the path of a details DTO.
+	 * @param lookup       The lookup to perform for each path not found.
+	 * @return A list of details DTOs. Paths not found are not included.
+	 * @throws HpcException on service failure.
+	 */
+	private <T> List<T> getSearchDetails(List<String> paths, List<T> foundDetails, Function<T, String> getPath,
+			HpcSearchDetailsLookup<T> lookup) throws HpcException {
+		Map<String, T> details = new HashMap<>();
+		foundDetails.forEach(detail -> details.put(getPath.apply(detail), detail));
+		List<String> missingPaths = paths.stream().filter(path -> !details.containsKey(path)).distinct()
+				.collect(Collectors.toList());
+		details.putAll(lookupSearchDetails(missingPaths, lookup));
+
+		return paths.stream().map(details::get).filter(Objects::nonNull).collect(Collectors.toList());
+	}
+
+	/**
+	 * Get the details of a list of paths from the data management system. The
+	 * lookups are executed concurrently, bounded by the search details executor
+	 * thread pool size.
+	 *
+	 * @param paths  The paths to get details for.
+	 * @param lookup The lookup to perform for each path.
+	 * @return A map of path to details DTO. Paths not found are not included.
+	 * @throws HpcException on service failure.
+	 */
+	private <T> Map<String, T> lookupSearchDetails(List<String> paths, HpcSearchDetailsLookup<T> lookup)
+			throws HpcException {
+		Map<String, T> details = new HashMap<>();
+		if (paths.isEmpty()) {
+			return details;
+		}
+
+		// The request context is thread-local, so we pass the invoker to the worker threads.
+		HpcRequestInvoker invoker = HpcRequestContext.getRequestInvoker();
+		List<Callable<T>> lookupTasks = new ArrayList<>();
+		for (String path : paths) {
+			lookupTasks.add(() -> {
+				HpcRequestContext.setRequestInvoker(invoker);
+				return lookup.apply(path);
+			});
+		}
+
+		try {
+			// invokeAll() returns the futures in the order of the tasks (and paths).
+			List<Future<T>> lookupResults = searchDetailsExecutorService.invokeAll(lookupTasks);
+			for (int i = 0; i < paths.size(); i++) {
+				T detail = lookupResults.get(i).get();
+				if (detail != null) {
+					details.put(paths.get(i), detail);
+				}
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HpcException("Search details lookup interrupted", HpcErrorType.UNEXPECTED_ERROR, e);
+
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof HpcException) {
+				throw (HpcException) e.getCause();
+			}
+			throw new HpcException("Failed to get search details: " + e.getMessage(), HpcErrorType.UNEXPECTED_ERROR,
+					e.getCause());
+		}
+
+		return details;
+	}
+
+	/**
+	 * A details lookup of a single path in the data management system.
+	 */
+	@FunctionalInterface
+	private interface HpcSearchDetailsLookup<T> {
+		T apply(String path) throws HpcException;
+	}
+
 	private HpcDataObjectListDTO toDetailedDataObjectListDTO(List<HpcSearchMetadataEntry> dataObjectPaths) {
 
 		boolean encrypt = securityService.getRequestInvoker().getMetadataOnly();
@@ -846,69 +1002,16 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 		String queryName = gson.toJson(query);
 		logger.info("EmailExport: Generating email export for user: " + userId + " with query: " + queryName);
 		try {
-			if (query.getCompoundQueryType().equals(HpcCompoundMetadataQueryType.DATA_OBJECT)) {
-				HpcDataObjectListDTO dataobjectListDTO = new HpcDataObjectListDTO();
-				int pageNumber = 1;
-				int totalPages = 1;
-				do {
-					query.setPage(pageNumber++);
-					query.setPageSize(USER_QUERY_SEARCH_RESULTS_PAGE_SIZE);
-					HpcDataObjectListDTO dataobjectsDTO = getDataObjects(query);
-					dataobjectListDTO.getDataObjectPaths().addAll(dataobjectsDTO.getDataObjectPaths());
-					dataobjectListDTO.getDataObjects().addAll(dataobjectsDTO.getDataObjects());
-					logger.debug("EmailExport: In loop, retrieving rows=" + dataobjectListDTO.getDataObjects().size());
-					totalPages = getTotalPages(dataobjectsDTO.getTotalCount(), USER_QUERY_SEARCH_RESULTS_PAGE_SIZE);
-				} while (pageNumber <= totalPages);
-				if (CollectionUtils.isEmpty(dataobjectListDTO.getDataObjectPaths())
-						&& CollectionUtils.isEmpty(dataobjectListDTO.getDataObjects())) {
-					logger.info("No results found from query {} for user {}", queryName, userId);
-					return false;
-				}
-				logger.debug("EmailExport: dataobjects size=" + dataobjectListDTO.getDataObjects().size());
-				try {
-					exporter.exportDataObjects(exportFileName, dataobjectListDTO, query.getDeselectedColumns());
-					logger.info(
-							"EmailExport: Done with creating export file: " + exportFileName + " for user=" + userId);
-				} catch (IOException e) {
-					logger.error("IO Exception occured processing dataObjects . Failed to export file: {}",
-							exportFileName, e);
-				} catch (OutOfMemoryError e) {
-					logger.error("OutOfMemoryError occured. Failed to export file: {}", exportFileName, e);
-				}
-				logger.debug("EmailExport: created export in temp directory");
-				query.setPageSize(dataobjectListDTO.getDataObjects().size());
-			} else {
-				HpcCollectionListDTO collectionListDTO = new HpcCollectionListDTO();
-				int pageNumber = 1;
-				int totalPages = 1;
-				do {
-					query.setPage(pageNumber++);
-					query.setPageSize(USER_QUERY_SEARCH_RESULTS_PAGE_SIZE);
-					HpcCollectionListDTO collectionsDTO = getCollections(query);
-					collectionListDTO.getCollectionPaths().addAll(collectionsDTO.getCollectionPaths());
-					collectionListDTO.getCollections().addAll(collectionsDTO.getCollections());
-					logger.debug("EmailExport: In loop, retrieving rows=" + collectionListDTO.getCollections().size());
-					totalPages = getTotalPages(collectionsDTO.getTotalCount(), USER_QUERY_SEARCH_RESULTS_PAGE_SIZE);
-				} while (pageNumber <= totalPages);
-				if (CollectionUtils.isEmpty(collectionListDTO.getCollectionPaths())
-						&& CollectionUtils.isEmpty(collectionListDTO.getCollections())) {
-					logger.info("No results found from query {} for user {}", queryName, userId);
-					return false;
-				}
-				logger.info("EmailExport: collection size=" + collectionListDTO.getCollections().size());
-				try {
-					exporter.exportCollections(exportFileName, collectionListDTO, query.getDeselectedColumns());
-					logger.info(
-							"EmailExport: Done with creating export file: " + exportFileName + " for user=" + userId);
-				} catch (IOException e) {
-					logger.error("IO Exception occured processing collections. Failed to export file: {}",
-							exportFileName, e);
-				} catch (OutOfMemoryError e) {
-					logger.error("OutOfMemoryError occured. Failed to export file: {}", exportFileName, e);
-				}
-				logger.debug("EmailExport: created export in temp directory");
-				query.setPageSize(collectionListDTO.getCollections().size());
+			// Write each page of results to the export as it is fetched.
+			int rowCount = exportQueryResults(exportFileName, query, query.getCompoundQueryType(),
+					query.getDeselectedColumns(), () -> getDataObjects(query), () -> getCollections(query));
+			if (rowCount == 0) {
+				logger.info("No results found from query {} for user {}", queryName, userId);
+				return false;
 			}
+			logger.info("EmailExport: Done with creating export file: " + exportFileName + " for user=" + userId
+					+ ", rows=" + rowCount);
+			query.setPageSize(rowCount);
 			queryName = gson.toJson(query);
 			logger.debug("After page size update=" + queryName);
 			sendQueryCurrentNotification(userId, exportFileName, queryName, currentDateTime);
@@ -952,44 +1055,15 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 		compoundMetadataQueryDTO.setTotalCount(true);
 
 		try {
-			if (query.getCompoundQueryType().equals(HpcCompoundMetadataQueryType.DATA_OBJECT)) {
-				HpcDataObjectListDTO dataobjectListDTO = new HpcDataObjectListDTO();
-				int pageNumber = 1;
-				int totalPages = 1;
-				do {
-					compoundMetadataQueryDTO.setPage(pageNumber++);
-					// Switch context to the query user
-					HpcDataObjectListDTO dataobjectsDTO = executeAsUserAccount(
-							() -> getDataObjects(compoundMetadataQueryDTO), userId);
-					dataobjectListDTO.getDataObjectPaths().addAll(dataobjectsDTO.getDataObjectPaths());
-					dataobjectListDTO.getDataObjects().addAll(dataobjectsDTO.getDataObjects());
-					totalPages = getTotalPages(dataobjectsDTO.getTotalCount(), USER_QUERY_SEARCH_RESULTS_PAGE_SIZE);
-				} while (pageNumber <= totalPages);
-				if (CollectionUtils.isEmpty(dataobjectListDTO.getDataObjectPaths())
-						&& CollectionUtils.isEmpty(dataobjectListDTO.getDataObjects())) {
-					logger.info("No results found from query {} for user {}", queryName, userId);
-					return;
-				}
-				exporter.exportDataObjects(exportFileName, dataobjectListDTO, query.getDeselectedColumns());
-			} else {
-				HpcCollectionListDTO collectionListDTO = new HpcCollectionListDTO();
-				int pageNumber = 1;
-				int totalPages = 1;
-				do {
-					compoundMetadataQueryDTO.setPage(pageNumber++);
-					// Switch context to the query user
-					HpcCollectionListDTO collectionsDTO = executeAsUserAccount(
-							() -> getCollections(compoundMetadataQueryDTO), userId);
-					collectionListDTO.getCollectionPaths().addAll(collectionsDTO.getCollectionPaths());
-					collectionListDTO.getCollections().addAll(collectionsDTO.getCollections());
-					totalPages = getTotalPages(collectionsDTO.getTotalCount(), USER_QUERY_SEARCH_RESULTS_PAGE_SIZE);
-				} while (pageNumber <= totalPages);
-				if (CollectionUtils.isEmpty(collectionListDTO.getCollectionPaths())
-						&& CollectionUtils.isEmpty(collectionListDTO.getCollections())) {
-					logger.info("No results found from query {} for user {}", queryName, userId);
-					return;
-				}
-				exporter.exportCollections(exportFileName, collectionListDTO, query.getDeselectedColumns());
+			// Write each page of results to the export as it is fetched. Switch context
+			// to the query user to run the query.
+			int rowCount = exportQueryResults(exportFileName, compoundMetadataQueryDTO, query.getCompoundQueryType(),
+					query.getDeselectedColumns(),
+					() -> executeAsUserAccount(() -> getDataObjects(compoundMetadataQueryDTO), userId),
+					() -> executeAsUserAccount(() -> getCollections(compoundMetadataQueryDTO), userId));
+			if (rowCount == 0) {
+				logger.info("No results found from query {} for user {}", queryName, userId);
+				return;
 			}
 			// Send the file to the user
 			sendQueryNotification(userId, exportFileName, queryName, query.getFrequency().value());
@@ -1106,6 +1180,285 @@ public class HpcDataSearchBusServiceImpl implements HpcDataSearchBusService {
 		return securityService.executeAsUserAccount(userId, userAccountFunction);
 	}
 
+	/**
+	 * Get collections by compound metadata query, using keyset pagination. The
+	 * page token is the (encoded) ID of the last collection of the previous page.
+	 *
+	 * @param compoundMetadataQueryDTO The compound metadata query DTO.
+	 * @param detailedResponse         If set to true, return entity details
+	 *                                 (attributes + metadata).
+	 * @param pageSize                 The page size specified by the user or 0 for
+	 *                                 default.
+	 * @param totalCount               If set to true, return the total count of
+	 *                                 collections matching the query.
+	 * @return A collection list DTO.
+	 * @throws HpcException on service failure.
+	 */
+	private HpcCollectionListDTO getCollectionsAfter(HpcCompoundMetadataQueryDTO compoundMetadataQueryDTO,
+			boolean detailedResponse, int pageSize, boolean totalCount) throws HpcException {
+		Integer afterObjectId = decodePageToken(compoundMetadataQueryDTO.getPageToken());
+
+		// Execute the query and package the results in a DTO.
+		int count = 0;
+		Integer lastObjectId = null;
+		HpcCollectionListDTO collectionsDTO = null;
+		if (!detailedResponse) {
+			List<HpcSearchObjectPath> collectionPaths = dataSearchService
+					.getCollectionPathsAfter(compoundMetadataQueryDTO.getCompoundQuery(), afterObjectId, pageSize);
+			collectionsDTO = toCollectionListDTO(
+					collectionPaths.stream().map(HpcSearchObjectPath::getAbsolutePath).collect(Collectors.toList()),
+					detailedResponse);
+			count = collectionPaths.size();
+			lastObjectId = collectionPaths.stream().map(HpcSearchObjectPath::getId).max(Integer::compare)
+					.orElse(null);
+		} else {
+			List<HpcSearchMetadataEntryForCollection> collectionPaths = dataSearchService
+					.getDetailedCollectionPathsAfter(compoundMetadataQueryDTO.getCompoundQuery(), afterObjectId,
+							pageSize);
+			lastObjectId = collectionPaths.stream().map(HpcSearchMetadataEntryForCollection::getCollectionId)
+					.max(Integer::compare).orElse(null);
+			collectionsDTO = toDetailedCollectionListDTO(collectionPaths);
+			count = collectionsDTO.getCollections().size();
+		}
+
+		// Set limit, next page token and total count.
+		int limit = dataSearchService.getSearchResultsPageSize(pageSize);
+		collectionsDTO.setLimit(limit);
+		if (count == limit && lastObjectId != null) {
+			collectionsDTO.setNextPageToken(encodePageToken(lastObjectId));
+		}
+
+		if (totalCount) {
+			collectionsDTO.setTotalCount((afterObjectId == null && count < limit) ? count
+					: dataSearchService.getCollectionCount(compoundMetadataQueryDTO.getCompoundQuery()));
+		}
+		return collectionsDTO;
+	}
+
+	/**
+	 * Get data objects by compound metadata query, using keyset pagination. The
+	 * page token is the (encoded) ID of the last data object of the previous page.
+	 *
+	 * @param compoundMetadataQueryDTO The compound metadata query DTO.
+	 * @param detailedResponse         If set to true, return entity details
+	 *                                 (attributes + metadata).
+	 * @param pageSize                 The page size specified by the user or 0 for
+	 *                                 default.
+	 * @param totalCount               If set to true, return the total count of
+	 *                                 data objects matching the query.
+	 * @return A data object list DTO.
+	 * @throws HpcException on service failure.
+	 */
+	private HpcDataObjectListDTO getDataObjectsAfter(HpcCompoundMetadataQueryDTO compoundMetadataQueryDTO,
+			boolean detailedResponse, int pageSize, boolean totalCount) throws HpcException {
+		Integer afterObjectId = decodePageToken(compoundMetadataQueryDTO.getPageToken());
+
+		// Execute the query and package the results into a DTO.
+		int count = 0;
+		Integer lastObjectId = null;
+		HpcDataObjectListDTO dataObjectsDTO = null;
+		if (!detailedResponse) {
+			List<HpcSearchObjectPath> dataObjectPaths = dataSearchService
+					.getDataObjectPathsAfter(compoundMetadataQueryDTO.getCompoundQuery(), afterObjectId, pageSize);
+			dataObjectsDTO = toDataObjectListDTO(
+					dataObjectPaths.stream().map(HpcSearchObjectPath::getAbsolutePath).collect(Collectors.toList()),
+					detailedResponse);
+			count = dataObjectPaths.size();
+			lastObjectId = dataObjectPaths.stream().map(HpcSearchObjectPath::getId).max(Integer::compare)
+					.orElse(null);
+		} else {
+			List<HpcSearchMetadataEntry> dataObjectPaths = dataSearchService.getDetailedDataObjectPathsAfter(
+					compoundMetadataQueryDTO.getCompoundQuery(), afterObjectId, pageSize);
+			lastObjectId = dataObjectPaths.stream().map(HpcSearchMetadataEntry::getId)
+					.max(Integer::compare).orElse(null);
+			dataObjectsDTO = toDetailedDataObjectListDTO(dataObjectPaths);
+			count = dataObjectsDTO.getDataObjects().size();
+		}
+
+		// Set limit, next page token and total count.
+		int limit = dataSearchService.getSearchResultsPageSize(pageSize);
+		dataObjectsDTO.setLimit(limit);
+		if (count == limit && lastObjectId != null) {
+			dataObjectsDTO.setNextPageToken(encodePageToken(lastObjectId));
+		}
+
+		if (totalCount) {
+			dataObjectsDTO.setTotalCount((afterObjectId == null && count < limit) ? count
+					: dataSearchService.getDataObjectCount(compoundMetadataQueryDTO.getCompoundQuery()));
+		}
+		return dataObjectsDTO;
+	}
+
+	/**
+	 * Assembles search metadata entries (streamed in data object ID order) into
+	 * data object DTOs. A DTO is passed to the consumer once the entries of the
+	 * next data object start, so only one data object is held in memory.
+	 */
+	private class HpcDataObjectStreamAssembler implements Consumer<HpcSearchMetadataEntry> {
+		// The consumer of the assembled data objects.
+		private Consumer<HpcDataObjectDTO> consumer = null;
+
+		// Encrypt metadata values (metadata only user).
+		private boolean encrypt = false;
+
+		// Encryptors by base path, so the query configuration is looked up once per
+		// base path rather than once per metadata entry.
+		private Map<String, HpcEncryptor> encryptors = new HashMap<>();
+
+		// The data object currently being assembled.
+		private HpcDataObjectDTO dataObject = null;
+		private int dataObjectId = 0;
+
+		// The number of data objects passed to the consumer.
+		private long count = 0;
+
+		private HpcDataObjectStreamAssembler(Consumer<HpcDataObjectDTO> consumer, boolean encrypt) {
+			this.consumer = consumer;
+			this.encrypt = encrypt;
+		}
+
+		@Override
+		public void accept(HpcSearchMetadataEntry searchMetadataEntry) {
+			if (dataObject == null || searchMetadataEntry.getId() != dataObjectId) {
+				flush();
+				dataObject = new HpcDataObjectDTO();
+				HpcDataObject dataObj = new HpcDataObject();
+				BeanUtils.copyProperties(searchMetadataEntry, dataObj);
+				dataObject.setDataObject(dataObj);
+				dataObject.setMetadataEntries(new HpcMetadataEntries());
+				dataObjectId = searchMetadataEntry.getId();
+			}
+
+			HpcMetadataEntry entry = new HpcMetadataEntry();
+			BeanUtils.copyProperties(searchMetadataEntry, entry);
+			if (encrypt) {
+				try {
+					// Encrypt metadata if metadata only user
+					HpcEncryptor encryptor = getEncryptor(searchMetadataEntry.getAbsolutePath());
+					if (encryptor != null)
+						entry.setValue(Base64.getEncoder().encodeToString(encryptor.encrypt(entry.getValue())));
+				} catch (HpcException e) {
+					// Failed to get encryptor so don't return the value
+					entry.setValue("");
+				}
+			}
+
+			if (searchMetadataEntry.getLevel().intValue() == 1) {
+				dataObject.getMetadataEntries().getSelfMetadataEntries().add(entry);
+			} else {
+				dataObject.getMetadataEntries().getParentMetadataEntries().add(entry);
+			}
+		}
+
+		/**
+		 * Pass the data object currently being assembled (if any) to the consumer.
+		 */
+		private void flush() {
+			if (dataObject != null) {
+				consumer.accept(dataObject);
+				dataObject = null;
+				count++;
+			}
+		}
+
+		/**
+		 * Get the encryptor of a data object's base path.
+		 *
+		 * @param path The data object path.
+		 * @return The encryptor, or null if no query configuration exists for the
+		 *         base path.
+		 * @throws HpcException If failed to get the query configuration.
+		 */
+		private HpcEncryptor getEncryptor(String path) throws HpcException {
+			String basePath = path.substring(0, path.indexOf('/', 1));
+			if (!encryptors.containsKey(basePath)) {
+				HpcQueryConfiguration queryConfig = securityService.getQueryConfig(basePath);
+				encryptors.put(basePath, queryConfig != null ? new HpcEncryptor(queryConfig.getEncryptionKey()) : null);
+			}
+			return encryptors.get(basePath);
+		}
+	}
+
+	/**
+	 * Encode a keyset pagination page token.
+	 *
+	 * @param lastObjectId The ID of the last object in the page.
+	 * @return The page token to request the next page.
+	 */
+	private static String encodePageToken(int lastObjectId) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(String.valueOf(lastObjectId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode a keyset pagination page token.
+	 *
+	 * @param pageToken The page token. An empty token requests the first page.
+	 * @return The ID of the last object in the previous page, or null for the first
+	 *         page.
+	 * @throws HpcException If the page token is invalid.
+	 */
+	private static Integer decodePageToken(String pageToken) throws HpcException {
+		if (StringUtils.isEmpty(pageToken)) {
+			return null;
+		}
+		try {
+			return Integer.valueOf(new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8));
+
+		} catch (IllegalArgumentException e) {
+			throw new HpcException("Invalid page token: " + pageToken, HpcErrorType.INVALID_REQUEST_INPUT, e);
+		}
+	}
+
+	/**
+	 * Run a query page by page, and write each page of results to an export file
+	 * as it is fetched. The format is determined by the file extension.
+	 *
+	 * @param exportFileName    The export file name.
+	 * @param query             The query to run (its page is set before each
+	 *                          page is fetched).
+	 * @param queryType         The query type (data object or collection).
+	 * @param deselectedColumns Columns to exclude from the export.
+	 * @param dataObjectsPage   Fetch the current page of a data object query.
+	 * @param collectionsPage   Fetch the current page of a collection query.
+	 * @return The number of exported rows.
+	 * @throws HpcException If the query failed.
+	 * @throws IOException  If failed to write the export file.
+	 */
+	private int exportQueryResults(String exportFileName, HpcCompoundMetadataQueryDTO query,
+			HpcCompoundMetadataQueryType queryType, List<String> deselectedColumns,
+			HpcSystemAccountFunction<HpcDataObjectListDTO> dataObjectsPage,
+			HpcSystemAccountFunction<HpcCollectionListDTO> collectionsPage) throws HpcException, IOException {
+		boolean dataObjects = queryType.equals(HpcCompoundMetadataQueryType.DATA_OBJECT);
+		HpcExporter.Format format = HpcExporter.Format.fromFileName(exportFileName);
+
+		try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(exportFileName));
+				HpcExporter.HpcExportWriter exportWriter = dataObjects
+						? exporter.openDataObjectsExport(outputStream, format, deselectedColumns)
+						: exporter.openCollectionsExport(outputStream, format, deselectedColumns)) {
+			int pageNumber = 1;
+			int totalPages = 1;
+			do {
+				query.setPage(pageNumber++);
+				query.setPageSize(USER_QUERY_SEARCH_RESULTS_PAGE_SIZE);
+				int totalCount = 0;
+				if (dataObjects) {
+					HpcDataObjectListDTO dataObjectsDTO = dataObjectsPage.execute();
+					exportWriter.writeDataObjects(dataObjectsDTO);
+					totalCount = dataObjectsDTO.getTotalCount();
+				} else {
+					HpcCollectionListDTO collectionsDTO = collectionsPage.execute();
+					exportWriter.writeCollections(collectionsDTO);
+					totalCount = collectionsDTO.getTotalCount();
+				}
+				logger.debug("EmailExport: In loop, exported rows=" + exportWriter.getRowCount());
+				totalPages = getTotalPages(totalCount, USER_QUERY_SEARCH_RESULTS_PAGE_SIZE);
+			} while (pageNumber <= totalPages);
+
+			return exportWriter.getRowCount();
+		}
+	}
+
 	/**
 	 * Compute the total number of pages for search results
 	 * 
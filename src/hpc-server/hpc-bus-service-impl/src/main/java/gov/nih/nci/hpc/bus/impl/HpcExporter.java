@@ -3,26 +3,44 @@
  *
  * Copyright SVG, Inc.
  * Copyright Leidos Biomedical Research, Inc
- * 
+ *
  * Distributed under the OSI-approved BSD 3-Clause License.
  * See http://ncip.github.com/HPC/LICENSE.txt for details.
  */
 
 package gov.nih.nci.hpc.bus.impl;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
 import gov.nih.nci.hpc.dto.datamanagement.HpcCollectionDTO;
@@ -32,214 +50,558 @@ import gov.nih.nci.hpc.dto.datamanagement.HpcDataObjectListDTO;
 
 /**
  * <p>
- * HPC Exporter. 
+ * HPC Exporter. Exports search results to Excel (xlsx), CSV or TSV. Search
+ * results can be written page by page (see HpcExportWriter), so the results
+ * are not held in memory. Excel exports use a streaming workbook that keeps
+ * only a bounded window of rows in memory and flushes the rest to a temporary
+ * file, and CSV / TSV rows are written straight to the output stream.
  * </p>
  *
  * @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
  */
 
 public class HpcExporter
-{ 
+{
+    //---------------------------------------------------------------------//
+    // Types
+    //---------------------------------------------------------------------//
+
+	/** Export file formats. */
+	public enum Format {
+		XLSX(".xlsx"), CSV(".csv"), TSV(".tsv");
+
+		// The file extension of the format.
+		private final String extension;
+
+		Format(String extension) {
+			this.extension = extension;
+		}
+
+		/**
+		 * Get the file extension of the format.
+		 *
+		 * @return The file extension (including the dot).
+		 */
+		public String getExtension() {
+			return extension;
+		}
+
+		/**
+		 * Determine the export format from a file name extension.
+		 *
+		 * @param fileName The export file name.
+		 * @return CSV or TSV if the file name has this extension, otherwise XLSX.
+		 */
+		public static Format fromFileName(String fileName) {
+			for (Format format : values()) {
+				if (StringUtils.endsWithIgnoreCase(fileName, format.extension)) {
+					return format;
+				}
+			}
+			return XLSX;
+		}
+	}
+
     //---------------------------------------------------------------------//
     // Instance members
     //---------------------------------------------------------------------//
-	
+
+	// The number of rows an Excel export keeps in memory before flushing them to
+	// the workbook temporary file.
+	@Value("${hpc.bus.exportRowAccessWindowSize}")
+	private int rowAccessWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
 	// The logger instance.
-	private final Logger logger = 
+	private final Logger logger =
 			             LoggerFactory.getLogger(this.getClass().getName());
-	
+
     //---------------------------------------------------------------------//
     // Constructors
     //---------------------------------------------------------------------//
 	/** Default Constructor for spring dependency injection. */
 	private HpcExporter() {
 	}
-    
+
     //---------------------------------------------------------------------//
     // Methods
     //---------------------------------------------------------------------//
-   
+
     /**
-     * Export collection list.
-     * 
-     * @param text The text to encrypt.
+     * Export collection list to a file. The format is determined by the file
+     * extension (.csv, .tsv, otherwise xlsx).
+     *
+     * @param exportFileName The export file name.
+     * @param collectionsDTO The collections to export.
+     * @param deselectedColumns Columns to exclude from the export.
+     * @throws IOException on failure to write the export file.
      */
 	public void exportCollections(String exportFileName, HpcCollectionListDTO collectionsDTO,
 			List<String> deselectedColumns) throws IOException {
-		
-		SimpleDateFormat format = new SimpleDateFormat("MM/dd/yyyy hh:mm");
-		List<String> headers = new ArrayList<String>();
-		if (CollectionUtils.isNotEmpty(collectionsDTO.getCollections()) ||
-				CollectionUtils.isNotEmpty(collectionsDTO.getCollectionPaths())) {
-			List<List<String>> rows = new ArrayList<>();
-			headers.add("path");
-			if (deselectedColumns != null && !deselectedColumns.contains(("createdOn")))
-				headers.add("createdOn");
-			if (deselectedColumns != null && !deselectedColumns.contains(("uniqueId")))
-              headers.add("uuid");
-			if (deselectedColumns != null && !deselectedColumns.contains(("registeredBy")))
-              headers.add("registeredBy");
-			if (deselectedColumns != null && !deselectedColumns.contains(("collectionType")))
-              headers.add("collectionType");
-          
-			// For non-detailed search
-			for (String path: collectionsDTO.getCollectionPaths()) {
-				List<String> result = new ArrayList<String>();
-				result.add(path);
-				rows.add(result);
-			}
-			// For detailed search
-			for (HpcCollectionDTO collection : collectionsDTO.getCollections()) {
-				List<String> result = new ArrayList<String>();
-				result.add(collection.getCollection().getAbsolutePath());
-				if(headers.contains("createdOn"))
-					result.add(format.format(collection.getCollection().getCreatedAt().getTime()));
-				if (collection != null && collection.getMetadataEntries() != null) {
-					List<HpcMetadataEntry> combinedMetadataEntries = new ArrayList<>();
-					combinedMetadataEntries.addAll(collection.getMetadataEntries().getSelfMetadataEntries());
-					combinedMetadataEntries.addAll(collection.getMetadataEntries().getParentMetadataEntries());
-					for (HpcMetadataEntry entry : combinedMetadataEntries) {
-						if (entry.getAttribute().equals("registered_by"))
-							entry.setAttribute("registeredBy");
-						if (entry.getAttribute().equals("collection_type"))
-							entry.setAttribute("collectionType");
-						if (!headers.contains(entry.getAttribute()) && deselectedColumns == null
-								|| !headers.contains(entry.getAttribute()) && deselectedColumns != null
-										&& !deselectedColumns.contains(entry.getAttribute()))
-							headers.add(entry.getAttribute());
-					}
-					for (String header : headers) {
-						boolean found = false;
-						for (HpcMetadataEntry entry : combinedMetadataEntries) {
-							if (header.equals(entry.getAttribute())) {
-								result.add(entry.getValue());
-								found = true;
-								break;
-							}
-						}
-						if(!found && !header.equals("path") && !header.equals("createdOn"))
-							result.add("");
-					}
-				}
-				rows.add(result);
-			}
-			export(exportFileName, headers, rows); 
+		if (isEmpty(collectionsDTO)) {
+			return;
+		}
+		try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(exportFileName))) {
+			exportCollections(outputStream, Format.fromFileName(exportFileName), collectionsDTO, deselectedColumns);
+		}
+	}
+
+    /**
+     * Export collection list to an output stream. The stream is not closed.
+     *
+     * @param outputStream The stream to write the export to.
+     * @param format The export format.
+     * @param collectionsDTO The collections to export.
+     * @param deselectedColumns Columns to exclude from the export.
+     * @throws IOException on failure to write the export.
+     */
+	public void exportCollections(OutputStream outputStream, Format format, HpcCollectionListDTO collectionsDTO,
+			List<String> deselectedColumns) throws IOException {
+		if (isEmpty(collectionsDTO)) {
+			return;
+		}
+		try (HpcExportWriter exportWriter = openCollectionsExport(outputStream, format, deselectedColumns)) {
+			exportWriter.writeCollections(collectionsDTO);
 		}
-		
 	}
-	
+
 	/**
-     * Export data object list.
-     * 
-     * @param text The text to encrypt.
+     * Export data object list to a file. The format is determined by the file
+     * extension (.csv, .tsv, otherwise xlsx).
+     *
+     * @param exportFileName The export file name.
+     * @param dataObjectsDTO The data objects to export.
+     * @param deselectedColumns Columns to exclude from the export.
+     * @throws IOException on failure to write the export file.
      */
 	public void exportDataObjects(String exportFileName, HpcDataObjectListDTO dataObjectsDTO,
 			List<String> deselectedColumns) throws IOException {
-		
-		SimpleDateFormat format = new SimpleDateFormat("MM/dd/yyyy hh:mm");
+		if (isEmpty(dataObjectsDTO)) {
+			return;
+		}
+		try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(exportFileName))) {
+			exportDataObjects(outputStream, Format.fromFileName(exportFileName), dataObjectsDTO, deselectedColumns);
+		}
+	}
+
+	/**
+     * Export data object list to an output stream. The stream is not closed.
+     *
+     * @param outputStream The stream to write the export to.
+     * @param format The export format.
+     * @param dataObjectsDTO The data objects to export.
+     * @param deselectedColumns Columns to exclude from the export.
+     * @throws IOException on failure to write the export.
+     */
+	public void exportDataObjects(OutputStream outputStream, Format format, HpcDataObjectListDTO dataObjectsDTO,
+			List<String> deselectedColumns) throws IOException {
+		if (isEmpty(dataObjectsDTO)) {
+			return;
+		}
+		try (HpcExportWriter exportWriter = openDataObjectsExport(outputStream, format, deselectedColumns)) {
+			exportWriter.writeDataObjects(dataObjectsDTO);
+		}
+	}
+
+	/**
+     * Open a collections export to an output stream. Pages of search results are
+     * written to the export as they are fetched, and the export is written to the
+     * stream when closed. The stream is not closed.
+     *
+     * @param outputStream The stream to write the export to.
+     * @param format The export format.
+     * @param deselectedColumns Columns to exclude from the export.
+     * @return An export writer.
+     * @throws IOException on failure to create the export.
+     */
+	public HpcExportWriter openCollectionsExport(OutputStream outputStream, Format format,
+			List<String> deselectedColumns) throws IOException {
 		List<String> headers = new ArrayList<String>();
-		if (CollectionUtils.isNotEmpty(dataObjectsDTO.getDataObjects()) ||
-				CollectionUtils.isNotEmpty(dataObjectsDTO.getDataObjectPaths())) {
-			List<List<String>> rows = new ArrayList<>();
-			headers.add("path");
-            if (deselectedColumns != null && !deselectedColumns.contains(("uniqueId")))
-              headers.add("uuid");
-            if (deselectedColumns != null && !deselectedColumns.contains(("registeredBy")))
-              headers.add("registeredBy");
+		headers.add("path");
+		if (deselectedColumns != null && !deselectedColumns.contains(("createdOn")))
+			headers.add("createdOn");
+		if (deselectedColumns != null && !deselectedColumns.contains(("uniqueId")))
+			headers.add("uuid");
+		if (deselectedColumns != null && !deselectedColumns.contains(("registeredBy")))
+			headers.add("registeredBy");
+		if (deselectedColumns != null && !deselectedColumns.contains(("collectionType")))
+			headers.add("collectionType");
 
+		return new HpcExportWriter(outputStream, format, headers, deselectedColumns);
+	}
+
+	/**
+     * Open a data objects export to an output stream. Pages of search results are
+     * written to the export as they are fetched, and the export is written to the
+     * stream when closed. The stream is not closed.
+     *
+     * @param outputStream The stream to write the export to.
+     * @param format The export format.
+     * @param deselectedColumns Columns to exclude from the export.
+     * @return An export writer.
+     * @throws IOException on failure to create the export.
+     */
+	public HpcExportWriter openDataObjectsExport(OutputStream outputStream, Format format,
+			List<String> deselectedColumns) throws IOException {
+		List<String> headers = new ArrayList<String>();
+		headers.add("path");
+		if (deselectedColumns != null && !deselectedColumns.contains(("uniqueId")))
+			headers.add("uuid");
+		if (deselectedColumns != null && !deselectedColumns.contains(("registeredBy")))
+			headers.add("registeredBy");
+
+		return new HpcExportWriter(outputStream, format, headers, deselectedColumns);
+	}
+
+	/**
+	 * Check if a collection list has no results to export.
+	 *
+	 * @param collectionsDTO The collection list.
+	 * @return true if there are no collections / collection paths.
+	 */
+	private boolean isEmpty(HpcCollectionListDTO collectionsDTO) {
+		return CollectionUtils.isEmpty(collectionsDTO.getCollections())
+				&& CollectionUtils.isEmpty(collectionsDTO.getCollectionPaths());
+	}
+
+	/**
+	 * Check if a data object list has no results to export.
+	 *
+	 * @param dataObjectsDTO The data object list.
+	 * @return true if there are no data objects / data object paths.
+	 */
+	private boolean isEmpty(HpcDataObjectListDTO dataObjectsDTO) {
+		return CollectionUtils.isEmpty(dataObjectsDTO.getDataObjects())
+				&& CollectionUtils.isEmpty(dataObjectsDTO.getDataObjectPaths());
+	}
+
+	/**
+	 * Combine self and parent metadata entries, and rename system attributes to
+	 * their export column names.
+	 *
+	 * @param selfMetadataEntries   The self metadata entries.
+	 * @param parentMetadataEntries The parent metadata entries.
+	 * @param collection            True if the entries are of a collection.
+	 * @return The combined metadata entries.
+	 */
+	private List<HpcMetadataEntry> toCombinedMetadataEntries(List<HpcMetadataEntry> selfMetadataEntries,
+			List<HpcMetadataEntry> parentMetadataEntries, boolean collection) {
+		List<HpcMetadataEntry> combinedMetadataEntries = new ArrayList<>();
+		combinedMetadataEntries.addAll(selfMetadataEntries);
+		combinedMetadataEntries.addAll(parentMetadataEntries);
+		for (HpcMetadataEntry entry : combinedMetadataEntries) {
+			if (entry.getAttribute().equals("registered_by"))
+				entry.setAttribute("registeredBy");
+			if (collection && entry.getAttribute().equals("collection_type"))
+				entry.setAttribute("collectionType");
+		}
+		return combinedMetadataEntries;
+	}
+
+	/**
+	 * Create a row writer.
+	 *
+	 * @param outputStream The stream to write the rows to.
+	 * @param format       The export format.
+	 * @return A row writer.
+	 */
+	private HpcRowWriter createRowWriter(OutputStream outputStream, Format format) {
+		switch (format) {
+		case CSV:
+			return new HpcDelimitedRowWriter(outputStream, ",");
+		case TSV:
+			return new HpcDelimitedRowWriter(outputStream, "\t");
+		default:
+			return new HpcExcelRowWriter(outputStream, rowAccessWindowSize);
+		}
+	}
+
+	/**
+	 * An export of search results, written page by page. The header row comes
+	 * first, but metadata attributes (columns) are only known once all the pages
+	 * were fetched. So each row is spooled to a temporary file as its page is
+	 * written (as cells keyed by column index), and only the headers are kept in
+	 * memory. When closed, the header row and the spooled rows are written to
+	 * the row writer.
+	 */
+	public class HpcExportWriter implements Closeable {
+		private final OutputStream outputStream;
+		private final Format format;
+		private final List<String> headers;
+		private final List<String> deselectedColumns;
+		private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy hh:mm");
+		private final Path spoolFile;
+		private final DataOutputStream spool;
+		private int rowCount = 0;
+
+		private HpcExportWriter(OutputStream outputStream, Format format, List<String> headers,
+				List<String> deselectedColumns) throws IOException {
+			this.outputStream = outputStream;
+			this.format = format;
+			this.headers = headers;
+			this.deselectedColumns = deselectedColumns;
+			spoolFile = Files.createTempFile("hpc-export-", ".tmp");
+			spool = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spoolFile)));
+		}
+
+		/**
+		 * Write a page of collections.
+		 *
+		 * @param collectionsDTO The collections to write.
+		 * @throws IOException on failure to write the rows.
+		 */
+		public void writeCollections(HpcCollectionListDTO collectionsDTO) throws IOException {
 			// For non-detailed search
-			for (String path: dataObjectsDTO.getDataObjectPaths()) {
-				List<String> result = new ArrayList<String>();
-				result.add(path);
-				rows.add(result);
+			for (String path : collectionsDTO.getCollectionPaths()) {
+				spoolRow(path, null, Collections.emptyList());
+			}
+			// For detailed search
+			for (HpcCollectionDTO collection : collectionsDTO.getCollections()) {
+				spoolRow(collection.getCollection().getAbsolutePath(),
+						dateFormat.format(collection.getCollection().getCreatedAt().getTime()),
+						collection.getMetadataEntries() != null
+								? toCombinedMetadataEntries(collection.getMetadataEntries().getSelfMetadataEntries(),
+										collection.getMetadataEntries().getParentMetadataEntries(), true)
+								: Collections.emptyList());
+			}
+		}
+
+		/**
+		 * Write a page of data objects.
+		 *
+		 * @param dataObjectsDTO The data objects to write.
+		 * @throws IOException on failure to write the rows.
+		 */
+		public void writeDataObjects(HpcDataObjectListDTO dataObjectsDTO) throws IOException {
+			// For non-detailed search
+			for (String path : dataObjectsDTO.getDataObjectPaths()) {
+				spoolRow(path, null, Collections.emptyList());
 			}
 			// For detailed search
 			for (HpcDataObjectDTO datafile : dataObjectsDTO.getDataObjects()) {
-				List<String> result = new ArrayList<String>();
-				result.add(datafile.getDataObject().getAbsolutePath());
-				if (datafile != null && datafile.getMetadataEntries() != null) {
-					List<HpcMetadataEntry> combinedMetadataEntries = new ArrayList<>();
-					combinedMetadataEntries.addAll(datafile.getMetadataEntries().getSelfMetadataEntries());
-					combinedMetadataEntries.addAll(datafile.getMetadataEntries().getParentMetadataEntries());
-					for (HpcMetadataEntry entry : combinedMetadataEntries) {
-						if (entry.getAttribute().equals("registered_by"))
-							entry.setAttribute("registeredBy");
-						if (!headers.contains(entry.getAttribute()) && deselectedColumns == null
-								|| !headers.contains(entry.getAttribute()) && deselectedColumns != null
-										&& !deselectedColumns.contains(entry.getAttribute()))
-							headers.add(entry.getAttribute());
-					}
-					for (String header : headers) {
-						boolean found = false;
-						for (HpcMetadataEntry entry : combinedMetadataEntries) {
-							if (header.equals(entry.getAttribute())) {
-								result.add(entry.getValue());
-								found = true;
-								break;
-							}
+				spoolRow(datafile.getDataObject().getAbsolutePath(), null,
+						datafile.getMetadataEntries() != null
+								? toCombinedMetadataEntries(datafile.getMetadataEntries().getSelfMetadataEntries(),
+										datafile.getMetadataEntries().getParentMetadataEntries(), false)
+								: Collections.emptyList());
+			}
+		}
+
+		/**
+		 * Get the number of rows written (excluding the header row).
+		 *
+		 * @return The number of rows written.
+		 */
+		public int getRowCount() {
+			return rowCount;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				spool.close();
+				try (HpcRowWriter writer = createRowWriter(outputStream, format);
+						DataInputStream rows = new DataInputStream(
+								new BufferedInputStream(Files.newInputStream(spoolFile)))) {
+					writer.writeRow(headers);
+					for (int i = 0; i < rowCount; i++) {
+						String[] row = new String[headers.size()];
+						for (int cells = rows.readInt(); cells > 0; cells--) {
+							int column = rows.readInt();
+							row[column] = readString(rows);
 						}
-						if(!found && !header.equals("path") && !header.equals("createdOn"))
-							result.add("");
+						writer.writeRow(Arrays.asList(row));
 					}
+					logger.debug("Exported {} rows, header size={}", rowCount, headers.size());
+				}
+
+			} finally {
+				Files.deleteIfExists(spoolFile);
+			}
+		}
+
+		/**
+		 * Spool a row. Metadata attributes that are not yet headers (nor deselected)
+		 * are added to the headers.
+		 *
+		 * @param path            The path.
+		 * @param createdOn       The creation date (collections), or null.
+		 * @param metadataEntries The metadata entries of the row.
+		 * @throws IOException on failure to write the spool file.
+		 */
+		private void spoolRow(String path, String createdOn, List<HpcMetadataEntry> metadataEntries)
+				throws IOException {
+			Map<Integer, String> cells = new LinkedHashMap<>();
+			cells.put(0, path);
+			if (createdOn != null && headers.contains("createdOn")) {
+				cells.put(headers.indexOf("createdOn"), createdOn);
+			}
+			for (HpcMetadataEntry entry : metadataEntries) {
+				int column = headers.indexOf(entry.getAttribute());
+				if (column < 0) {
+					if (deselectedColumns != null && deselectedColumns.contains(entry.getAttribute())) {
+						continue;
+					}
+					headers.add(entry.getAttribute());
+					column = headers.size() - 1;
+				}
+				if (column > 0 && !cells.containsKey(column)) {
+					cells.put(column, entry.getValue());
 				}
-				rows.add(result);
 			}
-			
-			export(exportFileName, headers, rows); 
+
+			spool.writeInt(cells.size());
+			for (Map.Entry<Integer, String> cell : cells.entrySet()) {
+				spool.writeInt(cell.getKey());
+				writeString(spool, cell.getValue());
+			}
+			if (++rowCount % 10000 == 0) {
+				logger.debug("rownum={}", rowCount);
+			}
 		}
-		
 	}
-	
-    /**
-     * Export excel.
-     * 
-     * @param text The text to encrypt.
-     */
-		private void export(String filename, List<String> headers, List<List<String>> data) throws IOException, OutOfMemoryError  {
-			XSSFWorkbook wb = new XSSFWorkbook();
-			FileOutputStream outputStream = new FileOutputStream(filename);
-			try {
-				XSSFSheet s = wb.createSheet("Sheet1");
-				Row r = null;
-
-				int rownum = 0;
-				r = s.createRow(rownum++); // header row
-				int cellnum = 0;
-				for (Object h : headers) {
-					r.createCell(cellnum++).setCellValue(StringUtils.defaultString((String)h));
+
+	/**
+	 * Write a string to a spool file (w/o the 64K limit of writeUTF).
+	 *
+	 * @param output The spool file output.
+	 * @param value  The string to write.
+	 * @throws IOException on write failure.
+	 */
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = StringUtils.defaultString(value).getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * Read a string from a spool file.
+	 *
+	 * @param input The spool file input.
+	 * @return The string read.
+	 * @throws IOException on read failure.
+	 */
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/** Writes export rows, one at a time, to an output stream. */
+	private interface HpcRowWriter extends Closeable {
+		/**
+		 * Write a row.
+		 *
+		 * @param row The row cells.
+		 * @throws IOException on write failure.
+		 */
+		public void writeRow(List<String> row) throws IOException;
+
+		/**
+		 * Get the number of rows written.
+		 *
+		 * @return The number of rows written.
+		 */
+		public int getRowCount();
+	}
+
+	/**
+	 * Excel row writer. Uses a streaming workbook that keeps only the last
+	 * 'rowAccessWindowSize' rows in memory. Rows beyond the sheet's maximum are
+	 * written to a new sheet (with the header row repeated).
+	 */
+	private class HpcExcelRowWriter implements HpcRowWriter {
+		private final OutputStream outputStream;
+		private final SXSSFWorkbook workbook;
+		private Sheet sheet = null;
+		private List<String> headers = null;
+		private int rownum = 0;
+		private int rowCount = 0;
+
+		private HpcExcelRowWriter(OutputStream outputStream, int rowAccessWindowSize) {
+			this.outputStream = outputStream;
+			workbook = new SXSSFWorkbook(rowAccessWindowSize);
+			workbook.setCompressTempFiles(true);
+		}
+
+		@Override
+		public void writeRow(List<String> row) throws IOException {
+			if (sheet == null || rownum >= SpreadsheetVersion.EXCEL2007.getMaxRows()) {
+				sheet = workbook.createSheet("Sheet" + (workbook.getNumberOfSheets() + 1));
+				rownum = 0;
+				if (headers != null) {
+					createRow(headers);
 				}
-				logger.debug("Header size=" + headers.size());
-				try {
-					for (List<String> row : data) {
-						cellnum = 0;
-						r = s.createRow(rownum++);
-						for (String cell : row) {
-							r.createCell(cellnum++).setCellValue(cell);
-						}
-						if(rownum % 1000 == 0) {
-							logger.debug("rownum=" + rownum);
-						}
-					}
-				} catch (Exception e) {
-					logger.error("Error creating row data", e);
-			 	}
-				try {
-					wb.write(outputStream);
-				} catch (Exception e) {
-					logger.error("Error writing to workbook", e);
-			 	}
-			} catch (OutOfMemoryError e) {
-				logger.error("OutOfMemoryError", e);
-				wb.close();
-				outputStream.close();
+			}
+			if (headers == null) {
+				// The first row is the header row.
+				headers = row;
+			}
+			createRow(row);
+			if (++rowCount % 10000 == 0) {
+				logger.debug("rownum={}", rowCount);
+			}
+		}
+
+		@Override
+		public int getRowCount() {
+			return rowCount;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				workbook.write(outputStream);
+				outputStream.flush();
 			} finally {
-				try {
-					wb.close();
-					outputStream.close();
-				} catch (IOException e) {
-					logger.error("Error closing excel workbook {}", filename, e);
+				// Delete the temporary files backing the workbook.
+				workbook.dispose();
+				workbook.close();
+			}
+		}
+
+		private void createRow(List<String> cells) {
+			Row r = sheet.createRow(rownum++);
+			int cellnum = 0;
+			for (String cell : cells) {
+				r.createCell(cellnum++).setCellValue(StringUtils.defaultString(cell));
+			}
+		}
+	}
+
+	/** CSV / TSV row writer. Cells are quoted, and quotes escaped by doubling. */
+	private static class HpcDelimitedRowWriter implements HpcRowWriter {
+		private final Writer writer;
+		private final String fieldSeparator;
+		private int rowCount = 0;
+
+		private HpcDelimitedRowWriter(OutputStream outputStream, String fieldSeparator) {
+			this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+			this.fieldSeparator = fieldSeparator;
+		}
+
+		@Override
+		public void writeRow(List<String> row) throws IOException {
+			for (int i = 0; i < row.size(); i++) {
+				if (i > 0) {
+					writer.write(fieldSeparator);
 				}
+				writer.write('"');
+				writer.write(StringUtils.replace(StringUtils.defaultString(row.get(i)), "\"", "\"\""));
+				writer.write('"');
 			}
+			writer.write('\n');
+			rowCount++;
 		}
+
+		@Override
+		public int getRowCount() {
+			return rowCount;
+		}
+
+		@Override
+		public void close() throws IOException {
+			// Flush only - the output stream is owned by the caller.
+			writer.flush();
+		}
+	}
 }
- 
\ No newline at end of file
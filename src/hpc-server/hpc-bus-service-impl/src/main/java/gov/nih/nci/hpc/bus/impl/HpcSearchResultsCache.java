@@ -0,0 +1,237 @@
+/**
+ * HpcSearchResultsCache.java
+ *
+ * <p>
+ * Copyright SVG, Inc. Copyright Leidos Biomedical Research, Inc
+ *
+ * <p>
+ * Distributed under the OSI-approved BSD 3-Clause License. See
+ * http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+package gov.nih.nci.hpc.bus.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+
+import gov.nih.nci.hpc.domain.metadata.HpcCompoundMetadataQuery;
+import gov.nih.nci.hpc.exception.HpcException;
+import gov.nih.nci.hpc.service.HpcDataSearchService;
+
+/**
+ * A cache of compound metadata query results (pages and counts). Entries are
+ * keyed by the metadata high-water mark, so results are not served once
+ * metadata was added / refreshed, or the hierarchical metadata views were
+ * refreshed. The cache is capped by the total number of cached results, and
+ * entries expire after a TTL to bound staleness of changes the high-water mark
+ * doesn't capture (e.g. permission changes and deletions).
+ *
+ * @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+ */
+public class HpcSearchResultsCache {
+	// ---------------------------------------------------------------------//
+	// Constants
+	// ---------------------------------------------------------------------//
+
+	// Log the cache stats every that many lookups.
+	private static final long STATS_LOG_INTERVAL = 1000;
+
+	// ---------------------------------------------------------------------//
+	// Instance members
+	// ---------------------------------------------------------------------//
+
+	// Data Search Application Service instance.
+	@Autowired
+	private HpcDataSearchService dataSearchService = null;
+
+	// The cached search results (pages and counts).
+	private Cache<String, Object> results = null;
+
+	// Is the cache enabled.
+	private boolean enabled = false;
+
+	// The time (in milliseconds) a metadata high-water mark is used before it is
+	// checked again.
+	private long highWaterMarkCheckInterval = 0;
+
+	// The current metadata high-water mark, and the time it was checked.
+	private String highWaterMark = null;
+	private long highWaterMarkCheckedAt = 0;
+
+	// Lookup counter, to periodically log the cache stats.
+	private AtomicLong lookups = new AtomicLong();
+
+	// JSON serializer used to normalize queries into cache keys.
+	private Gson gson = new Gson();
+
+	// The logger instance.
+	private final Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+	// ---------------------------------------------------------------------//
+	// Constructors
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 *
+	 * @param enabled                    Enable / disable the cache.
+	 * @param maxResults                 The max number of search results (paths /
+	 *                                   metadata entries) to cache.
+	 * @param ttl                        The time (in seconds) search results are
+	 *                                   cached.
+	 * @param highWaterMarkCheckInterval The time (in seconds) a metadata
+	 *                                   high-water mark is used before it is
+	 *                                   checked again.
+	 */
+	HpcSearchResultsCache(boolean enabled, long maxResults, int ttl, int highWaterMarkCheckInterval) {
+		this.enabled = enabled;
+		this.highWaterMarkCheckInterval = TimeUnit.SECONDS.toMillis(highWaterMarkCheckInterval);
+		results = CacheBuilder.newBuilder().maximumWeight(maxResults)
+				.weigher((String key, Object value) -> value instanceof Collection ? ((Collection<?>) value).size() + 1 : 1)
+				.expireAfterWrite(ttl, TimeUnit.SECONDS).recordStats().build();
+	}
+
+	// ---------------------------------------------------------------------//
+	// Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Get a page of search results from the cache, or execute the search and
+	 * cache the results if not found.
+	 *
+	 * @param searchType             The search type (e.g. collections, detailed
+	 *                               data objects).
+	 * @param dataManagementUsername The user performing the search.
+	 * @param compoundMetadataQuery  The compound metadata query.
+	 * @param page                   The requested results page.
+	 * @param pageSize               The requested page size.
+	 * @param search                 Executes the search if not cached.
+	 * @return The search results. Cached lists are unmodifiable.
+	 * @throws HpcException on search failure.
+	 */
+	public <T> List<T> getPage(String searchType, String dataManagementUsername,
+			HpcCompoundMetadataQuery compoundMetadataQuery, int page, int pageSize, HpcSearch<List<T>> search)
+			throws HpcException {
+		return get(searchType + ":" + page + ":" + pageSize, dataManagementUsername, compoundMetadataQuery,
+				() -> List.copyOf(search.execute()));
+	}
+
+	/**
+	 * Get a search results count from the cache, or execute the count query and
+	 * cache the results if not found.
+	 *
+	 * @param searchType             The search type (e.g. collections, data
+	 *                               objects).
+	 * @param dataManagementUsername The user performing the search.
+	 * @param compoundMetadataQuery  The compound metadata query.
+	 * @param count                  Executes the count query if not cached.
+	 * @return The search results count.
+	 * @throws HpcException on search failure.
+	 */
+	public int getCount(String searchType, String dataManagementUsername,
+			HpcCompoundMetadataQuery compoundMetadataQuery, HpcSearch<Integer> count) throws HpcException {
+		return get(searchType + ":count", dataManagementUsername, compoundMetadataQuery, count);
+	}
+
+	/**
+	 * Get the cache stats (hits, misses, evictions).
+	 *
+	 * @return The cache stats.
+	 */
+	public CacheStats getStats() {
+		return results.stats();
+	}
+
+	/**
+	 * Evict all cached search results.
+	 */
+	public void invalidateAll() {
+		results.invalidateAll();
+	}
+
+	/**
+	 * A search (page or count) to execute on cache miss.
+	 */
+	@FunctionalInterface
+	public interface HpcSearch<T> {
+		T execute() throws HpcException;
+	}
+
+	// ---------------------------------------------------------------------//
+	// Helper Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Get search results from the cache, or execute the search and cache the
+	 * results if not found.
+	 *
+	 * @param searchKey              The search key (type, page, etc).
+	 * @param dataManagementUsername The user performing the search.
+	 * @param compoundMetadataQuery  The compound metadata query.
+	 * @param search                 Executes the search if not cached.
+	 * @return The search results.
+	 * @throws HpcException on search failure.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T get(String searchKey, String dataManagementUsername,
+			HpcCompoundMetadataQuery compoundMetadataQuery, HpcSearch<T> search) throws HpcException {
+		if (!enabled) {
+			return search.execute();
+		}
+
+		// The high-water mark is part of the key, so results computed before a metadata
+		// change are never served after it, even if cached concurrently with the
+		// change.
+		String key = getHighWaterMark() + ":" + dataManagementUsername + ":" + searchKey + ":"
+				+ Hashing.sha256().hashString(gson.toJson(compoundMetadataQuery), StandardCharsets.UTF_8);
+
+		if (lookups.incrementAndGet() % STATS_LOG_INTERVAL == 0) {
+			logger.info("Search results cache: {} results cached, {}", results.size(), results.stats());
+		}
+
+		T cachedResults = (T) results.getIfPresent(key);
+		if (cachedResults != null) {
+			return cachedResults;
+		}
+
+		T searchResults = search.execute();
+		results.put(key, searchResults);
+		return searchResults;
+	}
+
+	/**
+	 * Get the metadata high-water mark. It is checked at most once per check
+	 * interval. All cached results are evicted when it changes, as they can no
+	 * longer be served.
+	 *
+	 * @return The metadata high-water mark.
+	 * @throws HpcException on service failure.
+	 */
+	private synchronized String getHighWaterMark() throws HpcException {
+		long now = System.currentTimeMillis();
+		if (highWaterMark == null || now - highWaterMarkCheckedAt >= highWaterMarkCheckInterval) {
+			String currentHighWaterMark = dataSearchService.getMetadataHighWaterMark();
+			if (highWaterMark != null && !highWaterMark.equals(currentHighWaterMark)) {
+				logger.debug("Metadata high-water mark changed to {}. Evicting search results cache",
+						currentHighWaterMark);
+				results.invalidateAll();
+			}
+			highWaterMark = currentHighWaterMark;
+			highWaterMarkCheckedAt = now;
+		}
+
+		return highWaterMark;
+	}
+}
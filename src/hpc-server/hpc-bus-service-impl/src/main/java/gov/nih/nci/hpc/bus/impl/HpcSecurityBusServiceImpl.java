@@ -17,14 +17,19 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.util.CollectionUtils;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import gov.nih.nci.hpc.bus.HpcSecurityBusService;
 import gov.nih.nci.hpc.domain.databrowse.HpcBookmark;
 import gov.nih.nci.hpc.domain.error.HpcErrorType;
@@ -110,6 +115,11 @@ public class HpcSecurityBusServiceImpl implements HpcSecurityBusService {
 	@Value("${hpc.bus.createLdapAccountOnly}")
 	private Boolean createLdapAccountOnly = null;
 
+	// Authenticated users cache (user ID to HPC user and data management role), so
+	// request authentication doesn't look up the user in the DB and data
+	// management on every call.
+	private Cache<String, HpcAuthenticatedUser> authenticatedUsers = null;
+
 	// The logger instance.
 	private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
@@ -117,8 +127,17 @@ public class HpcSecurityBusServiceImpl implements HpcSecurityBusService {
 	// Constructors
 	// ---------------------------------------------------------------------//
 
-	/** Constructor for Spring Dependency Injection. */
-	private HpcSecurityBusServiceImpl() {
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 *
+	 * @param authenticatedUserCacheMaxSize The max number of authenticated users to
+	 *                                      cache.
+	 * @param authenticatedUserCacheTtl     The time (in seconds) an authenticated
+	 *                                      user is cached.
+	 */
+	private HpcSecurityBusServiceImpl(int authenticatedUserCacheMaxSize, int authenticatedUserCacheTtl) {
+		authenticatedUsers = CacheBuilder.newBuilder().maximumSize(authenticatedUserCacheMaxSize)
+				.expireAfterWrite(authenticatedUserCacheTtl, TimeUnit.SECONDS).build();
 	}
 
 	// ---------------------------------------------------------------------//
@@ -288,13 +307,19 @@ public class HpcSecurityBusServiceImpl implements HpcSecurityBusService {
 
 		boolean active = userUpdateRequest.getActive() != null ? userUpdateRequest.getActive() : user.getActive();
 
-		// Update the data management (IRODS) account.
-		executeGroupAdminAsSystemAccount(
-				() -> dataManagementSecurityService.updateUser(nciUserId, updateFirstName, updateLastName, updateRole));
+		try {
+			// Update the data management (IRODS) account.
+			executeGroupAdminAsSystemAccount(() -> dataManagementSecurityService.updateUser(nciUserId,
+					updateFirstName, updateLastName, updateRole));
+
+			// Update User.
+			securityService.updateUser(nciUserId, updateFirstName, updateLastName, updateDoc,
+					updateDefaultConfigurationId, active);
 
-		// Update User.
-		securityService.updateUser(nciUserId, updateFirstName, updateLastName, updateDoc, updateDefaultConfigurationId,
-				active);
+		} finally {
+			// The user's active status, account or role may have changed.
+			authenticatedUsers.invalidate(nciUserId);
+		}
 	}
 
 	@Override
@@ -311,11 +336,16 @@ public class HpcSecurityBusServiceImpl implements HpcSecurityBusService {
 			throw new HpcException(message, HpcRequestRejectReason.NOT_AUTHORIZED);
 		}
 
-		// Delete the user from iRODS
-		dataManagementSecurityService.deleteUser(nciUserId);
+		try {
+			// Delete the user from iRODS
+			dataManagementSecurityService.deleteUser(nciUserId);
+
+			// Delete the user entry from DME
+			securityService.deleteUser(nciUserId);
 
-		// Delete the user entry from DME
-		securityService.deleteUser(nciUserId);
+		} finally {
+			authenticatedUsers.invalidate(nciUserId);
+		}
 
 		// Delete the user bookmarks
 		List<HpcBookmark> bookmarks = browseService.getBookmarks(nciUserId);
@@ -828,6 +858,12 @@ public class HpcSecurityBusServiceImpl implements HpcSecurityBusService {
 				completed, jsonBody);
 	}
 	
+	@Override
+	public long consumeUserRateLimitTokens(String userId, long tokens, long capacity, int refillPeriod)
+			throws HpcException {
+		return securityService.consumeUserRateLimitTokens(userId, tokens, capacity, refillPeriod);
+	}
+
 	@Override
 	public void refreshInvestigators() throws HpcException {
 
@@ -916,8 +952,18 @@ public class HpcSecurityBusServiceImpl implements HpcSecurityBusService {
 	 */
 	private void setRequestInvoker(String userId, HpcAuthenticationType authenticationType,
 			HpcIntegratedSystemAccount dataManagementAccount) throws HpcException {
-		// Get the HPC user and validate the account is active.
-		HpcUser user = securityService.getUser(userId);
+		// Check if the user was recently authenticated.
+		HpcAuthenticatedUser authenticatedUser = authenticatedUsers.getIfPresent(userId);
+		if (authenticatedUser != null
+				&& !authenticatedUser.dataManagementUsername.equals(dataManagementAccount.getUsername())) {
+			authenticatedUser = null;
+		}
+
+		// Get the HPC user and validate the account is active. The cached user is
+		// copied, so the request invoker doesn't share its NCI account with other
+		// requests.
+		HpcUser user = authenticatedUser != null ? SerializationUtils.clone(authenticatedUser.user)
+				: securityService.getUser(userId);
 		if (user == null) {
 			throw new HpcException("User is not registered with HPC-DM: " + userId, HpcErrorType.UNAUTHORIZED_REQUEST);
 		}
@@ -932,8 +978,13 @@ public class HpcSecurityBusServiceImpl implements HpcSecurityBusService {
 				dataManagementAccount);
 
 		// Get the user role and update the request invoker.
-		securityService.getRequestInvoker()
-				.setUserRole(dataManagementSecurityService.getUserRole(dataManagementAccount.getUsername()));
+		if (authenticatedUser == null) {
+			authenticatedUser = new HpcAuthenticatedUser(SerializationUtils.clone(user),
+					dataManagementAccount.getUsername(),
+					dataManagementSecurityService.getUserRole(dataManagementAccount.getUsername()));
+			authenticatedUsers.put(userId, authenticatedUser);
+		}
+		securityService.getRequestInvoker().setUserRole(authenticatedUser.userRole);
 	}
 
 	/**
@@ -1095,4 +1146,20 @@ public class HpcSecurityBusServiceImpl implements HpcSecurityBusService {
 		notificationService.sendNotification(nciUserId, HpcEventType.USER_REGISTERED, payloadEntries,
 				HpcNotificationDeliveryMethod.EMAIL, null);
 	}
+
+	/**
+	 * An authenticated user (cached). The user is a private copy that is never
+	 * handed out to a request.
+	 */
+	private static class HpcAuthenticatedUser {
+		private final HpcUser user;
+		private final String dataManagementUsername;
+		private final HpcUserRole userRole;
+
+		private HpcAuthenticatedUser(HpcUser user, String dataManagementUsername, HpcUserRole userRole) {
+			this.user = user;
+			this.dataManagementUsername = dataManagementUsername;
+			this.userRole = userRole;
+		}
+	}
 }
@@ -15,6 +15,7 @@ import static gov.nih.nci.hpc.util.HpcUtil.toIntExact;
 import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
@@ -25,8 +26,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -37,20 +46,25 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.CollectionUtils;
 
+import com.google.common.collect.Lists;
+
 import gov.nih.nci.hpc.bus.HpcDataManagementBusService;
 import gov.nih.nci.hpc.bus.HpcSystemBusService;
 import gov.nih.nci.hpc.bus.aspect.HpcExecuteAsSystemAccount;
 import gov.nih.nci.hpc.domain.datamanagement.HpcBulkDataObjectRegistrationTaskStatus;
+import gov.nih.nci.hpc.domain.datamanagement.HpcBulkMetadataUpdateTaskStatus;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollection;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollectionListingEntry;
 import gov.nih.nci.hpc.domain.datamanagement.HpcDataObject;
 import gov.nih.nci.hpc.domain.datamanagement.HpcDataObjectRegistrationTaskItem;
 import gov.nih.nci.hpc.domain.datamanagement.HpcPathAttributes;
+import gov.nih.nci.hpc.domain.datamanagement.HpcPathType;
 import gov.nih.nci.hpc.domain.datatransfer.HpcArchiveObjectMetadata;
 import gov.nih.nci.hpc.domain.datatransfer.HpcAsperaDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcBoxDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTask;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItem;
+import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItemsSummary;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskStatus;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadTask;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataTransferDownloadReport;
@@ -75,8 +89,11 @@ import gov.nih.nci.hpc.domain.metadata.HpcCompoundMetadataQuery;
 import gov.nih.nci.hpc.domain.metadata.HpcCompoundMetadataQueryOperator;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataQuery;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataQueryOperator;
+import gov.nih.nci.hpc.domain.metadata.HpcSearchObjectPath;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationItem;
 import gov.nih.nci.hpc.domain.model.HpcBulkDataObjectRegistrationTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTaskItem;
 import gov.nih.nci.hpc.domain.model.HpcDataManagementConfiguration;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectRegistrationRequest;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectUploadResponse;
@@ -94,6 +111,7 @@ import gov.nih.nci.hpc.dto.datamanagement.HpcCollectionDownloadStatusDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcDataObjectDownloadResponseDTO;
 import gov.nih.nci.hpc.dto.datamanagement.v2.HpcDataObjectRegistrationRequestDTO;
 import gov.nih.nci.hpc.dto.datamanagement.v2.HpcDownloadRequestDTO;
+import gov.nih.nci.hpc.dto.datasearch.HpcMetadataViewsRefreshStatusDTO;
 import gov.nih.nci.hpc.exception.HpcException;
 import gov.nih.nci.hpc.service.HpcDataManagementSecurityService;
 import gov.nih.nci.hpc.service.HpcDataManagementService;
@@ -170,6 +188,21 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	@Qualifier("hpcDataObjectDownloadTaskExecutor")
 	Executor dataObjectDownloadTaskExecutor = null;
 
+	// The collection breakdown executor (traversing collections to download).
+	@Autowired
+	@Qualifier("hpcCollectionBreakdownExecutorService")
+	ExecutorService collectionBreakdownExecutorService = null;
+
+	// The notification event delivery executor.
+	@Autowired
+	@Qualifier("hpcEventDeliveryExecutorService")
+	ExecutorService eventDeliveryExecutorService = null;
+
+	// The bulk metadata update executor.
+	@Autowired
+	@Qualifier("hpcBulkMetadataUpdateExecutorService")
+	ExecutorService bulkMetadataUpdateExecutorService = null;
+
 	// The data-object upload from file-system task executor.
 	@Autowired
 	@Qualifier("hpcDataObjectFileSystemUploadTaskExecutor")
@@ -184,6 +217,38 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	@Value("${hpc.bus.maxDataTranferUploadInProgressWithGeneratedUrlToProcess}")
 	private int maxDataTranferUploadInProgressWithGeneratedUrlToProcess = 0;
 
+	// The number of sub-collections processed in parallel (per batch) when
+	// traversing a collection to download.
+	@Value("${hpc.bus.collectionBreakdownBatchSize:100}")
+	private int collectionBreakdownBatchSize = 0;
+
+	// The number of data objects which system metadata is fetched in one query
+	// when processing data object uploads.
+	@Value("${hpc.bus.systemGeneratedMetadataBatchSize:500}")
+	private int systemGeneratedMetadataBatchSize = 0;
+
+	// The number of download items added to a collection download task before it
+	// is persisted (while the collection is traversed).
+	@Value("${hpc.bus.collectionDownloadItemsPageSize:5000}")
+	private int collectionDownloadItemsPageSize = 0;
+
+	// The time (in seconds) subtracted from the last refresh time of a collection
+	// download task when looking for updated download items. It covers updates
+	// committed while the previous refresh ran, and clock differences between
+	// servers.
+	@Value("${hpc.bus.collectionDownloadItemsRefreshOverlap:60}")
+	private int collectionDownloadItemsRefreshOverlap = 0;
+
+	// The number of notification events processed (delivered and archived) at a
+	// time.
+	@Value("${hpc.bus.processEventsPageSize:500}")
+	private int processEventsPageSize = 0;
+
+	// The bulk metadata update executor thread pool size. The items of a chunk
+	// are split between the threads.
+	@Value("${hpc.bus.bulkMetadataUpdateExecutorThreadPoolSize:10}")
+	private int bulkMetadataUpdateExecutorThreadPoolSize = 0;
+
 	// A configured ID representing the server performing a scheduled task.
 	@Value("${hpc.service.serverId}")
 	private String serverId = null;
@@ -217,33 +282,41 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	public void processDataTranferUploadReceived() throws HpcException {
 		// Iterate through the data objects that their data transfer is in-progress.
 		List<HpcDataObject> dataObjectsReceived = dataManagementService.getDataObjectsUploadReceived();
-		for (HpcDataObject dataObject : dataObjectsReceived) {
-			String path = dataObject.getAbsolutePath();
-			logger.info("Processing data object upload received: {}", path);
-			try {
-				// Get the system metadata.
-				HpcSystemGeneratedMetadata systemGeneratedMetadata = metadataService
-						.getDataObjectSystemGeneratedMetadata(path);
-
-				// Transfer the data file.
-				HpcDataObjectUploadResponse uploadResponse = dataTransferService.uploadDataObject(
-						toGlobusUploadSource(systemGeneratedMetadata.getSourceLocation()), null, null, null, null, null,
-						false, null, null, null, path, systemGeneratedMetadata.getObjectId(),
-						systemGeneratedMetadata.getRegistrarId(), systemGeneratedMetadata.getCallerObjectId(),
-						systemGeneratedMetadata.getConfigurationId(),
-						systemGeneratedMetadata.getS3ArchiveConfigurationId());
+		for (List<HpcDataObject> dataObjectsBatch : Lists.partition(dataObjectsReceived,
+				systemGeneratedMetadataBatchSize)) {
+			// Get the system metadata of the data objects in this batch (in one query).
+			Map<String, HpcSystemGeneratedMetadata> systemGeneratedMetadataBatch = getDataObjectsSystemGeneratedMetadata(
+					dataObjectsBatch);
+
+			for (HpcDataObject dataObject : dataObjectsBatch) {
+				String path = dataObject.getAbsolutePath();
+				logger.info("Processing data object upload received: {}", path);
+				try {
+					// Get the system metadata.
+					HpcSystemGeneratedMetadata systemGeneratedMetadata = systemGeneratedMetadataBatch.containsKey(path)
+							? systemGeneratedMetadataBatch.get(path)
+							: metadataService.getDataObjectSystemGeneratedMetadata(path);
+
+					// Transfer the data file.
+					HpcDataObjectUploadResponse uploadResponse = dataTransferService.uploadDataObject(
+							toGlobusUploadSource(systemGeneratedMetadata.getSourceLocation()), null, null, null, null, null,
+							false, null, null, null, path, systemGeneratedMetadata.getObjectId(),
+							systemGeneratedMetadata.getRegistrarId(), systemGeneratedMetadata.getCallerObjectId(),
+							systemGeneratedMetadata.getConfigurationId(),
+							systemGeneratedMetadata.getS3ArchiveConfigurationId());
 
-				// Update system metadata of the data object.
-				metadataService.updateDataObjectSystemGeneratedMetadata(path, uploadResponse.getArchiveLocation(),
-						uploadResponse.getDataTransferRequestId(), null, uploadResponse.getDataTransferStatus(),
-						uploadResponse.getDataTransferType(), null, uploadResponse.getDataTransferCompleted(), null,
-						null, null, null, null, null);
+					// Update system metadata of the data object.
+					metadataService.updateDataObjectSystemGeneratedMetadata(path, uploadResponse.getArchiveLocation(),
+							uploadResponse.getDataTransferRequestId(), null, uploadResponse.getDataTransferStatus(),
+							uploadResponse.getDataTransferType(), null, uploadResponse.getDataTransferCompleted(), null,
+							null, null, null, null, null);
 
-			} catch (HpcException e) {
-				logger.error("Failed to process queued data transfer upload :" + path, e);
+				} catch (HpcException e) {
+					logger.error("Failed to process queued data transfer upload :" + path, e);
 
-				// Process the data object registration failure.
-				processDataObjectRegistrationFailure(path, e.getMessage());
+					// Process the data object registration failure.
+					processDataObjectRegistrationFailure(path, e.getMessage());
+				}
 			}
 		}
 	}
@@ -253,104 +326,112 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	public void processDataTranferUploadInProgress() throws HpcException {
 		// Iterate through the data objects that their data transfer is in-progress.
 		List<HpcDataObject> dataObjectsInProgress = dataManagementService.getDataObjectsUploadInProgress();
-		for (HpcDataObject dataObject : dataObjectsInProgress) {
-			String path = dataObject.getAbsolutePath();
+		for (List<HpcDataObject> dataObjectsBatch : Lists.partition(dataObjectsInProgress,
+				systemGeneratedMetadataBatchSize)) {
+			// Get the system metadata of the data objects in this batch (in one query).
+			Map<String, HpcSystemGeneratedMetadata> systemGeneratedMetadataBatch = getDataObjectsSystemGeneratedMetadata(
+					dataObjectsBatch);
 
-			logger.info("Processing data object upload in-progress: {}", path);
-			try {
-				// Get the system metadata.
-				HpcSystemGeneratedMetadata systemGeneratedMetadata = metadataService
-						.getDataObjectSystemGeneratedMetadata(path);
+			for (HpcDataObject dataObject : dataObjectsBatch) {
+				String path = dataObject.getAbsolutePath();
 
-				// Get the data transfer upload request status.
-				HpcDataTransferUploadReport dataTransferUploadReport = dataTransferService.getDataTransferUploadStatus(
-						systemGeneratedMetadata.getDataTransferType(),
-						systemGeneratedMetadata.getDataTransferRequestId(),
-						systemGeneratedMetadata.getConfigurationId(),
-						systemGeneratedMetadata.getS3ArchiveConfigurationId(), "upload data-object: " + path + " - ");
+				logger.info("Processing data object upload in-progress: {}", path);
+				try {
+					// Get the system metadata.
+					HpcSystemGeneratedMetadata systemGeneratedMetadata = systemGeneratedMetadataBatch.containsKey(path)
+							? systemGeneratedMetadataBatch.get(path)
+							: metadataService.getDataObjectSystemGeneratedMetadata(path);
+
+					// Get the data transfer upload request status.
+					HpcDataTransferUploadReport dataTransferUploadReport = dataTransferService.getDataTransferUploadStatus(
+							systemGeneratedMetadata.getDataTransferType(),
+							systemGeneratedMetadata.getDataTransferRequestId(),
+							systemGeneratedMetadata.getConfigurationId(),
+							systemGeneratedMetadata.getS3ArchiveConfigurationId(), "upload data-object: " + path + " - ");
+
+					HpcDataTransferUploadStatus dataTransferStatus = dataTransferUploadReport.getStatus();
+					Calendar dataTransferCompleted = null;
+					switch (dataTransferStatus) {
+					case ARCHIVED:
+						// Data object is archived. Note: This is a configured filesystem archive.
+
+						// Generate archive (File System) system generated metadata.
+						HpcArchiveObjectMetadata objectMetadata = dataTransferService
+								.addSystemGeneratedMetadataToDataObject(systemGeneratedMetadata.getArchiveLocation(),
+										systemGeneratedMetadata.getDataTransferType(),
+										systemGeneratedMetadata.getConfigurationId(),
+										systemGeneratedMetadata.getS3ArchiveConfigurationId(),
+										systemGeneratedMetadata.getObjectId(), systemGeneratedMetadata.getRegistrarId())
+								.getArchiveObjectMetadata();
+
+						// Update data management w/ data transfer status, checksum and completion time.
+						dataTransferCompleted = Calendar.getInstance();
+						Calendar deepArchiveDate = objectMetadata.getDeepArchiveStatus() != null
+								&& objectMetadata.getDeepArchiveStatus().equals(HpcDeepArchiveStatus.IN_PROGRESS)
+										? Calendar.getInstance()
+										: null;
+						metadataService.updateDataObjectSystemGeneratedMetadata(path, null, null,
+								objectMetadata.getChecksum(), dataTransferStatus, null, null, dataTransferCompleted, null,
+								null, null, objectMetadata.getDeepArchiveStatus(), deepArchiveDate, null);
+
+						// Record data object registration result.
+						systemGeneratedMetadata.setDataTransferCompleted(dataTransferCompleted);
+						dataManagementService.addDataObjectRegistrationResult(path, systemGeneratedMetadata, true, null);
 
-				HpcDataTransferUploadStatus dataTransferStatus = dataTransferUploadReport.getStatus();
-				Calendar dataTransferCompleted = null;
-				switch (dataTransferStatus) {
-				case ARCHIVED:
-					// Data object is archived. Note: This is a configured filesystem archive.
+						break;
 
-					// Generate archive (File System) system generated metadata.
-					HpcArchiveObjectMetadata objectMetadata = dataTransferService
-							.addSystemGeneratedMetadataToDataObject(systemGeneratedMetadata.getArchiveLocation(),
-									systemGeneratedMetadata.getDataTransferType(),
-									systemGeneratedMetadata.getConfigurationId(),
-									systemGeneratedMetadata.getS3ArchiveConfigurationId(),
-									systemGeneratedMetadata.getObjectId(), systemGeneratedMetadata.getRegistrarId())
-							.getArchiveObjectMetadata();
-
-					// Update data management w/ data transfer status, checksum and completion time.
-					dataTransferCompleted = Calendar.getInstance();
-					Calendar deepArchiveDate = objectMetadata.getDeepArchiveStatus() != null
-							&& objectMetadata.getDeepArchiveStatus().equals(HpcDeepArchiveStatus.IN_PROGRESS)
-									? Calendar.getInstance()
-									: null;
-					metadataService.updateDataObjectSystemGeneratedMetadata(path, null, null,
-							objectMetadata.getChecksum(), dataTransferStatus, null, null, dataTransferCompleted, null,
-							null, null, objectMetadata.getDeepArchiveStatus(), deepArchiveDate, null);
-
-					// Record data object registration result.
-					systemGeneratedMetadata.setDataTransferCompleted(dataTransferCompleted);
-					dataManagementService.addDataObjectRegistrationResult(path, systemGeneratedMetadata, true, null);
+					case IN_TEMPORARY_ARCHIVE:
+						// Data object is in temporary archive (This is a scratch space on DME server
+						// used for 2-hop upload)
+						// Globus completed transfer to the temporary archive. File will be uploaded to
+						// S3 Archive next when
+						// the processTemporaryArchive() scheduled task is called.
 
-					break;
+						// Update data transfer status.
+						metadataService.updateDataObjectSystemGeneratedMetadata(path, null, null, null, dataTransferStatus,
+								null, null, null, null, null, null, null, null, null);
+						dataTransferService.updateDataObjectUploadProgress(systemGeneratedMetadata.getObjectId(), 0);
 
-				case IN_TEMPORARY_ARCHIVE:
-					// Data object is in temporary archive (This is a scratch space on DME server
-					// used for 2-hop upload)
-					// Globus completed transfer to the temporary archive. File will be uploaded to
-					// S3 Archive next when
-					// the processTemporaryArchive() scheduled task is called.
+						// Remove from HPC_GLOBUS_TRANSFER_TASK
+						dataTransferService.deleteGlobusTransferTask(systemGeneratedMetadata.getDataTransferRequestId());
 
-					// Update data transfer status.
-					metadataService.updateDataObjectSystemGeneratedMetadata(path, null, null, null, dataTransferStatus,
-							null, null, null, null, null, null, null, null, null);
-					dataTransferService.updateDataObjectUploadProgress(systemGeneratedMetadata.getObjectId(), 0);
+						break;
 
-					// Remove from HPC_GLOBUS_TRANSFER_TASK
-					dataTransferService.deleteGlobusTransferTask(systemGeneratedMetadata.getDataTransferRequestId());
+					case FAILED:
+						// Data transfer failed.
 
-					break;
+						// Remove from HPC_GLOBUS_TRANSFER_TASK
+						if (systemGeneratedMetadata.getDataTransferType().equals(HpcDataTransferType.GLOBUS)
+								&& !StringUtils.isEmpty(systemGeneratedMetadata.getDataTransferRequestId()))
+							dataTransferService
+									.deleteGlobusTransferTask(systemGeneratedMetadata.getDataTransferRequestId());
 
-				case FAILED:
-					// Data transfer failed.
+						throw new HpcException("Data transfer failed: " + dataTransferUploadReport.getMessage(),
+								HpcErrorType.DATA_TRANSFER_ERROR);
 
-					// Remove from HPC_GLOBUS_TRANSFER_TASK
-					if (systemGeneratedMetadata.getDataTransferType().equals(HpcDataTransferType.GLOBUS)
-							&& !StringUtils.isEmpty(systemGeneratedMetadata.getDataTransferRequestId()))
-						dataTransferService
-								.deleteGlobusTransferTask(systemGeneratedMetadata.getDataTransferRequestId());
+					default:
+						// Transfer is still in progress.
+						dataTransferService.updateDataObjectUploadProgress(systemGeneratedMetadata.getObjectId(),
+								Math.round(100 * (float) dataTransferUploadReport.getBytesTransferred()
+										/ systemGeneratedMetadata.getSourceSize()));
+						continue;
+					}
 
-					throw new HpcException("Data transfer failed: " + dataTransferUploadReport.getMessage(),
-							HpcErrorType.DATA_TRANSFER_ERROR);
+					// Data transfer upload completed (successfully or failed). Add an event if
+					// needed.
+					if (systemGeneratedMetadata.getRegistrationEventRequired()) {
+						addDataTransferUploadEvent(systemGeneratedMetadata.getRegistrarId(), path, dataTransferStatus,
+								systemGeneratedMetadata.getSourceLocation(), dataTransferCompleted,
+								systemGeneratedMetadata.getDataTransferType(), systemGeneratedMetadata.getConfigurationId(),
+								HpcDataTransferType.GLOBUS);
+					}
 
-				default:
-					// Transfer is still in progress.
-					dataTransferService.updateDataObjectUploadProgress(systemGeneratedMetadata.getObjectId(),
-							Math.round(100 * (float) dataTransferUploadReport.getBytesTransferred()
-									/ systemGeneratedMetadata.getSourceSize()));
-					continue;
-				}
+				} catch (HpcException e) {
+					logger.error("Failed to process data transfer upload in progress:" + path, e);
 
-				// Data transfer upload completed (successfully or failed). Add an event if
-				// needed.
-				if (systemGeneratedMetadata.getRegistrationEventRequired()) {
-					addDataTransferUploadEvent(systemGeneratedMetadata.getRegistrarId(), path, dataTransferStatus,
-							systemGeneratedMetadata.getSourceLocation(), dataTransferCompleted,
-							systemGeneratedMetadata.getDataTransferType(), systemGeneratedMetadata.getConfigurationId(),
-							HpcDataTransferType.GLOBUS);
+					// Process the data object registration failure.
+					processDataObjectRegistrationFailure(path, e.getMessage());
 				}
-
-			} catch (HpcException e) {
-				logger.error("Failed to process data transfer upload in progress:" + path, e);
-
-				// Process the data object registration failure.
-				processDataObjectRegistrationFailure(path, e.getMessage());
 			}
 		}
 
@@ -785,9 +866,17 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 					// execution again.
 					securityService.executeAsSystemAccount(Optional.empty(), () -> {
 						try {
-							List<HpcCollectionDownloadTaskItem> downloadItems = null;
+							// Remove items persisted by a previous breakdown of this task that didn't
+							// complete (e.g. server restart).
+							if (!downloadTask.getItems().isEmpty()) {
+								dataTransferService.deleteCollectionDownloadTaskItems(downloadTask.getId());
+								downloadTask.getItems().clear();
+							}
+
 							HpcCollectionDownloadBreaker collectionDownloadBreaker = new HpcCollectionDownloadBreaker(
 									downloadTask.getId());
+							HpcCollectionDownloadItemsWriter downloadItemsWriter = new HpcCollectionDownloadItemsWriter(
+									downloadTask);
 
 							// If this is a retry task, exclude the path that downloaded successfully in the
 							// original request.
@@ -796,14 +885,15 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 
 							if (!StringUtils.isEmpty(downloadTask.getRetryTaskId())
 									&& downloadTask.getType().equals(HpcDownloadTaskType.DATA_OBJECT_LIST)) {
-								downloadItems = retryDownloadTask(downloadTask.getRetryTaskId(), downloadTask.getType(),
+								downloadItemsWriter.add(retryDownloadTask(downloadTask.getRetryTaskId(),
+										downloadTask.getType(),
 										downloadTask.getGlobusDownloadDestination(),
 										downloadTask.getS3DownloadDestination(),
 										downloadTask.getGoogleDriveDownloadDestination(),
 										downloadTask.getGoogleCloudStorageDownloadDestination(),
 										downloadTask.getAsperaDownloadDestination(),
 										downloadTask.getBoxDownloadDestination(), downloadTask.getUserId(),
-										downloadTask.getId());
+										downloadTask.getId()));
 
 							} else if (downloadTask.getType().equals(HpcDownloadTaskType.COLLECTION)) {
 								// Get the System generated metadata.
@@ -818,7 +908,7 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 								}
 
 								// Download all files under this collection.
-								downloadItems = downloadCollection(collection,
+								downloadCollection(collection,
 										downloadTask.getGlobusDownloadDestination(),
 										downloadTask.getS3DownloadDestination(),
 										downloadTask.getGoogleDriveDownloadDestination(),
@@ -828,10 +918,10 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 										downloadTask.getAppendPathToDownloadDestination(),
 										downloadTask.getAppendCollectionNameToDownloadDestination(),
 										downloadTask.getUserId(), collectionDownloadBreaker, downloadTask.getId(),
-										excludedPaths);
+										excludedPaths, downloadItemsWriter);
 
 							} else if (downloadTask.getType().equals(HpcDownloadTaskType.DATA_OBJECT_LIST)) {
-								downloadItems = downloadDataObjects(downloadTask.getDataObjectPaths(),
+								downloadItemsWriter.add(downloadDataObjects(downloadTask.getDataObjectPaths(),
 										downloadTask.getGlobusDownloadDestination(),
 										downloadTask.getS3DownloadDestination(),
 										downloadTask.getGoogleDriveDownloadDestination(),
@@ -840,10 +930,9 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 										downloadTask.getBoxDownloadDestination(),
 										downloadTask.getAppendPathToDownloadDestination(),
 										downloadTask.getAppendCollectionNameToDownloadDestination(),
-										downloadTask.getUserId(), downloadTask.getId());
+										downloadTask.getUserId(), downloadTask.getId()));
 
 							} else if (downloadTask.getType().equals(HpcDownloadTaskType.COLLECTION_LIST)) {
-								downloadItems = new ArrayList<>();
 								for (String path : downloadTask.getCollectionPaths()) {
 									// Get the System generated metadata.
 									HpcSystemGeneratedMetadata metadata = metadataService
@@ -856,8 +945,10 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 												HpcErrorType.INVALID_REQUEST_INPUT);
 									}
 
-									// Get a list of download items for this collection
-									List<HpcCollectionDownloadTaskItem> items = downloadCollection(collection,
+									// Download all files under this collection. The collection path is set on
+									// the items.
+									downloadItemsWriter.setCollectionPath(path);
+									downloadCollection(collection,
 											downloadTask.getGlobusDownloadDestination(),
 											downloadTask.getS3DownloadDestination(),
 											downloadTask.getGoogleDriveDownloadDestination(),
@@ -867,17 +958,12 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 											downloadTask.getAppendPathToDownloadDestination(),
 											downloadTask.getAppendCollectionNameToDownloadDestination(),
 											downloadTask.getUserId(), collectionDownloadBreaker, downloadTask.getId(),
-											excludedPaths);
-
-									// Update the collection path on the items.
-									items.forEach(item -> item.setCollectionPath(path));
-
-									downloadItems.addAll(items);
+											excludedPaths, downloadItemsWriter);
 								}
 							}
 
 							// Verify data objects found under this collection.
-							if (downloadItems == null || downloadItems.isEmpty()) {
+							if (downloadItemsWriter.getItemsCount() == 0) {
 								// No data objects found under this collection.
 								throw new HpcException("No data objects found under collection",
 										HpcErrorType.INVALID_REQUEST_INPUT);
@@ -885,7 +971,6 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 
 							// 'Activate' the collection download request.
 							downloadTask.setStatus(HpcCollectionDownloadTaskStatus.ACTIVE);
-							downloadTask.getItems().addAll(downloadItems);
 
 							// Persist the collection download task.
 							dataTransferService.updateCollectionDownloadTask(downloadTask);
@@ -915,17 +1000,25 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	@Override
 	@HpcExecuteAsSystemAccount
 	public void completeCollectionDownloadTasks() throws HpcException {
-		// Iterate through all the active collection download requests.
+		// Iterate through all the active collection download requests. The items are
+		// not loaded with the tasks. Only the items w/o a result whose data object
+		// download task was updated since the last refresh are loaded and checked.
 		for (HpcCollectionDownloadTask downloadTask : dataTransferService
-				.getCollectionDownloadTasks(HpcCollectionDownloadTaskStatus.ACTIVE)) {
-			boolean downloadCompleted = true;
-			int inProgressItemsCount = 0;
-			List<HpcDataObjectDownloadTask> globusBunchingReceivedDownloadTasks = new ArrayList<>();
+				.getCollectionDownloadTasksWithoutItems(HpcCollectionDownloadTaskStatus.ACTIVE)) {
+			Calendar itemsRefreshed = Calendar.getInstance();
+			Calendar updatedSince = null;
+			if (downloadTask.getItemsRefreshed() != null) {
+				updatedSince = (Calendar) downloadTask.getItemsRefreshed().clone();
+				updatedSince.add(Calendar.SECOND, -collectionDownloadItemsRefreshOverlap);
+			}
 
 			// Get updated status on download items w/o a result yet.
+			List<HpcCollectionDownloadTaskItem> downloadItems = dataTransferService
+					.getUpdatedCollectionDownloadTaskItems(downloadTask.getId(), updatedSince);
 			Map<String, HpcDownloadTaskStatus> downloadItemsStatus = null;
 			try {
-				downloadItemsStatus = dataTransferService.getDownloadItemsStatus(downloadTask);
+				downloadItemsStatus = dataTransferService.getDownloadItemsStatus(downloadTask.getId(), downloadItems,
+						updatedSince);
 
 			} catch (HpcException e) {
 				logger.error("Failed to get download items status", e);
@@ -933,7 +1026,9 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 			}
 
 			// Update status of individual download items in this collection download task.
-			for (HpcCollectionDownloadTaskItem downloadItem : downloadTask.getItems()) {
+			List<HpcCollectionDownloadTaskItem> updatedDownloadItems = new ArrayList<>();
+			for (HpcCollectionDownloadTaskItem downloadItem : downloadItems) {
+				List<Object> downloadItemState = getDownloadItemState(downloadItem);
 				try {
 					if (downloadItem.getResult() == null) {
 						// This download item in progress - check its status.
@@ -988,19 +1083,6 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 								downloadItem.setStagingPercentComplete(
 										downloadItemStatus.getDataObjectDownloadTask().getStagingPercentComplete());
 							}
-
-							// This item still in progress, so overall download not completed just yet.
-							downloadCompleted = false;
-
-							// We count how many items in progress, and how many completed Globus first hop
-							// (if this is a collection download to Globus).
-							// These counts are used to determine when to trigger a Globus 2nd hop request
-							// for the entire collection.
-							inProgressItemsCount++;
-							if (downloadItemStatus.getDataObjectDownloadTask().getDataTransferStatus()
-									.equals(HpcDataTransferDownloadStatus.GLOBUS_BUNCHING)) {
-								globusBunchingReceivedDownloadTasks.add(downloadItemStatus.getDataObjectDownloadTask());
-							}
 						}
 					}
 
@@ -1009,20 +1091,38 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 					downloadItem.setResult(HpcDownloadResult.FAILED);
 					downloadItem.setMessage(e.getMessage());
 				}
+
+				if (!downloadItemState.equals(getDownloadItemState(downloadItem))) {
+					updatedDownloadItems.add(downloadItem);
+				}
 			}
 
+			// Persist the download items that were updated.
+			dataTransferService.updateCollectionDownloadTaskItems(downloadTask.getId(), updatedDownloadItems);
+			dataTransferService.setCollectionDownloadTaskItemsRefreshed(downloadTask.getId(), itemsRefreshed);
+
 			// Update the collection download task.
-			if (downloadCompleted) {
+			HpcCollectionDownloadTaskItemsSummary itemsSummary = dataTransferService
+					.getCollectionDownloadTaskItemsSummary(downloadTask.getId());
+			if (itemsSummary.getInProgressItemsCount() == 0) {
 				logger.info("Download completed for task for collection path " + downloadTask.getPath());
-				completeCollectionDownloadTask(downloadTask);
-
-			} else {
-				if (inProgressItemsCount == globusBunchingReceivedDownloadTasks.size()) {
-					// A collection download to Globus destination completed first hop of all files.
-					// Submit the transfer request (second hop) as a bunch.
-					dataTransferService.processCollectionDownloadTaskSecondHopBunch(downloadTask,
-							globusBunchingReceivedDownloadTasks);
+				completeCollectionDownloadTask(downloadTask, itemsSummary);
+
+			} else if (dataTransferService.getDataObjectDownloadTasksCountByCollectionDownloadTaskId(
+					downloadTask.getId(),
+					HpcDataTransferDownloadStatus.GLOBUS_BUNCHING) == itemsSummary.getInProgressItemsCount()) {
+				// A collection download to Globus destination completed first hop of all files.
+				// Submit the transfer request (second hop) as a bunch.
+				List<HpcDataObjectDownloadTask> globusBunchingReceivedDownloadTasks = new ArrayList<>();
+				for (HpcDataObjectDownloadTask dataObjectDownloadTask : dataTransferService
+						.getDataObjectDownloadTasksByCollectionDownloadTaskId(downloadTask.getId())) {
+					if (HpcDataTransferDownloadStatus.GLOBUS_BUNCHING
+							.equals(dataObjectDownloadTask.getDataTransferStatus())) {
+						globusBunchingReceivedDownloadTasks.add(dataObjectDownloadTask);
+					}
 				}
+				dataTransferService.processCollectionDownloadTaskSecondHopBunch(downloadTask,
+						globusBunchingReceivedDownloadTasks);
 				dataTransferService.updateCollectionDownloadTask(downloadTask);
 			}
 		}
@@ -1067,7 +1167,9 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 							.forEach(item -> successfulDownloadSourcePaths.add(item.getSourcePath()));
 
 					// Update status of individual download items in this collection download task.
+					List<HpcCollectionDownloadTaskItem> updatedDownloadItems = new ArrayList<>();
 					for (HpcCollectionDownloadTaskItem downloadItem : downloadTask.getItems()) {
+						List<Object> downloadItemState = getDownloadItemState(downloadItem);
 						try {
 							if (downloadItem.getResult() == null) {
 								// This download item is included in the bunch. Update the download result.
@@ -1121,9 +1223,15 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 							downloadItem.setResult(HpcDownloadResult.FAILED);
 							downloadItem.setMessage(e.getMessage());
 						}
+
+						if (!downloadItemState.equals(getDownloadItemState(downloadItem))) {
+							updatedDownloadItems.add(downloadItem);
+						}
 					}
 
-					completeCollectionDownloadTask(downloadTask);
+					dataTransferService.updateCollectionDownloadTaskItems(downloadTask.getId(), updatedDownloadItems);
+					completeCollectionDownloadTask(downloadTask,
+							dataTransferService.getCollectionDownloadTaskItemsSummary(downloadTask.getId()));
 				}
 			} catch (HpcException e) {
 				logger.error("Failed to complete bulk download task submitted to Globus in a bunch: {}",
@@ -1206,6 +1314,56 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 				});
 	}
 
+	@Override
+	@HpcExecuteAsSystemAccount
+	public void processBulkMetadataUpdateTasks() throws HpcException {
+		// Iterate through all the bulk metadata update tasks that were submitted (not
+		// processed yet), and resolve their queries into task items.
+		for (HpcBulkMetadataUpdateTask bulkMetadataUpdateTask : dataManagementService
+				.getBulkMetadataUpdateTasks(HpcBulkMetadataUpdateTaskStatus.RECEIVED)) {
+			try {
+				logger.info("Processing bulk metadata update task: {}", bulkMetadataUpdateTask.getId());
+
+				// The queries are performed as the user who submitted the task.
+				securityService.executeAsUserAccount(bulkMetadataUpdateTask.getUserId(), () -> {
+					addBulkMetadataUpdateTaskItems(bulkMetadataUpdateTask);
+					return null;
+				});
+
+				bulkMetadataUpdateTask.setStatus(HpcBulkMetadataUpdateTaskStatus.IN_PROGRESS);
+				dataManagementService.updateBulkMetadataUpdateTask(bulkMetadataUpdateTask);
+
+			} catch (HpcException e) {
+				logger.error("Failed to process a bulk metadata update task: " + bulkMetadataUpdateTask.getId(), e);
+				completeBulkMetadataUpdateTask(bulkMetadataUpdateTask, false);
+			}
+		}
+
+		// Iterate through all the bulk metadata update tasks in progress, and update
+		// their items a chunk at a time.
+		for (HpcBulkMetadataUpdateTask bulkMetadataUpdateTask : dataManagementService
+				.getBulkMetadataUpdateTasks(HpcBulkMetadataUpdateTaskStatus.IN_PROGRESS)) {
+			try {
+				List<HpcBulkMetadataUpdateTaskItem> items = dataManagementService
+						.getPendingBulkMetadataUpdateTaskItems(bulkMetadataUpdateTask.getId());
+				while (!items.isEmpty()) {
+					updateBulkMetadataUpdateTaskItems(bulkMetadataUpdateTask, items);
+					dataManagementService.completeBulkMetadataUpdateTaskItems(bulkMetadataUpdateTask.getId(), items);
+					items = dataManagementService.getPendingBulkMetadataUpdateTaskItems(bulkMetadataUpdateTask.getId());
+				}
+
+				completeBulkMetadataUpdateTask(bulkMetadataUpdateTask, true);
+
+				logger.info("Bulk metadata update task {} - result = {} - items-count = {} - failed-items-count = {}",
+						bulkMetadataUpdateTask.getId(), bulkMetadataUpdateTask.getResult(),
+						bulkMetadataUpdateTask.getItemsCount(), bulkMetadataUpdateTask.getFailedItemsCount());
+
+			} catch (HpcException e) {
+				logger.error("Failed to process a bulk metadata update task: " + bulkMetadataUpdateTask.getId(), e);
+			}
+		}
+	}
+
 	@Override
 	public void completeSynchronousDataObjectDownloadTask(String taskId, HpcDownloadResult result) throws HpcException {
 		HpcDownloadTaskStatus taskStatus = dataTransferService.getDownloadTaskStatus(taskId,
@@ -1222,44 +1380,82 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	@Override
 	@HpcExecuteAsSystemAccount
 	public void processEvents() throws HpcException {
-		// Get and process the pending notification events.
-		for (HpcEvent event : eventService.getEvents()) {
-			// Notify all users associated with this event.
+		// Get and process the pending notification events, a page at a time.
+		int lastEventId = 0;
+		List<HpcEvent> events = eventService.getEvents(lastEventId, processEventsPageSize);
+		while (!events.isEmpty()) {
 			try {
-				for (String userId : event.getUserIds()) {
+				// Get the subscriptions to the event types of this page (one query per event
+				// type).
+				Map<HpcEventType, Map<String, HpcNotificationSubscription>> subscriptions = new HashMap<>();
+				for (HpcEvent event : events) {
+					if (!subscriptions.containsKey(event.getType())) {
+						subscriptions.put(event.getType(),
+								notificationService.getNotificationSubscriptionsByEventType(event.getType()));
+					}
+				}
+
+				// Deliver the events concurrently.
+				List<Callable<Void>> deliveryTasks = new ArrayList<>();
+				for (HpcEvent event : events) {
+					// Since this is executed in a separate thread. Need to get system-account
+					// execution again.
+					deliveryTasks.add(() -> {
+						securityService.executeAsSystemAccount(Optional.empty(),
+								() -> deliverEvent(event, subscriptions.get(event.getType())));
+						return null;
+					});
+				}
+
+				for (Future<Void> deliveryTask : eventDeliveryExecutorService.invokeAll(deliveryTasks)) {
 					try {
-						// Get the subscription.
-						HpcEventType eventType = event.getType();
-						HpcNotificationSubscription subscription = notificationService
-								.getNotificationSubscription(userId, eventType);
-						// If event type is restoration, send out notification regardless of
-						// subscription.
-						if (eventType.equals(HpcEventType.RESTORE_REQUEST_COMPLETED)
-								|| eventType.equals(HpcEventType.RESTORE_REQUEST_FAILED)) {
-							subscription = new HpcNotificationSubscription();
-							subscription.getNotificationDeliveryMethods().add(HpcNotificationDeliveryMethod.EMAIL);
-						}
-						if (subscription != null) {
-							// Iterate through all the delivery methods the user is subscribed to.
-							for (HpcNotificationDeliveryMethod deliveryMethod : subscription
-									.getNotificationDeliveryMethods()) {
-								// Send notification via this delivery method.
-								boolean notificationSent = notificationService.sendNotification(userId, eventType,
-										event.getPayloadEntries(), deliveryMethod, null);
-
-								// Create a delivery receipt for this delivery method.
-								notificationService.createNotificationDeliveryReceipt(userId, event.getId(),
-										deliveryMethod, notificationSent);
-							}
-						}
+						deliveryTask.get();
 
-					} catch (Exception e) {
-						logger.error("Failed to deliver notifications to: {}", userId);
+					} catch (ExecutionException e) {
+						logger.error("Failed to deliver notification event", e.getCause());
 					}
 				}
 
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new HpcException("Notification events processing interrupted", HpcErrorType.UNEXPECTED_ERROR,
+						e);
+
 			} finally {
-				eventService.archiveEvent(event);
+				eventService.archiveEvents(events);
+			}
+
+			lastEventId = events.get(events.size() - 1).getId();
+			events = eventService.getEvents(lastEventId, processEventsPageSize);
+		}
+	}
+
+	@Override
+	@HpcExecuteAsSystemAccount
+	public void sendNotificationDigests() throws HpcException {
+		// Send a single notification (summarizing the collected events) to each user
+		// w/ a due digest.
+		for (String userId : notificationService.getNotificationDigestUsers()) {
+			try {
+				List<HpcEvent> events = notificationService.getNotificationDigestEvents(userId);
+				if (events.isEmpty()) {
+					// The collected events are not yet archived. They'll be sent in the next run.
+					continue;
+				}
+
+				boolean notificationSent = notificationService.sendNotificationDigest(userId, events,
+						HpcNotificationDeliveryMethod.EMAIL);
+
+				// Create a delivery receipt for each event in the digest.
+				for (HpcEvent event : events) {
+					notificationService.createNotificationDeliveryReceipt(userId, event.getId(),
+							HpcNotificationDeliveryMethod.EMAIL, notificationSent);
+				}
+
+				notificationService.deleteNotificationDigestEntries(userId, events);
+
+			} catch (HpcException e) {
+				logger.error("Failed to send notification digest to: {}", userId, e);
 			}
 		}
 	}
@@ -1355,6 +1551,18 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	@HpcExecuteAsSystemAccount
 	public void refreshHourlyViews() throws HpcException {
 		metadataService.refreshViews();
+		metadataService.getViewsRefreshStatus()
+				.forEach(refreshStatus -> logger.info("{} refresh: {} {} collections in {} sec. Staleness: {} sec",
+						refreshStatus.getViewName(), refreshStatus.getLastRefreshType(),
+						refreshStatus.getLastRefreshCollections(), refreshStatus.getLastRefreshDuration(),
+						refreshStatus.getStaleness()));
+	}
+
+	@Override
+	public HpcMetadataViewsRefreshStatusDTO getMetadataViewsRefreshStatus() throws HpcException {
+		HpcMetadataViewsRefreshStatusDTO refreshStatusDTO = new HpcMetadataViewsRefreshStatusDTO();
+		refreshStatusDTO.getRefreshStatus().addAll(metadataService.getViewsRefreshStatus());
+		return refreshStatusDTO;
 	}
 
 	@Override
@@ -1362,6 +1570,7 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	public void refreshDailyViews() throws HpcException {
 		try {
 			reportService.refreshViews();
+			reportService.refreshRollups();
 		} finally {
 			logger.info("calling detectDupMetadataEntries()");
 			try {
@@ -1518,6 +1727,13 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	 */
 	private void processDataObjectDownloadTasks(HpcDataTransferDownloadStatus dataTransferStatus,
 			HpcDataTransferType dataTransferType) throws HpcException {
+		if (HpcDataTransferDownloadStatus.RECEIVED.equals(dataTransferStatus) && dataTransferType != null
+				&& !HpcDataTransferType.GLOBUS.equals(dataTransferType)) {
+			// RECEIVED tasks that are processed concurrently are claimed in batches.
+			processReceivedDataObjectDownloadTasks(dataTransferType);
+			return;
+		}
+
 		// Iterate through all the data object download tasks that are in-progress.
 		List<HpcDataObjectDownloadTask> downloadTasks = null;
 		Date runTimestamp = new Date();
@@ -1598,47 +1814,7 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 							break;
 						}
 
-						CompletableFuture.runAsync(() -> {
-							try {
-								// Since this is executed in a separate thread. Need to get system-account
-								// execution again.
-								securityService.executeAsSystemAccount(Optional.empty(), () -> {
-									try {
-										logger.info(
-												"download task: [taskId={}] - continuing [transfer-type={}, destination-type={}]",
-												downloadTask.getId(), downloadTask.getDataTransferType(),
-												downloadTask.getDestinationType());
-										dataTransferService.continueDataObjectDownloadTask(downloadTask);
-
-									} catch (HpcException e) {
-										logger.error(
-												"download task: [taskId={}] - Failed to process [transfer-type={}, destination-type={}]",
-												downloadTask.getId(), downloadTask.getDataTransferType(),
-												downloadTask.getDestinationType(), e);
-									}
-								});
-							} catch (HpcException e) {
-								logger.error(
-										"download task: [taskId={}] - Failed to execute as system account [transfer-type={}, destination-type={}]",
-										downloadTask.getId(), downloadTask.getDataTransferType(),
-										downloadTask.getDestinationType(), e);
-							} finally {
-								try {
-									logger.debug(
-											"download task: [taskId={}] - finally block called: to markProcessedDataObjectDownloadTask in-process=false [transfer-type={}]",
-											downloadTask.getId(), downloadTask.getDataTransferType());
-									dataTransferService.markProcessedDataObjectDownloadTask(downloadTask,
-											dataTransferType, false);
-
-								} catch (HpcException e) {
-									logger.error(
-											"download task: [taskId={}] - Failed to reset in-process indicator [transfer-type={}, destination-type={}]",
-											downloadTask.getId(), downloadTask.getDataTransferType(),
-											downloadTask.getDestinationType(), e);
-								}
-							}
-
-						}, dataObjectDownloadTaskExecutor);
+						continueDataObjectDownloadTaskAsync(downloadTask, dataTransferType);
 						break;
 
 					case IN_PROGRESS:
@@ -1681,6 +1857,167 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 		} while (!CollectionUtils.isEmpty(downloadTasks));
 	}
 
+	/**
+	 * Process RECEIVED data object download tasks that are executed concurrently
+	 * (i.e. all transfer types other than Globus). Tasks are claimed in batches
+	 * (marked in-process in one DB round trip) and handed to the data object
+	 * download task executor.
+	 *
+	 * @param dataTransferType The data transfer type to process from the download
+	 *                         task
+	 * @throws HpcException on service failure.
+	 */
+	private void processReceivedDataObjectDownloadTasks(HpcDataTransferType dataTransferType)
+			throws HpcException {
+		List<HpcDataObjectDownloadTask> downloadTasks = null;
+		Date runTimestamp = new Date();
+		do {
+			downloadTasks = dataTransferService.claimDataObjectDownloadTasks(dataTransferType, runTimestamp);
+
+			// Cancellation requests of collection download tasks are looked up once per
+			// batch.
+			Map<String, Boolean> cancellationRequests = new HashMap<>();
+			for (HpcDataObjectDownloadTask downloadTask : downloadTasks) {
+				logger.info("download task: [taskId={}] - claimed for in-process [transfer-type={}, destination-type={}]",
+						downloadTask.getId(), downloadTask.getDataTransferType(), downloadTask.getDestinationType());
+
+				String collectionDownloadTaskId = downloadTask.getCollectionDownloadTaskId();
+				if (!StringUtils.isEmpty(collectionDownloadTaskId)) {
+					try {
+						Boolean cancellationRequested = cancellationRequests.get(collectionDownloadTaskId);
+						if (cancellationRequested == null) {
+							cancellationRequested = dataTransferService
+									.getCollectionDownloadTaskCancellationRequested(collectionDownloadTaskId);
+							cancellationRequests.put(collectionDownloadTaskId, cancellationRequested);
+							if (cancellationRequested) {
+								dataTransferService.cancelCollectionDownloadTaskItems(collectionDownloadTaskId);
+							}
+						}
+
+						if (cancellationRequested) {
+							// A cancellation request was submitted for the collection download task
+							// containing this request. We don't start it as it will get cancelled soon.
+							logger.info(
+									"download task: [taskId={}] - A cancelleation request submitted for the collection download task {} [transfer-type={}, destination-type={}]",
+									downloadTask.getId(), collectionDownloadTaskId, downloadTask.getDataTransferType(),
+									downloadTask.getDestinationType());
+							markProcessedDataObjectDownloadTask(downloadTask, dataTransferType, false);
+							continue;
+						}
+
+					} catch (HpcException e) {
+						logger.error(
+								"download task: [taskId={}] - Failed to process [transfer-type={}, destination-type={}]",
+								downloadTask.getId(), downloadTask.getDataTransferType(),
+								downloadTask.getDestinationType(), e);
+						markProcessedDataObjectDownloadTask(downloadTask, dataTransferType, false);
+						continue;
+					}
+				}
+
+				continueDataObjectDownloadTaskAsync(downloadTask, dataTransferType);
+			}
+
+		} while (!CollectionUtils.isEmpty(downloadTasks));
+	}
+
+	/**
+	 * Continue a data object download task in a separate thread (using the data
+	 * object download task executor). The task in-process indicator is reset when
+	 * the thread completes.
+	 *
+	 * @param downloadTask     The download task to continue.
+	 * @param dataTransferType The data transfer type performing the task.
+	 */
+	private void continueDataObjectDownloadTaskAsync(HpcDataObjectDownloadTask downloadTask,
+			HpcDataTransferType dataTransferType) {
+		CompletableFuture.runAsync(() -> {
+			try {
+				// Since this is executed in a separate thread. Need to get system-account
+				// execution again.
+				securityService.executeAsSystemAccount(Optional.empty(), () -> {
+					try {
+						logger.info(
+								"download task: [taskId={}] - continuing [transfer-type={}, destination-type={}]",
+								downloadTask.getId(), downloadTask.getDataTransferType(),
+								downloadTask.getDestinationType());
+						dataTransferService.continueDataObjectDownloadTask(downloadTask);
+
+					} catch (HpcException e) {
+						logger.error(
+								"download task: [taskId={}] - Failed to process [transfer-type={}, destination-type={}]",
+								downloadTask.getId(), downloadTask.getDataTransferType(),
+								downloadTask.getDestinationType(), e);
+					}
+				});
+			} catch (HpcException e) {
+				logger.error(
+						"download task: [taskId={}] - Failed to execute as system account [transfer-type={}, destination-type={}]",
+						downloadTask.getId(), downloadTask.getDataTransferType(),
+						downloadTask.getDestinationType(), e);
+			} finally {
+				try {
+					logger.debug(
+							"download task: [taskId={}] - finally block called: to markProcessedDataObjectDownloadTask in-process=false [transfer-type={}]",
+							downloadTask.getId(), downloadTask.getDataTransferType());
+					dataTransferService.markProcessedDataObjectDownloadTask(downloadTask,
+							dataTransferType, false);
+
+				} catch (HpcException e) {
+					logger.error(
+							"download task: [taskId={}] - Failed to reset in-process indicator [transfer-type={}, destination-type={}]",
+							downloadTask.getId(), downloadTask.getDataTransferType(),
+							downloadTask.getDestinationType(), e);
+				}
+			}
+
+		}, dataObjectDownloadTaskExecutor);
+	}
+
+	/**
+	 * Deliver a notification event to all the users associated with it, via the
+	 * delivery methods they subscribed to.
+	 *
+	 * @param event         The event to deliver.
+	 * @param subscriptions The subscriptions to the event type, by user ID.
+	 */
+	private void deliverEvent(HpcEvent event, Map<String, HpcNotificationSubscription> subscriptions) {
+		HpcEventType eventType = event.getType();
+		for (String userId : event.getUserIds()) {
+			try {
+				// Get the subscription.
+				HpcNotificationSubscription subscription = subscriptions.get(userId);
+				// If event type is restoration, send out notification regardless of
+				// subscription.
+				if (eventType.equals(HpcEventType.RESTORE_REQUEST_COMPLETED)
+						|| eventType.equals(HpcEventType.RESTORE_REQUEST_FAILED)) {
+					subscription = new HpcNotificationSubscription();
+					subscription.getNotificationDeliveryMethods().add(HpcNotificationDeliveryMethod.EMAIL);
+				}
+				if (subscription != null && Boolean.TRUE.equals(subscription.getDigest())) {
+					// The user subscribed to a digest. The event is notified when the user's
+					// digest is sent.
+					notificationService.addNotificationDigestEntry(userId, event.getId());
+
+				} else if (subscription != null) {
+					// Iterate through all the delivery methods the user is subscribed to.
+					for (HpcNotificationDeliveryMethod deliveryMethod : subscription.getNotificationDeliveryMethods()) {
+						// Send notification via this delivery method.
+						boolean notificationSent = notificationService.sendNotification(userId, eventType,
+								event.getPayloadEntries(), deliveryMethod, null);
+
+						// Create a delivery receipt for this delivery method.
+						notificationService.createNotificationDeliveryReceipt(userId, event.getId(), deliveryMethod,
+								notificationSent);
+					}
+				}
+
+			} catch (Exception e) {
+				logger.error("Failed to deliver notifications to: {}", userId);
+			}
+		}
+	}
+
 	/**
 	 * add data transfer upload event.
 	 *
@@ -1835,7 +2172,10 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 
 	/**
 	 * Download a collection. Traverse the collection tree and submit download
-	 * request to all files in the tree.
+	 * request to all files in the tree. The tree is traversed level by level, and
+	 * the sub-collections of a level are fetched and processed in parallel. The
+	 * download items are handed to the items writer as they are created, so the
+	 * data object downloads start before the traversal completes.
 	 *
 	 * @param collection                                The collection to download.
 	 * @param globusDownloadDestination                 The user requested Glopbus
@@ -1874,23 +2214,118 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 	 *                                                  in the case of a retry, not
 	 *                                                  re-downloading items that
 	 *                                                  already completed).
-	 * @return The download task items (each item represent a data-object download
-	 *         under the collection).
+	 * @param downloadItemsWriter                       The writer of the download
+	 *                                                  task items (each item
+	 *                                                  represent a data-object
+	 *                                                  download under the
+	 *                                                  collection).
 	 * @throws HpcException on service failure.
 	 */
-	private List<HpcCollectionDownloadTaskItem> downloadCollection(HpcCollection collection,
-			HpcGlobusDownloadDestination globusDownloadDestination, HpcS3DownloadDestination s3DownloadDestination,
-			HpcGoogleDownloadDestination googleDriveDownloadDestination,
+	private void downloadCollection(HpcCollection collection, HpcGlobusDownloadDestination globusDownloadDestination,
+			HpcS3DownloadDestination s3DownloadDestination, HpcGoogleDownloadDestination googleDriveDownloadDestination,
 			HpcGoogleDownloadDestination googleCloudStorageDownloadDestination,
 			HpcAsperaDownloadDestination asperaDownloadDestination, HpcBoxDownloadDestination boxDownloadDestination,
 			boolean appendPathToDownloadDestination, boolean appendCollectionNameToDownloadDestination, String userId,
 			HpcCollectionDownloadBreaker collectionDownloadBreaker, String collectionDownloadTaskId,
-			Set<String> excludedPaths) throws HpcException {
-		List<HpcCollectionDownloadTaskItem> downloadItems = new ArrayList<>();
-
+			Set<String> excludedPaths, HpcCollectionDownloadItemsWriter downloadItemsWriter) throws HpcException {
 		logger.info("Processing collection download task {}: Excluded Paths: {}", collectionDownloadTaskId,
 				excludedPaths);
 
+		List<HpcCollectionWalkEntry> level = new ArrayList<>();
+		level.add(new HpcCollectionWalkEntry(collection, collection.getAbsolutePath(), globusDownloadDestination,
+				s3DownloadDestination, googleDriveDownloadDestination, googleCloudStorageDownloadDestination,
+				asperaDownloadDestination, boxDownloadDestination, appendCollectionNameToDownloadDestination));
+
+		while (!level.isEmpty() && !collectionDownloadBreaker.isAborted()) {
+			List<HpcCollectionWalkEntry> nextLevel = new ArrayList<>();
+
+			// Process the collections of this level in parallel, in batches to bound the
+			// number of (fetched) collections held in memory.
+			for (List<HpcCollectionWalkEntry> batch : Lists.partition(level, collectionBreakdownBatchSize)) {
+				List<Callable<HpcCollectionWalkEntry>> walkTasks = new ArrayList<>();
+				for (HpcCollectionWalkEntry walkEntry : batch) {
+					// Since this is executed in a separate thread. Need to get system-account
+					// execution again.
+					walkTasks.add(() -> securityService.executeAsSystemAccount(Optional.empty(),
+							() -> walkCollection(walkEntry, appendPathToDownloadDestination, userId,
+									collectionDownloadBreaker, collectionDownloadTaskId, excludedPaths)));
+				}
+
+				try {
+					for (Future<HpcCollectionWalkEntry> walkTask : collectionBreakdownExecutorService
+							.invokeAll(walkTasks)) {
+						HpcCollectionWalkEntry walkEntry = walkTask.get();
+						downloadItemsWriter.add(walkEntry.downloadItems);
+						nextLevel.addAll(walkEntry.subCollections);
+					}
+
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new HpcException("Collection download processing interrupted: " + collectionDownloadTaskId,
+							HpcErrorType.UNEXPECTED_ERROR, e);
+
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof HpcException) {
+						throw (HpcException) e.getCause();
+					}
+					throw new HpcException("Failed to process collection download: " + e.getMessage(),
+							HpcErrorType.UNEXPECTED_ERROR, e.getCause());
+				}
+
+				if (collectionDownloadBreaker.isAborted()) {
+					break;
+				}
+			}
+
+			level = nextLevel;
+		}
+
+		if (collectionDownloadBreaker.isAborted()) {
+			// Need to abort collection download processing. Cancel the items processed so
+			// far.
+			dataTransferService.cancelCollectionDownloadTaskItems(collectionDownloadTaskId);
+			logger.info("Processing collection download task [taskId={}] aborted", collectionDownloadTaskId);
+			return;
+		}
+
+		logger.info("Processing collection download task [{}] completed", collectionDownloadTaskId);
+	}
+
+	/**
+	 * Process a collection in a collection download traversal. Fetch the collection
+	 * (if not already fetched), submit download request to its files, and calculate
+	 * the download destinations of its sub-collections.
+	 *
+	 * @param walkEntry                       The collection to process.
+	 * @param appendPathToDownloadDestination If true, the absolute object path will
+	 *                                        be used in the destination path.
+	 * @param userId                          The user ID who requested the
+	 *                                        collection download.
+	 * @param collectionDownloadBreaker       A collection download breaker
+	 *                                        instance.
+	 * @param collectionDownloadTaskId        The collection download task ID.
+	 * @param excludedPaths                   List of paths to exclude from the
+	 *                                        download.
+	 * @return The walk entry, populated w/ the download items of the collection
+	 *         files, and the sub-collections to process next.
+	 * @throws HpcException on service failure.
+	 */
+	private HpcCollectionWalkEntry walkCollection(HpcCollectionWalkEntry walkEntry,
+			boolean appendPathToDownloadDestination, String userId,
+			HpcCollectionDownloadBreaker collectionDownloadBreaker, String collectionDownloadTaskId,
+			Set<String> excludedPaths) throws HpcException {
+		HpcCollection collection = walkEntry.collection;
+		if (collection == null) {
+			// Get the System generated metadata of the sub-collection.
+			HpcSystemGeneratedMetadata metadata = metadataService.getCollectionSystemGeneratedMetadata(walkEntry.path);
+
+			// Get the sub-collection.
+			collection = dataManagementService.getFullCollection(walkEntry.path, metadata.getLinkSourcePath());
+			if (collection == null) {
+				return walkEntry;
+			}
+		}
+
 		// Iterate through the data objects in the collection and download them.
 		for (HpcCollectionListingEntry dataObjectEntry : collection.getDataObjects()) {
 			if (excludedPaths.contains(dataObjectEntry.getPath())) {
@@ -1903,57 +2338,45 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 				// Download this file. It was not previously successfully downloaded in case
 				// this is a retry request.
 				HpcCollectionDownloadTaskItem downloadItem = downloadDataObject(dataObjectEntry.getPath(),
-						globusDownloadDestination, s3DownloadDestination, googleDriveDownloadDestination,
-						googleCloudStorageDownloadDestination, asperaDownloadDestination, boxDownloadDestination,
-						appendPathToDownloadDestination, appendCollectionNameToDownloadDestination, userId, null,
-						collectionDownloadTaskId);
-				downloadItems.add(downloadItem);
+						walkEntry.globusDownloadDestination, walkEntry.s3DownloadDestination,
+						walkEntry.googleDriveDownloadDestination, walkEntry.googleCloudStorageDownloadDestination,
+						walkEntry.asperaDownloadDestination, walkEntry.boxDownloadDestination,
+						appendPathToDownloadDestination, walkEntry.appendCollectionNameToDownloadDestination, userId,
+						null, collectionDownloadTaskId);
+				walkEntry.downloadItems.add(downloadItem);
 				if (collectionDownloadBreaker.abortDownload(downloadItem)) {
-					// Need to abort collection download processing. Cancel and return the items
-					// processed so
-					// far.
-					dataTransferService.cancelCollectionDownloadTaskItems(collectionDownloadTaskId);
-					logger.info("Processing collection download task [taskId={}] aborted", collectionDownloadTaskId);
-					return downloadItems;
+					// Need to abort collection download processing.
+					return walkEntry;
 				}
 			}
 		}
 
-		// Iterate through the sub-collections and download them.
+		// Calculate the download destinations of the sub-collections.
 		for (HpcCollectionListingEntry subCollectionEntry : collection.getSubCollections()) {
 			String subCollectionPath = subCollectionEntry.getPath();
-
-			// Get the System generated metadata of the sub-collection.
-			HpcSystemGeneratedMetadata metadata = metadataService
-					.getCollectionSystemGeneratedMetadata(subCollectionPath);
-
-			// Get the sub-collection.
-			HpcCollection subCollection = dataManagementService.getFullCollection(subCollectionPath,
-					metadata.getLinkSourcePath());
-
-			if (subCollection != null) {
-				// Download this sub-collection.
-				downloadItems.addAll(downloadCollection(subCollection,
-						calculateGlobusDownloadDestination(globusDownloadDestination, subCollectionPath,
-								appendPathToDownloadDestination, appendCollectionNameToDownloadDestination, true, null),
-						calculateS3DownloadDestination(s3DownloadDestination, subCollectionPath,
-								appendPathToDownloadDestination, appendCollectionNameToDownloadDestination, true, null),
-						calculateGoogleDriveDownloadDestination(googleDriveDownloadDestination, subCollectionPath,
-								appendPathToDownloadDestination, appendCollectionNameToDownloadDestination, true, null),
-						calculateGoogleCloudStorageDownloadDestination(googleCloudStorageDownloadDestination,
-								subCollectionPath, appendPathToDownloadDestination,
-								appendCollectionNameToDownloadDestination, true, null),
-						calculateAsperaDownloadDestination(asperaDownloadDestination, subCollectionPath,
-								appendPathToDownloadDestination, appendCollectionNameToDownloadDestination, true, null),
-						calculateBoxDownloadDestination(boxDownloadDestination, subCollectionPath,
-								appendPathToDownloadDestination, appendCollectionNameToDownloadDestination, true, null),
-						appendPathToDownloadDestination, false, userId, collectionDownloadBreaker,
-						collectionDownloadTaskId, excludedPaths));
-			}
+			walkEntry.subCollections.add(new HpcCollectionWalkEntry(null, subCollectionPath,
+					calculateGlobusDownloadDestination(walkEntry.globusDownloadDestination, subCollectionPath,
+							appendPathToDownloadDestination, walkEntry.appendCollectionNameToDownloadDestination, true,
+							null),
+					calculateS3DownloadDestination(walkEntry.s3DownloadDestination, subCollectionPath,
+							appendPathToDownloadDestination, walkEntry.appendCollectionNameToDownloadDestination, true,
+							null),
+					calculateGoogleDriveDownloadDestination(walkEntry.googleDriveDownloadDestination,
+							subCollectionPath, appendPathToDownloadDestination,
+							walkEntry.appendCollectionNameToDownloadDestination, true, null),
+					calculateGoogleCloudStorageDownloadDestination(walkEntry.googleCloudStorageDownloadDestination,
+							subCollectionPath, appendPathToDownloadDestination,
+							walkEntry.appendCollectionNameToDownloadDestination, true, null),
+					calculateAsperaDownloadDestination(walkEntry.asperaDownloadDestination, subCollectionPath,
+							appendPathToDownloadDestination, walkEntry.appendCollectionNameToDownloadDestination, true,
+							null),
+					calculateBoxDownloadDestination(walkEntry.boxDownloadDestination, subCollectionPath,
+							appendPathToDownloadDestination, walkEntry.appendCollectionNameToDownloadDestination, true,
+							null),
+					false));
 		}
 
-		logger.info("Processing collection download task [{}] completed", collectionDownloadTaskId);
-		return downloadItems;
+		return walkEntry;
 	}
 
 	/**
@@ -2051,8 +2474,8 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 			String userId, String collectionDownloadTaskId) throws HpcException {
 
 		HpcCollectionDownloadStatusDTO retryTaskStatus = retryTaskType.equals(HpcDownloadTaskType.COLLECTION)
-				? dataManagementBusService.getCollectionDownloadStatus(retryTaskId)
-				: dataManagementBusService.getDataObjectsOrCollectionsDownloadStatus(retryTaskId);
+				? dataManagementBusService.getCollectionDownloadStatus(retryTaskId, null, null)
+				: dataManagementBusService.getDataObjectsOrCollectionsDownloadStatus(retryTaskId, null, null);
 
 		// Validate there are tasks to retry.
 		if (retryTaskStatus == null) {
@@ -2101,8 +2524,8 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 			Set<String> excludedPaths) throws HpcException {
 		if (!StringUtils.isEmpty(retryTaskId) && retryTaskType != null) {
 			HpcCollectionDownloadStatusDTO retryTaskStatus = retryTaskType.equals(HpcDownloadTaskType.COLLECTION)
-					? dataManagementBusService.getCollectionDownloadStatus(retryTaskId)
-					: dataManagementBusService.getDataObjectsOrCollectionsDownloadStatus(retryTaskId);
+					? dataManagementBusService.getCollectionDownloadStatus(retryTaskId, null, null)
+					: dataManagementBusService.getDataObjectsOrCollectionsDownloadStatus(retryTaskId, null, null);
 
 			if (retryTaskStatus == null) {
 				throw new HpcException("No task found: " + retryTaskId + " " + retryTaskType,
@@ -2567,32 +2990,62 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 		return calcDestinationLocation;
 	}
 
+	/**
+	 * Get the system generated metadata of a batch of data objects. If the batch
+	 * query failed, an empty map is returned, and the caller falls back to get the
+	 * metadata of each data object individually.
+	 *
+	 * @param dataObjects The data objects.
+	 * @return A map of data object path to its system generated metadata.
+	 */
+	private Map<String, HpcSystemGeneratedMetadata> getDataObjectsSystemGeneratedMetadata(
+			List<HpcDataObject> dataObjects) {
+		List<String> paths = new ArrayList<>();
+		dataObjects.forEach(dataObject -> paths.add(dataObject.getAbsolutePath()));
+		try {
+			return metadataService.getDataObjectsSystemGeneratedMetadata(paths);
+
+		} catch (HpcException e) {
+			logger.error("Failed to get system generated metadata of {} data objects", paths.size(), e);
+			return new HashMap<>();
+		}
+	}
+
+	/**
+	 * Get the state of a collection download item, i.e. the item attributes that
+	 * change while the item is downloaded. Used to persist only items that were
+	 * updated.
+	 *
+	 * @param downloadItem The download item.
+	 * @return The download item state.
+	 */
+	private List<Object> getDownloadItemState(HpcCollectionDownloadTaskItem downloadItem) {
+		return Arrays.asList(downloadItem.getResult(), downloadItem.getMessage(), downloadItem.getPercentComplete(),
+				downloadItem.getSize(), downloadItem.getEffectiveTransferSpeed(), downloadItem.getStagingInProgress(),
+				downloadItem.getStagingPercentComplete(), downloadItem.getRestoreInProgress());
+	}
+
 	/**
 	 * Complete a collection download task. Determine if the collection download was
 	 * successful. It is successful if and only if all items (data objects under the
 	 * collection) were completed successfully.
 	 * 
 	 * @param downloadTask The download task to complete.
+	 * @param itemsSummary The download task items summary.
 	 * @throws HpcException on service failure.
 	 */
-	private void completeCollectionDownloadTask(HpcCollectionDownloadTask downloadTask) throws HpcException {
+	private void completeCollectionDownloadTask(HpcCollectionDownloadTask downloadTask,
+			HpcCollectionDownloadTaskItemsSummary itemsSummary) throws HpcException {
 
 		// The collection download task finished. Determine if the collection download
 		// was successful.
 		// It is successful if and only if all items (data objects under the collection)
 		// were completed successfully.
-		int completedItemsCount = 0;
-		int canceledItemsCount = 0;
-		for (HpcCollectionDownloadTaskItem downloadItem : downloadTask.getItems()) {
-			if (downloadItem.getResult().equals(HpcDownloadResult.COMPLETED)) {
-				completedItemsCount++;
-			} else if (downloadItem.getResult().equals(HpcDownloadResult.CANCELED)) {
-				canceledItemsCount++;
-			}
-		}
+		int completedItemsCount = itemsSummary.getCompletedItemsCount();
+		int canceledItemsCount = itemsSummary.getCanceledItemsCount();
 
 		// Determine the collection download result.
-		int itemsCount = downloadTask.getItems().size();
+		int itemsCount = itemsSummary.getItemsCount();
 		HpcDownloadResult result = null;
 		String message = null;
 
@@ -2878,6 +3331,122 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 		}
 	}
 
+	/**
+	 * Add the collections / data objects found by the queries of a bulk metadata
+	 * update task as task items. The queries are performed a page at a time.
+	 *
+	 * @param bulkMetadataUpdateTask The bulk metadata update task.
+	 * @throws HpcException on service failure.
+	 */
+	private void addBulkMetadataUpdateTaskItems(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask)
+			throws HpcException {
+		String taskId = bulkMetadataUpdateTask.getId();
+		if (bulkMetadataUpdateTask.getDataObjectCompoundQuery() != null) {
+			List<HpcSearchObjectPath> objectPaths = dataSearchService
+					.getDataObjectPathsAfter(bulkMetadataUpdateTask.getDataObjectCompoundQuery(), null, 0);
+			while (!objectPaths.isEmpty()) {
+				dataManagementService.addBulkMetadataUpdateTaskItems(taskId, toAbsolutePaths(objectPaths),
+						HpcPathType.DATAOBJECT);
+				objectPaths = dataSearchService.getDataObjectPathsAfter(
+						bulkMetadataUpdateTask.getDataObjectCompoundQuery(),
+						objectPaths.get(objectPaths.size() - 1).getId(), 0);
+			}
+		}
+
+		if (bulkMetadataUpdateTask.getCollectionCompoundQuery() != null) {
+			List<HpcSearchObjectPath> objectPaths = dataSearchService
+					.getCollectionPathsAfter(bulkMetadataUpdateTask.getCollectionCompoundQuery(), null, 0);
+			while (!objectPaths.isEmpty()) {
+				dataManagementService.addBulkMetadataUpdateTaskItems(taskId, toAbsolutePaths(objectPaths),
+						HpcPathType.COLLECTION);
+				objectPaths = dataSearchService.getCollectionPathsAfter(
+						bulkMetadataUpdateTask.getCollectionCompoundQuery(),
+						objectPaths.get(objectPaths.size() - 1).getId(), 0);
+			}
+		}
+	}
+
+	/**
+	 * Get the paths of a list of search results.
+	 *
+	 * @param objectPaths The search results (object IDs and paths).
+	 * @return A list of paths.
+	 */
+	private List<String> toAbsolutePaths(List<HpcSearchObjectPath> objectPaths) {
+		List<String> paths = new ArrayList<>();
+		objectPaths.forEach(objectPath -> paths.add(objectPath.getAbsolutePath()));
+		return paths;
+	}
+
+	/**
+	 * Update the metadata of a chunk of bulk metadata update task items. The items
+	 * are split between the executor threads, and each thread updates its items as
+	 * the user who submitted the task. The result (and error message) is set on
+	 * each item.
+	 *
+	 * @param bulkMetadataUpdateTask The bulk metadata update task.
+	 * @param items                  The items to update.
+	 * @throws HpcException If the processing was interrupted.
+	 */
+	private void updateBulkMetadataUpdateTaskItems(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask,
+			List<HpcBulkMetadataUpdateTaskItem> items) throws HpcException {
+		int threadPoolSize = Math.max(bulkMetadataUpdateExecutorThreadPoolSize, 1);
+		List<List<HpcBulkMetadataUpdateTaskItem>> subLists = Lists.partition(items,
+				(items.size() + threadPoolSize - 1) / threadPoolSize);
+
+		List<Callable<Void>> updateTasks = new ArrayList<>();
+		for (List<HpcBulkMetadataUpdateTaskItem> subList : subLists) {
+			// Since this is executed in a separate thread. Need to get user-account
+			// execution again.
+			updateTasks.add(() -> securityService.executeAsUserAccount(bulkMetadataUpdateTask.getUserId(), () -> {
+				subList.forEach(
+						item -> dataManagementBusService.updateMetadata(item, bulkMetadataUpdateTask.getMetadataEntries()));
+				return null;
+			}));
+		}
+
+		try {
+			List<Future<Void>> updateResults = bulkMetadataUpdateExecutorService.invokeAll(updateTasks);
+			for (int i = 0; i < updateResults.size(); i++) {
+				try {
+					updateResults.get(i).get();
+
+				} catch (ExecutionException e) {
+					// The items this thread didn't update are recorded as failed.
+					logger.error("Failed to update bulk metadata update task items: " + bulkMetadataUpdateTask.getId(),
+							e.getCause());
+					for (HpcBulkMetadataUpdateTaskItem item : subLists.get(i)) {
+						if (item.getResult() == null) {
+							item.setResult(false);
+							item.setMessage(e.getCause().getMessage());
+						}
+					}
+				}
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HpcException("Bulk metadata update task processing interrupted: " + bulkMetadataUpdateTask.getId(),
+					HpcErrorType.UNEXPECTED_ERROR, e);
+		}
+	}
+
+	/**
+	 * Complete a bulk metadata update task.
+	 *
+	 * @param bulkMetadataUpdateTask The bulk metadata update task to complete.
+	 * @param result                 The result of the task (true is successful,
+	 *                               false is failed).
+	 */
+	private void completeBulkMetadataUpdateTask(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask, boolean result) {
+		try {
+			dataManagementService.completeBulkMetadataUpdateTask(bulkMetadataUpdateTask, result);
+
+		} catch (HpcException e) {
+			logger.error("Failed to complete a bulk metadata update task: " + bulkMetadataUpdateTask.getId(), e);
+		}
+	}
+
 	/**
 	 * Complete a bulk data object registration task. 1. Update task info in DB with
 	 * results info. 2. Send an event.
@@ -3426,10 +3995,18 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
     
 	// Collection download breaker. This class is used to determine if processing
 	// of collection download should be aborted because the first item in the
-	// collection had
-	// permission denied
-	// to download.
+	// collection had permission denied to download, or the user requested to
+	// cancel the download. It is shared by the threads walking the collection, so
+	// the abort indicator is atomic, and the cancellation request is checked
+	// periodically rather than on every item.
 	private class HpcCollectionDownloadBreaker {
+		// ---------------------------------------------------------------------//
+		// Constants
+		// ---------------------------------------------------------------------//
+
+		// The interval (in milliseconds) to check if a cancellation was requested.
+		private static final long CANCELLATION_CHECK_INTERVAL = 10000;
+
 		// ---------------------------------------------------------------------//
 		// Constructors
 		// ---------------------------------------------------------------------//
@@ -3446,13 +4023,20 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 		private String taskId = null;
 
 		// The first download item task ID.
-		private String firstDownloadItemTaskId = null;
+		private AtomicReference<String> firstDownloadItemTaskId = new AtomicReference<>();
 
 		// The download items (processed) count.
-		private int downloadItemsCount = 0;
+		private AtomicInteger downloadItemsCount = new AtomicInteger();
+
+		// Indicator that the first download item completed (the decision to abort or
+		// not because of its result was made).
+		private volatile boolean firstDownloadItemChecked = false;
+
+		// The next time to check if a cancellation was requested.
+		private AtomicLong nextCancellationCheck = new AtomicLong();
 
 		// The collection abort indicator.
-		private Boolean abortCollection = null;
+		private AtomicBoolean abortCollection = new AtomicBoolean();
 
 		// ---------------------------------------------------------------------//
 		// Methods
@@ -3467,47 +4051,175 @@ public class HpcSystemBusServiceImpl implements HpcSystemBusService {
 		 * @throws HpcException If failed to check first download item status.
 		 */
 		public boolean abortDownload(HpcCollectionDownloadTaskItem downloadItem) throws HpcException {
-			if ((abortCollection == null || !abortCollection)
+			if (abortCollection.get()) {
+				return true;
+			}
+
+			// Check if a user request to cancel the collection download was received. Only
+			// one thread checks, once per interval.
+			long now = System.currentTimeMillis();
+			long nextCheck = nextCancellationCheck.get();
+			if (now >= nextCheck && nextCancellationCheck.compareAndSet(nextCheck, now + CANCELLATION_CHECK_INTERVAL)
 					&& dataTransferService.getCollectionDownloadTaskCancellationRequested(taskId)) {
-				// A user request to cancel the collection download was received.
-				abortCollection = true;
+				abortCollection.set(true);
 				logger.info("Abort collection download task [taskId={}]. User requested cancellation", taskId);
+				return true;
 			}
 
-			if (abortCollection != null) {
-				// The decision to abort or not was made.
-				return abortCollection;
+			if (firstDownloadItemChecked) {
+				return false;
 			}
 
-			if (firstDownloadItemTaskId == null) {
-				// Keep track of the first item in the collection download.
-				// If this item faces permission denied, we'll abort the entire collection
-				// download
-				// processing.
-				firstDownloadItemTaskId = downloadItem.getDataObjectDownloadTaskId();
-			}
+			// Keep track of the first item in the collection download. If this item faces
+			// permission denied, we'll abort the entire collection download processing.
+			firstDownloadItemTaskId.compareAndSet(null, downloadItem.getDataObjectDownloadTaskId());
 
-			downloadItemsCount++;
-			if (downloadItemsCount % 10 == 0) {
+			if (downloadItemsCount.incrementAndGet() % 10 == 0) {
 				// We check on the first download task item every 10 items, until confirmed.
 				HpcDownloadTaskStatus downloadItemStatus = dataTransferService
-						.getDownloadTaskStatus(firstDownloadItemTaskId, HpcDownloadTaskType.DATA_OBJECT);
+						.getDownloadTaskStatus(firstDownloadItemTaskId.get(), HpcDownloadTaskType.DATA_OBJECT);
 				if (downloadItemStatus != null && !downloadItemStatus.getInProgress()) {
 					// First download item completed. Set the abort indicator.
-					abortCollection = downloadItemStatus.getResult().getResult()
-							.equals(HpcDownloadResult.FAILED_PERMISSION_DENIED)
-							|| downloadItemStatus.getResult().getResult()
-									.equals(HpcDownloadResult.FAILED_CREDENTIALS_NEEDED);
-					if (abortCollection) {
+					firstDownloadItemChecked = true;
+					HpcDownloadResult result = downloadItemStatus.getResult().getResult();
+					if (result.equals(HpcDownloadResult.FAILED_PERMISSION_DENIED)
+							|| result.equals(HpcDownloadResult.FAILED_CREDENTIALS_NEEDED)) {
+						abortCollection.set(true);
 						logger.info("Abort collection download task [taskId={}]. First item failed [{}]", taskId,
-								downloadItemStatus.getResult().getResult());
+								result);
 					}
-					return abortCollection;
 				}
 			}
 
-			return false;
+			return abortCollection.get();
+		}
+
+		/**
+		 * Check if processing a collection download task was aborted.
+		 *
+		 * @return true if collection download task was aborted.
+		 */
+		public boolean isAborted() {
+			return abortCollection.get();
+		}
+	}
+
+	// A collection in a collection download traversal. Holds the download
+	// destinations calculated for the collection, and once processed, the
+	// download items of its files and its sub-collections.
+	private static class HpcCollectionWalkEntry {
+		// ---------------------------------------------------------------------//
+		// Constructors
+		// ---------------------------------------------------------------------//
+
+		private HpcCollectionWalkEntry(HpcCollection collection, String path,
+				HpcGlobusDownloadDestination globusDownloadDestination, HpcS3DownloadDestination s3DownloadDestination,
+				HpcGoogleDownloadDestination googleDriveDownloadDestination,
+				HpcGoogleDownloadDestination googleCloudStorageDownloadDestination,
+				HpcAsperaDownloadDestination asperaDownloadDestination,
+				HpcBoxDownloadDestination boxDownloadDestination, boolean appendCollectionNameToDownloadDestination) {
+			this.collection = collection;
+			this.path = path;
+			this.globusDownloadDestination = globusDownloadDestination;
+			this.s3DownloadDestination = s3DownloadDestination;
+			this.googleDriveDownloadDestination = googleDriveDownloadDestination;
+			this.googleCloudStorageDownloadDestination = googleCloudStorageDownloadDestination;
+			this.asperaDownloadDestination = asperaDownloadDestination;
+			this.boxDownloadDestination = boxDownloadDestination;
+			this.appendCollectionNameToDownloadDestination = appendCollectionNameToDownloadDestination;
 		}
+
+		// ---------------------------------------------------------------------//
+		// Instance members
+		// ---------------------------------------------------------------------//
+
+		// The collection (null if not fetched yet) and its path.
+		private HpcCollection collection = null;
+		private String path = null;
+
+		// The download destinations of the collection.
+		private HpcGlobusDownloadDestination globusDownloadDestination = null;
+		private HpcS3DownloadDestination s3DownloadDestination = null;
+		private HpcGoogleDownloadDestination googleDriveDownloadDestination = null;
+		private HpcGoogleDownloadDestination googleCloudStorageDownloadDestination = null;
+		private HpcAsperaDownloadDestination asperaDownloadDestination = null;
+		private HpcBoxDownloadDestination boxDownloadDestination = null;
+		private boolean appendCollectionNameToDownloadDestination = false;
+
+		// The download items of the collection files.
+		private List<HpcCollectionDownloadTaskItem> downloadItems = new ArrayList<>();
+
+		// The sub-collections to process next.
+		private List<HpcCollectionWalkEntry> subCollections = new ArrayList<>();
 	}
 
+	// Collection download items writer. Adds download items to a collection
+	// download task, and persists the items every page, so the items are visible
+	// while the collection download is still processed. Persisted items are
+	// removed from the task, so only the last (partial) page is held in memory.
+	private class HpcCollectionDownloadItemsWriter {
+		// ---------------------------------------------------------------------//
+		// Constructors
+		// ---------------------------------------------------------------------//
+
+		public HpcCollectionDownloadItemsWriter(HpcCollectionDownloadTask downloadTask) {
+			this.downloadTask = downloadTask;
+		}
+
+		// ---------------------------------------------------------------------//
+		// Instance members
+		// ---------------------------------------------------------------------//
+
+		// The collection download task.
+		private HpcCollectionDownloadTask downloadTask = null;
+
+		// The collection path to set on the items (collection list download).
+		private String collectionPath = null;
+
+		// The number of items added.
+		private int itemsCount = 0;
+
+		// ---------------------------------------------------------------------//
+		// Methods
+		// ---------------------------------------------------------------------//
+
+		/**
+		 * Set the collection path to set on the items added next.
+		 *
+		 * @param collectionPath The collection path.
+		 */
+		public void setCollectionPath(String collectionPath) {
+			this.collectionPath = collectionPath;
+		}
+
+		/**
+		 * Get the number of download items added.
+		 *
+		 * @return The number of download items added.
+		 */
+		public int getItemsCount() {
+			return itemsCount;
+		}
+
+		/**
+		 * Add download items to the collection download task. The items are persisted
+		 * (and removed from the task) when a page of items was added. The items left
+		 * on the task are persisted when the task is updated or completed.
+		 *
+		 * @param downloadItems The download items to add.
+		 * @throws HpcException on service failure.
+		 */
+		public void add(List<HpcCollectionDownloadTaskItem> downloadItems) throws HpcException {
+			if (collectionPath != null) {
+				downloadItems.forEach(item -> item.setCollectionPath(collectionPath));
+			}
+			downloadTask.getItems().addAll(downloadItems);
+			itemsCount += downloadItems.size();
+
+			if (downloadTask.getItems().size() >= collectionDownloadItemsPageSize) {
+				dataTransferService.updateCollectionDownloadTaskItems(downloadTask.getId(), downloadTask.getItems());
+				downloadTask.getItems().clear();
+			}
+		}
+	}
 }
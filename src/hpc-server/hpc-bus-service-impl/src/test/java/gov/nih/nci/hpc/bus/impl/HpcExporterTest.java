@@ -0,0 +1,217 @@
+package gov.nih.nci.hpc.bus.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import gov.nih.nci.hpc.domain.datamanagement.HpcDataObject;
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntries;
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
+import gov.nih.nci.hpc.dto.datamanagement.HpcDataObjectDTO;
+import gov.nih.nci.hpc.dto.datamanagement.HpcDataObjectListDTO;
+
+class HpcExporterTest {
+
+    // The exporter under test.
+    private HpcExporter exporter;
+
+    @TempDir
+    File tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Constructor<HpcExporter> constructor = HpcExporter.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        exporter = constructor.newInstance();
+    }
+
+    /*
+     * Test Case: A metadata attribute is found only in the last data object.
+     * Expected: The attribute is a CSV header column, every row has all the columns, and quotes are escaped.
+     */
+    @Test
+    void testExportDataObjects_Csv() throws IOException {
+        HpcDataObjectListDTO dataObjects = new HpcDataObjectListDTO();
+        dataObjects.getDataObjects().add(toDataObjectDTO("/a/b/file1", "uuid", "1", "registered_by", "user1"));
+        dataObjects.getDataObjects().add(
+                toDataObjectDTO("/a/b/file2", "uuid", "2", "registered_by", "user2", "comment", "say \"hi\""));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exporter.exportDataObjects(outputStream, HpcExporter.Format.CSV, dataObjects, Arrays.asList());
+
+        List<String> lines = Arrays.asList(outputStream.toString(StandardCharsets.UTF_8.name()).split("\n"));
+        assertEquals(3, lines.size());
+        assertEquals("\"path\",\"uuid\",\"registeredBy\",\"comment\"", lines.get(0));
+        assertEquals("\"/a/b/file1\",\"1\",\"user1\",\"\"", lines.get(1));
+        assertEquals("\"/a/b/file2\",\"2\",\"user2\",\"say \"\"hi\"\"\"", lines.get(2));
+    }
+
+    /*
+     * Test Case: Data objects are written to an export page by page, and an attribute is found only in the last page.
+     * Expected: The attribute is a header column, and the rows of the first page have an empty cell for it.
+     */
+    @Test
+    void testExportDataObjects_Pages() throws IOException {
+        HpcDataObjectListDTO firstPage = new HpcDataObjectListDTO();
+        firstPage.getDataObjects().add(toDataObjectDTO("/a/b/file1", "uuid", "1"));
+        HpcDataObjectListDTO secondPage = new HpcDataObjectListDTO();
+        secondPage.getDataObjects().add(toDataObjectDTO("/a/b/file2", "comment", "c2", "uuid", "2"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (HpcExporter.HpcExportWriter exportWriter = exporter.openDataObjectsExport(outputStream,
+                HpcExporter.Format.TSV, Arrays.asList("registeredBy"))) {
+            exportWriter.writeDataObjects(firstPage);
+            exportWriter.writeDataObjects(secondPage);
+            assertEquals(2, exportWriter.getRowCount());
+        }
+
+        List<String> lines = Arrays.asList(outputStream.toString(StandardCharsets.UTF_8.name()).split("\n"));
+        assertEquals(3, lines.size());
+        assertEquals("\"path\"\t\"uuid\"\t\"comment\"", lines.get(0));
+        assertEquals("\"/a/b/file1\"\t\"1\"\t\"\"", lines.get(1));
+        assertEquals("\"/a/b/file2\"\t\"2\"\t\"c2\"", lines.get(2));
+    }
+
+    /*
+     * Test Case: Export data objects to an Excel file.
+     * Expected: The format is taken from the file extension and all rows are written.
+     */
+    @Test
+    void testExportDataObjects_Xlsx() throws IOException {
+        HpcDataObjectListDTO dataObjects = new HpcDataObjectListDTO();
+        for (int i = 0; i < 500; i++) {
+            dataObjects.getDataObjects().add(toDataObjectDTO("/a/b/file" + i, "uuid", String.valueOf(i)));
+        }
+
+        File exportFile = new File(tempDir, "export.xlsx");
+        exporter.exportDataObjects(exportFile.getAbsolutePath(), dataObjects, Arrays.asList("registeredBy"));
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(Files.readAllBytes(exportFile.toPath())))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(500, sheet.getLastRowNum());
+            assertEquals("uuid", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals("/a/b/file499", sheet.getRow(500).getCell(0).getStringCellValue());
+            assertEquals("499", sheet.getRow(500).getCell(1).getStringCellValue());
+        }
+    }
+
+    /*
+     * Test Case: Nothing to export.
+     * Expected: No export file is created.
+     */
+    @Test
+    void testExportDataObjects_Empty() throws IOException {
+        File exportFile = new File(tempDir, "empty.csv");
+        exporter.exportDataObjects(exportFile.getAbsolutePath(), new HpcDataObjectListDTO(), null);
+
+        assertFalse(exportFile.exists());
+    }
+
+    /*
+     * Benchmark: Heap and wall time of the streaming Excel / CSV exports vs. an in-memory XSSF workbook
+     * (the previous implementation), at 10k, 100k and 1M rows. The in-memory baseline is skipped at 1M rows.
+     * Run with: mvn test -Dtest=HpcExporterTest -Dhpc.exporter.benchmark=true
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {10000, 100000, 1000000})
+    @EnabledIfSystemProperty(named = "hpc.exporter.benchmark", matches = "true")
+    void benchmarkExportDataObjects(int rows) throws IOException {
+        HpcDataObjectListDTO dataObjects = new HpcDataObjectListDTO();
+        for (int i = 0; i < rows; i++) {
+            dataObjects.getDataObjects().add(toDataObjectDTO("/benchmark/collection/file" + i, "uuid",
+                    String.valueOf(i), "registered_by", "user", "comment", "benchmark data object " + i));
+        }
+
+        for (HpcExporter.Format format : HpcExporter.Format.values()) {
+            File exportFile = new File(tempDir, "benchmark" + format.getExtension());
+            long[] result = measure(() -> exporter.exportDataObjects(exportFile.getAbsolutePath(), dataObjects, null));
+            report(format.name(), rows, result, exportFile);
+        }
+
+        if (rows <= 100000) {
+            File exportFile = new File(tempDir, "benchmark-xssf.xlsx");
+            long[] result = measure(() -> exportInMemory(exportFile, dataObjects));
+            report("XSSF (in-memory)", rows, result, exportFile);
+        }
+    }
+
+    private HpcDataObjectDTO toDataObjectDTO(String path, String... attributesAndValues) {
+        HpcDataObjectDTO dataObjectDTO = new HpcDataObjectDTO();
+        HpcDataObject dataObject = new HpcDataObject();
+        dataObject.setAbsolutePath(path);
+        dataObjectDTO.setDataObject(dataObject);
+        HpcMetadataEntries metadataEntries = new HpcMetadataEntries();
+        for (int i = 0; i < attributesAndValues.length; i += 2) {
+            HpcMetadataEntry entry = new HpcMetadataEntry();
+            entry.setAttribute(attributesAndValues[i]);
+            entry.setValue(attributesAndValues[i + 1]);
+            metadataEntries.getSelfMetadataEntries().add(entry);
+        }
+        dataObjectDTO.setMetadataEntries(metadataEntries);
+        return dataObjectDTO;
+    }
+
+    // The previous (in-memory workbook) export implementation, used as the benchmark baseline.
+    private void exportInMemory(File exportFile, HpcDataObjectListDTO dataObjects) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+                OutputStream outputStream = new FileOutputStream(exportFile)) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            int rownum = 0;
+            for (HpcDataObjectDTO dataObject : dataObjects.getDataObjects()) {
+                Row row = sheet.createRow(rownum++);
+                row.createCell(0).setCellValue(dataObject.getDataObject().getAbsolutePath());
+                int cellnum = 1;
+                for (HpcMetadataEntry entry : dataObject.getMetadataEntries().getSelfMetadataEntries()) {
+                    row.createCell(cellnum++).setCellValue(entry.getValue());
+                }
+            }
+            workbook.write(outputStream);
+        }
+    }
+
+    private interface Export {
+        void run() throws IOException;
+    }
+
+    // Returns {wall time ms, peak heap bytes}.
+    private long[] measure(Export export) throws IOException {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>(ManagementFactory.getMemoryPoolMXBeans());
+        heapPools.removeIf(pool -> pool.getType() != MemoryType.HEAP);
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        export.run();
+        long wallTime = (System.nanoTime() - start) / 1000000;
+
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new long[] {wallTime, peakHeap};
+    }
+
+    private void report(String name, int rows, long[] result, File exportFile) {
+        System.out.println(String.format("HpcExporter benchmark: %-16s rows=%-8d wall=%6d ms  peakHeap=%5d MB  file=%5d KB",
+                name, rows, result[0], result[1] / (1024 * 1024), exportFile.length() / 1024));
+    }
+}
@@ -0,0 +1,109 @@
+package gov.nih.nci.hpc.bus.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import gov.nih.nci.hpc.domain.metadata.HpcCompoundMetadataQuery;
+import gov.nih.nci.hpc.domain.metadata.HpcCompoundMetadataQueryOperator;
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataQuery;
+import gov.nih.nci.hpc.exception.HpcException;
+import gov.nih.nci.hpc.service.HpcDataSearchService;
+
+class HpcSearchResultsCacheTest {
+
+    // Mocks the dependencies
+    @Mock
+    private HpcDataSearchService dataSearchService;
+
+    // The cache under test. The high-water mark is checked on every lookup.
+    @InjectMocks
+    private HpcSearchResultsCache cache = new HpcSearchResultsCache(true, 100, 300, 0);
+
+    // A disabled cache.
+    @InjectMocks
+    private HpcSearchResultsCache disabledCache = new HpcSearchResultsCache(false, 100, 300, 0);
+
+    // Counts the searches executed (cache misses).
+    private AtomicInteger searches = new AtomicInteger();
+
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        closeable = MockitoAnnotations.openMocks(this);
+        doReturn("1:20260101000000").when(dataSearchService).getMetadataHighWaterMark();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    /*
+     * Test Case: The same page is requested twice, and then by another user.
+     * Expected: The search is executed once per user.
+     */
+    @Test
+    void testGetPage_Hit() throws HpcException {
+        assertEquals(Arrays.asList("/a", "/b"), getPage("user1", toQuery("x"), 1));
+        assertEquals(Arrays.asList("/a", "/b"), getPage("user1", toQuery("x"), 1));
+        assertEquals(1, searches.get());
+
+        getPage("user2", toQuery("x"), 1);
+        getPage("user1", toQuery("x"), 2);
+        getPage("user1", toQuery("y"), 1);
+        assertEquals(4, searches.get());
+        assertEquals(1, cache.getStats().hitCount());
+    }
+
+    /*
+     * Test Case: The metadata high-water mark changes between requests.
+     * Expected: The search is executed again.
+     */
+    @Test
+    void testGetPage_HighWaterMarkChanged() throws HpcException {
+        getPage("user1", toQuery("x"), 1);
+        doReturn("2:20260101000000").when(dataSearchService).getMetadataHighWaterMark();
+        getPage("user1", toQuery("x"), 1);
+
+        assertEquals(2, searches.get());
+    }
+
+    /*
+     * Test Case: Cache disabled.
+     * Expected: The search is always executed, and the high-water mark is not checked.
+     */
+    @Test
+    void testGetCount_Disabled() throws Exception {
+        disabledCache.getCount("dataObjects", "user1", toQuery("x"), () -> searches.incrementAndGet());
+        disabledCache.getCount("dataObjects", "user1", toQuery("x"), () -> searches.incrementAndGet());
+
+        assertEquals(2, searches.get());
+        verify(dataSearchService, never()).getMetadataHighWaterMark();
+    }
+
+    private List<String> getPage(String user, HpcCompoundMetadataQuery query, int page) throws HpcException {
+        return cache.getPage("dataObjects", user, query, page, 0, () -> {
+            searches.incrementAndGet();
+            return Arrays.asList("/a", "/b");
+        });
+    }
+
+    private HpcCompoundMetadataQuery toQuery(String value) {
+        HpcCompoundMetadataQuery query = new HpcCompoundMetadataQuery();
+        query.setOperator(HpcCompoundMetadataQueryOperator.AND);
+        HpcMetadataQuery metadataQuery = new HpcMetadataQuery();
+        metadataQuery.setAttribute("attr");
+        metadataQuery.setValue(value);
+        query.getQueries().add(metadataQuery);
+        return query;
+    }
+}
@@ -11,7 +11,9 @@
 package gov.nih.nci.hpc.dao;
 
 import java.util.Calendar;
+import java.util.List;
 
+import gov.nih.nci.hpc.domain.model.HpcApiCallAuditRecord;
 import gov.nih.nci.hpc.exception.HpcException;
 
 /**
@@ -37,4 +39,12 @@ public interface HpcApiCallsAuditDAO {
 	 */
 	public void insert(String userId, String httpRequestMethod, String endpoint, String httpResponseCode,
 			String serverId, Calendar created, Calendar completed, String jsonBody) throws HpcException;
+
+	/**
+	 * Store a batch of new audit records (JDBC batch insert).
+	 *
+	 * @param auditRecords The audit records to store.
+	 * @throws HpcException on database error.
+	 */
+	public void insert(List<HpcApiCallAuditRecord> auditRecords) throws HpcException;
 }
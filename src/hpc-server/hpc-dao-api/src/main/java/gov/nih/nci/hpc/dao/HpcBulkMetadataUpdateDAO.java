@@ -0,0 +1,121 @@
+/**
+ * HpcBulkMetadataUpdateDAO.java
+ *
+ * Copyright SVG, Inc.
+ * Copyright Leidos Biomedical Research, Inc
+ *
+ * Distributed under the OSI-approved BSD 3-Clause License.
+ * See http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+
+package gov.nih.nci.hpc.dao;
+
+import java.util.List;
+
+import gov.nih.nci.hpc.domain.datamanagement.HpcBulkMetadataUpdateTaskStatus;
+import gov.nih.nci.hpc.domain.datamanagement.HpcPathType;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTaskItem;
+import gov.nih.nci.hpc.exception.HpcException;
+
+/**
+ * <p>
+ * HPC Bulk Metadata Update DAO Interface.
+ * </p>
+ *
+ * @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+ */
+
+public interface HpcBulkMetadataUpdateDAO {
+	/**
+	 * Store a new bulk metadata update task. Note: If task.getId() is null, it
+	 * will be updated with a generated ID.
+	 *
+	 * @param bulkMetadataUpdateTask The bulk metadata update task to persist.
+	 * @throws HpcException on database error.
+	 */
+	public void insertBulkMetadataUpdateTask(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask) throws HpcException;
+
+	/**
+	 * Update the status, result and items counts of a bulk metadata update task.
+	 *
+	 * @param bulkMetadataUpdateTask The bulk metadata update task to update.
+	 * @throws HpcException on database error.
+	 */
+	public void updateBulkMetadataUpdateTask(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask) throws HpcException;
+
+	/**
+	 * Get a bulk metadata update task.
+	 *
+	 * @param id The bulk metadata update task ID.
+	 * @return The bulk metadata update task object, or null if not found.
+	 * @throws HpcException on database error.
+	 */
+	public HpcBulkMetadataUpdateTask getBulkMetadataUpdateTask(String id) throws HpcException;
+
+	/**
+	 * Get bulk metadata update tasks by status.
+	 *
+	 * @param status The bulk metadata update task status to query for.
+	 * @return A list of bulk metadata update tasks, ordered by creation time.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcBulkMetadataUpdateTask> getBulkMetadataUpdateTasks(HpcBulkMetadataUpdateTaskStatus status)
+			throws HpcException;
+
+	/**
+	 * Add (pending) items to a bulk metadata update task. Paths already added to
+	 * the task are ignored.
+	 *
+	 * @param taskId   The bulk metadata update task ID.
+	 * @param paths    The collection / data object paths to add.
+	 * @param pathType The path type (collection or data object).
+	 * @throws HpcException on database error.
+	 */
+	public void insertBulkMetadataUpdateTaskItems(String taskId, List<String> paths, HpcPathType pathType)
+			throws HpcException;
+
+	/**
+	 * Get the pending items (items not updated yet) of a bulk metadata update
+	 * task.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @param limit  The max number of items to return.
+	 * @return A list of pending items, ordered by item ID.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcBulkMetadataUpdateTaskItem> getPendingBulkMetadataUpdateTaskItems(String taskId, int limit)
+			throws HpcException;
+
+	/**
+	 * Get the failed items of a bulk metadata update task.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @param limit  The max number of items to return.
+	 * @return A list of failed items, ordered by item ID.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcBulkMetadataUpdateTaskItem> getFailedBulkMetadataUpdateTaskItems(String taskId, int limit)
+			throws HpcException;
+
+	/**
+	 * Update the result (and message) of bulk metadata update task items.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @param items  The items to update.
+	 * @throws HpcException on database error.
+	 */
+	public void updateBulkMetadataUpdateTaskItems(String taskId, List<HpcBulkMetadataUpdateTaskItem> items)
+			throws HpcException;
+
+	/**
+	 * Get the number of items of a bulk metadata update task.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @param result (Optional) Count only the items w/ this result. If null, all
+	 *               the items (including pending) are counted.
+	 * @return The number of items.
+	 * @throws HpcException on database error.
+	 */
+	public int getBulkMetadataUpdateTaskItemsCount(String taskId, Boolean result) throws HpcException;
+}
@@ -38,4 +38,20 @@ public interface HpcBulkUpdateAuditDAO {
 	 */
 	public void insert(String userId, HpcCompoundMetadataQuery query, HpcCompoundMetadataQueryType queryType,
 			String metadataName, String metadataValue, Calendar created) throws HpcException;
+
+	/**
+	 * Store a new bulk update audit record of a bulk metadata update task.
+	 *
+	 * @param taskId            The bulk metadata update task ID.
+	 * @param userId            The userId of the user performing the updates.
+	 * @param query             (Optional) The query being used for bulk metadata update.
+	 * @param queryType         (Optional) The query type, data object or collection.
+	 * @param metadataName      The name of the metadata being updated.
+	 * @param metadataValue     The value of the metadata being updated.
+	 * @param created           The time the request was created.
+	 * @throws HpcException on database error.
+	 */
+	public void insert(String taskId, String userId, HpcCompoundMetadataQuery query,
+			HpcCompoundMetadataQueryType queryType, String metadataName, String metadataValue, Calendar created)
+			throws HpcException;
 }
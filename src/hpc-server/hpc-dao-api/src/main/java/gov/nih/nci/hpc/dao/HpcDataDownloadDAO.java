@@ -15,6 +15,8 @@ import java.util.Date;
 import java.util.List;
 
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTask;
+import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItem;
+import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItemsSummary;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskStatus;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadTask;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadTaskStatusFilter;
@@ -136,6 +138,31 @@ public interface HpcDataDownloadDAO {
 	public List<HpcDataObjectDownloadTask> getDataObjectDownloadTaskByCollectionDownloadTaskId(
 			String collectionDownloadTaskId) throws HpcException;
 
+	/**
+	 * Get data object download tasks that are part of a given collection download
+	 * task ID, and were created / updated since a given time.
+	 *
+	 * @param collectionDownloadTaskId The collection download task Id to look for.
+	 * @param updatedSince             Get tasks updated after this time. If null,
+	 *                                 all tasks are returned.
+	 * @return Data object download tasks.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcDataObjectDownloadTask> getDataObjectDownloadTaskByCollectionDownloadTaskId(
+			String collectionDownloadTaskId, Calendar updatedSince) throws HpcException;
+
+	/**
+	 * Count the data object download tasks of a collection download task in a
+	 * given status.
+	 *
+	 * @param collectionDownloadTaskId The collection download task Id.
+	 * @param dataTransferStatus       The data transfer status to count.
+	 * @return The count of data object download tasks.
+	 * @throws HpcException on database error.
+	 */
+	public int getDataObjectDownloadTasksCountByCollectionDownloadTaskId(String collectionDownloadTaskId,
+			HpcDataTransferDownloadStatus dataTransferStatus) throws HpcException;
+
 
 	/**
 	 * Get all data object task results that are part of a given collection
@@ -164,6 +191,25 @@ public interface HpcDataDownloadDAO {
 			HpcDataTransferDownloadStatus dataTransferStatus, HpcDataTransferType dataTransferType, Date processed)
 			throws HpcException;
 
+	/**
+	 * Claim a batch of RECEIVED data object download tasks of a given data
+	 * transfer type. The tasks are selected and locked (skipping rows locked by
+	 * other servers) and marked in-process and processed in a single database
+	 * transaction.
+	 *
+	 * @param dataTransferType       The data object download task data transfer
+	 *                               type.
+	 * @param processed              The processed date to pick up only records
+	 *                               that have not yet been processed in this run.
+	 * @param batchSize              The max number of tasks to claim.
+	 * @param s3DownloadTaskServerId The server ID of the executing s3 download
+	 *                               task.
+	 * @return The claimed data object download tasks (empty list if none found).
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcDataObjectDownloadTask> claimDataObjectDownloadTasks(HpcDataTransferType dataTransferType,
+			Date processed, int batchSize, String s3DownloadTaskServerId) throws HpcException;
+
 	/**
 	 * Set a data object download task in-process value.
 	 *
@@ -213,11 +259,25 @@ public interface HpcDataDownloadDAO {
 	 */
 	public HpcDownloadTaskResult getDownloadTaskResult(String id, HpcDownloadTaskType taskType) throws HpcException;
 
+	/**
+	 * Get a download task result.
+	 *
+	 * @param id           The download task ID.
+	 * @param taskType     The download task type (data-object or collection).
+	 * @param includeItems If true, the collection download items are included.
+	 * @return The download task result object, or null if not found.
+	 * @throws HpcException on database error.
+	 */
+	public HpcDownloadTaskResult getDownloadTaskResult(String id, HpcDownloadTaskType taskType,
+			boolean includeItems) throws HpcException;
+
 	/**
 	 * Store a new collection download task (if collectionDownloadRequest.getId() is
 	 * provided NULL), or update an existing request. Note: If a new request is
 	 * inserted, collectionDownloadRequest.getId() will be updated with the
-	 * generated ID.
+	 * generated ID. Download items w/o an item ID are inserted (and assigned an
+	 * item ID). Changes to existing items are persisted w/
+	 * updateCollectionDownloadTaskItems().
 	 *
 	 * @param collectionDownloadtask The collection download task to persist.
 	 * @throws HpcException on database error.
@@ -233,6 +293,85 @@ public interface HpcDataDownloadDAO {
 	 */
 	public HpcCollectionDownloadTask getCollectionDownloadTask(String id) throws HpcException;
 
+	/**
+	 * Get a collection download task.
+	 *
+	 * @param id           The collection download task ID.
+	 * @param includeItems If true, the download items are included.
+	 * @return The download task object, or null if not found.
+	 * @throws HpcException on database error.
+	 */
+	public HpcCollectionDownloadTask getCollectionDownloadTask(String id, boolean includeItems) throws HpcException;
+
+	/**
+	 * Update collection download task items. Items w/o an item ID are inserted
+	 * (and assigned an item ID).
+	 *
+	 * @param taskId        The collection download task ID.
+	 * @param downloadItems The download items to update.
+	 * @throws HpcException on database error.
+	 */
+	public void updateCollectionDownloadTaskItems(String taskId, List<HpcCollectionDownloadTaskItem> downloadItems)
+			throws HpcException;
+
+	/**
+	 * Get a page of collection download task items (keyset pagination by item
+	 * ID).
+	 *
+	 * @param taskId      The collection download task ID.
+	 * @param afterItemId Get the items w/ item ID greater than this one.
+	 * @param limit       The max number of items to return.
+	 * @return A list of download items ordered by item ID.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcCollectionDownloadTaskItem> getCollectionDownloadTaskItems(String taskId, int afterItemId,
+			int limit) throws HpcException;
+
+	/**
+	 * Get the collection download task items w/o a result, whose data object
+	 * download task was updated since a given time, or no longer exists (i.e.
+	 * completed).
+	 *
+	 * @param taskId       The collection download task ID.
+	 * @param updatedSince Get items w/ data object download task updated after
+	 *                     this time. If null, all items w/o a result are
+	 *                     returned.
+	 * @return A list of download items ordered by item ID.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcCollectionDownloadTaskItem> getUpdatedCollectionDownloadTaskItems(String taskId,
+			Calendar updatedSince) throws HpcException;
+
+	/**
+	 * Get a summary (counts, size, bytes transferred) of the collection download
+	 * task items.
+	 *
+	 * @param taskId The collection download task ID.
+	 * @return The items summary.
+	 * @throws HpcException on database error.
+	 */
+	public HpcCollectionDownloadTaskItemsSummary getCollectionDownloadTaskItemsSummary(String taskId)
+			throws HpcException;
+
+	/**
+	 * Set the time the status of collection download task items was last
+	 * refreshed.
+	 *
+	 * @param taskId         The collection download task ID.
+	 * @param itemsRefreshed The refresh time.
+	 * @throws HpcException on database error.
+	 */
+	public void setCollectionDownloadTaskItemsRefreshed(String taskId, Calendar itemsRefreshed)
+			throws HpcException;
+
+	/**
+	 * Delete the items of a collection download task.
+	 *
+	 * @param taskId The collection download task ID.
+	 * @throws HpcException on database error.
+	 */
+	public void deleteCollectionDownloadTaskItems(String taskId) throws HpcException;
+
 	/**
 	 * Delete a collection download task.
 	 *
@@ -268,6 +407,16 @@ public interface HpcDataDownloadDAO {
 	public List<HpcCollectionDownloadTask> getCollectionDownloadTasks(HpcCollectionDownloadTaskStatus status)
 			throws HpcException;
 
+	/**
+	 * Get collection download requests w/o their items.
+	 *
+	 * @param status Get requests in this status.
+	 * @return A list of collection download requests.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcCollectionDownloadTask> getCollectionDownloadTasksWithoutItems(
+			HpcCollectionDownloadTaskStatus status) throws HpcException;
+
 	/**
 	 * Get collection download requests.
 	 *
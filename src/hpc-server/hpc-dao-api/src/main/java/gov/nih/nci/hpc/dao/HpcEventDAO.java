@@ -35,28 +35,30 @@ public interface HpcEventDAO
     public void insertEvent(HpcEvent event) throws HpcException;
     
     /**
-     * Get all (active) events.
+     * Get a page of (active) events, ordered by ID.
      *
+     * @param afterEventId Get events with ID greater than this ID.
+     * @param limit The max number of events to get.
      * @return <code>List&lt;HpcEvent&gt;</code>
      * @throws HpcException on database error.
      */
-    public List<HpcEvent> getEvents() throws HpcException;
+    public List<HpcEvent> getEvents(int afterEventId, int limit) throws HpcException;
     
     /**
-     * Delete an event
+     * Delete a batch of events
      *
-     * @param eventId The eventId to delete.
+     * @param eventIds The eventIds to delete.
      * @throws HpcException on database error.
      */
-    public void deleteEvent(int eventId) throws HpcException;
+    public void deleteEvents(List<Integer> eventIds) throws HpcException;
     
     /**
-     * Store an event to the event history table.
+     * Store a batch of events to the event history table.
      *
-     * @param event The event to be added.
+     * @param events The events to be added.
      * @throws HpcException on database error.
      */
-    public void insertEventHistory(HpcEvent event) throws HpcException;
+    public void insertEventsHistory(List<HpcEvent> events) throws HpcException;
     
     /**
      * Get an event from the event history table.
@@ -66,6 +68,16 @@ public interface HpcEventDAO
      * @throws HpcException on database error.
      */
     public HpcEvent getEventHistory(int id) throws HpcException;
+    
+    /**
+     * Get the (processed) events in a user's notification digest, ordered by ID.
+     *
+     * @param userId The user ID.
+     * @param limit The max number of events to get.
+     * @return <code>List&lt;HpcEvent&gt;</code>
+     * @throws HpcException on database error.
+     */
+    public List<HpcEvent> getDigestEvents(String userId, int limit) throws HpcException;
 }
 
  
\ No newline at end of file
@@ -12,6 +12,8 @@ package gov.nih.nci.hpc.dao;
 
 import java.util.Calendar;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollectionListingEntry;
 import gov.nih.nci.hpc.domain.datamanagement.HpcDataObject;
@@ -21,8 +23,10 @@ import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataLevelAttributes;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataQuery;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataQueryLevelFilter;
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataViewRefreshStatus;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntry;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntryForCollection;
+import gov.nih.nci.hpc.domain.metadata.HpcSearchObjectPath;
 import gov.nih.nci.hpc.exception.HpcException;
 
 /**
@@ -69,6 +73,58 @@ public interface HpcMetadataDAO {
 			HpcCompoundMetadataQuery compoundMetadataQuery, String dataManagementUsername, int offset, int limit,
 			HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException;
 
+	/**
+	 * Get collection paths by compound metadata query, using keyset pagination.
+	 * The results are ordered by object ID, and only objects w/ ID greater than
+	 * 'afterObjectId' are returned. Only objects accessible to the user are
+	 * returned.
+	 *
+	 * @param compoundMetadataQuery  The compound metadata query.
+	 * @param dataManagementUsername The Data Management user name.
+	 * @param afterObjectId          (Optional) The object ID of the last object
+	 *                               in the previous page. Null for the first page.
+	 * @param limit                  No more than 'limit' objects will be returned.
+	 * @param defaultLevelFilter     A default level filter to use if not provided
+	 *                               in the query.
+	 * @return List of collection IDs and paths.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcSearchObjectPath> getCollectionPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			String dataManagementUsername, Integer afterObjectId, int limit,
+			HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException;
+
+	/**
+	 * Get collection details (attributes and hierarchical metadata) of a list of
+	 * collection paths, in a single round trip per batch of paths.
+	 *
+	 * @param paths The collection (absolute) paths.
+	 * @return List of HpcSearchMetadataEntryForCollection. Collections that are not
+	 *         (yet) in the hierarchical metadata view are not included.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcSearchMetadataEntryForCollection> getDetailedCollectionPaths(List<String> paths)
+			throws HpcException;
+
+	/**
+	 * Get detailed collection paths by compound metadata query, using keyset pagination.
+	 * The results are ordered by object ID, and only objects w/ ID greater than
+	 * 'afterObjectId' are returned. Only objects accessible to the user are
+	 * returned.
+	 *
+	 * @param compoundMetadataQuery  The compound metadata query.
+	 * @param dataManagementUsername The Data Management user name.
+	 * @param afterObjectId          (Optional) The object ID of the last object
+	 *                               in the previous page. Null for the first page.
+	 * @param limit                  No more than 'limit' objects will be returned.
+	 * @param defaultLevelFilter     A default level filter to use if not provided
+	 *                               in the query.
+	 * @return List of HpcSearchMetadataEntryForCollection.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcSearchMetadataEntryForCollection> getDetailedCollectionPathsAfter(
+			HpcCompoundMetadataQuery compoundMetadataQuery, String dataManagementUsername, Integer afterObjectId,
+			int limit, HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException;
+
 	/**
 	 * Get count of collections matching a compound metadata query. Only collections
 	 * accessible to the user are included in the count.
@@ -117,6 +173,57 @@ public interface HpcMetadataDAO {
 			String dataManagementUsername, int offset, int limit, HpcMetadataQueryLevelFilter defaultLevelFilter)
 			throws HpcException;
 
+	/**
+	 * Get data object paths by compound metadata query, using keyset pagination.
+	 * The results are ordered by object ID, and only objects w/ ID greater than
+	 * 'afterObjectId' are returned. Only objects accessible to the user are
+	 * returned.
+	 *
+	 * @param compoundMetadataQuery  The compound metadata query.
+	 * @param dataManagementUsername The Data Management user name.
+	 * @param afterObjectId          (Optional) The object ID of the last object
+	 *                               in the previous page. Null for the first page.
+	 * @param limit                  No more than 'limit' objects will be returned.
+	 * @param defaultLevelFilter     A default level filter to use if not provided
+	 *                               in the query.
+	 * @return List of data object IDs and paths.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcSearchObjectPath> getDataObjectPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			String dataManagementUsername, Integer afterObjectId, int limit,
+			HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException;
+
+	/**
+	 * Get detailed data object paths by compound metadata query, using keyset pagination.
+	 * The results are ordered by object ID, and only objects w/ ID greater than
+	 * 'afterObjectId' are returned. Only objects accessible to the user are
+	 * returned.
+	 *
+	 * @param compoundMetadataQuery  The compound metadata query.
+	 * @param dataManagementUsername The Data Management user name.
+	 * @param afterObjectId          (Optional) The object ID of the last object
+	 *                               in the previous page. Null for the first page.
+	 * @param limit                  No more than 'limit' objects will be returned.
+	 * @param defaultLevelFilter     A default level filter to use if not provided
+	 *                               in the query.
+	 * @return List of HpcSearchMetadataEntry.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcSearchMetadataEntry> getDetailedDataObjectPathsAfter(
+			HpcCompoundMetadataQuery compoundMetadataQuery, String dataManagementUsername, Integer afterObjectId,
+			int limit, HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException;
+
+	/**
+	 * Get data object details (hierarchical metadata) of a list of data object
+	 * paths, in a single round trip per batch of paths.
+	 *
+	 * @param paths The data object (absolute) paths.
+	 * @return List of HpcSearchMetadataEntry. Data objects that are not (yet) in the
+	 *         hierarchical metadata view are not included.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcSearchMetadataEntry> getDetailedDataObjectPaths(List<String> paths) throws HpcException;
+
 	/**
 	 * Get all data object Paths by path. Only data object Paths accessible to the
 	 * user are returned.
@@ -131,6 +238,22 @@ public interface HpcMetadataDAO {
 	public List<HpcSearchMetadataEntry> getAllDataObjectPaths(String path, String dataManagementUsername, int offset,
 			int limit) throws HpcException;
 
+	/**
+	 * Stream all data object Paths by path. Only data object Paths accessible to
+	 * the user are streamed. Rows are read from a forward-only cursor and handed
+	 * to the consumer one at a time, ordered by object ID and level, so all the
+	 * rows of a data object are consecutive.
+	 *
+	 * @param path                   The path specified.
+	 * @param dataManagementUsername The Data Management user name.
+	 * @param fetchSize              The number of rows to fetch from the DB per
+	 *                               round trip.
+	 * @param consumer               The consumer of the streamed rows.
+	 * @throws HpcException on database error.
+	 */
+	public void streamAllDataObjectPaths(String path, String dataManagementUsername, int fetchSize,
+			Consumer<HpcSearchMetadataEntry> consumer) throws HpcException;
+
 	/**
 	 * Get parent collection paths of data objects searched by compound metadata
 	 * query. Only data object Paths accessible to the user are returned.
@@ -221,6 +344,18 @@ public interface HpcMetadataDAO {
 	 */
 	public List<HpcMetadataEntry> getDataObjectMetadata(String path, String dataManagementUsername) throws HpcException;
 
+	/**
+	 * Get metadata of a list of data objects (in one query).
+	 *
+	 * @param paths                  The data object paths.
+	 * @param dataManagementUsername The Data Management user name.
+	 * @return A map of data object path to its metadata entries. Data objects not
+	 *         found (or not accessible) are not included in the map.
+	 * @throws HpcException on database error.
+	 */
+	public Map<String, List<HpcMetadataEntry>> getDataObjectsMetadata(List<String> paths,
+			String dataManagementUsername) throws HpcException;
+
 	/**
 	 * Get data objects by metadata query.
 	 *
@@ -271,6 +406,16 @@ public interface HpcMetadataDAO {
 	 */
 	public Calendar getMetadataModifiedAt(int id) throws HpcException;
 
+	/**
+	 * Get a high-water mark of the metadata searched by compound queries. The
+	 * high-water mark changes when data object metadata is added / refreshed, or
+	 * when the hierarchical metadata views are refreshed.
+	 *
+	 * @return The metadata high-water mark.
+	 * @throws HpcException on database error.
+	 */
+	public String getMetadataHighWaterMark() throws HpcException;
+
 	/**
 	 * Get the latest metadata for browse for specified list of ids.
 	 *
@@ -281,12 +426,23 @@ public interface HpcMetadataDAO {
 	public List<HpcCollectionListingEntry> getBrowseMetadataByIds(List<Integer> ids) throws HpcException;
 
 	/**
-	 * Refresh all materialized views.
+	 * Refresh all materialized views. The collection hierarchy metadata is
+	 * refreshed incrementally (collections whose metadata changed since the last
+	 * refresh), and fully on a configured interval.
 	 * 
 	 * @throws HpcException on database error.
 	 */
 	public void refreshViews() throws HpcException;
 
+	/**
+	 * Get the last refresh (type, duration, staleness) of the incrementally
+	 * refreshed metadata views.
+	 *
+	 * @return A list of metadata view refresh status.
+	 * @throws HpcException on database error.
+	 */
+	public List<HpcMetadataViewRefreshStatus> getViewsRefreshStatus() throws HpcException;
+
 	/**
 	 * Get a list of any duplicate data object metadata in the system.
 	 *
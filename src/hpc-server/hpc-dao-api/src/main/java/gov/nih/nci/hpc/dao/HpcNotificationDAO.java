@@ -16,7 +16,9 @@ import gov.nih.nci.hpc.domain.notification.HpcNotificationDeliveryReceipt;
 import gov.nih.nci.hpc.domain.notification.HpcNotificationSubscription;
 import gov.nih.nci.hpc.exception.HpcException;
 
+import java.util.Calendar;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <p>
@@ -94,6 +96,17 @@ public interface HpcNotificationDAO
     		                                           HpcEventType eventType) 
     		                                          throws HpcException;
     
+    /**
+     * Get all notification subscriptions to an event type. Note: the subscriptions
+     * triggers are not populated.
+     *
+     * @param eventType The event type.
+     * @return <code>Map&lt;String, HpcNotificationSubscription&gt;</code> subscriptions by userId
+     * @throws HpcException on database error.
+     */
+    public Map<String, HpcNotificationSubscription> 
+           getSubscriptionsByEventType(HpcEventType eventType) throws HpcException;
+    
     /**
      * Store a new notification delivery receipt to the repository or update it if it exists.
      *
@@ -134,6 +147,33 @@ public interface HpcNotificationDAO
      * @throws HpcException on database failure.
      */
     public int getDeliveryReceiptsCount(String userId) throws HpcException;
+
+    /**
+     * Add an event to a user's notification digest.
+     *
+     * @param userId The user ID to notify.
+     * @param eventId The event ID.
+     * @throws HpcException on database failure.
+     */
+    public void insertDigestEntry(String userId, int eventId) throws HpcException;
+
+    /**
+     * Get the users w/ notification digest entries added before a given time.
+     *
+     * @param createdBefore Users w/ digest entries added before this time are returned.
+     * @return <code>List&lt;String&gt;</code> list of userIds
+     * @throws HpcException on database failure.
+     */
+    public List<String> getDigestUsers(Calendar createdBefore) throws HpcException;
+
+    /**
+     * Delete (delivered) entries from a user's notification digest.
+     *
+     * @param userId The user ID.
+     * @param eventIds The event IDs to delete.
+     * @throws HpcException on database failure.
+     */
+    public void deleteDigestEntries(String userId, List<Integer> eventIds) throws HpcException;
 }
 
  
\ No newline at end of file
@@ -14,6 +14,7 @@ import gov.nih.nci.hpc.domain.report.HpcReport;
 import gov.nih.nci.hpc.domain.report.HpcReportCriteria;
 import gov.nih.nci.hpc.exception.HpcException;
 
+import java.util.Calendar;
 import java.util.List;
 
 /**
@@ -35,6 +36,18 @@ public interface HpcReportsDAO
      * @throws HpcException on database error.
      */
     public List<HpcReport> generatReport(HpcReportCriteria criteria) throws HpcException;
+
+    /**
+     * Generate report based on given criteria. The data object count, size and file size
+     * range entries are optionally summed from the daily report rollups. Path reports are
+     * always generated from the report materialized views.
+     *
+     * @param criteria The report criteria.
+     * @param useRollups Sum the daily report rollups.
+     * @return <code>List&lt;HpcReport&gt;</code>
+     * @throws HpcException on database error.
+     */
+    public List<HpcReport> generatReport(HpcReportCriteria criteria, boolean useRollups) throws HpcException;
     
     /**
      * Refresh all materialized views.
@@ -42,6 +55,21 @@ public interface HpcReportsDAO
      */
     public void refreshViews() throws HpcException;
 
+    /**
+     * Roll up the report materialized views into the daily report rollups. Only the days
+     * since the last rolled up day are rolled up, unless the periodic full refresh is due
+     * (to account for data objects deleted or re-attributed on days already rolled up).
+     * @throws HpcException on database error.
+     */
+    public void refreshRollups() throws HpcException;
+
+    /**
+     * Get the last day rolled up into the daily report rollups.
+     * @return The last rolled up day, or null if the rollups were not populated.
+     * @throws HpcException on database error.
+     */
+    public Calendar getRollupsLastDate() throws HpcException;
+
 }
 
  
\ No newline at end of file
@@ -0,0 +1,38 @@
+/**
+ * HpcUserRateLimitDAO.java
+ *
+ * Copyright SVG, Inc.
+ * Copyright Leidos Biomedical Research, Inc
+ * 
+ * Distributed under the OSI-approved BSD 3-Clause License.
+ * See http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+
+package gov.nih.nci.hpc.dao;
+
+import gov.nih.nci.hpc.exception.HpcException;
+
+/**
+ * <p>
+ * HPC User Rate Limit DAO Interface. Token buckets shared by all REST API
+ * servers.
+ * </p>
+ *
+ * @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+ */
+
+public interface HpcUserRateLimitDAO {
+	/**
+	 * Try to consume tokens from a user bucket. The bucket is created (full) if
+	 * not found, and is refilled continuously at capacity tokens per refill period.
+	 *
+	 * @param userId       The user ID.
+	 * @param tokens       The number of tokens to consume.
+	 * @param capacity     The bucket capacity.
+	 * @param refillPeriod The time (in milliseconds) to refill an empty bucket.
+	 * @return 0 if the tokens were consumed, otherwise the time (in milliseconds)
+	 *         to wait until enough tokens are available.
+	 * @throws HpcException on database error.
+	 */
+	public long consume(String userId, long tokens, long capacity, long refillPeriod) throws HpcException;
+}
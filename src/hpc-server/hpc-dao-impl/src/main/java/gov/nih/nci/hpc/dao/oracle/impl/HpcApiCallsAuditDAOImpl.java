@@ -10,13 +10,18 @@
 
 package gov.nih.nci.hpc.dao.oracle.impl;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.Calendar;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import gov.nih.nci.hpc.dao.HpcApiCallsAuditDAO;
+import gov.nih.nci.hpc.domain.model.HpcApiCallAuditRecord;
 import gov.nih.nci.hpc.domain.error.HpcErrorType;
 import gov.nih.nci.hpc.domain.user.HpcIntegratedSystem;
 import gov.nih.nci.hpc.exception.HpcException;
@@ -78,4 +83,52 @@ public class HpcApiCallsAuditDAOImpl implements HpcApiCallsAuditDAO {
 					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
 		}
 	}
+
+	@Override
+	public void insert(List<HpcApiCallAuditRecord> auditRecords) throws HpcException {
+		if (auditRecords == null || auditRecords.isEmpty()) {
+			return;
+		}
+
+		try {
+			jdbcTemplate.batchUpdate(INSERT_SQL, auditRecords, auditRecords.size(), this::setInsertParameters);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to insert API calls audit records: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	// ---------------------------------------------------------------------//
+	// Helper Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Set the insert statement parameters of an audit record.
+	 *
+	 * @param preparedStatement The insert statement.
+	 * @param auditRecord       The audit record.
+	 * @throws SQLException on database error.
+	 */
+	private void setInsertParameters(PreparedStatement preparedStatement, HpcApiCallAuditRecord auditRecord)
+			throws SQLException {
+		preparedStatement.setString(1, auditRecord.getUserId());
+		preparedStatement.setString(2, auditRecord.getHttpRequestMethod());
+		preparedStatement.setString(3, auditRecord.getEndpoint());
+		preparedStatement.setString(4, auditRecord.getHttpResponseCode());
+		preparedStatement.setString(5, auditRecord.getServerId());
+		preparedStatement.setTimestamp(6, toTimestamp(auditRecord.getCreated()));
+		preparedStatement.setTimestamp(7, toTimestamp(auditRecord.getCompleted()));
+		preparedStatement.setString(8, auditRecord.getJsonBody());
+	}
+
+	/**
+	 * Convert a Calendar to a SQL timestamp.
+	 *
+	 * @param calendar The calendar.
+	 * @return The timestamp, or null if the calendar is null.
+	 */
+	private Timestamp toTimestamp(Calendar calendar) {
+		return calendar != null ? new Timestamp(calendar.getTimeInMillis()) : null;
+	}
 }
@@ -0,0 +1,346 @@
+/**
+ * HpcBulkMetadataUpdateDAOImpl.java
+ *
+ * Copyright SVG, Inc.
+ * Copyright Leidos Biomedical Research, Inc
+ *
+ * Distributed under the OSI-approved BSD 3-Clause License.
+ * See http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+
+package gov.nih.nci.hpc.dao.oracle.impl;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.support.SqlLobValue;
+import org.springframework.jdbc.support.lob.DefaultLobHandler;
+import org.springframework.jdbc.support.lob.LobHandler;
+
+import com.google.gson.Gson;
+
+import gov.nih.nci.hpc.dao.HpcBulkMetadataUpdateDAO;
+import gov.nih.nci.hpc.domain.datamanagement.HpcBulkMetadataUpdateTaskStatus;
+import gov.nih.nci.hpc.domain.datamanagement.HpcPathType;
+import gov.nih.nci.hpc.domain.error.HpcErrorType;
+import gov.nih.nci.hpc.domain.metadata.HpcCompoundMetadataQuery;
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTask;
+import gov.nih.nci.hpc.domain.model.HpcBulkMetadataUpdateTaskItem;
+import gov.nih.nci.hpc.domain.user.HpcIntegratedSystem;
+import gov.nih.nci.hpc.exception.HpcException;
+
+/**
+ * <p>
+ * HPC Bulk Metadata Update DAO Implementation.
+ * </p>
+ *
+ * @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+ */
+
+public class HpcBulkMetadataUpdateDAOImpl implements HpcBulkMetadataUpdateDAO {
+	// ---------------------------------------------------------------------//
+	// Constants
+	// ---------------------------------------------------------------------//
+
+	// SQL Queries.
+	private static final String INSERT_BULK_METADATA_UPDATE_TASK_SQL = "insert into HPC_BULK_METADATA_UPDATE_TASK ("
+			+ "ID, USER_ID, STATUS, DATA_OBJECT_COMPOUND_QUERY, COLLECTION_COMPOUND_QUERY, METADATA_ENTRIES, CREATED) "
+			+ "values (?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String UPDATE_BULK_METADATA_UPDATE_TASK_SQL = "update HPC_BULK_METADATA_UPDATE_TASK set "
+			+ "STATUS = ?, RESULT = ?, ITEMS_COUNT = ?, COMPLETED_ITEMS_COUNT = ?, FAILED_ITEMS_COUNT = ?, COMPLETED = ? "
+			+ "where ID = ?";
+
+	private static final String GET_BULK_METADATA_UPDATE_TASK_SQL = "select * from HPC_BULK_METADATA_UPDATE_TASK where ID = ?";
+
+	private static final String GET_BULK_METADATA_UPDATE_TASKS_SQL = "select * from HPC_BULK_METADATA_UPDATE_TASK where STATUS = ? "
+			+ "order by CREATED";
+
+	private static final String INSERT_BULK_METADATA_UPDATE_TASK_ITEM_SQL = "merge into HPC_BULK_METADATA_UPDATE_ITEM using dual on (TASK_ID = ? and PATH = ?) "
+			+ "when not matched then insert (TASK_ID, ITEM_ID, PATH, PATH_TYPE) "
+			+ "values (?, HPC_BULK_META_UPDATE_ITEM_SEQ.nextval, ?, ?)";
+
+	private static final String GET_PENDING_BULK_METADATA_UPDATE_TASK_ITEMS_SQL = "select * from HPC_BULK_METADATA_UPDATE_ITEM "
+			+ "where TASK_ID = ? and RESULT is null order by ITEM_ID fetch next ? rows only";
+
+	private static final String GET_FAILED_BULK_METADATA_UPDATE_TASK_ITEMS_SQL = "select * from HPC_BULK_METADATA_UPDATE_ITEM "
+			+ "where TASK_ID = ? and RESULT = '0' order by ITEM_ID fetch next ? rows only";
+
+	private static final String UPDATE_BULK_METADATA_UPDATE_TASK_ITEM_SQL = "update HPC_BULK_METADATA_UPDATE_ITEM set "
+			+ "RESULT = ?, MESSAGE = ? where TASK_ID = ? and ITEM_ID = ?";
+
+	private static final String GET_BULK_METADATA_UPDATE_TASK_ITEMS_COUNT_SQL = "select count(*) from HPC_BULK_METADATA_UPDATE_ITEM "
+			+ "where TASK_ID = ?";
+
+	private static final String GET_BULK_METADATA_UPDATE_TASK_ITEMS_RESULT_COUNT_SQL = "select count(*) from HPC_BULK_METADATA_UPDATE_ITEM "
+			+ "where TASK_ID = ? and RESULT = ?";
+
+	// The max length (in UTF-8 bytes) of an item message (MESSAGE column size).
+	private static final int MAX_MESSAGE_BYTES = 4000;
+
+	// ---------------------------------------------------------------------//
+	// Instance members
+	// ---------------------------------------------------------------------//
+
+	// The Spring JDBC Template instance.
+	@Autowired
+	private JdbcTemplate jdbcTemplate = null;
+
+	// Lob handler
+	private LobHandler lobHandler = new DefaultLobHandler();
+
+	private Gson gson = new Gson();
+
+	// HpcBulkMetadataUpdateTask table to object mapper.
+	private RowMapper<HpcBulkMetadataUpdateTask> bulkMetadataUpdateTaskRowMapper = (rs, rowNum) -> {
+		HpcBulkMetadataUpdateTask bulkMetadataUpdateTask = new HpcBulkMetadataUpdateTask();
+		bulkMetadataUpdateTask.setId(rs.getString("ID"));
+		bulkMetadataUpdateTask.setUserId(rs.getString("USER_ID"));
+		bulkMetadataUpdateTask.setStatus(HpcBulkMetadataUpdateTaskStatus.fromValue(rs.getString("STATUS")));
+		bulkMetadataUpdateTask.setDataObjectCompoundQuery(
+				gson.fromJson(rs.getString("DATA_OBJECT_COMPOUND_QUERY"), HpcCompoundMetadataQuery.class));
+		bulkMetadataUpdateTask.setCollectionCompoundQuery(
+				gson.fromJson(rs.getString("COLLECTION_COMPOUND_QUERY"), HpcCompoundMetadataQuery.class));
+		bulkMetadataUpdateTask.getMetadataEntries()
+				.addAll(Arrays.asList(gson.fromJson(rs.getString("METADATA_ENTRIES"), HpcMetadataEntry[].class)));
+
+		String result = rs.getString("RESULT");
+		bulkMetadataUpdateTask.setResult(result != null ? rs.getBoolean("RESULT") : null);
+		bulkMetadataUpdateTask.setItemsCount(rs.getObject("ITEMS_COUNT") != null ? rs.getInt("ITEMS_COUNT") : null);
+		bulkMetadataUpdateTask.setCompletedItemsCount(
+				rs.getObject("COMPLETED_ITEMS_COUNT") != null ? rs.getInt("COMPLETED_ITEMS_COUNT") : null);
+		bulkMetadataUpdateTask.setFailedItemsCount(
+				rs.getObject("FAILED_ITEMS_COUNT") != null ? rs.getInt("FAILED_ITEMS_COUNT") : null);
+
+		Calendar created = Calendar.getInstance();
+		created.setTime(rs.getTimestamp("CREATED"));
+		bulkMetadataUpdateTask.setCreated(created);
+
+		Timestamp completedTimestamp = rs.getTimestamp("COMPLETED");
+		if (completedTimestamp != null) {
+			Calendar completed = Calendar.getInstance();
+			completed.setTime(completedTimestamp);
+			bulkMetadataUpdateTask.setCompleted(completed);
+		}
+
+		return bulkMetadataUpdateTask;
+	};
+
+	// HpcBulkMetadataUpdateTaskItem table to object mapper.
+	private RowMapper<HpcBulkMetadataUpdateTaskItem> bulkMetadataUpdateTaskItemRowMapper = (rs, rowNum) -> {
+		HpcBulkMetadataUpdateTaskItem bulkMetadataUpdateTaskItem = new HpcBulkMetadataUpdateTaskItem();
+		bulkMetadataUpdateTaskItem.setItemId(rs.getLong("ITEM_ID"));
+		bulkMetadataUpdateTaskItem.setPath(rs.getString("PATH"));
+		bulkMetadataUpdateTaskItem.setPathType(HpcPathType.fromValue(rs.getString("PATH_TYPE")));
+		String result = rs.getString("RESULT");
+		bulkMetadataUpdateTaskItem.setResult(result != null ? rs.getBoolean("RESULT") : null);
+		bulkMetadataUpdateTaskItem.setMessage(rs.getString("MESSAGE"));
+
+		return bulkMetadataUpdateTaskItem;
+	};
+
+	// ---------------------------------------------------------------------//
+	// Constructors
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 *
+	 */
+	private HpcBulkMetadataUpdateDAOImpl() {
+	}
+
+	// ---------------------------------------------------------------------//
+	// Methods
+	// ---------------------------------------------------------------------//
+
+	// ---------------------------------------------------------------------//
+	// HpcBulkMetadataUpdateDAO Interface Implementation
+	// ---------------------------------------------------------------------//
+
+	@Override
+	public void insertBulkMetadataUpdateTask(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask) throws HpcException {
+		try {
+			// The queries and metadata entries are stored once, and not updated after.
+			if (bulkMetadataUpdateTask.getId() == null) {
+				bulkMetadataUpdateTask.setId(UUID.randomUUID().toString());
+			}
+			jdbcTemplate.update(INSERT_BULK_METADATA_UPDATE_TASK_SQL,
+					new Object[] { bulkMetadataUpdateTask.getId(), bulkMetadataUpdateTask.getUserId(),
+							bulkMetadataUpdateTask.getStatus().value(),
+							new SqlLobValue(toJSON(bulkMetadataUpdateTask.getDataObjectCompoundQuery()), lobHandler),
+							new SqlLobValue(toJSON(bulkMetadataUpdateTask.getCollectionCompoundQuery()), lobHandler),
+							new SqlLobValue(gson.toJson(bulkMetadataUpdateTask.getMetadataEntries()), lobHandler),
+							bulkMetadataUpdateTask.getCreated() },
+					new int[] { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.CLOB, Types.CLOB, Types.CLOB,
+							Types.TIMESTAMP });
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to insert a bulk metadata update task: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public void updateBulkMetadataUpdateTask(HpcBulkMetadataUpdateTask bulkMetadataUpdateTask) throws HpcException {
+		try {
+			jdbcTemplate.update(UPDATE_BULK_METADATA_UPDATE_TASK_SQL, bulkMetadataUpdateTask.getStatus().value(),
+					bulkMetadataUpdateTask.getResult(), bulkMetadataUpdateTask.getItemsCount(),
+					bulkMetadataUpdateTask.getCompletedItemsCount(), bulkMetadataUpdateTask.getFailedItemsCount(),
+					bulkMetadataUpdateTask.getCompleted(), bulkMetadataUpdateTask.getId());
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to update a bulk metadata update task: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public HpcBulkMetadataUpdateTask getBulkMetadataUpdateTask(String id) throws HpcException {
+		try {
+			return jdbcTemplate.queryForObject(GET_BULK_METADATA_UPDATE_TASK_SQL, bulkMetadataUpdateTaskRowMapper, id);
+
+		} catch (IncorrectResultSizeDataAccessException irse) {
+			return null;
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get a bulk metadata update task: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public List<HpcBulkMetadataUpdateTask> getBulkMetadataUpdateTasks(HpcBulkMetadataUpdateTaskStatus status)
+			throws HpcException {
+		try {
+			return jdbcTemplate.query(GET_BULK_METADATA_UPDATE_TASKS_SQL, bulkMetadataUpdateTaskRowMapper,
+					status.value());
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get bulk metadata update tasks: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public void insertBulkMetadataUpdateTaskItems(String taskId, List<String> paths, HpcPathType pathType)
+			throws HpcException {
+		List<Object[]> batchArgs = new ArrayList<>();
+		paths.forEach(path -> batchArgs.add(new Object[] { taskId, path, taskId, path, pathType.value() }));
+
+		try {
+			jdbcTemplate.batchUpdate(INSERT_BULK_METADATA_UPDATE_TASK_ITEM_SQL, batchArgs);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to insert bulk metadata update task items: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public List<HpcBulkMetadataUpdateTaskItem> getPendingBulkMetadataUpdateTaskItems(String taskId, int limit)
+			throws HpcException {
+		try {
+			return jdbcTemplate.query(GET_PENDING_BULK_METADATA_UPDATE_TASK_ITEMS_SQL,
+					bulkMetadataUpdateTaskItemRowMapper, taskId, limit);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get pending bulk metadata update task items: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public List<HpcBulkMetadataUpdateTaskItem> getFailedBulkMetadataUpdateTaskItems(String taskId, int limit)
+			throws HpcException {
+		try {
+			return jdbcTemplate.query(GET_FAILED_BULK_METADATA_UPDATE_TASK_ITEMS_SQL,
+					bulkMetadataUpdateTaskItemRowMapper, taskId, limit);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get failed bulk metadata update task items: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public void updateBulkMetadataUpdateTaskItems(String taskId, List<HpcBulkMetadataUpdateTaskItem> items)
+			throws HpcException {
+		List<Object[]> batchArgs = new ArrayList<>();
+		items.forEach(item -> batchArgs.add(
+				new Object[] { item.getResult(), truncateMessage(item.getMessage()), taskId, item.getItemId() }));
+
+		try {
+			jdbcTemplate.batchUpdate(UPDATE_BULK_METADATA_UPDATE_TASK_ITEM_SQL, batchArgs);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to update bulk metadata update task items: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public int getBulkMetadataUpdateTaskItemsCount(String taskId, Boolean result) throws HpcException {
+		try {
+			return result == null
+					? jdbcTemplate.queryForObject(GET_BULK_METADATA_UPDATE_TASK_ITEMS_COUNT_SQL, Integer.class, taskId)
+					: jdbcTemplate.queryForObject(GET_BULK_METADATA_UPDATE_TASK_ITEMS_RESULT_COUNT_SQL, Integer.class,
+							taskId, result);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to count bulk metadata update task items: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	// ---------------------------------------------------------------------//
+	// Helper Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Convert a compound metadata query to JSON.
+	 *
+	 * @param compoundMetadataQuery The compound metadata query (Optional).
+	 * @return A JSON representation of the query, or null if the query is null.
+	 */
+	private String toJSON(HpcCompoundMetadataQuery compoundMetadataQuery) {
+		return compoundMetadataQuery != null ? gson.toJson(compoundMetadataQuery) : null;
+	}
+
+	/**
+	 * Truncate an item message to fit the MESSAGE column. The column size is in
+	 * bytes, so the message is truncated by its UTF-8 length, on a character
+	 * boundary.
+	 *
+	 * @param message The item message (Optional).
+	 * @return The message, truncated if longer than MAX_MESSAGE_BYTES.
+	 */
+	private String truncateMessage(String message) {
+		if (message == null) {
+			return null;
+		}
+
+		int bytes = 0;
+		for (int i = 0; i < message.length();) {
+			int codePoint = message.codePointAt(i);
+			bytes += codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+			if (bytes > MAX_MESSAGE_BYTES) {
+				return message.substring(0, i);
+			}
+			i += Character.charCount(codePoint);
+		}
+
+		return message;
+	}
+}
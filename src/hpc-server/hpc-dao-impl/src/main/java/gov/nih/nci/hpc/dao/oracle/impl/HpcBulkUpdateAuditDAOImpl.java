@@ -43,6 +43,10 @@ public class HpcBulkUpdateAuditDAOImpl implements HpcBulkUpdateAuditDAO {
 			+ "USER_ID, QUERY, QUERY_TYPE, METADATA_NAME, METADATA_VALUE, CREATED) "
 			+ "values (?, ?, ?, ?, ?, ?)";
 
+	public static final String INSERT_TASK_SQL = "insert into HPC_BULK_UPDATE_AUDIT ( "
+			+ "TASK_ID, USER_ID, QUERY, QUERY_TYPE, METADATA_NAME, METADATA_VALUE, CREATED) "
+			+ "values (?, ?, ?, ?, ?, ?, ?)";
+
 	// ---------------------------------------------------------------------//
 	// Instance members
 	// ---------------------------------------------------------------------//
@@ -83,4 +87,18 @@ public class HpcBulkUpdateAuditDAOImpl implements HpcBulkUpdateAuditDAO {
 					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
 		}
 	}
+
+	@Override
+	public void insert(String taskId, String userId, HpcCompoundMetadataQuery query,
+			HpcCompoundMetadataQueryType queryType, String metadataName, String metadataValue, Calendar created)
+			throws HpcException {
+		try {
+			jdbcTemplate.update(INSERT_TASK_SQL, taskId, userId, query != null ? gson.toJson(query) : null,
+					queryType != null ? queryType.toString() : null, metadataName, metadataValue, created);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to insert an bulk update audit record: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
 }
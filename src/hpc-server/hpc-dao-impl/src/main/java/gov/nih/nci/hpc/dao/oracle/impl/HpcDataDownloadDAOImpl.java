@@ -13,6 +13,7 @@ package gov.nih.nci.hpc.dao.oracle.impl;
 import static gov.nih.nci.hpc.util.HpcUtil.fromPathsString;
 import static gov.nih.nci.hpc.util.HpcUtil.toPathsString;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -21,23 +22,19 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.support.SqlLobValue;
@@ -51,6 +48,7 @@ import gov.nih.nci.hpc.domain.datatransfer.HpcAsperaDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcBoxDownloadDestination;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTask;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItem;
+import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskItemsSummary;
 import gov.nih.nci.hpc.domain.datatransfer.HpcCollectionDownloadTaskStatus;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadTask;
 import gov.nih.nci.hpc.domain.datatransfer.HpcDataObjectDownloadTaskStatusFilter;
@@ -79,14 +77,17 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 	// Constants
 	// ---------------------------------------------------------------------//
 
+	// The number of collection download items read / written in one DB round trip.
+	private static final int COLLECTION_DOWNLOAD_TASK_ITEMS_PAGE_SIZE = 5000;
+
 	// SQL Queries.
 	private static final String CREATE_DATA_OBJECT_DOWNLOAD_TASK_SQL = "insert into HPC_DATA_OBJECT_DOWNLOAD_TASK (ID, USER_ID, PATH, CONFIGURATION_ID, S3_ARCHIVE_CONFIGURATION_ID, DATA_TRANSFER_REQUEST_ID, DATA_TRANSFER_TYPE, "
 			+ "DATA_TRANSFER_STATUS, DOWNLOAD_FILE_PATH, ARCHIVE_LOCATION_FILE_CONTAINER_ID, ARCHIVE_LOCATION_FILE_ID, DESTINATION_LOCATION_FILE_CONTAINER_ID, "
 			+ "DESTINATION_LOCATION_FILE_ID, DESTINATION_TYPE, S3_ACCOUNT_ACCESS_KEY, S3_ACCOUNT_SECRET_KEY, S3_ACCOUNT_REGION, S3_ACCOUNT_URL, "
 			+ "S3_ACCOUNT_PATH_STYLE_ACCESS_ENABLED, GOOGLE_ACCESS_TOKEN, ASPERA_ACCOUNT_USER, ASPERA_ACCOUNT_PASSWORD, ASPERA_ACCOUNT_HOST, BOX_ACCESS_TOKEN, BOX_REFRESH_TOKEN, "
 			+ "COMPLETION_EVENT, COLLECTION_DOWNLOAD_TASK_ID, PERCENT_COMPLETE, STAGING_PERCENT_COMPLETE, DATA_SIZE, CREATED, "
-			+ "PROCESSED, IN_PROCESS, RESTORE_REQUESTED, S3_DOWNLOAD_TASK_SERVER_ID, FIRST_HOP_RETRIED, RETRY_TASK_ID, RETRY_USER_ID, DOC, PRIORITY, EXTERNAL_ARCHIVE_FLAG) "
-			+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ";
+			+ "PROCESSED, IN_PROCESS, RESTORE_REQUESTED, S3_DOWNLOAD_TASK_SERVER_ID, FIRST_HOP_RETRIED, RETRY_TASK_ID, RETRY_USER_ID, DOC, PRIORITY, EXTERNAL_ARCHIVE_FLAG, LAST_UPDATED) "
+			+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ";
 
 	private static final String UPDATE_DATA_OBJECT_DOWNLOAD_TASK_SQL = "update HPC_DATA_OBJECT_DOWNLOAD_TASK "
 			+ "set USER_ID = ?, PATH = ?, CONFIGURATION_ID = ?, S3_ARCHIVE_CONFIGURATION_ID = ?, DATA_TRANSFER_REQUEST_ID = ?, "
@@ -95,11 +96,11 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 			+ "S3_ACCOUNT_SECRET_KEY = ?, S3_ACCOUNT_REGION = ?, S3_ACCOUNT_URL = ?, S3_ACCOUNT_PATH_STYLE_ACCESS_ENABLED = ?, GOOGLE_ACCESS_TOKEN = ?, "
 			+ "ASPERA_ACCOUNT_USER = ?, ASPERA_ACCOUNT_PASSWORD = ?, ASPERA_ACCOUNT_HOST = ?, BOX_ACCESS_TOKEN = ?, BOX_REFRESH_TOKEN = ?, "
 			+ "COMPLETION_EVENT = ?, COLLECTION_DOWNLOAD_TASK_ID = ?, PERCENT_COMPLETE = ?, STAGING_PERCENT_COMPLETE = ?, DATA_SIZE = ?, CREATED = ?, PROCESSED = ?, IN_PROCESS = ?, "
-			+ "RESTORE_REQUESTED = ?, S3_DOWNLOAD_TASK_SERVER_ID = ?, FIRST_HOP_RETRIED = ?, RETRY_TASK_ID = ?, RETRY_USER_ID = ? where ID = ?";
+			+ "RESTORE_REQUESTED = ?, S3_DOWNLOAD_TASK_SERVER_ID = ?, FIRST_HOP_RETRIED = ?, RETRY_TASK_ID = ?, RETRY_USER_ID = ?, LAST_UPDATED = ? where ID = ?";
 
 	private static final String DELETE_DATA_OBJECT_DOWNLOAD_TASK_SQL = "delete from HPC_DATA_OBJECT_DOWNLOAD_TASK where ID = ?";
 
-	private static final String UPDATE_DATA_OBJECTS_DOWNLOAD_TASK_STATUS_SQL = "update HPC_DATA_OBJECT_DOWNLOAD_TASK set DATA_TRANSFER_STATUS = ? where COLLECTION_DOWNLOAD_TASK_ID = ?";
+	private static final String UPDATE_DATA_OBJECTS_DOWNLOAD_TASK_STATUS_SQL = "update HPC_DATA_OBJECT_DOWNLOAD_TASK set DATA_TRANSFER_STATUS = ?, LAST_UPDATED = ? where COLLECTION_DOWNLOAD_TASK_ID = ?";
 
 	private static final String UPDATE_DATA_OBJECT_DOWNLOAD_TASK_PRIORITY_SQL = "update HPC_DATA_OBJECT_DOWNLOAD_TASK set PRIORITY = ? where ID = ?";
 
@@ -126,6 +127,12 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 
 	private static final String GET_ALL_DATA_OBJECT_DOWNLOAD_TASK_BY_COLLECTION_DOWNLOAD_TASK_ID_SQL = "select * from HPC_DATA_OBJECT_DOWNLOAD_TASK where COLLECTION_DOWNLOAD_TASK_ID = ? ";
 
+	private static final String GET_UPDATED_DATA_OBJECT_DOWNLOAD_TASK_BY_COLLECTION_DOWNLOAD_TASK_ID_SQL = "select * from HPC_DATA_OBJECT_DOWNLOAD_TASK "
+			+ "where COLLECTION_DOWNLOAD_TASK_ID = ? and (LAST_UPDATED > ? or LAST_UPDATED is null)";
+
+	private static final String GET_DATA_OBJECT_DOWNLOAD_TASKS_COUNT_BY_COLLECTION_DOWNLOAD_TASK_ID_SQL = "select count(*) from HPC_DATA_OBJECT_DOWNLOAD_TASK "
+			+ "where COLLECTION_DOWNLOAD_TASK_ID = ? and DATA_TRANSFER_STATUS = ?";
+
 	private static final String GET_ALL_DATA_OBJECT_DOWNLOAD_RESULTS_BY_COLLECTION_DOWNLOAD_TASK_ID_SQL = "select * from HPC_DOWNLOAD_TASK_RESULT where COLLECTION_DOWNLOAD_TASK_ID = ? and TYPE = 'DATA_OBJECT'";
 
 	private static final String GET_DATA_OBJECT_DOWNLOAD_TASK_BY_STATUS_SQL = "select * from HPC_DATA_OBJECT_DOWNLOAD_TASK where DATA_TRANSFER_STATUS = ? "
@@ -135,6 +142,13 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 			+ "DATA_TRANSFER_STATUS = ? and DATA_TRANSFER_TYPE = ? and (PROCESSED < ? or PROCESSED is null) order by PRIORITY, "
 			+ "CREATED fetch next 1 rows only";
 
+	private static final String CLAIM_DATA_OBJECT_DOWNLOAD_TASKS_SQL = "select * from HPC_DATA_OBJECT_DOWNLOAD_TASK where "
+			+ "DATA_TRANSFER_STATUS = 'RECEIVED' and DATA_TRANSFER_TYPE = ? and IN_PROCESS = '0' and (PROCESSED < ? or PROCESSED is null) "
+			+ "order by PRIORITY, CREATED for update skip locked";
+
+	private static final String SET_DATA_OBJECT_DOWNLOAD_TASK_CLAIMED_SQL = "update HPC_DATA_OBJECT_DOWNLOAD_TASK set IN_PROCESS = '1', "
+			+ "S3_DOWNLOAD_TASK_SERVER_ID = ?, PROCESSED = ? where ID = ?";
+
 	private static final String UPSERT_DOWNLOAD_TASK_RESULT_SQL = "merge into HPC_DOWNLOAD_TASK_RESULT using dual on (ID = ?) "
 			+ "when matched then update set USER_ID = ?, PATH = ?, DATA_TRANSFER_REQUEST_ID = ?, DATA_TRANSFER_TYPE = ?, "
 			+ "ARCHIVE_LOCATION_FILE_CONTAINER_ID = ?, ARCHIVE_LOCATION_FILE_ID = ?, "
@@ -146,7 +160,7 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 			+ "COLLECTION_DOWNLOAD_TASK_ID, EFFECTIVE_TRANSFER_SPEED, DATA_SIZE, CREATED, COMPLETED, RESTORE_REQUESTED, RETRY_TASK_ID, RETRY_USER_ID, FIRST_HOP_RETRIED, DOC, GOOGLE_ACCESS_TOKEN, EXTERNAL_ARCHIVE_FLAG) "
 			+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ";
 
-	private static final String UPDATE_DOWNLOAD_TASK_RESULT_CLOBS_SQL = "update HPC_DOWNLOAD_TASK_RESULT set ITEMS = ?, COLLECTION_PATHS = ? where ID = ?";
+	private static final String UPDATE_DOWNLOAD_TASK_RESULT_CLOBS_SQL = "update HPC_DOWNLOAD_TASK_RESULT set COLLECTION_PATHS = ? where ID = ?";
 
 	private static final String GET_DOWNLOAD_TASK_RESULT_SQL = "select * from HPC_DOWNLOAD_TASK_RESULT where ID = ? and TYPE = ?";
 
@@ -163,7 +177,42 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 			+ "APPEND_PATH_TO_DOWNLOAD_DESTINATION, APPEND_COLLECTION_NAME_TO_DOWNLOAD_DESTINATION, STATUS, TYPE, CREATED, RETRY_TASK_ID, RETRY_USER_ID, DATA_TRANSFER_REQUEST_ID, DESTINATION_TYPE, DOC, DATA_SIZE) "
 			+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ";
 
-	private static final String UPDATE_COLLECTION_DOWNLOAD_TASK_CLOBS_SQL = "update HPC_COLLECTION_DOWNLOAD_TASK set ITEMS = ?, DATA_OBJECT_PATHS = ?, COLLECTION_PATHS = ? where ID = ?";
+	private static final String UPDATE_COLLECTION_DOWNLOAD_TASK_CLOBS_SQL = "update HPC_COLLECTION_DOWNLOAD_TASK set DATA_OBJECT_PATHS = ?, COLLECTION_PATHS = ? where ID = ?";
+
+	private static final String INSERT_COLLECTION_DOWNLOAD_TASK_ITEM_SQL = "insert into HPC_COLLECTION_DOWNLOAD_TASK_ITEM (PATH, COLLECTION_PATH, "
+			+ "DATA_OBJECT_DOWNLOAD_TASK_ID, RESULT, MESSAGE, ARCHIVE_LOCATION_FILE_CONTAINER_ID, ARCHIVE_LOCATION_FILE_ID, "
+			+ "DESTINATION_LOCATION_FILE_CONTAINER_ID, DESTINATION_LOCATION_FILE_ID, EFFECTIVE_TRANSFER_SPEED, DATA_SIZE, PERCENT_COMPLETE, "
+			+ "RESTORE_IN_PROGRESS, STAGING_IN_PROGRESS, STAGING_PERCENT_COMPLETE, TASK_ID, ITEM_ID) "
+			+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String UPDATE_COLLECTION_DOWNLOAD_TASK_ITEM_SQL = "update HPC_COLLECTION_DOWNLOAD_TASK_ITEM set PATH = ?, COLLECTION_PATH = ?, "
+			+ "DATA_OBJECT_DOWNLOAD_TASK_ID = ?, RESULT = ?, MESSAGE = ?, ARCHIVE_LOCATION_FILE_CONTAINER_ID = ?, ARCHIVE_LOCATION_FILE_ID = ?, "
+			+ "DESTINATION_LOCATION_FILE_CONTAINER_ID = ?, DESTINATION_LOCATION_FILE_ID = ?, EFFECTIVE_TRANSFER_SPEED = ?, DATA_SIZE = ?, "
+			+ "PERCENT_COMPLETE = ?, RESTORE_IN_PROGRESS = ?, STAGING_IN_PROGRESS = ?, STAGING_PERCENT_COMPLETE = ? where TASK_ID = ? and ITEM_ID = ?";
+
+	private static final String GET_COLLECTION_DOWNLOAD_TASK_ITEMS_SQL = "select * from HPC_COLLECTION_DOWNLOAD_TASK_ITEM where TASK_ID = ? "
+			+ "and ITEM_ID > ? order by ITEM_ID fetch next ? rows only";
+
+	private static final String GET_FIRST_UNSUCCESSFUL_COLLECTION_DOWNLOAD_TASK_ITEM_SQL = "select * from HPC_COLLECTION_DOWNLOAD_TASK_ITEM "
+			+ "where TASK_ID = ? and (RESULT is null or RESULT != 'COMPLETED') order by ITEM_ID fetch next 1 rows only";
+
+	private static final String GET_COLLECTION_DOWNLOAD_TASK_MAX_ITEM_ID_SQL = "select nvl(max(ITEM_ID), 0) from HPC_COLLECTION_DOWNLOAD_TASK_ITEM where TASK_ID = ?";
+
+	private static final String GET_UPDATED_COLLECTION_DOWNLOAD_TASK_ITEMS_SQL = "select * from HPC_COLLECTION_DOWNLOAD_TASK_ITEM ITEM "
+			+ "where TASK_ID = ? and RESULT is null and not exists (select 1 from HPC_DATA_OBJECT_DOWNLOAD_TASK TASK "
+			+ "where TASK.ID = ITEM.DATA_OBJECT_DOWNLOAD_TASK_ID and TASK.LAST_UPDATED <= ?) order by ITEM_ID";
+
+	private static final String GET_COLLECTION_DOWNLOAD_TASK_ITEMS_SUMMARY_SQL = "select count(*) as ITEMS_COUNT, "
+			+ "count(case when RESULT = 'COMPLETED' then 1 end) as COMPLETED_ITEMS_COUNT, "
+			+ "count(case when RESULT = 'CANCELED' then 1 end) as CANCELED_ITEMS_COUNT, "
+			+ "count(case when RESULT is null then 1 end) as IN_PROGRESS_ITEMS_COUNT, nvl(sum(DATA_SIZE), 0) as DATA_SIZE, "
+			+ "nvl(trunc(sum(DATA_SIZE * PERCENT_COMPLETE / 100)), 0) as BYTES_TRANSFERRED, "
+			+ "trunc(avg(case when RESULT = 'COMPLETED' then EFFECTIVE_TRANSFER_SPEED end)) as EFFECTIVE_TRANSFER_SPEED "
+			+ "from HPC_COLLECTION_DOWNLOAD_TASK_ITEM where TASK_ID = ?";
+
+	private static final String DELETE_COLLECTION_DOWNLOAD_TASK_ITEMS_SQL = "delete from HPC_COLLECTION_DOWNLOAD_TASK_ITEM where TASK_ID = ?";
+
+	private static final String SET_COLLECTION_DOWNLOAD_TASK_ITEMS_REFRESHED_SQL = "update HPC_COLLECTION_DOWNLOAD_TASK set ITEMS_REFRESHED = ? where ID = ?";
 
 	private static final String UPDATE_COLLECTION_DOWNLOAD_TASK_PRIORITY_SQL = "update HPC_COLLECTION_DOWNLOAD_TASK set PRIORITY = ? where ID = ?";
 
@@ -183,35 +232,35 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 			+ "and IN_PROCESS = ? order by PRIORITY, CREATED";
 
 	private static final String GET_DATA_OBJECT_DOWNLOAD_REQUESTS_SQL = "select null as USER_ID, ID, PATH, CREATED, 'DATA_OBJECT' as TYPE, "
-			+ "null as COMPLETED, null as RESULT, null as MESSAGE, null as ITEMS, DESTINATION_TYPE, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, DATA_TRANSFER_STATUS as STATUS, STAGING_PERCENT_COMPLETE, DATA_SIZE from HPC_DATA_OBJECT_DOWNLOAD_TASK where USER_ID = ? and COMPLETION_EVENT = '1' "
+			+ "null as COMPLETED, null as RESULT, null as MESSAGE, DESTINATION_TYPE, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, DATA_TRANSFER_STATUS as STATUS, STAGING_PERCENT_COMPLETE, DATA_SIZE from HPC_DATA_OBJECT_DOWNLOAD_TASK where USER_ID = ? and COMPLETION_EVENT = '1' "
 			+ "order by CREATED";
 
 	private static final String GET_COLLECTION_DOWNLOAD_REQUESTS_SQL = "select null as USER_ID, ID, PATH, CREATED, TYPE, null as COMPLETED, "
-			+ "null as RESULT, null as MESSAGE, ITEMS, DESTINATION_TYPE, RETRY_USER_ID, STATUS, TOTAL_BYTES_TRANSFERRED, DATA_SIZE from HPC_COLLECTION_DOWNLOAD_TASK where USER_ID = ? order by CREATED";
+			+ "null as RESULT, null as MESSAGE, DESTINATION_TYPE, RETRY_USER_ID, STATUS, TOTAL_BYTES_TRANSFERRED, DATA_SIZE from HPC_COLLECTION_DOWNLOAD_TASK where USER_ID = ? order by CREATED";
 
-	private static final String GET_DOWNLOAD_RESULTS_SQL = "select null as USER_ID, ID, PATH, CREATED, TYPE, COMPLETED, RESULT, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, ITEMS, DESTINATION_TYPE, MESSAGE, DATA_SIZE "
+	private static final String GET_DOWNLOAD_RESULTS_SQL = "select null as USER_ID, ID, PATH, CREATED, TYPE, COMPLETED, RESULT, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, DESTINATION_TYPE, MESSAGE, DATA_SIZE "
 			+ "from HPC_DOWNLOAD_TASK_RESULT where USER_ID = ? and COMPLETION_EVENT = '1' order by CREATED desc offset ? rows fetch next ? rows only";
 
 	private static final String GET_DOWNLOAD_RESULTS_COUNT_SQL = "select count(*) from HPC_DOWNLOAD_TASK_RESULT where USER_ID = ? and COMPLETION_EVENT = '1'";
 
 	private static final String GET_DATA_OBJECT_DOWNLOAD_REQUESTS_FOR_DOC_SQL = "select TASK.USER_ID, ID, PATH, TASK.CREATED, 'DATA_OBJECT' as TYPE, "
-			+ "null as COMPLETED, null as RESULT, null as MESSAGE, null as ITEMS, DESTINATION_TYPE, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, DATA_TRANSFER_STATUS as STATUS, STAGING_PERCENT_COMPLETE, DATA_SIZE from HPC_DATA_OBJECT_DOWNLOAD_TASK TASK, HPC_USER USER1 where USER1.USER_ID=TASK.USER_ID "
+			+ "null as COMPLETED, null as RESULT, null as MESSAGE, DESTINATION_TYPE, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, DATA_TRANSFER_STATUS as STATUS, STAGING_PERCENT_COMPLETE, DATA_SIZE from HPC_DATA_OBJECT_DOWNLOAD_TASK TASK, HPC_USER USER1 where USER1.USER_ID=TASK.USER_ID "
 			+ "and (TASK.DOC= ? or TASK.USER_ID = ?) and COMPLETION_EVENT = '1' order by CREATED";
 
 	private static final String GET_ALL_DATA_OBJECT_DOWNLOAD_REQUESTS_SQL = "select USER_ID, ID, PATH, CREATED, 'DATA_OBJECT' as TYPE, null as COMPLETED, "
-			+ "null as RESULT, null as MESSAGE, null as ITEMS, DESTINATION_TYPE, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, DATA_TRANSFER_STATUS as STATUS, STAGING_PERCENT_COMPLETE, DATA_SIZE from HPC_DATA_OBJECT_DOWNLOAD_TASK where COMPLETION_EVENT = '1' order by CREATED";
+			+ "null as RESULT, null as MESSAGE, DESTINATION_TYPE, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, DATA_TRANSFER_STATUS as STATUS, STAGING_PERCENT_COMPLETE, DATA_SIZE from HPC_DATA_OBJECT_DOWNLOAD_TASK where COMPLETION_EVENT = '1' order by CREATED";
 
 	private static final String GET_COLLECTION_DOWNLOAD_REQUESTS_FOR_DOC_SQL = "select TASK.USER_ID, ID, PATH, TASK.CREATED, TYPE, null as COMPLETED, "
-			+ "null as RESULT, null as MESSAGE, ITEMS, DESTINATION_TYPE, RETRY_USER_ID, STATUS, TOTAL_BYTES_TRANSFERRED, DATA_SIZE from HPC_COLLECTION_DOWNLOAD_TASK TASK, HPC_USER USER1 where USER1.USER_ID = TASK.USER_ID and (TASK.DOC = ? or TASK.USER_ID = ?) order by CREATED";
+			+ "null as RESULT, null as MESSAGE, DESTINATION_TYPE, RETRY_USER_ID, STATUS, TOTAL_BYTES_TRANSFERRED, DATA_SIZE from HPC_COLLECTION_DOWNLOAD_TASK TASK, HPC_USER USER1 where USER1.USER_ID = TASK.USER_ID and (TASK.DOC = ? or TASK.USER_ID = ?) order by CREATED";
 
 	private static final String GET_ALL_COLLECTION_DOWNLOAD_REQUESTS_SQL = "select USER_ID, ID, PATH, CREATED, TYPE, null as COMPLETED, "
-			+ "null as RESULT, null as MESSAGE, ITEMS, DESTINATION_TYPE, RETRY_USER_ID, STATUS, TOTAL_BYTES_TRANSFERRED, DATA_SIZE from HPC_COLLECTION_DOWNLOAD_TASK order by CREATED";
+			+ "null as RESULT, null as MESSAGE, DESTINATION_TYPE, RETRY_USER_ID, STATUS, TOTAL_BYTES_TRANSFERRED, DATA_SIZE from HPC_COLLECTION_DOWNLOAD_TASK order by CREATED";
 
-	private static final String GET_DOWNLOAD_RESULTS_FOR_DOC_SQL = "select TASK.USER_ID, ID, PATH, TASK.CREATED, TYPE, COMPLETED, RESULT, ITEMS, DESTINATION_TYPE, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, MESSAGE, DATA_SIZE "
+	private static final String GET_DOWNLOAD_RESULTS_FOR_DOC_SQL = "select TASK.USER_ID, ID, PATH, TASK.CREATED, TYPE, COMPLETED, RESULT, DESTINATION_TYPE, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, MESSAGE, DATA_SIZE "
 			+ "from HPC_DOWNLOAD_TASK_RESULT TASK, HPC_USER USER1 where USER1.USER_ID = TASK.USER_ID and (TASK.DOC = ? or TASK.USER_ID = ?) and "
 			+ "COMPLETION_EVENT = '1' order by CREATED desc offset ? rows fetch next ? rows only";
 
-	private static final String GET_ALL_DOWNLOAD_RESULTS_SQL = "select USER_ID, ID, PATH, CREATED, TYPE, COMPLETED, RESULT, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, ITEMS, DESTINATION_TYPE, MESSAGE, DATA_SIZE "
+	private static final String GET_ALL_DOWNLOAD_RESULTS_SQL = "select USER_ID, ID, PATH, CREATED, TYPE, COMPLETED, RESULT, RETRY_USER_ID, EXTERNAL_ARCHIVE_FLAG, DESTINATION_TYPE, MESSAGE, DATA_SIZE "
 			+ "from HPC_DOWNLOAD_TASK_RESULT where COMPLETION_EVENT = '1' order by CREATED desc offset ? rows fetch next ? rows only";
 
 	private static final String GET_DOWNLOAD_RESULTS_COUNT_FOR_DOC_SQL = "select count(*) from HPC_DOWNLOAD_TASK_RESULT TASK, HPC_USER USER1 where "
@@ -451,7 +500,6 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 		downloadTaskResult.setDoc(rs.getString("DOC"));
 		downloadTaskResult.setResult(HpcDownloadResult.fromValue(rs.getString("RESULT")));
 		downloadTaskResult.setMessage(rs.getString("MESSAGE"));
-		downloadTaskResult.getItems().addAll(fromJSON(rs.getString("ITEMS")));
 		downloadTaskResult.setCompletionEvent(rs.getBoolean("COMPLETION_EVENT"));
 		downloadTaskResult.setCollectionDownloadTaskId(rs.getString("COLLECTION_DOWNLOAD_TASK_ID"));
 		downloadTaskResult.setEffectiveTransferSpeed(rs.getInt("EFFECTIVE_TRANSFER_SPEED"));
@@ -621,12 +669,17 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 		collectionDownloadTask.setAppendPathToDownloadDestination(rs.getBoolean("APPEND_PATH_TO_DOWNLOAD_DESTINATION"));
 		collectionDownloadTask.setAppendCollectionNameToDownloadDestination(
 				rs.getBoolean("APPEND_COLLECTION_NAME_TO_DOWNLOAD_DESTINATION"));
-		collectionDownloadTask.getItems().addAll(fromJSON(rs.getString("ITEMS")));
 
 		Calendar created = Calendar.getInstance();
 		created.setTime(rs.getTimestamp("CREATED"));
 		collectionDownloadTask.setCreated(created);
 
+		if (rs.getTimestamp("ITEMS_REFRESHED") != null) {
+			Calendar itemsRefreshed = Calendar.getInstance();
+			itemsRefreshed.setTime(rs.getTimestamp("ITEMS_REFRESHED"));
+			collectionDownloadTask.setItemsRefreshed(itemsRefreshed);
+		}
+
 		collectionDownloadTask.getDataObjectPaths().addAll(fromPathsString(rs.getString("DATA_OBJECT_PATHS")));
 		collectionDownloadTask.getCollectionPaths().addAll(fromPathsString(rs.getString("COLLECTION_PATHS")));
 
@@ -686,11 +739,67 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 		if (rs.getObject("DATA_SIZE") != null) {
 			userDownloadRequest.setDataSize(rs.getLong("DATA_SIZE"));
 		}
-		userDownloadRequest.getItems().addAll(fromJSON(rs.getString("ITEMS")));
 
 		return userDownloadRequest;
 	};
 
+	// HpcCollectionDownloadTaskItemsSummary query to object mapper.
+	private RowMapper<HpcCollectionDownloadTaskItemsSummary> collectionDownloadTaskItemsSummaryRowMapper = (rs,
+			rowNum) -> {
+		HpcCollectionDownloadTaskItemsSummary itemsSummary = new HpcCollectionDownloadTaskItemsSummary();
+		itemsSummary.setItemsCount(rs.getInt("ITEMS_COUNT"));
+		itemsSummary.setCompletedItemsCount(rs.getInt("COMPLETED_ITEMS_COUNT"));
+		itemsSummary.setCanceledItemsCount(rs.getInt("CANCELED_ITEMS_COUNT"));
+		itemsSummary.setInProgressItemsCount(rs.getInt("IN_PROGRESS_ITEMS_COUNT"));
+		itemsSummary.setSize(rs.getLong("DATA_SIZE"));
+		itemsSummary.setBytesTransferred(rs.getLong("BYTES_TRANSFERRED"));
+		itemsSummary.setEffectiveTransferSpeed(
+				rs.getObject("EFFECTIVE_TRANSFER_SPEED") != null ? rs.getInt("EFFECTIVE_TRANSFER_SPEED") : null);
+
+		return itemsSummary;
+	};
+
+	// HpcCollectionDownloadTaskItem table to object mapper.
+	private RowMapper<HpcCollectionDownloadTaskItem> collectionDownloadTaskItemRowMapper = (rs, rowNum) -> {
+		HpcCollectionDownloadTaskItem downloadItem = new HpcCollectionDownloadTaskItem();
+		downloadItem.setItemId(rs.getInt("ITEM_ID"));
+		downloadItem.setPath(rs.getString("PATH"));
+		downloadItem.setCollectionPath(rs.getString("COLLECTION_PATH"));
+		downloadItem.setDataObjectDownloadTaskId(rs.getString("DATA_OBJECT_DOWNLOAD_TASK_ID"));
+		downloadItem.setMessage(rs.getString("MESSAGE"));
+
+		String result = rs.getString("RESULT");
+		downloadItem.setResult(result != null ? HpcDownloadResult.fromValue(result) : null);
+
+		String archiveLocationFileContainerId = rs.getString("ARCHIVE_LOCATION_FILE_CONTAINER_ID");
+		String archiveLocationFileId = rs.getString("ARCHIVE_LOCATION_FILE_ID");
+		if (archiveLocationFileContainerId != null && archiveLocationFileId != null) {
+			HpcFileLocation archiveLocation = new HpcFileLocation();
+			archiveLocation.setFileContainerId(archiveLocationFileContainerId);
+			archiveLocation.setFileId(archiveLocationFileId);
+			downloadItem.setArchiveLocation(archiveLocation);
+		}
+
+		HpcFileLocation destinationLocation = new HpcFileLocation();
+		destinationLocation.setFileContainerId(rs.getString("DESTINATION_LOCATION_FILE_CONTAINER_ID"));
+		destinationLocation.setFileId(rs.getString("DESTINATION_LOCATION_FILE_ID"));
+		downloadItem.setDestinationLocation(destinationLocation);
+
+		downloadItem.setEffectiveTransferSpeed(rs.getObject("EFFECTIVE_TRANSFER_SPEED") != null
+				? rs.getInt("EFFECTIVE_TRANSFER_SPEED")
+				: null);
+		downloadItem.setSize(rs.getObject("DATA_SIZE") != null ? rs.getLong("DATA_SIZE") : null);
+		downloadItem.setPercentComplete(rs.getObject("PERCENT_COMPLETE") != null ? rs.getInt("PERCENT_COMPLETE") : null);
+		downloadItem.setRestoreInProgress(
+				rs.getObject("RESTORE_IN_PROGRESS") != null ? rs.getBoolean("RESTORE_IN_PROGRESS") : null);
+		downloadItem.setStagingInProgress(
+				rs.getObject("STAGING_IN_PROGRESS") != null ? rs.getBoolean("STAGING_IN_PROGRESS") : null);
+		downloadItem.setStagingPercentComplete(
+				rs.getObject("STAGING_PERCENT_COMPLETE") != null ? rs.getInt("STAGING_PERCENT_COMPLETE") : null);
+
+		return downloadItem;
+	};
+
 	// ---------------------------------------------------------------------//
 	// Constructors
 	// ---------------------------------------------------------------------//
@@ -793,7 +902,8 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 					dataObjectDownloadTask.getRetryTaskId(), dataObjectDownloadTask.getRetryUserId(),
 					dataObjectDownloadTask.getDoc(),
 					dataObjectDownloadTask.getPriority(),
-					dataObjectDownloadTask.getExternalArchiveFlag()
+					dataObjectDownloadTask.getExternalArchiveFlag(),
+					Calendar.getInstance()
 				);
 
 		} catch (DataAccessException e) {
@@ -879,7 +989,7 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 					Optional.ofNullable(dataObjectDownloadTask.getRestoreRequested()).orElse(false),
 					dataObjectDownloadTask.getS3DownloadTaskServerId(), dataObjectDownloadTask.getFirstHopRetried(),
 					dataObjectDownloadTask.getRetryTaskId(), dataObjectDownloadTask.getRetryUserId(),
-					dataObjectDownloadTask.getId()) > 0;
+					Calendar.getInstance(), dataObjectDownloadTask.getId()) > 0;
 
 		} catch (DataAccessException e) {
 			throw new HpcException("Failed to create a data object download task: " + e.getMessage(),
@@ -922,6 +1032,7 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 		// Add the task-id and to-status values to the query.
 		sqlQueryBuilder.append(UPDATE_DATA_OBJECTS_DOWNLOAD_TASK_STATUS_SQL);
 		args.add(toStatus.value());
+		args.add(Calendar.getInstance());
 		args.add(collectionDownloadTaskId);
 
 		// Add each pair of the from-status and destination-type as a filter to the
@@ -1021,6 +1132,32 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 		}
 	}
 
+	@Override
+	public List<HpcDataObjectDownloadTask> getDataObjectDownloadTaskByCollectionDownloadTaskId(
+			String collectionDownloadTaskId, Calendar updatedSince) throws HpcException {
+		try {
+			return jdbcTemplate.query(GET_UPDATED_DATA_OBJECT_DOWNLOAD_TASK_BY_COLLECTION_DOWNLOAD_TASK_ID_SQL,
+					dataObjectDownloadTaskRowMapper, collectionDownloadTaskId, toUpdatedSince(updatedSince));
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get updated data object download tasks: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public int getDataObjectDownloadTasksCountByCollectionDownloadTaskId(String collectionDownloadTaskId,
+			HpcDataTransferDownloadStatus dataTransferStatus) throws HpcException {
+		try {
+			return jdbcTemplate.queryForObject(GET_DATA_OBJECT_DOWNLOAD_TASKS_COUNT_BY_COLLECTION_DOWNLOAD_TASK_ID_SQL,
+					Integer.class, collectionDownloadTaskId, dataTransferStatus.value());
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to count data object download tasks: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	@Override
 	public List<HpcDownloadTaskResult> getDataObjectDownloadTaskResultByCollectionDownloadTaskId(
 			String collectionDownloadTaskId) throws HpcException {
@@ -1054,6 +1191,70 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 		}
 	}
 
+	@Override
+	public List<HpcDataObjectDownloadTask> claimDataObjectDownloadTasks(HpcDataTransferType dataTransferType,
+			Date processed, int batchSize, String s3DownloadTaskServerId) throws HpcException {
+		try {
+			return jdbcTemplate.execute((ConnectionCallback<List<HpcDataObjectDownloadTask>>) connection -> {
+				// The select (w/ lock) and the update must run in one transaction, so the
+				// claimed rows stay locked until they are marked in-process.
+				boolean autoCommit = connection.getAutoCommit();
+				connection.setAutoCommit(false);
+				try {
+					// With 'skip locked', Oracle locks the rows as they are fetched, so limiting
+					// the fetch to the batch size locks just the rows we claim.
+					List<HpcDataObjectDownloadTask> downloadTasks = new ArrayList<>();
+					try (PreparedStatement statement = connection
+							.prepareStatement(CLAIM_DATA_OBJECT_DOWNLOAD_TASKS_SQL)) {
+						statement.setMaxRows(batchSize);
+						statement.setFetchSize(batchSize);
+						statement.setString(1, dataTransferType.value());
+						statement.setTimestamp(2, new Timestamp(processed.getTime()));
+						try (ResultSet rs = statement.executeQuery()) {
+							while (downloadTasks.size() < batchSize && rs.next()) {
+								downloadTasks.add(dataObjectDownloadTaskRowMapper.mapRow(rs, downloadTasks.size()));
+							}
+						}
+					}
+
+					if (!downloadTasks.isEmpty()) {
+						Calendar claimed = Calendar.getInstance();
+						try (PreparedStatement statement = connection
+								.prepareStatement(SET_DATA_OBJECT_DOWNLOAD_TASK_CLAIMED_SQL)) {
+							for (HpcDataObjectDownloadTask downloadTask : downloadTasks) {
+								statement.setString(1, s3DownloadTaskServerId);
+								statement.setTimestamp(2, new Timestamp(claimed.getTimeInMillis()));
+								statement.setString(3, downloadTask.getId());
+								statement.addBatch();
+							}
+							statement.executeBatch();
+						}
+
+						for (HpcDataObjectDownloadTask downloadTask : downloadTasks) {
+							downloadTask.setInProcess(true);
+							downloadTask.setProcessed(claimed);
+							downloadTask.setS3DownloadTaskServerId(s3DownloadTaskServerId);
+						}
+					}
+
+					connection.commit();
+					return downloadTasks;
+
+				} catch (SQLException | RuntimeException e) {
+					connection.rollback();
+					throw e;
+
+				} finally {
+					connection.setAutoCommit(autoCommit);
+				}
+			});
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to claim data object download tasks: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	@Override
 	@Transactional
 	public boolean setDataObjectDownloadTaskInProcess(String id, boolean inProcess, String s3DownloadTaskServerId)
@@ -1149,9 +1350,12 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 					taskResult.getRetryUserId(), taskResult.getFirstHopRetried(), taskResult.getDoc(), googleAccessToken, taskResult.getExternalArchiveFlag());
 
 			jdbcTemplate.update(UPDATE_DOWNLOAD_TASK_RESULT_CLOBS_SQL,
-					new Object[] { new SqlLobValue(toJSON(taskResult.getItems()), lobHandler),
-							new SqlLobValue(collectionPaths, lobHandler), taskResult.getId() },
-					new int[] { Types.CLOB, Types.CLOB, Types.VARCHAR });
+					new Object[] { new SqlLobValue(collectionPaths, lobHandler), taskResult.getId() },
+					new int[] { Types.CLOB, Types.VARCHAR });
+
+			// Collection download items are stored under the collection download task ID,
+			// so only items not persisted yet are inserted.
+			insertCollectionDownloadTaskItems(taskResult.getId(), taskResult.getItems());
 
 		} catch (DataAccessException e) {
 			throw new HpcException("Failed to upsert a download task result: " + e.getMessage(),
@@ -1161,9 +1365,19 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 
 	@Override
 	public HpcDownloadTaskResult getDownloadTaskResult(String id, HpcDownloadTaskType taskType) throws HpcException {
+		return getDownloadTaskResult(id, taskType, true);
+	}
+
+	@Override
+	public HpcDownloadTaskResult getDownloadTaskResult(String id, HpcDownloadTaskType taskType,
+			boolean includeItems) throws HpcException {
 		try {
-			return jdbcTemplate.queryForObject(GET_DOWNLOAD_TASK_RESULT_SQL, downloadTaskResultRowMapper, id,
-					taskType.value());
+			HpcDownloadTaskResult taskResult = jdbcTemplate.queryForObject(GET_DOWNLOAD_TASK_RESULT_SQL,
+					downloadTaskResultRowMapper, id, taskType.value());
+			if (includeItems && !taskType.equals(HpcDownloadTaskType.DATA_OBJECT)) {
+				taskResult.getItems().addAll(getCollectionDownloadTaskItems(id));
+			}
+			return taskResult;
 
 		} catch (IncorrectResultSizeDataAccessException irse) {
 			return null;
@@ -1272,10 +1486,11 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 					destinationType, collectionDownloadTask.getDoc(), collectionDownloadTask.getDataSize());
 
 			jdbcTemplate.update(UPDATE_COLLECTION_DOWNLOAD_TASK_CLOBS_SQL,
-					new Object[] { new SqlLobValue(toJSON(collectionDownloadTask.getItems()), lobHandler),
-							new SqlLobValue(dataObjectPaths, lobHandler), new SqlLobValue(collectionPaths, lobHandler),
-							collectionDownloadTask.getId() },
-					new int[] { Types.CLOB, Types.CLOB, Types.CLOB, Types.VARCHAR });
+					new Object[] { new SqlLobValue(dataObjectPaths, lobHandler),
+							new SqlLobValue(collectionPaths, lobHandler), collectionDownloadTask.getId() },
+					new int[] { Types.CLOB, Types.CLOB, Types.VARCHAR });
+
+			insertCollectionDownloadTaskItems(collectionDownloadTask.getId(), collectionDownloadTask.getItems());
 
 		} catch (DataAccessException e) {
 			throw new HpcException("Failed to upsert a collection download request: " + e.getMessage(),
@@ -1285,8 +1500,18 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 
 	@Override
 	public HpcCollectionDownloadTask getCollectionDownloadTask(String id) throws HpcException {
+		return getCollectionDownloadTask(id, true);
+	}
+
+	@Override
+	public HpcCollectionDownloadTask getCollectionDownloadTask(String id, boolean includeItems) throws HpcException {
 		try {
-			return jdbcTemplate.queryForObject(GET_COLLECTION_DOWNLOAD_TASK_SQL, collectionDownloadTaskRowMapper, id);
+			HpcCollectionDownloadTask collectionDownloadTask = jdbcTemplate
+					.queryForObject(GET_COLLECTION_DOWNLOAD_TASK_SQL, collectionDownloadTaskRowMapper, id);
+			if (includeItems) {
+				collectionDownloadTask.getItems().addAll(getCollectionDownloadTaskItems(id));
+			}
+			return collectionDownloadTask;
 
 		} catch (IncorrectResultSizeDataAccessException irse) {
 			return null;
@@ -1308,6 +1533,91 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 		}
 	}
 	
+	@Override
+	public void updateCollectionDownloadTaskItems(String taskId, List<HpcCollectionDownloadTaskItem> downloadItems)
+			throws HpcException {
+		try {
+			List<HpcCollectionDownloadTaskItem> persistedDownloadItems = new ArrayList<>();
+			for (HpcCollectionDownloadTaskItem downloadItem : downloadItems) {
+				if (downloadItem.getItemId() != null) {
+					persistedDownloadItems.add(downloadItem);
+				}
+			}
+
+			jdbcTemplate.batchUpdate(UPDATE_COLLECTION_DOWNLOAD_TASK_ITEM_SQL, persistedDownloadItems,
+					COLLECTION_DOWNLOAD_TASK_ITEMS_PAGE_SIZE,
+					(preparedStatement, downloadItem) -> setCollectionDownloadTaskItemParameters(preparedStatement,
+							taskId, downloadItem));
+			insertCollectionDownloadTaskItems(taskId, downloadItems);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to update collection download task items: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public List<HpcCollectionDownloadTaskItem> getCollectionDownloadTaskItems(String taskId, int afterItemId,
+			int limit) throws HpcException {
+		try {
+			return jdbcTemplate.query(GET_COLLECTION_DOWNLOAD_TASK_ITEMS_SQL, collectionDownloadTaskItemRowMapper,
+					taskId, afterItemId, limit);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get collection download task items: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public List<HpcCollectionDownloadTaskItem> getUpdatedCollectionDownloadTaskItems(String taskId,
+			Calendar updatedSince) throws HpcException {
+		try {
+			return jdbcTemplate.query(GET_UPDATED_COLLECTION_DOWNLOAD_TASK_ITEMS_SQL,
+					collectionDownloadTaskItemRowMapper, taskId, toUpdatedSince(updatedSince));
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get updated collection download task items: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public HpcCollectionDownloadTaskItemsSummary getCollectionDownloadTaskItemsSummary(String taskId)
+			throws HpcException {
+		try {
+			return jdbcTemplate.queryForObject(GET_COLLECTION_DOWNLOAD_TASK_ITEMS_SUMMARY_SQL,
+					collectionDownloadTaskItemsSummaryRowMapper, taskId);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get collection download task items summary: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public void setCollectionDownloadTaskItemsRefreshed(String taskId, Calendar itemsRefreshed)
+			throws HpcException {
+		try {
+			jdbcTemplate.update(SET_COLLECTION_DOWNLOAD_TASK_ITEMS_REFRESHED_SQL, itemsRefreshed, taskId);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to set collection download task items refreshed: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public void deleteCollectionDownloadTaskItems(String taskId) throws HpcException {
+		try {
+			jdbcTemplate.update(DELETE_COLLECTION_DOWNLOAD_TASK_ITEMS_SQL, taskId);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to delete collection download task items: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	@Override
 	public void updateCollectionDownloadTaskPriority(String id, int priority) throws HpcException {
 		try {
@@ -1322,7 +1632,8 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 	@Override
 	public List<HpcCollectionDownloadTask> getCollectionDownloadTasksInProcess() throws HpcException {
 		try {
-			return jdbcTemplate.query(GET_COLLECTION_DOWNLOAD_TASKS_IN_PROCESS_SQL, collectionDownloadTaskRowMapper);
+			return withItems(
+					jdbcTemplate.query(GET_COLLECTION_DOWNLOAD_TASKS_IN_PROCESS_SQL, collectionDownloadTaskRowMapper));
 
 		} catch (DataAccessException e) {
 			throw new HpcException("Failed to get collection download tasks: " + e.getMessage(),
@@ -1331,8 +1642,8 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 	}
 
 	@Override
-	public List<HpcCollectionDownloadTask> getCollectionDownloadTasks(HpcCollectionDownloadTaskStatus status)
-			throws HpcException {
+	public List<HpcCollectionDownloadTask> getCollectionDownloadTasksWithoutItems(
+			HpcCollectionDownloadTaskStatus status) throws HpcException {
 		try {
 			return jdbcTemplate.query(GET_COLLECTION_DOWNLOAD_TASKS_BY_STATUS_SQL, collectionDownloadTaskRowMapper,
 					status.value());
@@ -1343,12 +1654,25 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 		}
 	}
 
+	@Override
+	public List<HpcCollectionDownloadTask> getCollectionDownloadTasks(HpcCollectionDownloadTaskStatus status)
+			throws HpcException {
+		try {
+			return withItems(jdbcTemplate.query(GET_COLLECTION_DOWNLOAD_TASKS_BY_STATUS_SQL,
+					collectionDownloadTaskRowMapper, status.value()));
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get collection download tasks: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	@Override
 	public List<HpcCollectionDownloadTask> getCollectionDownloadTasks(HpcCollectionDownloadTaskStatus status,
 			boolean inProcess) throws HpcException {
 		try {
-			return jdbcTemplate.query(GET_COLLECTION_DOWNLOAD_TASKS_SQL, collectionDownloadTaskRowMapper,
-					status.value(), inProcess);
+			return withItems(jdbcTemplate.query(GET_COLLECTION_DOWNLOAD_TASKS_SQL, collectionDownloadTaskRowMapper,
+					status.value(), inProcess));
 
 		} catch (DataAccessException e) {
 			throw new HpcException("Failed to get collection download tasks: " + e.getMessage(),
@@ -1527,7 +1851,8 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 	@Override
 	public List<HpcUserDownloadRequest> getDownloadResults(String userId, int offset, int limit) throws HpcException {
 		try {
-			return jdbcTemplate.query(GET_DOWNLOAD_RESULTS_SQL, userDownloadRequestRowMapper, userId, offset, limit);
+			return withFirstUnsuccessfulItem(
+					jdbcTemplate.query(GET_DOWNLOAD_RESULTS_SQL, userDownloadRequestRowMapper, userId, offset, limit));
 
 		} catch (DataAccessException e) {
 			throw new HpcException("Failed to get download results: " + e.getMessage(), HpcErrorType.DATABASE_ERROR,
@@ -1598,8 +1923,8 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 	public List<HpcUserDownloadRequest> getDownloadResultsForDoc(String doc, String userId, int offset, int limit)
 			throws HpcException {
 		try {
-			return jdbcTemplate.query(GET_DOWNLOAD_RESULTS_FOR_DOC_SQL, userDownloadRequestRowMapper, doc, userId,
-					offset, limit);
+			return withFirstUnsuccessfulItem(jdbcTemplate.query(GET_DOWNLOAD_RESULTS_FOR_DOC_SQL,
+					userDownloadRequestRowMapper, doc, userId, offset, limit));
 
 		} catch (DataAccessException e) {
 			throw new HpcException("Failed to get download results: " + e.getMessage(), HpcErrorType.DATABASE_ERROR,
@@ -1610,7 +1935,8 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 	@Override
 	public List<HpcUserDownloadRequest> getAllDownloadResults(int offset, int limit) throws HpcException {
 		try {
-			return jdbcTemplate.query(GET_ALL_DOWNLOAD_RESULTS_SQL, userDownloadRequestRowMapper, offset, limit);
+			return withFirstUnsuccessfulItem(
+					jdbcTemplate.query(GET_ALL_DOWNLOAD_RESULTS_SQL, userDownloadRequestRowMapper, offset, limit));
 
 		} catch (DataAccessException e) {
 			throw new HpcException("Failed to get download results: " + e.getMessage(), HpcErrorType.DATABASE_ERROR,
@@ -1722,165 +2048,157 @@ public class HpcDataDownloadDAOImpl implements HpcDataDownloadDAO {
 	// ---------------------------------------------------------------------//
 
 	/**
-	 * Convert a list of collection download items into a JSON string.
+	 * Get all the items of a collection download task. The items are read in pages
+	 * (keyset pagination by item ID).
 	 *
-	 * @param downloadItems The list of collection download items.
-	 * @return A JSON representation of download items.
+	 * @param taskId The collection download task ID.
+	 * @return A list of download items ordered by item ID.
+	 * @throws DataAccessException on database error.
 	 */
-	@SuppressWarnings("unchecked")
-	private String toJSON(List<HpcCollectionDownloadTaskItem> downloadItems) {
-		JSONArray jsonDownloadItems = new JSONArray();
-		for (HpcCollectionDownloadTaskItem downloadItem : downloadItems) {
-			JSONObject jsonDownloadItem = new JSONObject();
-			jsonDownloadItem.put("path", downloadItem.getPath());
-			if (downloadItem.getCollectionPath() != null) {
-				jsonDownloadItem.put("collectionPath", downloadItem.getCollectionPath());
-			}
-			if (downloadItem.getDataObjectDownloadTaskId() != null) {
-				jsonDownloadItem.put("dataObjectDownloadTaskId", downloadItem.getDataObjectDownloadTaskId());
-			}
-			if (downloadItem.getMessage() != null) {
-				jsonDownloadItem.put("message", downloadItem.getMessage());
-			}
-			if (downloadItem.getResult() != null) {
-				jsonDownloadItem.put("result", downloadItem.getResult().value());
-			}
-			if (downloadItem.getArchiveLocation() != null) {
-				jsonDownloadItem.put("archiveLocationFileContainerId",
-						downloadItem.getArchiveLocation().getFileContainerId());
-				jsonDownloadItem.put("archiveLocationFileId", downloadItem.getArchiveLocation().getFileId());
-			}
-			jsonDownloadItem.put("destinationLocationFileContainerId",
-					downloadItem.getDestinationLocation().getFileContainerId());
-			jsonDownloadItem.put("destinationLocationFileId", downloadItem.getDestinationLocation().getFileId());
-			if (downloadItem.getEffectiveTransferSpeed() != null) {
-				jsonDownloadItem.put("effectiveTransferSpeed", downloadItem.getEffectiveTransferSpeed());
-			}
-			if (downloadItem.getSize() != null) {
-				jsonDownloadItem.put("size", downloadItem.getSize());
-			}
-			if (downloadItem.getPercentComplete() != null) {
-				jsonDownloadItem.put("percentComplete", downloadItem.getPercentComplete());
-			}
-			if (downloadItem.getRestoreInProgress() != null) {
-				jsonDownloadItem.put("restoreInProgress", downloadItem.getRestoreInProgress());
-			}
-			if (downloadItem.getStagingInProgress() != null) {
-				jsonDownloadItem.put("stagingInProgress", downloadItem.getStagingInProgress());
-			}
-			if (downloadItem.getStagingPercentComplete() != null) {
-				jsonDownloadItem.put("stagingPercentComplete", downloadItem.getStagingPercentComplete());
+	private List<HpcCollectionDownloadTaskItem> getCollectionDownloadTaskItems(String taskId)
+			throws DataAccessException {
+		List<HpcCollectionDownloadTaskItem> downloadItems = new ArrayList<>();
+		List<HpcCollectionDownloadTaskItem> downloadItemsPage = null;
+		int afterItemId = 0;
+		do {
+			downloadItemsPage = jdbcTemplate.query(GET_COLLECTION_DOWNLOAD_TASK_ITEMS_SQL,
+					collectionDownloadTaskItemRowMapper, taskId, afterItemId, COLLECTION_DOWNLOAD_TASK_ITEMS_PAGE_SIZE);
+			if (!downloadItemsPage.isEmpty()) {
+				downloadItems.addAll(downloadItemsPage);
+				afterItemId = downloadItemsPage.get(downloadItemsPage.size() - 1).getItemId();
 			}
+		} while (downloadItemsPage.size() == COLLECTION_DOWNLOAD_TASK_ITEMS_PAGE_SIZE);
 
-			jsonDownloadItems.add(jsonDownloadItem);
-		}
-
-		JSONObject jsonObj = new JSONObject();
-		jsonObj.put("items", jsonDownloadItems);
-
-		return jsonObj.toJSONString();
+		return downloadItems;
 	}
 
 	/**
-	 * Convert JSON string to a list of collection download items
+	 * Add the download items to a list of collection download tasks.
 	 *
-	 * @param jsonDownloadItemsStr The download items JSON string.
-	 * @return A list of collection download items.
+	 * @param collectionDownloadTasks The collection download tasks.
+	 * @return The collection download tasks.
+	 * @throws DataAccessException on database error.
 	 */
-	@SuppressWarnings("unchecked")
-	private List<HpcCollectionDownloadTaskItem> fromJSON(String jsonDownloadItemsStr) {
-		List<HpcCollectionDownloadTaskItem> downloadItems = new ArrayList<>();
-		if (StringUtils.isEmpty(jsonDownloadItemsStr)) {
-			return downloadItems;
+	private List<HpcCollectionDownloadTask> withItems(List<HpcCollectionDownloadTask> collectionDownloadTasks)
+			throws DataAccessException {
+		for (HpcCollectionDownloadTask collectionDownloadTask : collectionDownloadTasks) {
+			collectionDownloadTask.getItems().addAll(getCollectionDownloadTaskItems(collectionDownloadTask.getId()));
 		}
+		return collectionDownloadTasks;
+	}
 
-		// Parse the JSON string.
-		JSONObject jsonObj = null;
-		try {
-			jsonObj = (JSONObject) (new JSONParser().parse(jsonDownloadItemsStr));
-
-		} catch (ParseException e) {
-			return downloadItems;
+	/**
+	 * Add the first download item that didn't complete successfully to failed /
+	 * canceled collection download results. This item is used to describe the
+	 * failure in the download summary.
+	 *
+	 * @param downloadResults The download results (a page of the download
+	 *                        summary).
+	 * @return The download results.
+	 * @throws DataAccessException on database error.
+	 */
+	private List<HpcUserDownloadRequest> withFirstUnsuccessfulItem(List<HpcUserDownloadRequest> downloadResults)
+			throws DataAccessException {
+		for (HpcUserDownloadRequest downloadResult : downloadResults) {
+			if (!HpcDownloadTaskType.DATA_OBJECT.equals(downloadResult.getType())
+					&& !HpcDownloadResult.COMPLETED.equals(downloadResult.getResult())) {
+				downloadResult.getItems().addAll(jdbcTemplate.query(GET_FIRST_UNSUCCESSFUL_COLLECTION_DOWNLOAD_TASK_ITEM_SQL,
+						collectionDownloadTaskItemRowMapper, downloadResult.getTaskId()));
+			}
 		}
+		return downloadResults;
+	}
 
-		// Map the download items.
-		JSONArray jsonDownloadItems = (JSONArray) jsonObj.get("items");
-		if (jsonDownloadItems != null) {
-			Iterator<JSONObject> downloadItemIterator = jsonDownloadItems.iterator();
-			while (downloadItemIterator.hasNext()) {
-				JSONObject jsonDownloadItem = downloadItemIterator.next();
-				HpcCollectionDownloadTaskItem downloadItem = new HpcCollectionDownloadTaskItem();
-				downloadItem.setPath(jsonDownloadItem.get("path").toString());
-
-				Object collectionPath = jsonDownloadItem.get("collectionPath");
-				if (collectionPath != null) {
-					downloadItem.setCollectionPath(collectionPath.toString());
-				}
-
-				Object dataObjectDownloadTaskId = jsonDownloadItem.get("dataObjectDownloadTaskId");
-				if (dataObjectDownloadTaskId != null) {
-					downloadItem.setDataObjectDownloadTaskId(dataObjectDownloadTaskId.toString());
-				}
-
-				Object message = jsonDownloadItem.get("message");
-				if (message != null) {
-					downloadItem.setMessage(message.toString());
-				}
-
-				// Result was captured as boolean before changed to HpcDownloadResult enum.
-				// Need to account for both options.
-				Object result = jsonDownloadItem.get("result");
-				if (result != null) {
-					if (result.toString().equals("true")) {
-						downloadItem.setResult(HpcDownloadResult.COMPLETED);
-					} else if (result.toString().equals("false")) {
-						downloadItem.setResult(HpcDownloadResult.FAILED);
-					} else {
-						downloadItem.setResult(HpcDownloadResult.fromValue(result.toString()));
-					}
-				}
-
-				HpcFileLocation destinationLocation = new HpcFileLocation();
-				destinationLocation
-						.setFileContainerId(jsonDownloadItem.get("destinationLocationFileContainerId").toString());
-				destinationLocation.setFileId(jsonDownloadItem.get("destinationLocationFileId").toString());
-				downloadItem.setDestinationLocation(destinationLocation);
-
-				Object effectiveTransferSpeed = jsonDownloadItem.get("effectiveTransferSpeed");
-				if (effectiveTransferSpeed != null) {
-					downloadItem.setEffectiveTransferSpeed(Integer.valueOf(effectiveTransferSpeed.toString()));
-				}
-
-				Object size = jsonDownloadItem.get("size");
-				if (size != null) {
-					downloadItem.setSize(Long.valueOf(size.toString()));
-				}
-
-				Object percentComplete = jsonDownloadItem.get("percentComplete");
-				if (percentComplete != null) {
-					downloadItem.setPercentComplete(Integer.valueOf(percentComplete.toString()));
-				}
+	/**
+	 * Insert the collection download items that were not persisted yet (i.e. w/o
+	 * an item ID). The inserted items are assigned an item ID.
+	 *
+	 * @param taskId        The collection download task ID.
+	 * @param downloadItems The download items.
+	 * @throws DataAccessException on database error.
+	 */
+	private void insertCollectionDownloadTaskItems(String taskId, List<HpcCollectionDownloadTaskItem> downloadItems)
+			throws DataAccessException {
+		List<HpcCollectionDownloadTaskItem> newDownloadItems = new ArrayList<>();
+		for (HpcCollectionDownloadTaskItem downloadItem : downloadItems) {
+			if (downloadItem.getItemId() == null) {
+				newDownloadItems.add(downloadItem);
+			}
+		}
+		if (newDownloadItems.isEmpty()) {
+			return;
+		}
 
-				Object restoreInProgress = jsonDownloadItem.get("restoreInProgress");
-				if (restoreInProgress != null) {
-					downloadItem.setRestoreInProgress(restoreInProgress.toString().equals("true"));
-				}
+		int itemId = jdbcTemplate.queryForObject(GET_COLLECTION_DOWNLOAD_TASK_MAX_ITEM_ID_SQL, Integer.class, taskId);
+		for (HpcCollectionDownloadTaskItem downloadItem : newDownloadItems) {
+			downloadItem.setItemId(++itemId);
+		}
 
-				Object stagingInProgress = jsonDownloadItem.get("stagingInProgress");
-				if (stagingInProgress != null) {
-					downloadItem.setStagingInProgress(stagingInProgress.toString().equals("true"));
-				}
+		jdbcTemplate.batchUpdate(INSERT_COLLECTION_DOWNLOAD_TASK_ITEM_SQL, newDownloadItems,
+				COLLECTION_DOWNLOAD_TASK_ITEMS_PAGE_SIZE,
+				(preparedStatement, downloadItem) -> setCollectionDownloadTaskItemParameters(preparedStatement, taskId,
+						downloadItem));
+	}
 
-				Object stagingPercentComplete = jsonDownloadItem.get("stagingPercentComplete");
-				if (stagingPercentComplete != null) {
-					downloadItem.setStagingPercentComplete(Integer.valueOf(stagingPercentComplete.toString()));
-				}
+	/**
+	 * Set the parameters of a collection download item insert / update statement.
+	 *
+	 * @param preparedStatement The insert / update statement.
+	 * @param taskId            The collection download task ID.
+	 * @param downloadItem      The download item.
+	 * @throws SQLException on database error.
+	 */
+	private void setCollectionDownloadTaskItemParameters(PreparedStatement preparedStatement, String taskId,
+			HpcCollectionDownloadTaskItem downloadItem) throws SQLException {
+		HpcFileLocation archiveLocation = downloadItem.getArchiveLocation();
+		HpcFileLocation destinationLocation = downloadItem.getDestinationLocation();
+
+		preparedStatement.setString(1, downloadItem.getPath());
+		preparedStatement.setString(2, downloadItem.getCollectionPath());
+		preparedStatement.setString(3, downloadItem.getDataObjectDownloadTaskId());
+		preparedStatement.setString(4, downloadItem.getResult() != null ? downloadItem.getResult().value() : null);
+		preparedStatement.setString(5, downloadItem.getMessage());
+		preparedStatement.setString(6, archiveLocation != null ? archiveLocation.getFileContainerId() : null);
+		preparedStatement.setString(7, archiveLocation != null ? archiveLocation.getFileId() : null);
+		preparedStatement.setString(8, destinationLocation != null ? destinationLocation.getFileContainerId() : null);
+		preparedStatement.setString(9, destinationLocation != null ? destinationLocation.getFileId() : null);
+		preparedStatement.setObject(10, downloadItem.getEffectiveTransferSpeed(), Types.INTEGER);
+		preparedStatement.setObject(11, downloadItem.getSize(), Types.BIGINT);
+		preparedStatement.setObject(12, downloadItem.getPercentComplete(), Types.INTEGER);
+		preparedStatement.setString(13, toIndicator(downloadItem.getRestoreInProgress()));
+		preparedStatement.setString(14, toIndicator(downloadItem.getStagingInProgress()));
+		preparedStatement.setObject(15, downloadItem.getStagingPercentComplete(), Types.INTEGER);
+		preparedStatement.setString(16, taskId);
+		preparedStatement.setInt(17, downloadItem.getItemId());
+	}
 
-				downloadItems.add(downloadItem);
-			}
+	/**
+	 * Get the 'updated since' query parameter. If not provided, all rows are
+	 * considered updated.
+	 *
+	 * @param updatedSince The updated since time.
+	 * @return The query parameter.
+	 */
+	private Calendar toUpdatedSince(Calendar updatedSince) {
+		if (updatedSince != null) {
+			return updatedSince;
 		}
+		Calendar epoch = Calendar.getInstance();
+		epoch.setTimeInMillis(0);
+		return epoch;
+	}
 
-		return downloadItems;
+	/**
+	 * Convert an optional boolean to a DB indicator ('1' / '0' / null).
+	 *
+	 * @param value The boolean value.
+	 * @return The DB indicator.
+	 */
+	private String toIndicator(Boolean value) {
+		if (value == null) {
+			return null;
+		}
+		return value ? "1" : "0";
 	}
 
 	/**
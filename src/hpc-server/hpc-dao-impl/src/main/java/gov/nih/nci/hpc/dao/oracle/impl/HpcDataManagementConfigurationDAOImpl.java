@@ -145,6 +145,23 @@ public class HpcDataManagementConfigurationDAOImpl implements HpcDataManagementC
 		s3Configuration.setExternalStorage(rs.getBoolean("EXTERNAL_STORAGE"));
 		s3Configuration.setPosixPath(rs.getString("POSIX_PATH"));
 
+		// Optional S3 client (CRT) tuning. If not set, the system defaults are used.
+		if (rs.getObject("MAX_CONCURRENCY") != null) {
+			s3Configuration.setMaxConcurrency(rs.getInt("MAX_CONCURRENCY"));
+		}
+		if (rs.getObject("TARGET_THROUGHPUT_GBPS") != null) {
+			s3Configuration.setTargetThroughputInGbps(rs.getDouble("TARGET_THROUGHPUT_GBPS"));
+		}
+		if (rs.getObject("MINIMUM_UPLOAD_PART_SIZE") != null) {
+			s3Configuration.setMinimumUploadPartSize(rs.getLong("MINIMUM_UPLOAD_PART_SIZE"));
+		}
+		if (rs.getObject("MULTIPART_UPLOAD_THRESHOLD") != null) {
+			s3Configuration.setMultipartUploadThreshold(rs.getLong("MULTIPART_UPLOAD_THRESHOLD"));
+		}
+		if (rs.getObject("ADAPTIVE_PART_SIZE") != null) {
+			s3Configuration.setAdaptivePartSize(rs.getBoolean("ADAPTIVE_PART_SIZE"));
+		}
+
 		return s3Configuration;
 	};
 
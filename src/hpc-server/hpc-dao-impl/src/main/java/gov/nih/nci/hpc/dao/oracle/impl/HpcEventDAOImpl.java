@@ -50,7 +50,7 @@ public class HpcEventDAOImpl implements HpcEventDAO {
 	private static final String INSERT_EVENT_SQL = "insert into HPC_EVENT ( "
 			+ "USER_IDS, TYPE, PAYLOAD, CREATED) values (?, ?, ?, ?)";
 
-	private static final String GET_EVENTS_SQL = "select * from HPC_EVENT";
+	private static final String GET_EVENTS_SQL = "select * from HPC_EVENT where ID > ? order by ID fetch next ? rows only";
 
 	private static final String DELETE_EVENT_SQL = "delete from HPC_EVENT where ID = ?";
 
@@ -59,6 +59,9 @@ public class HpcEventDAOImpl implements HpcEventDAO {
 
 	private static final String GET_EVENT_HISTORY_SQL = "select * from HPC_EVENT_HISTORY where ID = ?";
 
+	private static final String GET_DIGEST_EVENTS_SQL = "select EVENT.* from HPC_EVENT_HISTORY EVENT, HPC_NOTIFICATION_DIGEST DIGEST "
+			+ "where DIGEST.USER_ID = ? and DIGEST.EVENT_ID = EVENT.ID order by EVENT.ID fetch next ? rows only";
+
 	// ---------------------------------------------------------------------//
 	// Instance members
 	// ---------------------------------------------------------------------//
@@ -124,9 +127,9 @@ public class HpcEventDAOImpl implements HpcEventDAO {
 	}
 
 	@Override
-	public List<HpcEvent> getEvents() throws HpcException {
+	public List<HpcEvent> getEvents(int afterEventId, int limit) throws HpcException {
 		try {
-			return jdbcTemplate.query(GET_EVENTS_SQL, eventRowMapper);
+			return jdbcTemplate.query(GET_EVENTS_SQL, eventRowMapper, afterEventId, limit);
 
 		} catch (IncorrectResultSizeDataAccessException notFoundEx) {
 			return null;
@@ -138,24 +141,38 @@ public class HpcEventDAOImpl implements HpcEventDAO {
 	}
 
 	@Override
-	public void deleteEvent(int eventId) throws HpcException {
+	public void deleteEvents(List<Integer> eventIds) throws HpcException {
+		if (eventIds.isEmpty()) {
+			return;
+		}
+
 		try {
-			jdbcTemplate.update(DELETE_EVENT_SQL, eventId);
+			List<Object[]> batchArgs = new ArrayList<>();
+			eventIds.forEach(eventId -> batchArgs.add(new Object[] { eventId }));
+			jdbcTemplate.batchUpdate(DELETE_EVENT_SQL, batchArgs);
 
 		} catch (DataAccessException e) {
-			throw new HpcException("Failed to delete a notification event" + e.getMessage(),
+			throw new HpcException("Failed to delete notification events: " + e.getMessage(),
 					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
 		}
 	}
 
 	@Override
-	public void insertEventHistory(HpcEvent event) throws HpcException {
+	public void insertEventsHistory(List<HpcEvent> events) throws HpcException {
+		if (events.isEmpty()) {
+			return;
+		}
+
 		try {
-			jdbcTemplate.update(INSERT_EVENT_HISTORY_SQL, event.getId(), toString(event.getUserIds()),
-					event.getType().value(), encryptor.encrypt(toJSON(event.getPayloadEntries())), event.getCreated());
+			List<Object[]> batchArgs = new ArrayList<>();
+			for (HpcEvent event : events) {
+				batchArgs.add(new Object[] { event.getId(), toString(event.getUserIds()), event.getType().value(),
+						encryptor.encrypt(toJSON(event.getPayloadEntries())), event.getCreated() });
+			}
+			jdbcTemplate.batchUpdate(INSERT_EVENT_HISTORY_SQL, batchArgs);
 
 		} catch (DataAccessException e) {
-			throw new HpcException("Failed to insert an event to history table" + e.getMessage(),
+			throw new HpcException("Failed to insert events to history table: " + e.getMessage(),
 					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
 		}
 	}
@@ -175,6 +192,17 @@ public class HpcEventDAOImpl implements HpcEventDAO {
 		}
 	}
 
+	@Override
+	public List<HpcEvent> getDigestEvents(String userId, int limit) throws HpcException {
+		try {
+			return jdbcTemplate.query(GET_DIGEST_EVENTS_SQL, eventRowMapper, userId, limit);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get notification digest events: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	// ---------------------------------------------------------------------//
 	// Helper Methods
 	// ---------------------------------------------------------------------//
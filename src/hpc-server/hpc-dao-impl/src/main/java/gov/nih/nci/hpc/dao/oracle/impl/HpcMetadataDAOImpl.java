@@ -15,7 +15,12 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -23,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.util.CollectionUtils;
@@ -41,8 +47,10 @@ import gov.nih.nci.hpc.domain.metadata.HpcMetadataQuery;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataQueryAttributeMatch;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataQueryLevelFilter;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataQueryOperator;
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataViewRefreshStatus;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntry;
 import gov.nih.nci.hpc.domain.metadata.HpcSearchMetadataEntryForCollection;
+import gov.nih.nci.hpc.domain.metadata.HpcSearchObjectPath;
 import gov.nih.nci.hpc.domain.user.HpcIntegratedSystem;
 import gov.nih.nci.hpc.exception.HpcException;
 
@@ -63,21 +71,29 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 
 	private static final String GET_COLLECTION_IDS_LIKE_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and lower(meta_attr_value) like lower(?)";
 
-	private static final String GET_COLLECTION_IDS_NUM_LESS_THAN_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and num_less_than(meta_attr_value, ?) = '1'";
+	private static final String GET_COLLECTION_IDS_NUM_LESS_THAN_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and meta_attr_num_value < to_number(? default null on conversion error)";
 
-	private static final String GET_COLLECTION_IDS_NUM_LESS_OR_EQUAL_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and num_less_or_equal(meta_attr_value, ?) = '1'";
+	private static final String GET_COLLECTION_IDS_NUM_LESS_OR_EQUAL_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and meta_attr_num_value <= to_number(? default null on conversion error)";
 
-	private static final String GET_COLLECTION_IDS_NUM_GREATER_THAN_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and num_greater_than(meta_attr_value, ?) = '1'";
+	private static final String GET_COLLECTION_IDS_NUM_GREATER_THAN_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and meta_attr_num_value > to_number(? default null on conversion error)";
 
-	private static final String GET_COLLECTION_IDS_NUM_GREATER_OR_EQUAL_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and num_greater_or_equal(meta_attr_value, ?) = '1'";
+	private static final String GET_COLLECTION_IDS_NUM_GREATER_OR_EQUAL_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and meta_attr_num_value >= to_number(? default null on conversion error)";
 
-	private static final String GET_COLLECTION_IDS_TIMESTAMP_LESS_THAN_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and timestamp_less_than(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_COLLECTION_IDS_TIMESTAMP_LESS_THAN_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and meta_attr_timestamp_value < to_timestamp(? default null on conversion error, ?) and timestamp_less_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_COLLECTION_IDS_TIMESTAMP_GREATER_THAN_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and timestamp_greater_than(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_COLLECTION_IDS_TIMESTAMP_LESS_THAN_FORMAT_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and timestamp_less_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_COLLECTION_IDS_TIMESTAMP_LESS_OR_EQUAL_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and timestamp_less_or_equal(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_COLLECTION_IDS_TIMESTAMP_GREATER_THAN_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and meta_attr_timestamp_value > to_timestamp(? default null on conversion error, ?) and timestamp_greater_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_COLLECTION_IDS_TIMESTAMP_GREATER_OR_EQUAL_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and timestamp_greater_or_equal(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_COLLECTION_IDS_TIMESTAMP_GREATER_THAN_FORMAT_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and timestamp_greater_than(meta_attr_value, ?, ?) = '1'";
+
+	private static final String GET_COLLECTION_IDS_TIMESTAMP_LESS_OR_EQUAL_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and meta_attr_timestamp_value <= to_timestamp(? default null on conversion error, ?) and timestamp_less_or_equal(meta_attr_value, ?, ?) = '1'";
+
+	private static final String GET_COLLECTION_IDS_TIMESTAMP_LESS_OR_EQUAL_FORMAT_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and timestamp_less_or_equal(meta_attr_value, ?, ?) = '1'";
+
+	private static final String GET_COLLECTION_IDS_TIMESTAMP_GREATER_OR_EQUAL_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and meta_attr_timestamp_value >= to_timestamp(? default null on conversion error, ?) and timestamp_greater_or_equal(meta_attr_value, ?, ?) = '1'";
+
+	private static final String GET_COLLECTION_IDS_TIMESTAMP_GREATER_OR_EQUAL_FORMAT_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path like ? and timestamp_greater_or_equal(meta_attr_value, ?, ?) = '1'";
 	
 	private static final String GET_COLLECTION_IDS_PATH_EQUAL_SQL = " select object_id from r_coll_hierarchy_meta_main where object_path = ?";
 	
@@ -91,21 +107,29 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 
 	private static final String GET_DATA_OBJECT_IDS_LIKE_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and lower(meta_attr_value) like lower(?)";
 
-	private static final String GET_DATA_OBJECT_IDS_NUM_LESS_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and num_less_than(meta_attr_value, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_NUM_LESS_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and meta_attr_num_value < to_number(? default null on conversion error)";
+
+	private static final String GET_DATA_OBJECT_IDS_NUM_LESS_OR_EQUAL_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and meta_attr_num_value <= to_number(? default null on conversion error)";
+
+	private static final String GET_DATA_OBJECT_IDS_NUM_GREATER_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and meta_attr_num_value > to_number(? default null on conversion error)";
 
-	private static final String GET_DATA_OBJECT_IDS_NUM_LESS_OR_EQUAL_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and num_less_or_equal(meta_attr_value, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_NUM_GREATER_OR_EQUAL_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and meta_attr_num_value >= to_number(? default null on conversion error)";
 
-	private static final String GET_DATA_OBJECT_IDS_NUM_GREATER_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and num_greater_than(meta_attr_value, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_LESS_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and meta_attr_timestamp_value < to_timestamp(? default null on conversion error, ?) and timestamp_less_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_NUM_GREATER_OR_EQUAL_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and num_greater_or_equal(meta_attr_value, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_LESS_THAN_FORMAT_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and timestamp_less_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_LESS_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and timestamp_less_than(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_GREATER_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and meta_attr_timestamp_value > to_timestamp(? default null on conversion error, ?) and timestamp_greater_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_GREATER_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and timestamp_greater_than(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_GREATER_THAN_FORMAT_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and timestamp_greater_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_LESS_OR_EQUAL_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and timestamp_less_or_equal(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_LESS_OR_EQUAL_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and meta_attr_timestamp_value <= to_timestamp(? default null on conversion error, ?) and timestamp_less_or_equal(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_GREATER_OR_EQUAL_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and timestamp_greater_or_equal(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_LESS_OR_EQUAL_FORMAT_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and timestamp_less_or_equal(meta_attr_value, ?, ?) = '1'";
+
+	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_GREATER_OR_EQUAL_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and meta_attr_timestamp_value >= to_timestamp(? default null on conversion error, ?) and timestamp_greater_or_equal(meta_attr_value, ?, ?) = '1'";
+
+	private static final String GET_DATA_OBJECT_IDS_TIMESTAMP_GREATER_OR_EQUAL_FORMAT_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and timestamp_greater_or_equal(meta_attr_value, ?, ?) = '1'";
 	
 	private static final String GET_DATA_OBJECT_IDS_PATH_EQUAL_SQL = " select object_id from r_data_hierarchy_meta_main where object_path = ?";
 	
@@ -117,21 +141,29 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 
 	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_LIKE_SQL = " select object_id from hpc_data_meta_main where object_path like ? and lower(meta_attr_value) like lower(?)";
 
-	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_NUM_LESS_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and num_less_than(meta_attr_value, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_NUM_LESS_THAN_SQL = " select object_id from r_data_hierarchy_meta_main where object_path like ? and meta_attr_num_value < to_number(? default null on conversion error)";
+
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_NUM_LESS_OR_EQUAL_SQL = " select object_id from hpc_data_meta_main where object_path like ? and meta_attr_num_value <= to_number(? default null on conversion error)";
+
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_NUM_GREATER_THAN_SQL = " select object_id from hpc_data_meta_main where object_path like ? and meta_attr_num_value > to_number(? default null on conversion error)";
+
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_NUM_GREATER_OR_EQUAL_SQL = " select object_id from hpc_data_meta_main where object_path like ? and meta_attr_num_value >= to_number(? default null on conversion error)";
 
-	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_NUM_LESS_OR_EQUAL_SQL = " select object_id from hpc_data_meta_main where object_path like ? and num_less_or_equal(meta_attr_value, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_LESS_THAN_SQL = " select object_id from hpc_data_meta_main where object_path like ? and meta_attr_timestamp_value < to_timestamp(? default null on conversion error, ?) and timestamp_less_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_NUM_GREATER_THAN_SQL = " select object_id from hpc_data_meta_main where object_path like ? and num_greater_than(meta_attr_value, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_LESS_THAN_FORMAT_SQL = " select object_id from hpc_data_meta_main where object_path like ? and timestamp_less_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_NUM_GREATER_OR_EQUAL_SQL = " select object_id from hpc_data_meta_main where object_path like ? and num_greater_or_equal(meta_attr_value, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_GREATER_THAN_SQL = " select object_id from hpc_data_meta_main where object_path like ? and meta_attr_timestamp_value > to_timestamp(? default null on conversion error, ?) and timestamp_greater_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_LESS_THAN_SQL = " select object_id from hpc_data_meta_main where object_path like ? and timestamp_less_than(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_GREATER_THAN_FORMAT_SQL = " select object_id from hpc_data_meta_main where object_path like ? and timestamp_greater_than(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_GREATER_THAN_SQL = " select object_id from hpc_data_meta_main where object_path like ? and timestamp_greater_than(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_LESS_OR_EQUAL_SQL = " select object_id from hpc_data_meta_main where object_path like ? and meta_attr_timestamp_value <= to_timestamp(? default null on conversion error, ?) and timestamp_less_or_equal(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_LESS_OR_EQUAL_SQL = " select object_id from hpc_data_meta_main where object_path like ? and timestamp_less_or_equal(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_LESS_OR_EQUAL_FORMAT_SQL = " select object_id from hpc_data_meta_main where object_path like ? and timestamp_less_or_equal(meta_attr_value, ?, ?) = '1'";
 
-	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_GREATER_OR_EQUAL_SQL = " select object_id from hpc_data_meta_main where object_path like ? and timestamp_greater_or_equal(meta_attr_value, ?, ?) = '1'";
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_GREATER_OR_EQUAL_SQL = " select object_id from hpc_data_meta_main where object_path like ? and meta_attr_timestamp_value >= to_timestamp(? default null on conversion error, ?) and timestamp_greater_or_equal(meta_attr_value, ?, ?) = '1'";
+
+	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_GREATER_OR_EQUAL_FORMAT_SQL = " select object_id from hpc_data_meta_main where object_path like ? and timestamp_greater_or_equal(meta_attr_value, ?, ?) = '1'";
 	
 	private static final String GET_DATA_OBJECT_IDS_SELF_METADATA_PATH_EQUAL_SQL = " select object_id from hpc_data_meta_main where object_path = ?";
 	
@@ -175,8 +207,16 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 
 	private static final String LIMIT_OFFSET_ALL_SQL = " offset ? rows fetch next ? rows only ";
 
+	private static final String KEYSET_LIMIT_SQL = " order by object_id fetch next ? rows only";
+
+	private static final String KEYSET_FILTER_SQL = "main1.object_id > ?";
+
+	private static final String KEYSET_ORDER_BY_SQL = " order by mv.object_id";
+
 	private static final String GET_COLLECTION_PATHS_SQL = "select distinct object_path from r_coll_hierarchy_meta_main mv, (select distinct object_id from ( ";
 
+	private static final String GET_COLLECTION_IDS_AND_PATHS_SQL = "select distinct mv.object_id, mv.object_path from r_coll_hierarchy_meta_main mv, (select distinct object_id from ( ";
+
 	private static final String GET_DETAILED_PARENT_COLLECTION_PATHS_SQL = "select mv.object_id, coll.coll_name, mv.object_path, coll.parent_coll_name, coll.coll_owner_name, "
 			+ "coll.coll_owner_zone, coll.coll_map_id, coll.coll_inheritance, coll.r_comment, "
 			+ "coll.coll_info1, coll.coll_info2, coll.create_ts, coll.r_comment, coll.coll_type, "
@@ -194,6 +234,8 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 
 	private static final String GET_DATA_OBJECT_PATHS_SQL = "select distinct object_path from r_data_hierarchy_meta_main mv, (select distinct object_id from ( ";
 
+	private static final String GET_DATA_OBJECT_IDS_AND_PATHS_SQL = "select distinct mv.object_id, mv.object_path from r_data_hierarchy_meta_main mv, (select distinct object_id from ( ";
+
 	private static final String GET_DETAILED_DATA_OBJECT_PATHS_SQL = "select mv.object_id, mv.coll_id, mv.object_path, mv.meta_attr_name, "
 			+ "mv.meta_attr_value, mv.meta_attr_unit, mv.data_level, mv.level_label "
 			+ "from r_data_hierarchy_meta_main mv, "
@@ -207,6 +249,20 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 	private static final String GET_ALL_DATA_OBJECT_PATHS2_SQL = ") data join r_coll_main coll on data.coll_id=coll.coll_id "
 			+ "join r_data_hierarchy_user_meta_main main1 on main1.object_id=data.data_id ";
 
+	private static final String GET_ALL_DATA_OBJECT_PATHS_ORDER_BY_SQL = " order by main1.object_id, main1.data_level";
+
+	private static final String GET_DETAILED_DATA_OBJECT_PATHS_BY_PATH_SQL = "select mv.object_id, mv.coll_id, mv.object_path, mv.meta_attr_name, "
+			+ "mv.meta_attr_value, mv.meta_attr_unit, mv.data_level, mv.level_label "
+			+ "from r_data_hierarchy_meta_main mv where mv.object_path in ";
+
+	// The timestamp formats the typed timestamp column (meta_attr_timestamp_value) is
+	// populated with. See the meta_attr_timestamp() DB function.
+	private static final Set<String> TYPED_TIMESTAMP_FORMATS = Set.of("MM-DD-YYYY", "MM-DD-YYYY HH24:MI:SS",
+			"YYYY-MM-DD", "YYYY-MM-DD HH24:MI:SS");
+
+	// Oracle limits the number of expressions in an 'in' list to 1000.
+	private static final int MAX_IN_LIST_SIZE = 1000;
+
 	private static final String GET_DATA_OBJECT_COUNT_SQL = "select count(distinct object_id) from (";
 
 	private static final String GET_ALL_DATA_OBJECT_COUNT_SQL = "select count(data_id) from R_DATA_MAIN where ";
@@ -234,6 +290,15 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 			+ "where user_main.USER_ID = groups.USER_ID and groups.GROUP_USER_ID = obj_access.USER_ID "
 			+ "and obj_access.object_id = data_main.DATA_ID and user_main.USER_NAME = ?)";
 
+	private static final String GET_DATA_OBJECTS_METADATA_SQL = "select coll_main.COLL_NAME, data_main.DATA_NAME, "
+			+ "META_ATTR_NAME, META_ATTR_VALUE, META_ATTR_UNIT, 1 as DATA_LEVEL, null as LEVEL_LABEL "
+			+ "from R_META_MAIN meta_main, R_OBJT_METAMAP metamap, R_DATA_MAIN data_main, R_COLL_MAIN coll_main "
+			+ "where data_main.COLL_ID = coll_main.COLL_ID and meta_main.META_ID = metamap.META_ID and data_main.DATA_ID = metamap.OBJECT_ID "
+			+ "and exists (select 1 from R_USER_MAIN user_main, R_USER_GROUP groups, R_OBJT_ACCESS obj_access "
+			+ "where user_main.USER_ID = groups.USER_ID and groups.GROUP_USER_ID = obj_access.USER_ID "
+			+ "and obj_access.object_id = data_main.DATA_ID and user_main.USER_NAME = ?) "
+			+ "and (coll_main.COLL_NAME, data_main.DATA_NAME) in ";
+
 	private static final String GET_COLLECTION_METADATA_ATTRIBUTES_SQL = "r_coll_meta_attributes ";
 
 	private static final String GET_DATA_OBJECT_METADATA_ATTRIBUTES_SQL = "r_data_meta_attributes ";
@@ -249,7 +314,17 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 
 	private static final String GET_METADATA_MODIFIED_AT_SQL = "select max(cast(modify_ts as bigint)) from r_objt_metamap where object_id = ?";
 
-	private static final String REFRESH_VIEWS_SQL = "call REFRESH_HOURLY_MATERIALIZED_VIEW()";
+	private static final String GET_METADATA_HIGH_WATER_MARK_SQL = "select (select max(id) from hpc_data_meta_main) || ':' || "
+			+ "(select to_char(max(last_refresh_end_time), 'YYYYMMDDHH24MISS') from all_mviews where mview_name in "
+			+ "('HPC_DATA_META_MAIN_MV', 'HPC_DATA_INHERITED_META_MAIN_MV')) || ':' || "
+			+ "(select to_char(max(LAST_REFRESH_COMPLETED), 'YYYYMMDDHH24MISS') from HPC_METADATA_VIEW_REFRESH) from dual";
+
+	private static final String REFRESH_VIEWS_SQL = "call REFRESH_HOURLY_MATERIALIZED_VIEW(?)";
+
+	private static final String GET_VIEWS_REFRESH_STATUS_SQL = "select VIEW_NAME, LAST_REFRESH_TYPE, LAST_REFRESH_STARTED, "
+			+ "LAST_REFRESH_COMPLETED, LAST_REFRESH_DURATION, LAST_REFRESH_COLLECTIONS, LAST_FULL_REFRESH_COMPLETED, "
+			+ "round((cast(systimestamp as date) - cast(LAST_REFRESH_STARTED as date)) * 86400) as STALENESS "
+			+ "from HPC_METADATA_VIEW_REFRESH order by VIEW_NAME";
 
 	private static final String GET_DATA_OBJECTS_SQL = "select data_main.DATA_ID, data_main.COLL_ID, data_main.DATA_NAME, coll_main.COLL_NAME, "
 			+ "data_main.DATA_SIZE, data_main.DATA_PATH, data_main.DATA_OWNER_NAME, data_main.CREATE_TS "
@@ -275,17 +350,21 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 	private static final String GET_COLLECTION_SIZE_FOR_PATH_SQL = "SELECT SUM(TOTALSIZE) FROM R_REPORT_COLLECTION_SIZE WHERE coll_name = ?";
 
 	private static final String INSERT_DATA_META_MAIN_SQL = "insert into HPC_DATA_META_MAIN "
-			+ "(OBJECT_ID,OBJECT_PATH,COLL_ID,META_ID,DATA_LEVEL,LEVEL_LABEL,META_ATTR_NAME,META_ATTR_VALUE,META_ATTR_UNIT) "
+			+ "(OBJECT_ID,OBJECT_PATH,COLL_ID,META_ID,DATA_LEVEL,LEVEL_LABEL,META_ATTR_NAME,META_ATTR_VALUE,META_ATTR_UNIT,"
+			+ "META_ATTR_NUM_VALUE,META_ATTR_TIMESTAMP_VALUE) "
 			+ "select data.data_id, ? , "
-			+ "data.coll_id, map.meta_id, 1, 'DataObject', meta.META_ATTR_NAME, meta.META_ATTR_VALUE, meta.META_ATTR_UNIT "
+			+ "data.coll_id, map.meta_id, 1, 'DataObject', meta.META_ATTR_NAME, meta.META_ATTR_VALUE, meta.META_ATTR_UNIT, "
+			+ "meta_attr_number(meta.META_ATTR_VALUE), meta_attr_timestamp(meta.META_ATTR_VALUE) "
 			+ "from r_data_main data, r_objt_metamap map, r_meta_main meta, r_coll_main coll "
 			+ "where data.coll_id = coll.coll_id and coll.coll_name = ? and data.data_name = ? "
 			+ "and data.data_id=map.object_id and map.meta_id=meta.meta_id ";
 
 	private static final String INSERT_DATA_META_MAIN_UNDER_COLL_SQL = "insert into HPC_DATA_META_MAIN "
-			+ "(OBJECT_ID,OBJECT_PATH,COLL_ID,META_ID,DATA_LEVEL,LEVEL_LABEL,META_ATTR_NAME,META_ATTR_VALUE,META_ATTR_UNIT) "
+			+ "(OBJECT_ID,OBJECT_PATH,COLL_ID,META_ID,DATA_LEVEL,LEVEL_LABEL,META_ATTR_NAME,META_ATTR_VALUE,META_ATTR_UNIT,"
+			+ "META_ATTR_NUM_VALUE,META_ATTR_TIMESTAMP_VALUE) "
 			+ "select data.data_id, coll_name||'/'||data_name , "
-			+ "data.coll_id, map.meta_id, 1, 'DataObject', meta.META_ATTR_NAME, meta.META_ATTR_VALUE, meta.META_ATTR_UNIT "
+			+ "data.coll_id, map.meta_id, 1, 'DataObject', meta.META_ATTR_NAME, meta.META_ATTR_VALUE, meta.META_ATTR_UNIT, "
+			+ "meta_attr_number(meta.META_ATTR_VALUE), meta_attr_timestamp(meta.META_ATTR_VALUE) "
 			+ "from r_data_main data, r_objt_metamap map, r_meta_main meta, r_coll_main coll "
 			+ "where data.coll_id = coll.coll_id and coll.coll_name like ? "
 			+ "and data.data_id=map.object_id and map.meta_id=meta.meta_id ";
@@ -304,6 +383,10 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 
 	private int fetchSize = 1000;
 
+	// The interval (in hours) of the full refresh of the collection hierarchy
+	// metadata. It is refreshed incrementally in between.
+	private int hierarchyFullRefreshInterval = 24;
+
 	// The logger instance.
 	private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
@@ -355,6 +438,14 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 		return metadataEntry;
 	};
 
+	private RowMapper<HpcSearchObjectPath> searchObjectPathRowMapper = (rs, rowNum) -> {
+		HpcSearchObjectPath searchObjectPath = new HpcSearchObjectPath();
+		searchObjectPath.setId(rs.getInt("OBJECT_ID"));
+		searchObjectPath.setAbsolutePath(rs.getString("OBJECT_PATH"));
+
+		return searchObjectPath;
+	};
+
 	private RowMapper<HpcSearchMetadataEntry> searchMetadataEntryRowMapper = (rs, rowNum) -> {
 		HpcSearchMetadataEntry searchMetadataEntry = new HpcSearchMetadataEntry();
 		Long id = rs.getLong(1);
@@ -461,6 +552,29 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 		return dupMetadataEntry;
 	};
 
+	private RowMapper<HpcMetadataViewRefreshStatus> viewRefreshStatusRowMapper = (rs, rowNum) -> {
+		HpcMetadataViewRefreshStatus refreshStatus = new HpcMetadataViewRefreshStatus();
+
+		refreshStatus.setViewName(rs.getString("VIEW_NAME"));
+		refreshStatus.setLastRefreshType(rs.getString("LAST_REFRESH_TYPE"));
+		Calendar lastRefreshStarted = Calendar.getInstance();
+		lastRefreshStarted.setTime(rs.getTimestamp("LAST_REFRESH_STARTED"));
+		refreshStatus.setLastRefreshStarted(lastRefreshStarted);
+		Calendar lastRefreshCompleted = Calendar.getInstance();
+		lastRefreshCompleted.setTime(rs.getTimestamp("LAST_REFRESH_COMPLETED"));
+		refreshStatus.setLastRefreshCompleted(lastRefreshCompleted);
+		refreshStatus.setLastRefreshDuration(rs.getLong("LAST_REFRESH_DURATION"));
+		refreshStatus.setLastRefreshCollections(rs.getLong("LAST_REFRESH_COLLECTIONS"));
+		if (rs.getTimestamp("LAST_FULL_REFRESH_COMPLETED") != null) {
+			Calendar lastFullRefreshCompleted = Calendar.getInstance();
+			lastFullRefreshCompleted.setTime(rs.getTimestamp("LAST_FULL_REFRESH_COMPLETED"));
+			refreshStatus.setLastFullRefreshCompleted(lastFullRefreshCompleted);
+		}
+		refreshStatus.setStaleness(rs.getLong("STALENESS"));
+
+		return refreshStatus;
+	};
+
 	// SQL Maps from operators to queries and filters.
 	private HpcSQLMaps dataObjectSQL = new HpcSQLMaps();
 	private HpcSQLMaps collectionSQL = new HpcSQLMaps();
@@ -469,9 +583,17 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 	// Constructors
 	// ---------------------------------------------------------------------//
 
-	/** Constructor for Spring Dependency Injection. */
-	private HpcMetadataDAOImpl(int fetchSize) {
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 *
+	 * @param fetchSize                    The JDBC fetch size.
+	 * @param hierarchyFullRefreshInterval The interval (in hours) of the full
+	 *                                     refresh of the collection hierarchy
+	 *                                     metadata.
+	 */
+	private HpcMetadataDAOImpl(int fetchSize, int hierarchyFullRefreshInterval) {
 		this.fetchSize = fetchSize;
+		this.hierarchyFullRefreshInterval = hierarchyFullRefreshInterval;
 
 		dataObjectSQL.queries.put(HpcMetadataQueryOperator.EQUAL, GET_DATA_OBJECT_IDS_EQUAL_SQL);
 		dataObjectSQL.queries.put(HpcMetadataQueryOperator.NOT_EQUAL, GET_DATA_OBJECT_IDS_NOT_EQUAL_SQL);
@@ -538,6 +660,32 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 		collectionSQL.queries.put(HpcMetadataQueryOperator.PATH_LIKE,
 				GET_COLLECTION_IDS_PATH_LIKE_SQL);
 
+		// Timestamp queries with a format not supported by the typed timestamp column.
+		dataObjectSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.TIMESTAMP_LESS_THAN,
+				GET_DATA_OBJECT_IDS_TIMESTAMP_LESS_THAN_FORMAT_SQL);
+		dataObjectSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.TIMESTAMP_GREATER_THAN,
+				GET_DATA_OBJECT_IDS_TIMESTAMP_GREATER_THAN_FORMAT_SQL);
+		dataObjectSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.TIMESTAMP_LESS_OR_EQUAL,
+				GET_DATA_OBJECT_IDS_TIMESTAMP_LESS_OR_EQUAL_FORMAT_SQL);
+		dataObjectSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.TIMESTAMP_GREATER_OR_EQUAL,
+				GET_DATA_OBJECT_IDS_TIMESTAMP_GREATER_OR_EQUAL_FORMAT_SQL);
+		dataObjectSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.SELF_TIMESTAMP_LESS_THAN,
+				GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_LESS_THAN_FORMAT_SQL);
+		dataObjectSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.SELF_TIMESTAMP_GREATER_THAN,
+				GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_GREATER_THAN_FORMAT_SQL);
+		dataObjectSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.SELF_TIMESTAMP_LESS_OR_EQUAL,
+				GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_LESS_OR_EQUAL_FORMAT_SQL);
+		dataObjectSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.SELF_TIMESTAMP_GREATER_OR_EQUAL,
+				GET_DATA_OBJECT_IDS_SELF_METADATA_TIMESTAMP_GREATER_OR_EQUAL_FORMAT_SQL);
+		collectionSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.TIMESTAMP_LESS_THAN,
+				GET_COLLECTION_IDS_TIMESTAMP_LESS_THAN_FORMAT_SQL);
+		collectionSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.TIMESTAMP_GREATER_THAN,
+				GET_COLLECTION_IDS_TIMESTAMP_GREATER_THAN_FORMAT_SQL);
+		collectionSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.TIMESTAMP_LESS_OR_EQUAL,
+				GET_COLLECTION_IDS_TIMESTAMP_LESS_OR_EQUAL_FORMAT_SQL);
+		collectionSQL.timestampFormatQueries.put(HpcMetadataQueryOperator.TIMESTAMP_GREATER_OR_EQUAL,
+				GET_COLLECTION_IDS_TIMESTAMP_GREATER_OR_EQUAL_FORMAT_SQL);
+
 		dataObjectSQL.levelFilters.put(HpcMetadataQueryOperator.EQUAL, DATA_OBJECT_LEVEL_EQUAL_FILTER);
 		dataObjectSQL.levelFilters.put(HpcMetadataQueryOperator.NOT_EQUAL, DATA_OBJECT_LEVEL_NOT_EQUAL_FILTER);
 		dataObjectSQL.levelFilters.put(HpcMetadataQueryOperator.NUM_LESS_THAN, DATA_OBJECT_LEVEL_NUM_LESS_THAN_FILTER);
@@ -599,6 +747,35 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 				limit, true, false, true));
 	}
 
+	@Override
+	public List<HpcSearchObjectPath> getCollectionPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			String dataManagementUsername, Integer afterObjectId, int limit,
+			HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException {
+		return getObjectPaths(prepareKeysetQuery(GET_COLLECTION_IDS_AND_PATHS_SQL,
+				toQuery(collectionSQL, compoundMetadataQuery, defaultLevelFilter, null), dataManagementUsername,
+				afterObjectId, limit, false, true));
+	}
+
+	@Override
+	public List<HpcSearchMetadataEntryForCollection> getDetailedCollectionPaths(List<String> paths)
+			throws HpcException {
+		List<HpcSearchMetadataEntryForCollection> detailedPaths = new ArrayList<>();
+		for (int i = 0; i < paths.size(); i += MAX_IN_LIST_SIZE) {
+			detailedPaths.addAll(getDetailedPathsForCollection(toInQuery(GET_DETAILED_PARENT_COLLECTION_PATHS_SQL,
+					paths.subList(i, Math.min(i + MAX_IN_LIST_SIZE, paths.size())))));
+		}
+		return detailedPaths;
+	}
+
+	@Override
+	public List<HpcSearchMetadataEntryForCollection> getDetailedCollectionPathsAfter(
+			HpcCompoundMetadataQuery compoundMetadataQuery, String dataManagementUsername, Integer afterObjectId,
+			int limit, HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException {
+		return getDetailedPathsForCollection(prepareKeysetQuery(GET_DETAILED_COLLECTION_PATHS_SQL,
+				toQuery(collectionSQL, compoundMetadataQuery, defaultLevelFilter, null), dataManagementUsername,
+				afterObjectId, limit, true, true));
+	}
+
 	@Override
 	public int getCollectionCount(HpcCompoundMetadataQuery compoundMetadataQuery, String dataManagementUsername,
 			HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException {
@@ -626,6 +803,34 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 				limit, true, false, false));
 	}
 
+	@Override
+	public List<HpcSearchObjectPath> getDataObjectPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			String dataManagementUsername, Integer afterObjectId, int limit,
+			HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException {
+		return getObjectPaths(prepareKeysetQuery(GET_DATA_OBJECT_IDS_AND_PATHS_SQL,
+				toQuery(dataObjectSQL, compoundMetadataQuery, defaultLevelFilter, null), dataManagementUsername,
+				afterObjectId, limit, false, false));
+	}
+
+	@Override
+	public List<HpcSearchMetadataEntry> getDetailedDataObjectPathsAfter(HpcCompoundMetadataQuery compoundMetadataQuery,
+			String dataManagementUsername, Integer afterObjectId, int limit,
+			HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException {
+		return getDetailedPaths(prepareKeysetQuery(GET_DETAILED_DATA_OBJECT_PATHS_SQL,
+				toQuery(dataObjectSQL, compoundMetadataQuery, defaultLevelFilter, null), dataManagementUsername,
+				afterObjectId, limit, true, false));
+	}
+
+	@Override
+	public List<HpcSearchMetadataEntry> getDetailedDataObjectPaths(List<String> paths) throws HpcException {
+		List<HpcSearchMetadataEntry> detailedPaths = new ArrayList<>();
+		for (int i = 0; i < paths.size(); i += MAX_IN_LIST_SIZE) {
+			detailedPaths.addAll(getDetailedPaths(toInQuery(GET_DETAILED_DATA_OBJECT_PATHS_BY_PATH_SQL,
+					paths.subList(i, Math.min(i + MAX_IN_LIST_SIZE, paths.size())))));
+		}
+		return detailedPaths;
+	}
+
 	@Override
 	public List<HpcSearchMetadataEntry> getAllDataObjectPaths(String path, String dataManagementUsername, int offset,
 			int limit) throws HpcException {
@@ -633,6 +838,29 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 				dataManagementUsername, offset, limit));
 	}
 
+	@Override
+	public void streamAllDataObjectPaths(String path, String dataManagementUsername, int fetchSize,
+			Consumer<HpcSearchMetadataEntry> consumer) throws HpcException {
+		HpcPreparedQuery preparedQuery = prepareAllQuery(GET_ALL_DATA_OBJECT_PATHS_SQL,
+				GET_ALL_DATA_OBJECT_PATHS2_SQL + GET_ALL_DATA_OBJECT_PATHS_ORDER_BY_SQL, path, dataManagementUsername,
+				null, null);
+
+		try {
+			// The fetch size is set in the statement setter since the template applies
+			// its own (shared) fetch size after the statement is created.
+			jdbcTemplate.query(preparedQuery.sql, statement -> {
+				statement.setFetchSize(fetchSize);
+				for (int i = 0; i < preparedQuery.args.length; i++) {
+					statement.setObject(i + 1, preparedQuery.args[i]);
+				}
+			}, (RowCallbackHandler) rs -> consumer.accept(searchExtMetadataEntryRowMapper.mapRow(rs, rs.getRow())));
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to stream data-object Detailed Paths: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	@Override
 	public int getDataObjectCount(HpcCompoundMetadataQuery compoundMetadataQuery, String dataManagementUsername,
 			HpcMetadataQueryLevelFilter defaultLevelFilter) throws HpcException {
@@ -684,16 +912,12 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 			return new ArrayList<>();
 
 		// Convert the data object paths to collection paths
-		List<String> paths = new ArrayList<>();
+		Set<String> paths = new LinkedHashSet<>();
 		for (String fullPath : fullPaths) {
-			String colPath = fullPath.substring(0, fullPath.lastIndexOf('/'));
-			if (!paths.contains(colPath)) {
-				paths.add(colPath);
-			}
+			paths.add(fullPath.substring(0, fullPath.lastIndexOf('/')));
 		}
 
-		return getDetailedPathsForCollection(prepareQuery(GET_DETAILED_PARENT_COLLECTION_PATHS_SQL, toQuery(paths),
-				null, null, null, true, true, true));
+		return getDetailedCollectionPaths(new ArrayList<>(paths));
 	}
 
 	@Override
@@ -748,6 +972,37 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 		}
 	}
 
+	@Override
+	public Map<String, List<HpcMetadataEntry>> getDataObjectsMetadata(List<String> paths,
+			String dataManagementUsername) throws HpcException {
+		Map<String, List<HpcMetadataEntry>> metadataEntries = new HashMap<>();
+		if (CollectionUtils.isEmpty(paths)) {
+			return metadataEntries;
+		}
+
+		StringBuilder sqlQuery = new StringBuilder(GET_DATA_OBJECTS_METADATA_SQL).append('(');
+		List<Object> args = new ArrayList<>();
+		args.add(dataManagementUsername);
+		for (String path : paths) {
+			sqlQuery.append(args.size() > 1 ? ", (?, ?)" : "(?, ?)");
+			args.add(path.substring(0, path.lastIndexOf('/')));
+			args.add(path.substring(path.lastIndexOf('/') + 1));
+		}
+		sqlQuery.append(')');
+
+		try {
+			jdbcTemplate.query(sqlQuery.toString(), (RowCallbackHandler) rs -> metadataEntries
+					.computeIfAbsent(rs.getString("COLL_NAME") + "/" + rs.getString("DATA_NAME"),
+							path -> new ArrayList<>())
+					.add(metadataEntryRowMapper.mapRow(rs, rs.getRow())), args.toArray());
+			return metadataEntries;
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get data objects metadata: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	@Override
 	public List<HpcDataObject> getDataObjects(List<HpcMetadataQuery> metadataQueries, String dataManagementUsername)
 			throws HpcException {
@@ -793,10 +1048,21 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 		}
 	}
 
+	@Override
+	public String getMetadataHighWaterMark() throws HpcException {
+		try {
+			return jdbcTemplate.queryForObject(GET_METADATA_HIGH_WATER_MARK_SQL, String.class);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get metadata high-water mark: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	@Override
 	public void refreshViews() throws HpcException {
 		try {
-			jdbcTemplate.execute(REFRESH_VIEWS_SQL);
+			jdbcTemplate.update(REFRESH_VIEWS_SQL, hierarchyFullRefreshInterval);
 
 		} catch (DataAccessException e) {
 			throw new HpcException("Failed to refresh hourly materialized views: " + e.getMessage(),
@@ -804,6 +1070,17 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 		}
 	}
 
+	@Override
+	public List<HpcMetadataViewRefreshStatus> getViewsRefreshStatus() throws HpcException {
+		try {
+			return jdbcTemplate.query(GET_VIEWS_REFRESH_STATUS_SQL, viewRefreshStatusRowMapper);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get metadata views refresh status: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	@Override
 	public List<HpcCollectionListingEntry> getBrowseMetadataByIds(List<Integer> ids) throws HpcException {
 		List<HpcCollectionListingEntry> entries = new ArrayList<>();
@@ -969,6 +1246,8 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 	// SQL Maps from operators to queries and filters.
 	private class HpcSQLMaps {
 		private EnumMap<HpcMetadataQueryOperator, String> queries = new EnumMap<>(HpcMetadataQueryOperator.class);
+		private EnumMap<HpcMetadataQueryOperator, String> timestampFormatQueries = new EnumMap<>(
+				HpcMetadataQueryOperator.class);
 		private EnumMap<HpcMetadataQueryOperator, String> levelFilters = new EnumMap<>(HpcMetadataQueryOperator.class);
 		private EnumMap<HpcMetadataQueryOperator, String> levelLabelFilters = new EnumMap<>(
 				HpcMetadataQueryOperator.class);
@@ -1006,8 +1285,7 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 		if (userQuery != null) {
 			sqlQueryBuilder.append(userQuery.sql);
 			args.addAll(Arrays.asList(userQuery.args));
-			if (!getObjectPathsQuery.equals(GET_DETAILED_PARENT_COLLECTION_PATHS_SQL))
-				sqlQueryBuilder.append(") main1 ");
+			sqlQueryBuilder.append(") main1 ");
 		}
 
 		// Add a query to only include entities the user can access.
@@ -1039,6 +1317,64 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 		return preparedQuery;
 	}
 
+	/**
+	 * Prepare a SQL query w/ keyset pagination. Instead of skipping 'offset'
+	 * objects (which the DB has to scan and discard), only objects w/ ID greater
+	 * than the last object ID of the previous page are queried.
+	 * 
+	 * @param getObjectPathsQuery    The query to get object paths based on object
+	 *                               IDs.
+	 * @param userQuery              The calculated SQL query based on user input
+	 *                               (represented by query domain objects).
+	 * @param dataManagementUsername The data management user name.
+	 * @param afterObjectId          (Optional) The last object ID of the previous
+	 *                               page. Null for the first page.
+	 * @param limit                  No more than 'limit' objects will be returned.
+	 * @param detail                 True if this is a detailed query. False
+	 *                               otherwise
+	 * @param isCollection           True if this is a collection query. False
+	 *                               otherwise
+	 * @return A prepared query.
+	 */
+	private HpcPreparedQuery prepareKeysetQuery(String getObjectPathsQuery, HpcPreparedQuery userQuery,
+			String dataManagementUsername, Integer afterObjectId, int limit, boolean detail, boolean isCollection) {
+		StringBuilder sqlQueryBuilder = new StringBuilder();
+		List<Object> args = new ArrayList<>();
+
+		// Combine the metadata queries into a single SQL statement.
+		sqlQueryBuilder.append(getObjectPathsQuery);
+		sqlQueryBuilder.append(userQuery.sql);
+		args.addAll(Arrays.asList(userQuery.args));
+		sqlQueryBuilder.append(") main1 ");
+
+		// Add a query to only include entities the user can access.
+		if (dataManagementUsername != null) {
+			sqlQueryBuilder.append(" where exists ");
+			sqlQueryBuilder.append(USER_ACCESS_SQL);
+			args.add(dataManagementUsername);
+		}
+
+		// Add the keyset filter and limit.
+		if (afterObjectId != null) {
+			sqlQueryBuilder.append(dataManagementUsername != null ? " and " : " where ");
+			sqlQueryBuilder.append(KEYSET_FILTER_SQL);
+			args.add(afterObjectId);
+		}
+		sqlQueryBuilder.append(KEYSET_LIMIT_SQL);
+		args.add(limit);
+
+		if (isCollection && detail)
+			sqlQueryBuilder.append(") hit where hit.object_id = mv.object_id and coll.coll_id = hit.object_id");
+		else
+			sqlQueryBuilder.append(") hit where hit.object_id = mv.object_id");
+		sqlQueryBuilder.append(KEYSET_ORDER_BY_SQL);
+
+		HpcPreparedQuery preparedQuery = new HpcPreparedQuery();
+		preparedQuery.sql = sqlQueryBuilder.toString();
+		preparedQuery.args = args.toArray();
+		return preparedQuery;
+	}
+
 	private HpcPreparedQuery prepareAllQuery(String getAllObjectPathsQuery, String getAllObjectPathsQuery2, String path,
 			String dataManagementUsername, Integer offset, Integer limit) {
 		StringBuilder sqlQueryBuilder = new StringBuilder();
@@ -1102,14 +1438,29 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 
 		for (HpcMetadataQuery metadataQuery : metadataQueries) {
 			// If level or label is DataObject, search through self metadata
+			HpcMetadataQueryOperator queryOperator = metadataQuery.getOperator();
 			if(sql.queries.get(HpcMetadataQueryOperator.EQUAL).equals(GET_DATA_OBJECT_IDS_EQUAL_SQL)
 				&& (metadataQuery.getLevelFilter() != null
 						&& metadataQuery.getLevelFilter().getOperator().equals(HpcMetadataQueryOperator.EQUAL) 
 						&& (metadataQuery.getLevelFilter().getLevel() != null && metadataQuery.getLevelFilter().getLevel() == 1
 						|| metadataQuery.getLevelFilter().getLabel() != null && metadataQuery.getLevelFilter().getLabel().equals("DataObject")))) {
-				sqlQuery = sql.queries.get(HpcMetadataQueryOperator.fromValue("SELF_"+ metadataQuery.getOperator().toString()));
-			}  else {
-				sqlQuery = sql.queries.get(metadataQuery.getOperator());
+				queryOperator = HpcMetadataQueryOperator.fromValue("SELF_"+ metadataQuery.getOperator().toString());
+			}
+			sqlQuery = sql.queries.get(queryOperator);
+
+			// The typed timestamp column is populated using a fixed set of formats. Fall
+			// back to parsing meta_attr_value if the query uses a different format.
+			// Otherwise, the typed column narrows the range through its index, and
+			// meta_attr_value is still compared using the query format, so values stored
+			// in a different format are not matched.
+			boolean typedTimestampQuery = false;
+			if (!StringUtils.isEmpty(metadataQuery.getFormat())
+					&& sql.timestampFormatQueries.containsKey(queryOperator)) {
+				if (TYPED_TIMESTAMP_FORMATS.contains(metadataQuery.getFormat().trim().toUpperCase())) {
+					typedTimestampQuery = true;
+				} else {
+					sqlQuery = sql.timestampFormatQueries.get(queryOperator);
+				}
 			}
 			if (sqlQuery == null) {
 				throw new HpcException("Invalid metadata query operator: " + metadataQuery.getOperator(),
@@ -1136,6 +1487,10 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 			if (!StringUtils.isEmpty(metadataQuery.getFormat())) {
 				args.add(metadataQuery.getFormat());
 			}
+			if (typedTimestampQuery) {
+				args.add(metadataQuery.getValue());
+				args.add(metadataQuery.getFormat());
+			}
 
 			// Optionally append a filter to have exact attribute match.
 			if (metadataQuery.getAttributeMatch() == null
@@ -1168,27 +1523,24 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 	}
 
 	/**
-	 * Create a SQL statement from List&lt;String&gt;.
+	 * Prepare a query that ends with an 'in' list of paths. The paths are passed as
+	 * bind variables.
 	 *
-	 * @param paths The list of paths
+	 * @param sql   The query, ending with 'in '.
+	 * @param paths The paths. No more than MAX_IN_LIST_SIZE.
 	 * @return A prepared query.
 	 */
-	private HpcPreparedQuery toQuery(List<String> paths) {
-		StringBuilder sqlQueryBuilder = new StringBuilder();
-		List<Object> args = new ArrayList<>();
-
+	private HpcPreparedQuery toInQuery(String sql, List<String> paths) {
+		StringBuilder sqlQueryBuilder = new StringBuilder(sql);
 		sqlQueryBuilder.append("(");
-		for (String path : paths) {
-			if (sqlQueryBuilder.length() > 1) {
-				sqlQueryBuilder.append(",");
-			}
-			sqlQueryBuilder.append("\'" + path + "\'");
+		for (int i = 0; i < paths.size(); i++) {
+			sqlQueryBuilder.append(i > 0 ? ",?" : "?");
 		}
 		sqlQueryBuilder.append(")");
 
 		HpcPreparedQuery preparedQuery = new HpcPreparedQuery();
 		preparedQuery.sql = sqlQueryBuilder.toString();
-		preparedQuery.args = args.toArray();
+		preparedQuery.args = paths.toArray();
 		return preparedQuery;
 	}
 
@@ -1283,6 +1635,23 @@ public class HpcMetadataDAOImpl implements HpcMetadataDAO {
 		}
 	}
 
+	/**
+	 * Execute a SQL query to get collection or data object IDs and paths.
+	 *
+	 * @param preparedQuery The prepared query to execute.
+	 * @return A list of object IDs and paths.
+	 * @throws HpcException on database error.
+	 */
+	private List<HpcSearchObjectPath> getObjectPaths(HpcPreparedQuery preparedQuery) throws HpcException {
+		try {
+			return jdbcTemplate.query(preparedQuery.sql, searchObjectPathRowMapper, preparedQuery.args);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get collection/data-object Paths: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	/**
 	 * Execute a SQL query to get data object detailed paths.
 	 *
@@ -13,6 +13,7 @@ package gov.nih.nci.hpc.dao.oracle.impl;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
@@ -22,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.transaction.annotation.Transactional;
@@ -52,8 +54,8 @@ public class HpcNotificationDAOImpl implements HpcNotificationDAO {
 
 	// SQL Queries.
 	private static final String UPSERT_SUBSCRIPTION_SQL = "merge into HPC_NOTIFICATION_SUBSCRIPTION using dual on (USER_ID = ? and EVENT_TYPE = ?) "
-			+ "when matched then update set NOTIFICATION_DELIVERY_METHODS = ? "
-			+ "when not matched then insert (USER_ID, EVENT_TYPE, NOTIFICATION_DELIVERY_METHODS) values (?, ?, ?)";
+			+ "when matched then update set NOTIFICATION_DELIVERY_METHODS = ?, DIGEST = ? "
+			+ "when not matched then insert (USER_ID, EVENT_TYPE, NOTIFICATION_DELIVERY_METHODS, DIGEST) values (?, ?, ?, ?)";
 
 	private static final String DELETE_SUBSCRIPTION_SQL = "delete from HPC_NOTIFICATION_SUBSCRIPTION "
 			+ "where USER_ID = ? and EVENT_TYPE = ?";
@@ -62,6 +64,8 @@ public class HpcNotificationDAOImpl implements HpcNotificationDAO {
 
 	private static final String GET_SUBSCRIPTION_SQL = "select * from HPC_NOTIFICATION_SUBSCRIPTION where USER_ID = ? and EVENT_TYPE = ?";
 
+	private static final String GET_EVENT_TYPE_SUBSCRIPTIONS_SQL = "select * from HPC_NOTIFICATION_SUBSCRIPTION where EVENT_TYPE = ?";
+
 	private static final String GET_SUBSCRIPTION_ID_SQL = "select ID from HPC_NOTIFICATION_SUBSCRIPTION where USER_ID = ? and EVENT_TYPE = ?";
 
 	private static final String INSERT_TRIGGER_SQL = "insert into HPC_NOTIFICATION_TRIGGER ( "
@@ -88,6 +92,14 @@ public class HpcNotificationDAOImpl implements HpcNotificationDAO {
 
 	private static final String GET_DELIVERY_RECEIPTS_COUNT_SQL = "select count(*) from HPC_NOTIFICATION_DELIVERY_RECEIPT where USER_ID = ? ";
 
+	private static final String INSERT_DIGEST_ENTRY_SQL = "merge into HPC_NOTIFICATION_DIGEST using dual on (USER_ID = ? and EVENT_ID = ?) "
+			+ "when not matched then insert (USER_ID, EVENT_ID, CREATED) values (?, ?, ?)";
+
+	private static final String GET_DIGEST_USERS_SQL = "select USER_ID from HPC_NOTIFICATION_DIGEST "
+			+ "group by USER_ID having min(CREATED) <= ?";
+
+	private static final String DELETE_DIGEST_ENTRY_SQL = "delete from HPC_NOTIFICATION_DIGEST where USER_ID = ? and EVENT_ID = ?";
+
 	// ---------------------------------------------------------------------//
 	// Instance members
 	// ---------------------------------------------------------------------//
@@ -107,6 +119,7 @@ public class HpcNotificationDAOImpl implements HpcNotificationDAO {
 			notificationSubscription.getNotificationDeliveryMethods()
 					.add(HpcNotificationDeliveryMethod.fromValue(deliveryMethod));
 		}
+		notificationSubscription.setDigest(rs.getBoolean("DIGEST"));
 
 		return notificationSubscription;
 	};
@@ -161,8 +174,9 @@ public class HpcNotificationDAOImpl implements HpcNotificationDAO {
 		try {
 			String eventType = notificationSubscription.getEventType().value();
 			String deliveryMethods = toDeliveryMethodsString(notificationSubscription.getNotificationDeliveryMethods());
-			jdbcTemplate.update(UPSERT_SUBSCRIPTION_SQL, userId, eventType, deliveryMethods, userId, eventType,
-					deliveryMethods);
+			boolean digest = Boolean.TRUE.equals(notificationSubscription.getDigest());
+			jdbcTemplate.update(UPSERT_SUBSCRIPTION_SQL, userId, eventType, deliveryMethods, digest, userId, eventType,
+					deliveryMethods, digest);
 
 			// Update the notification triggers.
 			BigDecimal notificationId = jdbcTemplate.queryForObject(GET_SUBSCRIPTION_ID_SQL, notificationIdRowMapper,
@@ -237,6 +251,21 @@ public class HpcNotificationDAOImpl implements HpcNotificationDAO {
 
 	}
 
+	@Override
+	public Map<String, HpcNotificationSubscription> getSubscriptionsByEventType(HpcEventType eventType)
+			throws HpcException {
+		try {
+			Map<String, HpcNotificationSubscription> subscriptions = new HashMap<>();
+			jdbcTemplate.query(GET_EVENT_TYPE_SUBSCRIPTIONS_SQL, (RowCallbackHandler) rs -> subscriptions
+					.put(rs.getString("USER_ID"), notificationSubscriptionRowMapper.mapRow(rs, 0)), eventType.value());
+			return subscriptions;
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get notification subscriptions: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	@Override
 	public List<String> getSubscribedUsers(HpcEventType eventType) throws HpcException {
 		try {
@@ -349,6 +378,45 @@ public class HpcNotificationDAOImpl implements HpcNotificationDAO {
 		}
 	}
 
+	@Override
+	public void insertDigestEntry(String userId, int eventId) throws HpcException {
+		try {
+			jdbcTemplate.update(INSERT_DIGEST_ENTRY_SQL, userId, eventId, userId, eventId, Calendar.getInstance());
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to insert a notification digest entry: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public List<String> getDigestUsers(Calendar createdBefore) throws HpcException {
+		try {
+			return jdbcTemplate.query(GET_DIGEST_USERS_SQL, userIdRowMapper, createdBefore);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get notification digest users: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public void deleteDigestEntries(String userId, List<Integer> eventIds) throws HpcException {
+		if (eventIds.isEmpty()) {
+			return;
+		}
+
+		try {
+			List<Object[]> batchArgs = new ArrayList<>();
+			eventIds.forEach(eventId -> batchArgs.add(new Object[] { userId, eventId }));
+			jdbcTemplate.batchUpdate(DELETE_DIGEST_ENTRY_SQL, batchArgs);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to delete notification digest entries: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
 	// ---------------------------------------------------------------------//
 	// Helper Methods
 	// ---------------------------------------------------------------------//
@@ -11,15 +11,26 @@ package gov.nih.nci.hpc.dao.oracle.impl;
 
 import static gov.nih.nci.hpc.util.HpcUtil.humanReadableByteCount;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -63,9 +74,6 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 
 	private static final String FILE_RANGE_SELECT = "select " + FILE_SIZE_FUNC_SQL + " as range, count(*) as cnt ";
 
-	private static String FILE_RANGE_FROM = "";
-	private static String FILE_RANGE_WHERE = "";
-
 	private static final String FILE_RANGE_GROUP = " group by " + FILE_SIZE_FUNC_SQL;
 
 	private RowMapper<Map<String, Object>> fileSizeRangeRowMapper = (rs, rowNum) -> {
@@ -265,6 +273,29 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 
 	private static final String REFRESH_VIEWS_SQL = "call REFRESH_DAILY_MATERIALIZED_VIEW()";
 
+	/////////////////////////// DAILY ROLLUPS
+	private static final String REFRESH_ROLLUPS_SQL = "call REFRESH_REPORT_DAILY_ROLLUP(?)";
+
+	private static final String ROLLUPS_LAST_DATE_SQL = "select max(REPORT_DATE) from HPC_REPORT_DAILY_ROLLUP";
+
+	private static final String ROLLUP_TOTALS_FRAGMENT_SQL = " sum(DATA_OBJECT_COUNT) totalObjs, sum(TOTAL_SIZE) totalSize, max(MAX_SIZE) maxSize, "
+			+ "sum(SIZE_RANGE1) range1, sum(SIZE_RANGE2) range2, sum(SIZE_RANGE3) range3, sum(SIZE_RANGE4) range4, "
+			+ "sum(SIZE_RANGE5) range5, sum(SIZE_RANGE6) range6, sum(SIZE_RANGE7) range7 "
+			+ "from HPC_REPORT_DAILY_ROLLUP ";
+	private static final String ROLLUP_DATERANGE_SQL = " REPORT_DATE >= ? and REPORT_DATE < ? ";
+
+	private static final String ROLLUP_TOTALS_SQL = "select " + ROLLUP_TOTALS_FRAGMENT_SQL + "where 1 = 1 ";
+	private static final String ROLLUP_TOTALS_BY_DOC_SQL = " and DOC = ? ";
+	private static final String ROLLUP_TOTALS_BY_USER_SQL = " and REGISTERED_BY = ? ";
+	private static final String ROLLUP_TOTALS_BY_BASEPATH_SQL = " and BASE_PATH = ? ";
+	private static final String ROLLUP_TOTALS_BY_DATE_SQL = " and " + ROLLUP_DATERANGE_SQL;
+
+	private static final String ROLLUP_TOTALS_GROUPBY_BASEPATH_SQL = "select BASE_PATH path, " + ROLLUP_TOTALS_FRAGMENT_SQL
+			+ "where " + ROLLUP_DATERANGE_SQL + "group by BASE_PATH";
+
+	private static final String ROLLUP_TOTALS_GROUPBY_DOC_SQL = "select DOC doc, " + ROLLUP_TOTALS_FRAGMENT_SQL
+			+ "where " + ROLLUP_DATERANGE_SQL + "group by DOC";
+
 	/////////////////////////// RETRIEVE ALL BASE PATHS FOR GRID DATA
 	private static final String BASE_PATHS_SQL = "select BASE_PATH from HPC_DATA_MANAGEMENT_CONFIGURATION";
 	private static final String ALL_DOCS_SQL = "select distinct DOC from HPC_DATA_MANAGEMENT_CONFIGURATION";
@@ -415,8 +446,20 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 	@Autowired
 	private JdbcTemplate jdbcTemplate = null;
 
+	// The report queries executor.
+	@Autowired
+	@Qualifier("hpcReportQueryExecutorService")
+	private ExecutorService reportQueryExecutorService = null;
+
 	private String iRodsBasePath = "";
 
+	// The time (in milliseconds) to wait for a report's queries to complete.
+	private long reportTimeout = 0;
+
+	// The interval (in hours) of the full refresh of the daily report rollups.
+	// They are refreshed incrementally in between.
+	private int rollupsFullRefreshInterval = 168;
+
 	private Gson gson = new Gson();
 
 	// The Logger instance.
@@ -430,9 +473,15 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 	 * Constructor for Spring Dependency Injection.
 	 * 
 	 * @param iRodsBasePath The IRODS base path.
+	 * @param reportTimeout The time (in seconds) to wait for a report's queries to
+	 *                      complete.
+	 * @param rollupsFullRefreshInterval The interval (in hours) of the full
+	 *                                   refresh of the daily report rollups.
 	 */
-	private HpcReportsDAOImpl(String iRodsBasePath) {
+	private HpcReportsDAOImpl(String iRodsBasePath, int reportTimeout, int rollupsFullRefreshInterval) {
 		this.iRodsBasePath = iRodsBasePath;
+		this.reportTimeout = TimeUnit.SECONDS.toMillis(reportTimeout);
+		this.rollupsFullRefreshInterval = rollupsFullRefreshInterval;
 	}
 
 	// ---------------------------------------------------------------------//
@@ -701,74 +750,86 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 			Object[] filesizeuserDateArgs, Object[] filesizebasePathArgs, Object[] filesizebasePathDateArgs,
 			Object[] filesizePathArgs, Object[] filesizePathDateArgs) {
 		List<Map<String, Object>> results = null;
+		String fileRangeFrom = "";
+		String fileRangeWhere = "";
 		if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a ";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_GROUP, fileSizeRangeRowMapper);
+			fileRangeFrom = " from r_report_source_file_size a ";
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + FILE_RANGE_GROUP, fileSizeRangeRowMapper);
 		} else if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_DATE_RANGE)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a ";
-			FILE_RANGE_WHERE = " where CAST(a.create_ts as double precision) BETWEEN ? AND ? ";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_WHERE + FILE_RANGE_GROUP,
+			fileRangeFrom = " from r_report_source_file_size a ";
+			fileRangeWhere = " where CAST(a.create_ts as double precision) BETWEEN ? AND ? ";
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + fileRangeWhere + FILE_RANGE_GROUP,
 					fileSizeRangeRowMapper, filesizedateArgs);
 		} else if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_DOC)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a, r_report_registered_by_doc b ";
-			FILE_RANGE_WHERE = " where a.object_id=b.object_id and b.\"DOC\"=?";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_WHERE + FILE_RANGE_GROUP,
+			fileRangeFrom = " from r_report_source_file_size a, r_report_registered_by_doc b ";
+			fileRangeWhere = " where a.object_id=b.object_id and b.\"DOC\"=?";
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + fileRangeWhere + FILE_RANGE_GROUP,
 					fileSizeRangeRowMapper, filesizedocArgs);
 		} else if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_DOC_BY_DATE_RANGE)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a, r_report_registered_by_doc b ";
-			FILE_RANGE_WHERE = " where a.object_id=b.object_id and "
+			fileRangeFrom = " from r_report_source_file_size a, r_report_registered_by_doc b ";
+			fileRangeWhere = " where a.object_id=b.object_id and "
 					+ "b.\"DOC\"=? and CAST(a.create_ts as double precision) BETWEEN ? AND ?";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_WHERE + FILE_RANGE_GROUP,
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + fileRangeWhere + FILE_RANGE_GROUP,
 					fileSizeRangeRowMapper, filesizedocDateArgs);
 		} else if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_USER)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a, r_report_registered_by b ";
-			FILE_RANGE_WHERE = " where a.object_id=b.object_id and " + "b.meta_attr_value=?";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_WHERE + FILE_RANGE_GROUP,
+			fileRangeFrom = " from r_report_source_file_size a, r_report_registered_by b ";
+			fileRangeWhere = " where a.object_id=b.object_id and " + "b.meta_attr_value=?";
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + fileRangeWhere + FILE_RANGE_GROUP,
 					fileSizeRangeRowMapper, filesizeuserArgs);
 		} else if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_USER_BY_DATE_RANGE)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a, r_report_registered_by b ";
-			FILE_RANGE_WHERE = " where a.object_id=b.object_id and "
+			fileRangeFrom = " from r_report_source_file_size a, r_report_registered_by b ";
+			fileRangeWhere = " where a.object_id=b.object_id and "
 					+ "b.meta_attr_value=? and CAST(a.create_ts as double precision) BETWEEN ? AND ?";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_WHERE + FILE_RANGE_GROUP,
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + fileRangeWhere + FILE_RANGE_GROUP,
 					fileSizeRangeRowMapper, filesizeuserDateArgs);
 		} else if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_BASEPATH)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a, r_report_registered_by_basepath b ";
-			FILE_RANGE_WHERE = " where a.object_id=b.object_id and b.\"BASE_PATH\"=?";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_WHERE + FILE_RANGE_GROUP,
+			fileRangeFrom = " from r_report_source_file_size a, r_report_registered_by_basepath b ";
+			fileRangeWhere = " where a.object_id=b.object_id and b.\"BASE_PATH\"=?";
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + fileRangeWhere + FILE_RANGE_GROUP,
 					fileSizeRangeRowMapper, filesizebasePathArgs);
 		} else if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_BASEPATH_BY_DATE_RANGE)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a, r_report_registered_by_basepath b ";
-			FILE_RANGE_WHERE = " where a.object_id=b.object_id and "
+			fileRangeFrom = " from r_report_source_file_size a, r_report_registered_by_basepath b ";
+			fileRangeWhere = " where a.object_id=b.object_id and "
 					+ "b.\"BASE_PATH\"=? and CAST(a.create_ts as double precision) BETWEEN ? AND ?";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_WHERE + FILE_RANGE_GROUP,
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + fileRangeWhere + FILE_RANGE_GROUP,
 					fileSizeRangeRowMapper, filesizebasePathDateArgs);
 		} else if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_PATH)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a, r_report_collection_path b ";
-			FILE_RANGE_WHERE = " where a.object_id=b.object_id and (b.coll_name like ? or b.coll_name = ?)";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_WHERE + FILE_RANGE_GROUP,
+			fileRangeFrom = " from r_report_source_file_size a, r_report_collection_path b ";
+			fileRangeWhere = " where a.object_id=b.object_id and (b.coll_name like ? or b.coll_name = ?)";
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + fileRangeWhere + FILE_RANGE_GROUP,
 					fileSizeRangeRowMapper, filesizePathArgs);
 		} else if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_PATH_BY_DATE_RANGE)) {
-			FILE_RANGE_FROM = " from r_report_source_file_size a, r_report_collection_path b ";
-			FILE_RANGE_WHERE = " where a.object_id=b.object_id "
+			fileRangeFrom = " from r_report_source_file_size a, r_report_collection_path b ";
+			fileRangeWhere = " where a.object_id=b.object_id "
 					+ "and (b.coll_name like ? or b.coll_name = ?) and CAST(a.create_ts as double precision) BETWEEN ? AND ?";
-			return jdbcTemplate.query(FILE_RANGE_SELECT + FILE_RANGE_FROM + FILE_RANGE_WHERE + FILE_RANGE_GROUP,
+			return jdbcTemplate.query(FILE_RANGE_SELECT + fileRangeFrom + fileRangeWhere + FILE_RANGE_GROUP,
 					fileSizeRangeRowMapper, filesizePathDateArgs);
 		}
 		return results;
 	}
 
-	public List<HpcReport> generatReport(HpcReportCriteria criteria) {
+	@Override
+	public List<HpcReport> generatReport(HpcReportCriteria criteria) throws HpcException {
+		return generatReport(criteria, false);
+	}
+
+	@Override
+	public List<HpcReport> generatReport(HpcReportCriteria criteria, boolean useRollups) throws HpcException {
 		List<HpcReport> reports = new ArrayList<HpcReport>();
 
+		// The rollups are not maintained per path.
+		boolean rollups = useRollups && !criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_PATH)
+				&& !criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_PATH_BY_DATE_RANGE);
+
 		if ((criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_BASEPATH_BY_DATE_RANGE)
 			|| criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_BASEPATH))
 				&& criteria.getPath().equals("All")) {
-			reports = generateGridReport(criteria);
+			reports = generateGridReport(criteria, rollups);
 			return reports;
 		}
 
 		if ((criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_DATA_OWNER))) {
-			reports = generateGridReport(criteria);
+			reports = generateGridReport(criteria, rollups);
 			return reports;
 		}
 
@@ -778,7 +839,12 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 				|| criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_BASEPATH_BY_DATE_RANGE)
 				|| criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_PATH)
 				|| criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_PATH_BY_DATE_RANGE))
-			reports.add(getReport(criteria));
+			reports.add(getReport(criteria, rollups, true));
+
+		// The DOC / user reports are generated concurrently (each report executing its
+		// queries sequentially).
+		HpcReportQueries reportQueries = new HpcReportQueries(true);
+		List<Future<HpcReport>> reportQueryList = new ArrayList<>();
 
 		if (criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_DOC)
 				|| criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_DOC_BY_DATE_RANGE)) {
@@ -791,11 +857,12 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 			for (String doc : docs) {
 				criteria.getDocs().clear();
 				if (doc.equals("All")) {
-					reports = generateGridReport(criteria);
+					reportQueries.cancel();
+					reportQueryList.clear();
+					reports = generateGridReport(criteria, rollups);
 				} else {
-					criteria.getDocs().add(doc);
-					HpcReport report = getReport(criteria);
-					reports.add(report);
+					HpcReportCriteria docCriteria = toReportCriteria(criteria, doc, null);
+					reportQueryList.add(reportQueries.submit(() -> getReport(docCriteria, rollups, false)));
 				}
 			}
 		}
@@ -809,26 +876,28 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 			users.addAll(criteria.getUsers());
 
 			for (String user : users) {
-				criteria.getUsers().clear();
-				criteria.getUsers().add(user);
-				HpcReport report = getReport(criteria);
-				reports.add(report);
+				HpcReportCriteria userCriteria = toReportCriteria(criteria, null, user);
+				reportQueryList.add(reportQueries.submit(() -> getReport(userCriteria, rollups, false)));
 			}
 		}
 
+		for (Future<HpcReport> reportQuery : reportQueryList) {
+			reports.add(reportQueries.get(reportQuery));
+		}
+
 		return reports;
 	}
 
-	public List<HpcReport> generateGridReport(HpcReportCriteria criteria) {
+	public List<HpcReport> generateGridReport(HpcReportCriteria criteria, boolean useRollups) throws HpcException {
 		List<HpcReport> reports = new ArrayList<HpcReport>();
 		switch (criteria.getType()) {
 			case USAGE_SUMMARY_BY_BASEPATH_BY_DATE_RANGE:
 			case USAGE_SUMMARY_BY_BASEPATH:
-				reports = generateDocOrBasepathGridReport(criteria);
+				reports = generateDocOrBasepathGridReport(criteria, useRollups);
 				break;
 			case USAGE_SUMMARY_BY_DOC_BY_DATE_RANGE:
 			case USAGE_SUMMARY_BY_DOC:
-				reports = generateDocOrBasepathGridReport(criteria);
+				reports = generateDocOrBasepathGridReport(criteria, useRollups);
 				break;
 			case USAGE_SUMMARY_BY_DATA_OWNER:
 				reports = generateDataOwnerGridReport(criteria);
@@ -905,7 +974,8 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 		return archiveSummaryReportList;
 	}
 
-	public List<HpcReport> generateDocOrBasepathGridReport(HpcReportCriteria criteria) {
+	public List<HpcReport> generateDocOrBasepathGridReport(HpcReportCriteria criteria, boolean useRollups)
+			throws HpcException {
 		List<HpcReport> reports = new ArrayList<HpcReport>();
 		Map<String, HpcReport> mapReports = new HashMap<>();
 		List<String> keyList = new ArrayList<>();
@@ -983,67 +1053,75 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 				mapReports.put(key, report);
 			}
 
-			List<Map<String, Object>> totalsList;
 			HpcReport matchedReport;
 
+			HpcReportQueries queries = new HpcReportQueries(true);
 			try {
+				// Submit the (independent) grid queries. When the rollups are used, the data
+				// object count, size and file size ranges are all taken from the rollup totals.
+				Future<List<Map<String, Object>>> rollupTotalsQuery = null;
+				Future<List<Map<String, Object>>> totalsQuery = null;
+				Future<List<Map<String, Object>>> totalObjQuery = null;
+				Future<List<Map<String, Object>>> fileRangeQuery = null;
+				if (useRollups) {
+					String rollupTotalsSql = isBasePathReport ? ROLLUP_TOTALS_GROUPBY_BASEPATH_SQL
+							: ROLLUP_TOTALS_GROUPBY_DOC_SQL;
+					rollupTotalsQuery = queries.submit(() -> jdbcTemplate.queryForList(rollupTotalsSql, dateArgs));
+				} else {
+					String totalsSql = isBasePathReport ? SUM_OF_DATA_GROUPBY_BASEPATH_SQL : SUM_OF_DATA_GROUPBY_DOC_SQL;
+					String totalObjSql = isBasePathReport ? TOTAL_NUM_OF_DATA_OBJECTS_GROUPBY_BASEPATH_SQL
+							: TOTAL_NUM_OF_DATA_OBJECTS_GROUPBY_DOC_SQL;
+					String fileRangeSql = isBasePathReport
+							? FILESIZE_SELECT_BASEPATH_GRID + BASEPATH_FROM_SQL + BASEPATH_GRID_WHERE_SQL
+									+ FILESIZE_GROUP_BASEPATH_GRID
+							: FILESIZE_SELECT_DOC_GRID + DOC_FROM_SQL + BASEPATH_GRID_WHERE_SQL + FILESIZE_GROUP_DOC_GRID;
+					totalsQuery = queries.submit(() -> jdbcTemplate.queryForList(totalsSql, dateLongArgs));
+					totalObjQuery = queries.submit(() -> jdbcTemplate.queryForList(totalObjSql, dateLongArgs));
+					fileRangeQuery = queries.submit(() -> jdbcTemplate.queryForList(fileRangeSql, dateLongArgs));
+				}
+				String usersSizeSql = isBasePathReport ? TOTAL_NUM_OF_USERS_GROUPBY_BASEPATH_SQL
+						: TOTAL_NUM_OF_USERS_GROUPBY_DOC_SQL;
+				String numCollectionSql = isBasePathReport ? TOTAL_NUM_OF_COLLECTIONS_BY_NAME_GROUPBY_BASEPATH_SQL
+						: TOTAL_NUM_OF_COLLECTIONS_BY_NAME_GROUPBY_DOC_SQL;
+				Future<List<Map<String, Object>>> usersSizeQuery = queries
+						.submit(() -> jdbcTemplate.queryForList(usersSizeSql, dateArgs));
+				Future<List<Map<String, Object>>> numCollectionQuery = queries
+						.submit(() -> jdbcTemplate.queryForList(numCollectionSql, dateLongArgs));
+
+				// Data object count, size and file size ranges from the daily rollups.
+				List<Map<String, Object>> rollupTotalsList = queries.get(rollupTotalsQuery);
+
 				// Sum of Data Fields
 				// 1) Total Size - TOTAL_DATA_SIZE
 				// 2) Largest file - LARGEST_FILE_SIZE
-				if (isBasePathReport) {
-					totalsList = jdbcTemplate.queryForList(SUM_OF_DATA_GROUPBY_BASEPATH_SQL, dateLongArgs);
-				} else {
-					totalsList = jdbcTemplate.queryForList(SUM_OF_DATA_GROUPBY_DOC_SQL, dateLongArgs);
-				}
+				List<Map<String, Object>> totalsList = useRollups ? rollupTotalsList : queries.get(totalsQuery);
 				setGridFieldValue(isBasePathReport, mapReports, totalsList, HpcReportEntryAttribute.TOTAL_DATA_SIZE,
 						"TOTALSIZE");
 				setGridFieldValue(isBasePathReport, mapReports, totalsList, HpcReportEntryAttribute.LARGEST_FILE_SIZE,
 						"MAXSIZE");
 
 				// TOTAL_NUM_OF_REGISTERED_USERS
-				List<Map<String, Object>> usersSizeList;
-				if (isBasePathReport) {
-					usersSizeList = jdbcTemplate.queryForList(TOTAL_NUM_OF_USERS_GROUPBY_BASEPATH_SQL, dateArgs);
-				} else {
-					usersSizeList = jdbcTemplate.queryForList(TOTAL_NUM_OF_USERS_GROUPBY_DOC_SQL, dateArgs);
-				}
+				List<Map<String, Object>> usersSizeList = queries.get(usersSizeQuery);
 				setGridFieldValue(isBasePathReport, mapReports, usersSizeList,
 						HpcReportEntryAttribute.TOTAL_NUM_OF_REGISTERED_USERS, "TOTALUSERS");
 
 				// TOTAL_NUM_OF_DATA_OBJECTS
-				List<Map<String, Object>> totalObjList;
-				if (isBasePathReport) {
-					totalObjList = jdbcTemplate.queryForList(TOTAL_NUM_OF_DATA_OBJECTS_GROUPBY_BASEPATH_SQL,
-							dateLongArgs);
-				} else {
-					totalObjList = jdbcTemplate.queryForList(TOTAL_NUM_OF_DATA_OBJECTS_GROUPBY_DOC_SQL, dateLongArgs);
-				}
+				List<Map<String, Object>> totalObjList = useRollups ? rollupTotalsList : queries.get(totalObjQuery);
 				setGridFieldValue(isBasePathReport, mapReports, totalObjList,
 						HpcReportEntryAttribute.TOTAL_NUM_OF_DATA_OBJECTS, "TOTALOBJS");
 
 				// FILE_SIZES
-				List<Map<String, Object>> fileRangeList;
-				if (isBasePathReport) {
-					fileRangeList = jdbcTemplate.queryForList(FILESIZE_SELECT_BASEPATH_GRID + BASEPATH_FROM_SQL
-							+ BASEPATH_GRID_WHERE_SQL + FILESIZE_GROUP_BASEPATH_GRID, dateLongArgs);
-
-				} else {
-					fileRangeList = jdbcTemplate.queryForList(
-							FILESIZE_SELECT_DOC_GRID + DOC_FROM_SQL + BASEPATH_GRID_WHERE_SQL + FILESIZE_GROUP_DOC_GRID,
-							dateLongArgs);
-				}
+				List<Map<String, Object>> fileRangeList = useRollups
+						? toFileRangeList(isBasePathReport, rollupTotalsList)
+						: queries.get(fileRangeQuery);
 				setFilesFieldsForGrid(isBasePathReport, mapReports, fileRangeList);
 
 				// TOTAL_NUM_OF_COLLECTIONS
-				List<Map<String, Object>> numCollectionList;
-				if (isBasePathReport) {
-					numCollectionList = jdbcTemplate.queryForList(TOTAL_NUM_OF_COLLECTIONS_BY_NAME_GROUPBY_BASEPATH_SQL,
-							dateLongArgs);
-				} else {
-					numCollectionList = jdbcTemplate.queryForList(TOTAL_NUM_OF_COLLECTIONS_BY_NAME_GROUPBY_DOC_SQL,
-							dateLongArgs);
-				}
+				List<Map<String, Object>> numCollectionList = queries.get(numCollectionQuery);
 				setNumCollectionsForGrid(mapReports, keyList, numCollectionList);
+			} catch (HpcException e) {
+				// Report timed out / interrupted.
+				throw e;
 			} catch (Exception e) {
 				if (isBasePathReport) {
 					logger.info("Error setting fields in BasePath Grid Report: ", e);
@@ -1171,6 +1249,33 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 
 	}
 
+	/**
+	 * Convert the grid rollup totals to file size ranges rows (as returned by the
+	 * file size ranges grid queries).
+	 *
+	 * @param isBasePathReport  Basepath grid report (or DOC grid report).
+	 * @param rollupTotalsList The rollup totals by basepath / DOC.
+	 * @return The file size ranges rows.
+	 */
+	private List<Map<String, Object>> toFileRangeList(boolean isBasePathReport,
+			List<Map<String, Object>> rollupTotalsList) {
+		String keyName = isBasePathReport ? "PATH" : "DOC";
+		List<Map<String, Object>> fileRangeList = new ArrayList<>();
+		for (Map<String, Object> rollupTotals : rollupTotalsList) {
+			if (rollupTotals.get(keyName) == null) {
+				continue;
+			}
+			for (int i = 1; i <= 7; i++) {
+				Map<String, Object> fileRange = new HashMap<>();
+				fileRange.put(keyName, rollupTotals.get(keyName));
+				fileRange.put("RANGE", "range" + i);
+				fileRange.put("CNT", rollupTotals.get("RANGE" + i));
+				fileRangeList.add(fileRange);
+			}
+		}
+		return fileRangeList;
+	}
+
 	private void setNumCollectionsForGrid(Map<String, HpcReport> mapReports, List<String> keyList,
 			List<Map<String, Object>> numCollectionList) {
 		HpcReport matchedReport;
@@ -1220,8 +1325,10 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 		return jdbcTemplate.queryForList(DOCS_SQL, String.class);
 	}
 
-	public HpcReport getReport(HpcReportCriteria criteria) {
+	public HpcReport getReport(HpcReportCriteria criteria, boolean useRollups, boolean concurrentQueries)
+			throws HpcException {
 		HpcReport report = new HpcReport();
+		HpcReportQueries queries = new HpcReportQueries(concurrentQueries);
 
 		// Total Users
 		Date fromDate = null;
@@ -1335,35 +1442,103 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 		if (criteria.getPath() != null)
 			report.setPath(criteria.getPath());
 
-		String[] totals = new String[2];
 		boolean allAttributes = criteria.getAttributes() == null || criteria.getAttributes().isEmpty();
+		boolean userReport = criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_USER)
+				|| criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_USER_BY_DATE_RANGE);
+		boolean usersSizeRequested = !userReport && (allAttributes
+				|| criteria.getAttributes().contains(HpcReportEntryAttribute.TOTAL_NUM_OF_REGISTERED_USERS));
+		boolean totalsRequested = allAttributes
+				|| criteria.getAttributes().contains(HpcReportEntryAttribute.TOTAL_DATA_SIZE)
+				|| criteria.getAttributes().contains(HpcReportEntryAttribute.LARGEST_FILE_SIZE)
+				|| criteria.getAttributes().contains(HpcReportEntryAttribute.AVERAGE_FILE_SIZE);
+		boolean archiveSummaryRequested = allAttributes
+				|| criteria.getAttributes().contains(HpcReportEntryAttribute.ARCHIVE_SUMMARY);
+		boolean dataObjSizeRequested = allAttributes
+				|| criteria.getAttributes().contains(HpcReportEntryAttribute.TOTAL_NUM_OF_DATA_OBJECTS);
+		boolean collectionsSizeRequested = allAttributes
+				|| criteria.getAttributes().contains(HpcReportEntryAttribute.TOTAL_NUM_OF_COLLECTIONS);
+		boolean fileSizesRequested = allAttributes
+				|| criteria.getAttributes().contains(HpcReportEntryAttribute.FILE_SIZES);
+
+		// File size ranges
+		Object[] filesizedateArgs = new Object[2];
+		filesizedateArgs[0] = fromDateLong;
+		filesizedateArgs[1] = toDateLong;
+
+		Object[] filesizedocArgs = new Object[1];
+		if (criteria.getDocs() != null && criteria.getDocs().size() > 0)
+			filesizedocArgs[0] = criteria.getDocs().get(0);
+
+		Object[] filesizedocDateArgs = new Object[3];
+		if (criteria.getDocs() != null && criteria.getDocs().size() > 0)
+			filesizedocDateArgs[0] = criteria.getDocs().get(0);
+		filesizedocDateArgs[1] = fromDateLong;
+		filesizedocDateArgs[2] = toDateLong;
+
+		Object[] filesizeuserArgs = new Object[1];
+		if (criteria.getUsers() != null && criteria.getUsers().size() > 0)
+			filesizeuserArgs[0] = criteria.getUsers().get(0);
+
+		Object[] filesizeuserDateArgs = new Object[3];
+		if (criteria.getUsers() != null && criteria.getUsers().size() > 0)
+			filesizeuserDateArgs[0] = criteria.getUsers().get(0);
+		filesizeuserDateArgs[1] = fromDateLong;
+		filesizeuserDateArgs[2] = toDateLong;
+
+		// Submit the (independent) report queries. When the rollups are used, the data
+		// object count, size and file size ranges are all taken from the rollup totals.
+		Future<Map<String, Object>> rollupTotalsQuery = useRollups
+				? queries.submit(() -> getRollupTotals(criteria, dateArgs[0], dateArgs[1]))
+				: null;
+		Future<String> usersSizeQuery = usersSizeRequested
+				? queries.submit(() -> getUsersSize(criteria, dateArgs, docArg, docDateUsersArgs, basepathArg,
+						basepathDateArgs, pathArg, pathDateLongArgs))
+				: null;
+		Future<String[]> totalsQuery = !useRollups && totalsRequested
+				? queries.submit(() -> getTotalDataSize(criteria, dateLongArgs, docArg, docDateArgs, userArg,
+						userDateArgs, basepathArg, basepathDateLongArgs, pathArg, pathDateLongArgs))
+				: null;
+		Future<List<HpcArchiveSummary>> archiveSummaryQuery = archiveSummaryRequested
+				? queries.submit(() -> getArchiveSummary(criteria, dateLongArgs, docArg, docDateArgs, userArg,
+						userDateArgs, basepathArg, basepathDateLongArgs, pathArg, pathDateLongArgs))
+				: null;
+		Future<String> dataObjSizeQuery = !useRollups && dataObjSizeRequested
+				? queries.submit(() -> getTotalDataObjSize(criteria, dateLongArgs, docArg, docDateArgs, userArg,
+						userDateArgs, basepathArg, basepathDateLongArgs, pathArg, pathDateLongArgs))
+				: null;
+		Future<List<Map<String, Object>>> collectionsSizeQuery = collectionsSizeRequested
+				? queries.submit(() -> getTotalCollectionsSize(criteria, dateLongArgs, docArg, docDateArgs, userArg,
+						userDateArgs, basepathArg, basepathDateLongArgs, pathArg, pathDateLongArgs))
+				: null;
+		Future<List<Map<String, Object>>> fileSizeRangesQuery = !useRollups && fileSizesRequested
+				? queries.submit(() -> getFileSizeRange(criteria, filesizedateArgs, filesizedocArgs,
+						filesizedocDateArgs, filesizeuserArgs, filesizeuserDateArgs, basepathArg,
+						basepathDateLongArgs, pathArg, pathDateLongArgs))
+				: null;
+
+		// Merge the query results into the report.
+		Map<String, Object> rollupTotals = queries.get(rollupTotalsQuery);
+		String[] totals = rollupTotals != null ? getRollupDataSize(criteria, rollupTotals) : queries.get(totalsQuery);
 
 		// TOTAL_NUM_OF_REGISTERED_USERS
-		if (allAttributes || criteria.getAttributes().contains(HpcReportEntryAttribute.TOTAL_NUM_OF_REGISTERED_USERS)) {
-			if (!(criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_USER)
-					|| criteria.getType().equals(HpcReportType.USAGE_SUMMARY_BY_USER_BY_DATE_RANGE))) {
-				HpcReportEntry userSizeEntry = new HpcReportEntry();
-				userSizeEntry.setAttribute(HpcReportEntryAttribute.TOTAL_NUM_OF_REGISTERED_USERS);
-				userSizeEntry.setValue(getUsersSize(criteria, dateArgs, docArg, docDateUsersArgs, basepathArg,
-						basepathDateArgs, pathArg, pathDateLongArgs));
-				report.getReportEntries().add(userSizeEntry);
-			}
+		if (usersSizeRequested) {
+			HpcReportEntry userSizeEntry = new HpcReportEntry();
+			userSizeEntry.setAttribute(HpcReportEntryAttribute.TOTAL_NUM_OF_REGISTERED_USERS);
+			userSizeEntry.setValue(queries.get(usersSizeQuery));
+			report.getReportEntries().add(userSizeEntry);
 		}
 
 		// Total Size - TOTAL_DATA_SIZE
 		if (allAttributes || criteria.getAttributes().contains(HpcReportEntryAttribute.TOTAL_DATA_SIZE)) {
 			HpcReportEntry sizeEntry = new HpcReportEntry();
 			sizeEntry.setAttribute(HpcReportEntryAttribute.TOTAL_DATA_SIZE);
-			totals = getTotalDataSize(criteria, dateLongArgs, docArg, docDateArgs, userArg, userDateArgs, basepathArg,
-					basepathDateLongArgs, pathArg, pathDateLongArgs);
 			sizeEntry.setValue(totals[0]);
 			report.getReportEntries().add(sizeEntry);
 		}
 
 		// Archive Summary
-		if (allAttributes || criteria.getAttributes().contains(HpcReportEntryAttribute.ARCHIVE_SUMMARY)) {
-			List<HpcArchiveSummary> archiveSummary = getArchiveSummary(criteria, dateLongArgs, docArg,
-					docDateArgs, userArg, userDateArgs, basepathArg, basepathDateLongArgs, pathArg, pathDateLongArgs);
+		if (archiveSummaryRequested) {
+			List<HpcArchiveSummary> archiveSummary = queries.get(archiveSummaryQuery);
 			if (archiveSummary != null) {
 				archiveSummary = translateVaultName(archiveSummary);
 				HpcReportEntry archiveSummaryEntry = new HpcReportEntry();
@@ -1390,18 +1565,21 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 		}
 
 		// Total number of data objects - TOTAL_NUM_OF_DATA_OBJECTS
-		if (allAttributes || criteria.getAttributes().contains(HpcReportEntryAttribute.TOTAL_NUM_OF_DATA_OBJECTS)) {
+		if (dataObjSizeRequested) {
 			HpcReportEntry numOfDataObjEntry = new HpcReportEntry();
 			numOfDataObjEntry.setAttribute(HpcReportEntryAttribute.TOTAL_NUM_OF_DATA_OBJECTS);
-			numOfDataObjEntry.setValue(getTotalDataObjSize(criteria, dateLongArgs, docArg, docDateArgs, userArg,
-					userDateArgs, basepathArg, basepathDateLongArgs, pathArg, pathDateLongArgs));
+			if (rollupTotals != null) {
+				Object totalObjs = rollupTotals.get("TOTALOBJS");
+				numOfDataObjEntry.setValue(totalObjs != null ? totalObjs.toString() : "0");
+			} else {
+				numOfDataObjEntry.setValue(queries.get(dataObjSizeQuery));
+			}
 			report.getReportEntries().add(numOfDataObjEntry);
 		}
 
 		// Total number of collections - TOTAL_NUM_OF_COLLECTIONS
-		if (allAttributes || criteria.getAttributes().contains(HpcReportEntryAttribute.TOTAL_NUM_OF_COLLECTIONS)) {
-			List<Map<String, Object>> list = getTotalCollectionsSize(criteria, dateLongArgs, docArg, docDateArgs,
-					userArg, userDateArgs, basepathArg, basepathDateLongArgs, pathArg, pathDateLongArgs);
+		if (collectionsSizeRequested) {
+			List<Map<String, Object>> list = queries.get(collectionsSizeQuery);
 			StringBuffer str = new StringBuffer();
 			str.append("[");
 			if (list != null) {
@@ -1427,36 +1605,10 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 			report.getReportEntries().add(numOfCollEntry);
 		}
 
-		// File size ranges
-		Object[] filesizedateArgs = new Object[2];
-		filesizedateArgs[0] = fromDateLong;
-		filesizedateArgs[1] = toDateLong;
-
-		Object[] filesizedocArgs = new Object[1];
-		if (criteria.getDocs() != null && criteria.getDocs().size() > 0)
-			filesizedocArgs[0] = criteria.getDocs().get(0);
-
-		Object[] filesizedocDateArgs = new Object[3];
-		if (criteria.getDocs() != null && criteria.getDocs().size() > 0)
-			filesizedocDateArgs[0] = criteria.getDocs().get(0);
-		filesizedocDateArgs[1] = fromDateLong;
-		filesizedocDateArgs[2] = toDateLong;
-
-		Object[] filesizeuserArgs = new Object[1];
-		if (criteria.getUsers() != null && criteria.getUsers().size() > 0)
-			filesizeuserArgs[0] = criteria.getUsers().get(0);
-
-		Object[] filesizeuserDateArgs = new Object[3];
-		if (criteria.getUsers() != null && criteria.getUsers().size() > 0)
-			filesizeuserDateArgs[0] = criteria.getUsers().get(0);
-		filesizeuserDateArgs[1] = fromDateLong;
-		filesizeuserDateArgs[2] = toDateLong;
-
-		if (allAttributes || criteria.getAttributes().contains(HpcReportEntryAttribute.FILE_SIZES)) {
+		if (fileSizesRequested) {
 			// Get File size ranges
-			List<Map<String, Object>> fileSizeRanges = getFileSizeRange(criteria, filesizedateArgs, filesizedocArgs,
-					filesizedocDateArgs, filesizeuserArgs, filesizeuserDateArgs, basepathArg, basepathDateLongArgs,
-					pathArg, pathDateLongArgs);
+			List<Map<String, Object>> fileSizeRanges = rollupTotals != null ? Collections.singletonList(rollupTotals)
+					: queries.get(fileSizeRangesQuery);
 			HpcReportEntry oneMBEntry = new HpcReportEntry();
 			oneMBEntry.setAttribute(HpcReportEntryAttribute.FILE_SIZE_BELOW_10_MB);
 			oneMBEntry.setValue(getFilesSize("range1", fileSizeRanges));
@@ -1528,4 +1680,225 @@ public class HpcReportsDAOImpl implements HpcReportsDAO {
 					HpcIntegratedSystem.ORACLE, e);
 		}
 	}
+
+	@Override
+	public void refreshRollups() throws HpcException {
+		try {
+			jdbcTemplate.update(REFRESH_ROLLUPS_SQL, rollupsFullRefreshInterval);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to refresh daily report rollups: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	@Override
+	public Calendar getRollupsLastDate() throws HpcException {
+		try {
+			Date lastDate = jdbcTemplate.queryForObject(ROLLUPS_LAST_DATE_SQL, Date.class);
+			if (lastDate == null) {
+				return null;
+			}
+			Calendar lastDateCalendar = Calendar.getInstance();
+			lastDateCalendar.setTime(lastDate);
+			return lastDateCalendar;
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to get daily report rollups last date: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+
+	/**
+	 * Sum the daily rollups matching the report criteria (DOC / user / basepath
+	 * and date range).
+	 *
+	 * @param criteria The report criteria.
+	 * @param fromDate The report start date (inclusive).
+	 * @param toDate   The report end date (exclusive).
+	 * @return The rollup totals (data objects count, total / max size and file
+	 *         size ranges). Values are null if no rollups matched.
+	 */
+	private Map<String, Object> getRollupTotals(HpcReportCriteria criteria, Date fromDate, Date toDate) {
+		StringBuilder sql = new StringBuilder(ROLLUP_TOTALS_SQL);
+		List<Object> args = new ArrayList<>();
+		switch (criteria.getType()) {
+		case USAGE_SUMMARY_BY_DOC:
+		case USAGE_SUMMARY_BY_DOC_BY_DATE_RANGE:
+			sql.append(ROLLUP_TOTALS_BY_DOC_SQL);
+			args.add(criteria.getDocs().get(0));
+			break;
+		case USAGE_SUMMARY_BY_USER:
+		case USAGE_SUMMARY_BY_USER_BY_DATE_RANGE:
+			sql.append(ROLLUP_TOTALS_BY_USER_SQL);
+			args.add(criteria.getUsers().get(0));
+			break;
+		case USAGE_SUMMARY_BY_BASEPATH:
+		case USAGE_SUMMARY_BY_BASEPATH_BY_DATE_RANGE:
+			sql.append(ROLLUP_TOTALS_BY_BASEPATH_SQL);
+			args.add(criteria.getPath());
+			break;
+		default:
+			break;
+		}
+
+		switch (criteria.getType()) {
+		case USAGE_SUMMARY_BY_DATE_RANGE:
+		case USAGE_SUMMARY_BY_DOC_BY_DATE_RANGE:
+		case USAGE_SUMMARY_BY_USER_BY_DATE_RANGE:
+		case USAGE_SUMMARY_BY_BASEPATH_BY_DATE_RANGE:
+			sql.append(ROLLUP_TOTALS_BY_DATE_SQL);
+			args.add(fromDate);
+			args.add(toDate);
+			break;
+		default:
+			break;
+		}
+
+		return jdbcTemplate.queryForMap(sql.toString(), args.toArray());
+	}
+
+	/**
+	 * Get the total, largest and average file size from the rollup totals.
+	 *
+	 * @param criteria     The report criteria.
+	 * @param rollupTotals The rollup totals.
+	 * @return The total, largest and average file size.
+	 */
+	private String[] getRollupDataSize(HpcReportCriteria criteria, Map<String, Object> rollupTotals) {
+		String[] returnVal = new String[] { "0", "0", "0" };
+		Object totalSize = rollupTotals.get("TOTALSIZE");
+		Object maxSize = rollupTotals.get("MAXSIZE");
+		Object totalObjs = rollupTotals.get("TOTALOBJS");
+		if (totalSize != null)
+			returnVal[0] = criteria.getIsMachineReadable() ? totalSize.toString()
+					: humanReadableByteCount(new Double(totalSize.toString()), true);
+		if (maxSize != null)
+			returnVal[1] = criteria.getIsMachineReadable() ? maxSize.toString()
+					: humanReadableByteCount(new Double(maxSize.toString()), true);
+		if (totalSize != null && totalObjs != null && new BigDecimal(totalObjs.toString()).signum() > 0) {
+			BigDecimal avgSize = new BigDecimal(totalSize.toString()).divide(new BigDecimal(totalObjs.toString()), 2,
+					RoundingMode.HALF_UP);
+			returnVal[2] = criteria.getIsMachineReadable() ? avgSize.toString()
+					: humanReadableByteCount(avgSize.doubleValue(), true);
+		}
+		return returnVal;
+	}
+
+	/**
+	 * Create a report criteria for a single DOC / user report.
+	 *
+	 * @param criteria The report criteria.
+	 * @param doc      The report DOC (null for a user report).
+	 * @param user     The report user (null for a DOC report).
+	 * @return The DOC / user report criteria.
+	 */
+	private HpcReportCriteria toReportCriteria(HpcReportCriteria criteria, String doc, String user) {
+		HpcReportCriteria reportCriteria = new HpcReportCriteria();
+		reportCriteria.setType(criteria.getType());
+		reportCriteria.setPath(criteria.getPath());
+		if (doc != null) {
+			reportCriteria.getDocs().add(doc);
+		}
+		if (user != null) {
+			reportCriteria.getUsers().add(user);
+		}
+		reportCriteria.getAttributes().addAll(criteria.getAttributes());
+		if (criteria.getFromDate() != null) {
+			reportCriteria.setFromDate((Calendar) criteria.getFromDate().clone());
+		}
+		if (criteria.getToDate() != null) {
+			reportCriteria.setToDate((Calendar) criteria.getToDate().clone());
+		}
+		reportCriteria.setIsMachineReadable(criteria.getIsMachineReadable());
+		return reportCriteria;
+	}
+
+	/**
+	 * The queries of a report. The queries are executed concurrently on the report
+	 * queries executor (or sequentially in the calling thread), and their results
+	 * are waited on up to the report timeout. All the queries are canceled if one
+	 * fails or the report times out.
+	 */
+	private class HpcReportQueries {
+		// Execute the queries concurrently on the report queries executor.
+		private boolean concurrent = false;
+
+		// The time (System.currentTimeMillis()) the report times out.
+		private long deadline = 0;
+
+		// The submitted queries.
+		private List<Future<?>> queries = new ArrayList<>();
+
+		private HpcReportQueries(boolean concurrent) {
+			this.concurrent = concurrent;
+			this.deadline = System.currentTimeMillis() + reportTimeout;
+		}
+
+		/**
+		 * Submit a query.
+		 *
+		 * @param query The query to execute.
+		 * @return The query result future.
+		 */
+		private <T> Future<T> submit(Callable<T> query) {
+			Future<T> future = null;
+			if (concurrent) {
+				future = reportQueryExecutorService.submit(query);
+			} else {
+				FutureTask<T> task = new FutureTask<>(query);
+				task.run();
+				future = task;
+			}
+			queries.add(future);
+			return future;
+		}
+
+		/**
+		 * Wait for a query result, up to the report timeout.
+		 *
+		 * @param query The query result future.
+		 * @return The query result, or null if the query was not submitted.
+		 * @throws HpcException If the report timed out or was interrupted, or the
+		 *                      query failed with an HpcException.
+		 */
+		private <T> T get(Future<T> query) throws HpcException {
+			if (query == null) {
+				return null;
+			}
+
+			try {
+				return query.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+
+			} catch (InterruptedException e) {
+				cancel();
+				Thread.currentThread().interrupt();
+				throw new HpcException("Report generation interrupted", HpcErrorType.UNEXPECTED_ERROR, e);
+
+			} catch (TimeoutException e) {
+				cancel();
+				throw new HpcException(
+						"Report generation timed out after " + TimeUnit.MILLISECONDS.toSeconds(reportTimeout) + " sec",
+						HpcErrorType.UNEXPECTED_ERROR, e);
+
+			} catch (ExecutionException e) {
+				cancel();
+				if (e.getCause() instanceof HpcException) {
+					throw (HpcException) e.getCause();
+				}
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new HpcException("Failed to generate report: " + e.getMessage(), HpcErrorType.DATABASE_ERROR,
+						HpcIntegratedSystem.ORACLE, e.getCause());
+			}
+		}
+
+		/**
+		 * Cancel all the submitted queries.
+		 */
+		private void cancel() {
+			queries.forEach(query -> query.cancel(true));
+		}
+	}
 }
@@ -0,0 +1,122 @@
+/**
+ * HpcUserRateLimitDAOImpl.java
+ *
+ * Copyright SVG, Inc.
+ * Copyright Leidos Biomedical Research, Inc
+ * 
+ * Distributed under the OSI-approved BSD 3-Clause License.
+ * See http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+
+package gov.nih.nci.hpc.dao.oracle.impl;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import gov.nih.nci.hpc.dao.HpcUserRateLimitDAO;
+import gov.nih.nci.hpc.domain.error.HpcErrorType;
+import gov.nih.nci.hpc.domain.user.HpcIntegratedSystem;
+import gov.nih.nci.hpc.exception.HpcException;
+
+/**
+ * <p>
+ * HPC User Rate Limit DAO Implementation. The bucket is refilled and consumed
+ * in a single (row locking) update statement, so concurrent calls from
+ * multiple servers are serialized by the database. The database clock is
+ * used for refills, so clock skew between the servers doesn't matter.
+ * </p>
+ *
+ * @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+ */
+
+public class HpcUserRateLimitDAOImpl implements HpcUserRateLimitDAO {
+	// ---------------------------------------------------------------------//
+	// Constants
+	// ---------------------------------------------------------------------//
+
+	// The database time in epoch milliseconds.
+	private static final String NOW_SQL = "((cast(sys_extract_utc(systimestamp) as date) - date '1970-01-01') * 86400000 "
+			+ "+ to_number(to_char(systimestamp, 'FF3')))";
+
+	// SQL Queries.
+	private static final String CONSUME_SQL = "update HPC_USER_RATE_LIMIT set "
+			+ "TOKENS = least(?, TOKENS + greatest(" + NOW_SQL + " - LAST_REFILL, 0) * ? / ?) - ?, "
+			+ "LAST_REFILL = greatest(" + NOW_SQL + ", LAST_REFILL) where USER_ID = ? and "
+			+ "least(?, TOKENS + greatest(" + NOW_SQL + " - LAST_REFILL, 0) * ? / ?) >= ?";
+
+	private static final String INSERT_SQL = "insert into HPC_USER_RATE_LIMIT (USER_ID, TOKENS, LAST_REFILL) values (?, ?, "
+			+ NOW_SQL + ")";
+
+	private static final String GET_AVAILABLE_TOKENS_SQL = "select least(?, TOKENS + greatest(" + NOW_SQL
+			+ " - LAST_REFILL, 0) * ? / ?) from HPC_USER_RATE_LIMIT where USER_ID = ?";
+
+	// ---------------------------------------------------------------------//
+	// Instance members
+	// ---------------------------------------------------------------------//
+
+	// The Spring JDBC Template instance.
+	@Autowired
+	private JdbcTemplate jdbcTemplate = null;
+
+	// Row mapper.
+	private RowMapper<Double> availableTokensRowMapper = (rs, rowNum) -> rs.getDouble(1);
+
+	// ---------------------------------------------------------------------//
+	// Constructors
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 * 
+	 */
+	private HpcUserRateLimitDAOImpl() {
+	}
+
+	// ---------------------------------------------------------------------//
+	// Methods
+	// ---------------------------------------------------------------------//
+
+	// ---------------------------------------------------------------------//
+	// HpcUserRateLimitDAO Interface Implementation
+	// ---------------------------------------------------------------------//
+
+	@Override
+	public long consume(String userId, long tokens, long capacity, long refillPeriod) throws HpcException {
+		try {
+			for (int attempt = 0; attempt < 2; attempt++) {
+				if (jdbcTemplate.update(CONSUME_SQL, capacity, capacity, refillPeriod, tokens, userId, capacity,
+						capacity, refillPeriod, tokens) > 0) {
+					return 0;
+				}
+
+				List<Double> availableTokens = jdbcTemplate.query(GET_AVAILABLE_TOKENS_SQL, availableTokensRowMapper,
+						capacity, capacity, refillPeriod, userId);
+				if (!availableTokens.isEmpty()) {
+					// Not enough tokens. Calculate the time until the bucket is refilled enough.
+					return Math.max(1, (long) Math.ceil((tokens - availableTokens.get(0)) * refillPeriod / capacity));
+				}
+
+				// A new user bucket.
+				try {
+					jdbcTemplate.update(INSERT_SQL, userId, capacity - tokens);
+					return 0;
+
+				} catch (DuplicateKeyException e) {
+					// The bucket was created concurrently by another request. Try again.
+				}
+			}
+
+			throw new HpcException("Failed to consume user rate limit tokens: " + userId, HpcErrorType.DATABASE_ERROR,
+					HpcIntegratedSystem.ORACLE);
+
+		} catch (DataAccessException e) {
+			throw new HpcException("Failed to consume user rate limit tokens: " + e.getMessage(),
+					HpcErrorType.DATABASE_ERROR, HpcIntegratedSystem.ORACLE, e);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+--
+-- hpc_bulk_metadata_update_task.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+--
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+--
+-- Asynchronous bulk metadata update tasks. A submitted task is persisted w/ its queries and metadata entries.
+-- The scheduler resolves the queries into task items (one per collection / data object path), and updates the
+-- items in parallel chunks, recording the result of each item. A path is added once per task, so re-resolving
+-- the queries of a task (e.g. after a restart) or a path that is both requested and found by a query doesn't
+-- add a duplicate item.
+
+create table HPC_BULK_METADATA_UPDATE_TASK
+(
+    ID                           VARCHAR2(50)    not null,
+    USER_ID                      VARCHAR2(50)    not null,
+    STATUS                       VARCHAR2(50)    not null,
+    DATA_OBJECT_COMPOUND_QUERY   CLOB,
+    COLLECTION_COMPOUND_QUERY    CLOB,
+    METADATA_ENTRIES             CLOB            not null,
+    RESULT                       CHAR(1),
+    ITEMS_COUNT                  NUMBER(10),
+    COMPLETED_ITEMS_COUNT        NUMBER(10),
+    FAILED_ITEMS_COUNT           NUMBER(10),
+    CREATED                      TIMESTAMP       not null,
+    COMPLETED                    TIMESTAMP,
+    constraint HPC_BULK_META_UPDATE_TASK_PK primary key (ID)
+)
+/
+
+create index HPC_BULK_META_TASK_STATUS_IDX on HPC_BULK_METADATA_UPDATE_TASK (STATUS)
+/
+
+comment on table HPC_BULK_METADATA_UPDATE_TASK is 'Bulk metadata update tasks'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_TASK.ID is 'The bulk metadata update task ID'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_TASK.USER_ID is 'The user ID who submitted the task'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_TASK.STATUS is 'The task status - RECEIVED, IN_PROGRESS or COMPLETED'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_TASK.DATA_OBJECT_COMPOUND_QUERY is 'The (JSON) query to find the data objects to update'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_TASK.COLLECTION_COMPOUND_QUERY is 'The (JSON) query to find the collections to update'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_TASK.METADATA_ENTRIES is 'The (JSON) metadata entries to update'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_TASK.RESULT is 'Indicator whether all the items were updated successfully. Set when the task completed'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_TASK.CREATED is 'The date/time the task was submitted'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_TASK.COMPLETED is 'The date/time the task completed'
+/
+
+create sequence HPC_BULK_META_UPDATE_ITEM_SEQ cache 1000
+/
+
+create table HPC_BULK_METADATA_UPDATE_ITEM
+(
+    TASK_ID                      VARCHAR2(50)    not null,
+    ITEM_ID                      NUMBER(19)      not null,
+    PATH                         VARCHAR2(2700)  not null,
+    PATH_TYPE                    VARCHAR2(50)    not null,
+    RESULT                       CHAR(1),
+    MESSAGE                      VARCHAR2(4000),
+    constraint HPC_BULK_META_UPDATE_ITEM_PK primary key (TASK_ID, ITEM_ID),
+    constraint HPC_BULK_META_UPDATE_ITEM_UK unique (TASK_ID, PATH)
+)
+/
+
+comment on table HPC_BULK_METADATA_UPDATE_ITEM is 'The items (collections / data objects) of bulk metadata update tasks'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_ITEM.TASK_ID is 'The bulk metadata update task ID'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_ITEM.ITEM_ID is 'The item ID (HPC_BULK_META_UPDATE_ITEM_SEQ), used for keyset paging'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_ITEM.PATH is 'The collection / data object path'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_ITEM.PATH_TYPE is 'The path type - COLLECTION or DATAOBJECT'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_ITEM.RESULT is 'Indicator whether the metadata update succeeded. Null while the item is pending'
+/
+
+comment on column HPC_BULK_METADATA_UPDATE_ITEM.MESSAGE is 'The error message if the metadata update failed'
+/
+
+-- Bulk update audit records of a task are linked to the task. A task w/o a query (paths only) is audited w/
+-- a null query.
+
+alter table HPC_BULK_UPDATE_AUDIT add (TASK_ID VARCHAR2(50))
+/
+
+alter table HPC_BULK_UPDATE_AUDIT modify (QUERY null, QUERY_TYPE null)
+/
+
+create index HPC_BULK_UPDATE_AUDIT_TASK_IDX on HPC_BULK_UPDATE_AUDIT (TASK_ID)
+/
+
+comment on column HPC_BULK_UPDATE_AUDIT.TASK_ID is 'The bulk metadata update task ID (null for synchronous bulk updates)'
+/
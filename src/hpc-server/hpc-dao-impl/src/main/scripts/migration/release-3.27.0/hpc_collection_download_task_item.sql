@@ -0,0 +1,110 @@
+--
+-- hpc_collection_download_task_item.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+--
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+--
+
+create table HPC_COLLECTION_DOWNLOAD_TASK_ITEM
+(
+    TASK_ID                                VARCHAR2(50)    not null,
+    ITEM_ID                                NUMBER(10)      not null,
+    PATH                                   VARCHAR2(2700)  not null,
+    COLLECTION_PATH                        VARCHAR2(2700),
+    DATA_OBJECT_DOWNLOAD_TASK_ID           VARCHAR2(50),
+    RESULT                                 VARCHAR2(50),
+    MESSAGE                                VARCHAR2(4000),
+    ARCHIVE_LOCATION_FILE_CONTAINER_ID     VARCHAR2(200),
+    ARCHIVE_LOCATION_FILE_ID               VARCHAR2(2700),
+    DESTINATION_LOCATION_FILE_CONTAINER_ID VARCHAR2(200),
+    DESTINATION_LOCATION_FILE_ID           VARCHAR2(2700),
+    EFFECTIVE_TRANSFER_SPEED               NUMBER(10),
+    DATA_SIZE                              NUMBER(19),
+    PERCENT_COMPLETE                       NUMBER(3),
+    RESTORE_IN_PROGRESS                    CHAR(1),
+    STAGING_IN_PROGRESS                    CHAR(1),
+    STAGING_PERCENT_COMPLETE               NUMBER(3),
+    constraint HPC_COLLECTION_DOWNLOAD_TASK_ITEM_PK primary key (TASK_ID, ITEM_ID)
+)
+/
+
+comment on table HPC_COLLECTION_DOWNLOAD_TASK_ITEM is 'The items (data objects) of collection / bulk download tasks. Replaces the ITEMS JSON CLOB of HPC_COLLECTION_DOWNLOAD_TASK and HPC_DOWNLOAD_TASK_RESULT'
+/
+
+comment on column HPC_COLLECTION_DOWNLOAD_TASK_ITEM.TASK_ID is 'The collection download task ID (HPC_COLLECTION_DOWNLOAD_TASK.ID while active, HPC_DOWNLOAD_TASK_RESULT.ID once completed)'
+/
+
+comment on column HPC_COLLECTION_DOWNLOAD_TASK_ITEM.ITEM_ID is 'The item sequence number within the task, used for keyset paging'
+/
+
+comment on column HPC_COLLECTION_DOWNLOAD_TASK_ITEM.PATH is 'The data object path'
+/
+
+comment on column HPC_COLLECTION_DOWNLOAD_TASK_ITEM.COLLECTION_PATH is 'The collection path the data object was downloaded as part of (collection list downloads)'
+/
+
+comment on column HPC_COLLECTION_DOWNLOAD_TASK_ITEM.DATA_OBJECT_DOWNLOAD_TASK_ID is 'The data object download task ID'
+/
+
+comment on column HPC_COLLECTION_DOWNLOAD_TASK_ITEM.RESULT is 'The download result. Null while the item is in progress'
+/
+
+comment on column HPC_COLLECTION_DOWNLOAD_TASK_ITEM.RESTORE_IN_PROGRESS is 'Indicator whether the data object is being restored from the archive'
+/
+
+comment on column HPC_COLLECTION_DOWNLOAD_TASK_ITEM.STAGING_IN_PROGRESS is 'Indicator whether the data object is being staged (first hop)'
+/
+
+-- Migrate the items of active collection download tasks and of completed collection download tasks.
+-- The result was captured as boolean before changed to HpcDownloadResult enum.
+insert /*+ append */ into HPC_COLLECTION_DOWNLOAD_TASK_ITEM (TASK_ID, ITEM_ID, PATH, COLLECTION_PATH,
+    DATA_OBJECT_DOWNLOAD_TASK_ID, RESULT, MESSAGE, ARCHIVE_LOCATION_FILE_CONTAINER_ID, ARCHIVE_LOCATION_FILE_ID,
+    DESTINATION_LOCATION_FILE_CONTAINER_ID, DESTINATION_LOCATION_FILE_ID, EFFECTIVE_TRANSFER_SPEED, DATA_SIZE,
+    PERCENT_COMPLETE, RESTORE_IN_PROGRESS, STAGING_IN_PROGRESS, STAGING_PERCENT_COMPLETE)
+select TASK.ID, ITEM.ITEM_ID, ITEM.PATH, ITEM.COLLECTION_PATH, ITEM.DATA_OBJECT_DOWNLOAD_TASK_ID,
+    decode(ITEM.RESULT, 'true', 'COMPLETED', 'false', 'FAILED', ITEM.RESULT), ITEM.MESSAGE,
+    ITEM.ARCHIVE_LOCATION_FILE_CONTAINER_ID, ITEM.ARCHIVE_LOCATION_FILE_ID,
+    ITEM.DESTINATION_LOCATION_FILE_CONTAINER_ID, ITEM.DESTINATION_LOCATION_FILE_ID, ITEM.EFFECTIVE_TRANSFER_SPEED,
+    ITEM.DATA_SIZE, ITEM.PERCENT_COMPLETE, decode(ITEM.RESTORE_IN_PROGRESS, 'true', '1', 'false', '0'),
+    decode(ITEM.STAGING_IN_PROGRESS, 'true', '1', 'false', '0'), ITEM.STAGING_PERCENT_COMPLETE
+from (select ID, ITEMS from HPC_COLLECTION_DOWNLOAD_TASK where ITEMS is not null
+      union all
+      select ID, ITEMS from HPC_DOWNLOAD_TASK_RESULT where TYPE != 'DATA_OBJECT' and ITEMS is not null
+      and ID not in (select ID from HPC_COLLECTION_DOWNLOAD_TASK)) TASK,
+     json_table(TASK.ITEMS, '$.items[*]' columns (
+         ITEM_ID                                for ordinality,
+         PATH                                   varchar2(2700) path '$.path',
+         COLLECTION_PATH                        varchar2(2700) path '$.collectionPath',
+         DATA_OBJECT_DOWNLOAD_TASK_ID           varchar2(50)   path '$.dataObjectDownloadTaskId',
+         RESULT                                 varchar2(50)   path '$.result',
+         MESSAGE                                varchar2(4000) path '$.message',
+         ARCHIVE_LOCATION_FILE_CONTAINER_ID     varchar2(200)  path '$.archiveLocationFileContainerId',
+         ARCHIVE_LOCATION_FILE_ID               varchar2(2700) path '$.archiveLocationFileId',
+         DESTINATION_LOCATION_FILE_CONTAINER_ID varchar2(200)  path '$.destinationLocationFileContainerId',
+         DESTINATION_LOCATION_FILE_ID           varchar2(2700) path '$.destinationLocationFileId',
+         EFFECTIVE_TRANSFER_SPEED               number         path '$.effectiveTransferSpeed',
+         DATA_SIZE                              number         path '$.size',
+         PERCENT_COMPLETE                       number         path '$.percentComplete',
+         RESTORE_IN_PROGRESS                    varchar2(5)    path '$.restoreInProgress',
+         STAGING_IN_PROGRESS                    varchar2(5)    path '$.stagingInProgress',
+         STAGING_PERCENT_COMPLETE               number         path '$.stagingPercentComplete')) ITEM
+/
+
+commit
+/
+
+-- The items are no longer stored in the task tables.
+update HPC_COLLECTION_DOWNLOAD_TASK set ITEMS = null where ITEMS is not null
+/
+
+update HPC_DOWNLOAD_TASK_RESULT set ITEMS = null where ITEMS is not null
+/
+
+commit
+/
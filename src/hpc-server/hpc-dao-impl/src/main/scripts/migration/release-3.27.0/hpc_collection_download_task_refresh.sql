@@ -0,0 +1,27 @@
+--
+-- hpc_collection_download_task_refresh.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+--
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+--
+
+alter table HPC_DATA_OBJECT_DOWNLOAD_TASK add (LAST_UPDATED TIMESTAMP)
+/
+
+comment on column HPC_DATA_OBJECT_DOWNLOAD_TASK.LAST_UPDATED is 'The date/time the download task was last created / updated. Used to refresh only the collection download items that changed'
+/
+
+create index HPC_DOWNLOAD_TASK_COLL_IDX on HPC_DATA_OBJECT_DOWNLOAD_TASK (COLLECTION_DOWNLOAD_TASK_ID, LAST_UPDATED)
+/
+
+alter table HPC_COLLECTION_DOWNLOAD_TASK add (ITEMS_REFRESHED TIMESTAMP)
+/
+
+comment on column HPC_COLLECTION_DOWNLOAD_TASK.ITEMS_REFRESHED is 'The date/time the status of the download items was last refreshed'
+/
@@ -0,0 +1,56 @@
+--
+-- hpc_metadata_view_refresh.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+--
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+--
+-- Refresh tracking of incrementally refreshed metadata views (R_COLL_HIERARCHY_META_MAIN) and report
+-- rollups. Duration and staleness of the last refresh are exposed by the API. Must run before
+-- hpc_report_daily_rollup.sql and r_coll_hierarchy_meta_main_incremental.sql.
+
+create table HPC_METADATA_VIEW_REFRESH
+(
+    VIEW_NAME                    VARCHAR2(128)   not null,
+    LAST_REFRESH_TYPE            VARCHAR2(20)    not null,
+    LAST_REFRESH_STARTED         TIMESTAMP       not null,
+    LAST_REFRESH_STARTED_TS      NUMBER(19)      not null,
+    LAST_REFRESH_COMPLETED       TIMESTAMP       not null,
+    LAST_REFRESH_DURATION        NUMBER          not null,
+    LAST_REFRESH_COLLECTIONS     NUMBER(19)      not null,
+    LAST_FULL_REFRESH_COMPLETED  TIMESTAMP,
+    constraint HPC_METADATA_VIEW_REFRESH_PK primary key (VIEW_NAME)
+)
+/
+
+comment on table HPC_METADATA_VIEW_REFRESH is 'The last refresh of incrementally refreshed metadata views'
+/
+
+comment on column HPC_METADATA_VIEW_REFRESH.VIEW_NAME is 'The refreshed view (table)'
+/
+
+comment on column HPC_METADATA_VIEW_REFRESH.LAST_REFRESH_TYPE is 'The last refresh type: FULL or INCREMENTAL'
+/
+
+comment on column HPC_METADATA_VIEW_REFRESH.LAST_REFRESH_STARTED is 'The time the last refresh started. Metadata changes up to this time are reflected'
+/
+
+comment on column HPC_METADATA_VIEW_REFRESH.LAST_REFRESH_STARTED_TS is 'The time the last refresh started, in seconds since epoch (iRODS modify_ts)'
+/
+
+comment on column HPC_METADATA_VIEW_REFRESH.LAST_REFRESH_COMPLETED is 'The time the last refresh completed'
+/
+
+comment on column HPC_METADATA_VIEW_REFRESH.LAST_REFRESH_DURATION is 'The last refresh duration in seconds'
+/
+
+comment on column HPC_METADATA_VIEW_REFRESH.LAST_REFRESH_COLLECTIONS is 'The number of collections refreshed by the last refresh'
+/
+
+comment on column HPC_METADATA_VIEW_REFRESH.LAST_FULL_REFRESH_COMPLETED is 'The time the last full refresh completed'
+/
@@ -0,0 +1,45 @@
+--
+-- hpc_notification_digest.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+--
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+--
+-- Notification digest subscriptions. Events of a digest subscription are not notified one by one. They are
+-- collected in HPC_NOTIFICATION_DIGEST and delivered in a single summary notification once the digest window
+-- of the oldest collected event elapsed.
+
+alter table HPC_NOTIFICATION_SUBSCRIPTION add (DIGEST CHAR(1) default '0' not null)
+/
+
+comment on column HPC_NOTIFICATION_SUBSCRIPTION.DIGEST is 'Indicator whether the notifications are delivered in a periodic digest'
+/
+
+create table HPC_NOTIFICATION_DIGEST
+(
+    USER_ID              VARCHAR2(50)    not null,
+    EVENT_ID             NUMBER(10)      not null,
+    CREATED              TIMESTAMP       not null,
+    constraint HPC_NOTIFICATION_DIGEST_PK primary key (USER_ID, EVENT_ID)
+)
+/
+
+create index HPC_NOTIFICATION_DIGEST_CREATED_IDX on HPC_NOTIFICATION_DIGEST (CREATED)
+/
+
+comment on table HPC_NOTIFICATION_DIGEST is 'Events pending delivery in a user notification digest'
+/
+
+comment on column HPC_NOTIFICATION_DIGEST.USER_ID is 'The user ID to notify'
+/
+
+comment on column HPC_NOTIFICATION_DIGEST.EVENT_ID is 'The event ID (in HPC_EVENT_HISTORY once the event was processed)'
+/
+
+comment on column HPC_NOTIFICATION_DIGEST.CREATED is 'The date/time the event was added to the digest'
+/
@@ -0,0 +1,188 @@
+--
+-- hpc_report_daily_rollup.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+--
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+--
+-- Daily pre-aggregated usage report rollups (data object count, total / max size and file size ranges per
+-- day, DOC, base path and registering user). Usage summary reports (other than path reports) are answered
+-- by summing the rollups instead of aggregating the report materialized views on every report request.
+-- The refresh is tracked in HPC_METADATA_VIEW_REFRESH (hpc_metadata_view_refresh.sql, which must run before
+-- this script).
+
+create table HPC_REPORT_DAILY_ROLLUP
+(
+    REPORT_DATE          DATE            not null,
+    DOC                  VARCHAR2(50),
+    BASE_PATH            VARCHAR2(250),
+    REGISTERED_BY        VARCHAR2(2700),
+    DATA_OBJECT_COUNT    NUMBER(19)      not null,
+    TOTAL_SIZE           NUMBER          not null,
+    MAX_SIZE             NUMBER          not null,
+    SIZE_RANGE1          NUMBER(19)      not null,
+    SIZE_RANGE2          NUMBER(19)      not null,
+    SIZE_RANGE3          NUMBER(19)      not null,
+    SIZE_RANGE4          NUMBER(19)      not null,
+    SIZE_RANGE5          NUMBER(19)      not null,
+    SIZE_RANGE6          NUMBER(19)      not null,
+    SIZE_RANGE7          NUMBER(19)      not null
+)
+/
+
+create index HPC_REPORT_DAILY_ROLLUP_DATE_IDX on HPC_REPORT_DAILY_ROLLUP (REPORT_DATE)
+/
+
+create index HPC_REPORT_DAILY_ROLLUP_DOC_IDX on HPC_REPORT_DAILY_ROLLUP (DOC, REPORT_DATE)
+/
+
+create index HPC_REPORT_DAILY_ROLLUP_BASE_PATH_IDX on HPC_REPORT_DAILY_ROLLUP (BASE_PATH, REPORT_DATE)
+/
+
+create index HPC_REPORT_DAILY_ROLLUP_USER_IDX on HPC_REPORT_DAILY_ROLLUP (REGISTERED_BY, REPORT_DATE)
+/
+
+comment on table HPC_REPORT_DAILY_ROLLUP is 'Daily usage report rollups per DOC, base path and registering user'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.REPORT_DATE is 'The day the data objects were registered (session time zone)'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.DOC is 'The DOC of the data objects'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.BASE_PATH is 'The base path of the data objects'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.REGISTERED_BY is 'The user who registered the data objects'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.DATA_OBJECT_COUNT is 'The number of data objects registered'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.TOTAL_SIZE is 'The total size (bytes) of the data objects registered'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.MAX_SIZE is 'The size (bytes) of the largest data object registered'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.SIZE_RANGE1 is 'The number of data objects of size up to 10MB'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.SIZE_RANGE2 is 'The number of data objects of size 10MB - 1GB'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.SIZE_RANGE3 is 'The number of data objects of size 1GB - 10GB'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.SIZE_RANGE4 is 'The number of data objects of size 10GB - 100GB'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.SIZE_RANGE5 is 'The number of data objects of size 100GB - 500GB'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.SIZE_RANGE6 is 'The number of data objects of size 500GB - 1TB'
+/
+
+comment on column HPC_REPORT_DAILY_ROLLUP.SIZE_RANGE7 is 'The number of data objects of size over 1TB'
+/
+
+-- Roll up the report materialized views into HPC_REPORT_DAILY_ROLLUP. Called after the daily materialized
+-- views refresh. Only the days since the last rolled up day (inclusive, as it may have been partial) are
+-- rolled up again. All the days are rolled up again if the last full refresh is older than
+-- full_refresh_interval (hours), to account for data objects deleted or re-attributed (e.g. moved to another
+-- base path) on days already rolled up. The refresh is tracked in HPC_METADATA_VIEW_REFRESH.
+
+create or replace PROCEDURE refresh_report_daily_rollup(full_refresh_interval IN NUMBER DEFAULT 168) AS
+
+    refresh_started TIMESTAMP := SYSTIMESTAMP;
+    last_full_refresh TIMESTAMP := NULL;
+    refresh_type VARCHAR2(20) := 'INCREMENTAL';
+    from_date DATE := NULL;
+    from_ts NUMBER := 0;
+    rolled_up_rows NUMBER := 0;
+
+BEGIN
+
+    BEGIN
+        SELECT LAST_FULL_REFRESH_COMPLETED INTO last_full_refresh
+        FROM HPC_METADATA_VIEW_REFRESH WHERE VIEW_NAME = 'HPC_REPORT_DAILY_ROLLUP';
+    EXCEPTION
+        WHEN NO_DATA_FOUND THEN
+            NULL;
+    END;
+
+    IF last_full_refresh IS NOT NULL
+       AND last_full_refresh >= refresh_started - NUMTODSINTERVAL(full_refresh_interval, 'HOUR') THEN
+        SELECT max(REPORT_DATE) INTO from_date FROM HPC_REPORT_DAILY_ROLLUP;
+    END IF;
+
+    -- The rollups are replaced in the same transaction, so reports never see a partially rolled up table.
+    IF from_date IS NULL THEN
+        refresh_type := 'FULL';
+        DELETE FROM HPC_REPORT_DAILY_ROLLUP;
+    ELSE
+        DELETE FROM HPC_REPORT_DAILY_ROLLUP WHERE REPORT_DATE >= from_date;
+        from_ts := (CAST(FROM_TZ(CAST(from_date AS TIMESTAMP), SESSIONTIMEZONE) AT TIME ZONE 'UTC' AS DATE)
+                    - DATE '1970-01-01') * 86400;
+    END IF;
+
+    INSERT INTO HPC_REPORT_DAILY_ROLLUP
+    SELECT report_date, doc, base_path, registered_by,
+           count(*), sum(data_size), max(data_size),
+           sum(case when data_size <= 10000000 then 1 else 0 end),
+           sum(case when data_size > 10000000 and data_size <= 1000000000 then 1 else 0 end),
+           sum(case when data_size > 1000000000 and data_size <= 10000000000 then 1 else 0 end),
+           sum(case when data_size > 10000000000 and data_size <= 100000000000 then 1 else 0 end),
+           sum(case when data_size > 100000000000 and data_size <= 500000000000 then 1 else 0 end),
+           sum(case when data_size > 500000000000 and data_size <= 1000000000000 then 1 else 0 end),
+           sum(case when data_size > 1000000000000 then 1 else 0 end)
+    FROM (SELECT trunc(CAST(FROM_TZ(CAST(DATE '1970-01-01' + to_number(a.create_ts) / 86400 AS TIMESTAMP), 'UTC')
+                            AT TIME ZONE SESSIONTIMEZONE AS DATE)) report_date,
+                 c."DOC" doc,
+                 b."BASE_PATH" base_path,
+                 d.meta_attr_value registered_by,
+                 to_number(a.meta_attr_value default 0 on conversion error) data_size
+          FROM r_report_source_file_size a
+                   LEFT JOIN r_report_registered_by_basepath b ON a.object_id = b.object_id
+                   LEFT JOIN "HPC_DATA_MANAGEMENT_CONFIGURATION" c ON b.meta_attr_value = c."ID"
+                   LEFT JOIN r_report_registered_by d ON a.object_id = d.object_id
+          WHERE to_number(a.create_ts) >= from_ts)
+    WHERE from_date IS NULL OR report_date >= from_date
+    GROUP BY report_date, doc, base_path, registered_by;
+
+    rolled_up_rows := SQL%ROWCOUNT;
+
+    -- LAST_REFRESH_COLLECTIONS holds the number of rollup rows recomputed.
+    MERGE INTO HPC_METADATA_VIEW_REFRESH r
+    USING (SELECT 'HPC_REPORT_DAILY_ROLLUP' AS VIEW_NAME FROM dual) v
+    ON (r.VIEW_NAME = v.VIEW_NAME)
+    WHEN MATCHED THEN
+        UPDATE SET r.LAST_REFRESH_TYPE = refresh_type,
+                   r.LAST_REFRESH_STARTED = refresh_started,
+                   r.LAST_REFRESH_STARTED_TS = round((CAST(SYS_EXTRACT_UTC(refresh_started) AS DATE) - DATE '1970-01-01') * 86400),
+                   r.LAST_REFRESH_COMPLETED = SYSTIMESTAMP,
+                   r.LAST_REFRESH_DURATION = (CAST(SYSTIMESTAMP AS DATE) - CAST(refresh_started AS DATE)) * 86400,
+                   r.LAST_REFRESH_COLLECTIONS = rolled_up_rows,
+                   r.LAST_FULL_REFRESH_COMPLETED = CASE WHEN refresh_type = 'FULL' THEN SYSTIMESTAMP
+                                                        ELSE r.LAST_FULL_REFRESH_COMPLETED END
+    WHEN NOT MATCHED THEN
+        INSERT (VIEW_NAME, LAST_REFRESH_TYPE, LAST_REFRESH_STARTED, LAST_REFRESH_STARTED_TS, LAST_REFRESH_COMPLETED,
+                LAST_REFRESH_DURATION, LAST_REFRESH_COLLECTIONS, LAST_FULL_REFRESH_COMPLETED)
+        VALUES (v.VIEW_NAME, refresh_type, refresh_started,
+                round((CAST(SYS_EXTRACT_UTC(refresh_started) AS DATE) - DATE '1970-01-01') * 86400), SYSTIMESTAMP,
+                (CAST(SYSTIMESTAMP AS DATE) - CAST(refresh_started AS DATE)) * 86400,
+                rolled_up_rows, CASE WHEN refresh_type = 'FULL' THEN SYSTIMESTAMP END);
+
+    COMMIT;
+
+END;
+/
+
+call refresh_report_daily_rollup(0)
+/
@@ -0,0 +1,24 @@
+--
+-- hpc_s3_archive_configuration_update.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+-- 
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+--
+ALTER TABLE HPC_S3_ARCHIVE_CONFIGURATION add (
+    MAX_CONCURRENCY NUMBER(10),
+    TARGET_THROUGHPUT_GBPS NUMBER(10,2),
+    MINIMUM_UPLOAD_PART_SIZE NUMBER(19),
+    MULTIPART_UPLOAD_THRESHOLD NUMBER(19),
+    ADAPTIVE_PART_SIZE CHAR(1)
+	);
+COMMENT ON COLUMN HPC_S3_ARCHIVE_CONFIGURATION.MAX_CONCURRENCY IS 'The max number of concurrent S3 requests (parts) per transfer. Optional - system default is used if not set';
+COMMENT ON COLUMN HPC_S3_ARCHIVE_CONFIGURATION.TARGET_THROUGHPUT_GBPS IS 'The S3 client target throughput (in Gbps). Optional - system default is used if not set';
+COMMENT ON COLUMN HPC_S3_ARCHIVE_CONFIGURATION.MINIMUM_UPLOAD_PART_SIZE IS 'The multipart upload minimum part size (in bytes). Optional - system default is used if not set';
+COMMENT ON COLUMN HPC_S3_ARCHIVE_CONFIGURATION.MULTIPART_UPLOAD_THRESHOLD IS 'The multipart upload threshold (in bytes). Optional - system default is used if not set';
+COMMENT ON COLUMN HPC_S3_ARCHIVE_CONFIGURATION.ADAPTIVE_PART_SIZE IS 'Indicates if the part size is increased for large objects to stay within the 10,000 parts limit';
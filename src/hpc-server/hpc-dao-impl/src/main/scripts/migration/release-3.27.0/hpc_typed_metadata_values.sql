@@ -0,0 +1,269 @@
+--
+-- hpc_typed_metadata_values.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+--
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+--
+-- Add typed (numeric and timestamp) shadow columns of meta_attr_value to HPC_DATA_META_MAIN and the
+-- hierarchical metadata views, so numeric / timestamp compound queries use index range scans instead of
+-- calling num_less_than(), timestamp_greater_than(), ... on every candidate row. Timestamp queries still
+-- call timestamp_*() on the rows in range, so a value only matches if it is in the query's format.
+--
+-- Run order: must run before r_coll_hierarchy_meta_main_incremental.sql, which needs the typed columns and
+-- conversion functions, and replaces the R_COLL_HIERARCHY_META_MAIN materialized view recreated here.
+
+alter session enable parallel dml;
+
+--1. Conversion functions. Return null if the value is not a number / timestamp.
+--   The timestamp formats must be kept in sync with TYPED_TIMESTAMP_FORMATS in HpcMetadataDAOImpl.
+
+create or replace function meta_attr_number(attr_value varchar2) RETURN NUMBER DETERMINISTIC
+ IS
+BEGIN
+    RETURN CAST(attr_value AS NUMBER);
+EXCEPTION
+    WHEN others THEN
+        RETURN NULL;
+END;
+/
+
+create or replace function meta_attr_timestamp(attr_value varchar2) RETURN TIMESTAMP DETERMINISTIC
+ IS
+BEGIN
+    BEGIN
+        RETURN to_timestamp(attr_value, 'MM-DD-YYYY HH24:MI:SS');
+    EXCEPTION
+        WHEN others THEN
+            RETURN to_timestamp(attr_value, 'YYYY-MM-DD HH24:MI:SS');
+    END;
+EXCEPTION
+    WHEN others THEN
+        RETURN NULL;
+END;
+/
+
+--2. Add the typed columns to HPC_DATA_META_MAIN and backfill them.
+
+alter table irods.hpc_data_meta_main add
+(
+ META_ATTR_NUM_VALUE                       NUMBER,
+ META_ATTR_TIMESTAMP_VALUE                 TIMESTAMP
+);
+
+comment on column irods.hpc_data_meta_main.meta_attr_num_value is 'Metadata value as a number. Null if the value is not numeric';
+comment on column irods.hpc_data_meta_main.meta_attr_timestamp_value is 'Metadata value as a timestamp. Null if the value is not a timestamp';
+
+update /*+ parallel(hpc_data_meta_main 4) */ irods.hpc_data_meta_main
+   set meta_attr_num_value = meta_attr_number(meta_attr_value),
+       meta_attr_timestamp_value = meta_attr_timestamp(meta_attr_value);
+
+commit;
+
+create index hpc_data_meta_main_num_query
+    on irods.hpc_data_meta_main (meta_attr_name, meta_attr_num_value) PARALLEL 4 nologging;
+create index hpc_data_meta_main_timestamp_query
+    on irods.hpc_data_meta_main (meta_attr_name, meta_attr_timestamp_value) PARALLEL 4 nologging;
+
+--3. Recreate HPC_DATA_META_MAIN_MV to include the typed columns.
+
+drop materialized view irods.hpc_data_meta_main_mv;
+
+create materialized view irods.hpc_data_meta_main_mv
+BUILD IMMEDIATE
+REFRESH FAST
+ENABLE QUERY REWRITE
+AS
+select *
+from hpc_data_meta_main;
+
+comment on column irods.hpc_data_meta_main_mv.object_id is 'Data object Hierarchy ID: r_data_main.data_id';
+comment on column irods.hpc_data_meta_main_mv.coll_id is 'Collection (in the hierarchy) ID: r_coll_main.coll_id. Null if the metadata is associated with the data object itself';
+comment on column irods.hpc_data_meta_main_mv.meta_id is 'Metadata ID: r_meta_main.meta_id';
+comment on column irods.hpc_data_meta_main_mv.data_level is 'The level of the metadata in the hierarchy, starting with 1 at the data-object level';
+comment on column irods.hpc_data_meta_main_mv.level_label is 'The level label of the metadata in the hierarchy which is the collection_type value at the same level. "DataObject" if the metadata is associated with the data object itself';
+comment on column irods.hpc_data_meta_main_mv.meta_attr_name is 'Metadata attribute: r_meta_main.meta_attr_name';
+comment on column irods.hpc_data_meta_main_mv.meta_attr_value is 'Metadata value: r_meta_main.meta_attr_value';
+comment on column irods.hpc_data_meta_main_mv.meta_attr_unit is 'Metadata unit: r_meta_main.meta_attr_unit';
+comment on column irods.hpc_data_meta_main_mv.meta_attr_num_value is 'Metadata value as a number. Null if the value is not numeric';
+comment on column irods.hpc_data_meta_main_mv.meta_attr_timestamp_value is 'Metadata value as a timestamp. Null if the value is not a timestamp';
+
+create unique index hpc_data_meta_main_mv_unique
+    on irods.hpc_data_meta_main_mv (object_id, meta_id, data_level) nologging;
+create index hpc_data_meta_main_mv_metadata_query_level
+    on irods.hpc_data_meta_main_mv (meta_attr_name, meta_attr_value, data_level) nologging;
+create index hpc_data_meta_main_mv_metadata_query_level_label
+    on irods.hpc_data_meta_main_mv (meta_attr_name, level_label) nologging;
+create index hpc_data_meta_main_mv_metadata_query_level_lower
+    on irods.hpc_data_meta_main_mv (meta_attr_name, lower(meta_attr_value), data_level) nologging;
+create index hpc_data_meta_main_mv_path_query
+    on irods.hpc_data_meta_main_mv (object_path) nologging;
+create index hpc_data_meta_main_mv_coll_id_query
+    on irods.hpc_data_meta_main_mv (coll_id) nologging;
+create index hpc_data_meta_main_mv_id_query
+    on irods.hpc_data_meta_main_mv (object_id) nologging;
+create index hpc_data_meta_main_mv_num_query_level
+    on irods.hpc_data_meta_main_mv (meta_attr_name, meta_attr_num_value, data_level) nologging;
+create index hpc_data_meta_main_mv_timestamp_query_level
+    on irods.hpc_data_meta_main_mv (meta_attr_name, meta_attr_timestamp_value, data_level) nologging;
+
+--4. Recreate R_COLL_HIERARCHY_META_MAIN with the typed columns.
+--   Dependent materialized views are recompiled by the next refresh_daily_materialized_view run.
+--   Skipped if R_COLL_HIERARCHY_META_MAIN was already replaced by the incrementally refreshed table (see
+--   r_coll_hierarchy_meta_main_incremental.sql, which must run after this script). The table is created from
+--   this materialized view, so it already has the typed columns.
+
+DECLARE
+    mview_count NUMBER;
+BEGIN
+    SELECT count(*) INTO mview_count FROM all_mviews
+     WHERE owner = 'IRODS' AND mview_name = 'R_COLL_HIERARCHY_META_MAIN';
+    IF mview_count = 0 THEN
+        RETURN;
+    END IF;
+
+    EXECUTE IMMEDIATE 'drop materialized view irods.r_coll_hierarchy_meta_main';
+
+    EXECUTE IMMEDIATE q'[create materialized view irods.r_coll_hierarchy_meta_main as
+SELECT coll_hierarchy_metamap.object_id,
+       coll_hierarchy_metamap.object_path,
+       coll_hierarchy_metamap.coll_id,
+       coll_hierarchy_metamap.meta_id,
+       coll_hierarchy_metamap.data_level,
+       coll_type_metadata.meta_attr_value AS level_label,
+       meta_main.meta_attr_name,
+       meta_main.meta_attr_value,
+       meta_main.meta_attr_unit,
+       meta_attr_number(meta_main.meta_attr_value) AS meta_attr_num_value,
+       meta_attr_timestamp(meta_main.meta_attr_value) AS meta_attr_timestamp_value
+FROM r_coll_hierarchy_metamap coll_hierarchy_metamap
+         LEFT JOIN r_meta_main meta_main ON coll_hierarchy_metamap.meta_id = meta_main.meta_id
+         LEFT JOIN (r_objt_metamap metamap
+    JOIN r_meta_main coll_type_metadata ON metamap.meta_id = coll_type_metadata.meta_id AND
+                                           cast(coll_type_metadata.meta_attr_name as varchar2(250)) = cast('collection_type' as varchar2(50)))
+                   ON metamap.object_id = coll_hierarchy_metamap.coll_id
+UNION ALL
+select coll_hierarchy_metamap.object_id,
+       coll_hierarchy_metamap.object_path,
+       coll_hierarchy_metamap.coll_id,
+       0 as meta_id,
+       1 as data_level,
+       meta_main.meta_attr_value AS level_label,
+       'collection_size' AS meta_attr_name,
+       to_char(sum(report_collection_size.totalSize)) AS meta_attr_value,
+       'EMPTY_ATTR_UNIT' AS meta_attr_unit,
+       sum(report_collection_size.totalSize) AS meta_attr_num_value,
+       cast(null as timestamp) AS meta_attr_timestamp_value
+FROM r_coll_hierarchy_metamap coll_hierarchy_metamap
+         LEFT JOIN r_meta_main meta_main ON coll_hierarchy_metamap.meta_id = meta_main.meta_id
+         LEFT JOIN r_report_collection_size report_collection_size ON coll_hierarchy_metamap.OBJECT_PATH = report_collection_size.coll_name
+WHERE coll_hierarchy_metamap.data_level = 1 AND meta_main.META_ATTR_NAME='collection_type'
+  and (report_collection_size.coll_name like coll_hierarchy_metamap.OBJECT_PATH || '%'
+    or report_collection_size.coll_name = coll_hierarchy_metamap.OBJECT_PATH)
+group by coll_hierarchy_metamap.object_id,coll_hierarchy_metamap.object_path,coll_hierarchy_metamap.coll_id,meta_main.meta_attr_value
+ORDER BY object_id]';
+
+    EXECUTE IMMEDIATE 'create unique index r_coll_hierarchy_meta_main_unique on irods.r_coll_hierarchy_meta_main (object_id, meta_id, data_level)';
+    EXECUTE IMMEDIATE 'create index r_coll_hierarchy_meta_main_path_query on irods.r_coll_hierarchy_meta_main (object_path)';
+    EXECUTE IMMEDIATE 'create index r_coll_hierarchy_meta_main_metadata_query_level on irods.r_coll_hierarchy_meta_main (meta_attr_name, meta_attr_value, data_level)';
+    EXECUTE IMMEDIATE 'create index r_coll_hierarchy_meta_main_metadata_query_level_label on irods.r_coll_hierarchy_meta_main (meta_attr_name, level_label)';
+    EXECUTE IMMEDIATE 'create index r_coll_hierarchy_meta_main_metadata_query_level_lower on irods.r_coll_hierarchy_meta_main (meta_attr_name, lower(meta_attr_value), data_level)';
+    EXECUTE IMMEDIATE 'create index r_coll_hierarchy_meta_main_num_query_level on irods.r_coll_hierarchy_meta_main (meta_attr_name, meta_attr_num_value, data_level)';
+    EXECUTE IMMEDIATE 'create index r_coll_hierarchy_meta_main_timestamp_query_level on irods.r_coll_hierarchy_meta_main (meta_attr_name, meta_attr_timestamp_value, data_level)';
+END;
+/
+
+comment on column irods.r_coll_hierarchy_meta_main.object_id is 'Collection Hierarchy ID: r_coll_main.coll_id';
+comment on column irods.r_coll_hierarchy_meta_main.object_path is 'Collection Hierarchy Path: r_coll_main.coll_name';
+comment on column irods.r_coll_hierarchy_meta_main.coll_id is 'Collection (in the hierarchy) ID: r_coll_main.coll_id. Same as object_id if the metadata is associated with the collection itself';
+comment on column irods.r_coll_hierarchy_meta_main.meta_id is 'Metadata ID: r_meta_main.meta_id';
+comment on column irods.r_coll_hierarchy_meta_main.data_level is 'The level of the metadata in the hierarchy, starting with 1 at the collection level';
+comment on column irods.r_coll_hierarchy_meta_main.level_label is 'The level label of the metadata in the hierarchy which is the collection_type value at the same level';
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_name is 'Metadata attribute: r_meta_main.meta_attr_name';
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_value is 'Metadata value: r_meta_main.meta_attr_value';
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_unit is 'Metadata unit: r_meta_main.meta_attr_unit';
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_num_value is 'Metadata value as a number. Null if the value is not numeric';
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_timestamp_value is 'Metadata value as a timestamp. Null if the value is not a timestamp';
+
+--5. Recreate HPC_DATA_INHERITED_META_MAIN_MV with the typed columns.
+
+drop materialized view irods.hpc_data_inherited_meta_main_mv;
+
+create materialized view irods.hpc_data_inherited_meta_main_mv
+    refresh complete on demand
+as
+select
+       d.object_id as object_id,
+       d.object_path as object_path,
+       d.coll_id as coll_id,
+       c.meta_id as meta_id,
+       c.data_level + 1 as data_level,
+       c.level_label as level_label,
+       c.meta_attr_name as meta_attr_name,
+       c.meta_attr_value as meta_attr_value,
+       c.meta_attr_unit as meta_attr_unit,
+       c.meta_attr_num_value as meta_attr_num_value,
+       c.meta_attr_timestamp_value as meta_attr_timestamp_value
+from hpc_eligible_data_objects_mv d
+join r_coll_hierarchy_meta_main c
+  on c.object_id = d.coll_id;
+
+create unique index hpc_data_inherited_meta_main_mv_unique
+    on irods.hpc_data_inherited_meta_main_mv (object_id, meta_id, data_level) PARALLEL 4 nologging;
+create index hpc_data_inherited_meta_main_mv_metadata_query_level
+    on irods.hpc_data_inherited_meta_main_mv (meta_attr_name, meta_attr_value, data_level) PARALLEL 4 nologging;
+create index hpc_data_inherited_meta_main_mv_metadata_query_level_label
+    on irods.hpc_data_inherited_meta_main_mv (meta_attr_name, level_label) PARALLEL 4 nologging;
+create index hpc_data_inherited_meta_main_mv_metadata_query_level_lower
+    on irods.hpc_data_inherited_meta_main_mv (meta_attr_name, lower(meta_attr_value), data_level) PARALLEL 4 nologging;
+create index hpc_data_inherited_meta_main_mv_path_query
+    on irods.hpc_data_inherited_meta_main_mv (object_path) PARALLEL 4 nologging;
+create index hpc_data_inherited_meta_main_mv_id_query
+    on irods.hpc_data_inherited_meta_main_mv(object_id) PARALLEL 4 nologging;
+create index hpc_data_inherited_meta_main_mv_num_query_level
+    on irods.hpc_data_inherited_meta_main_mv (meta_attr_name, meta_attr_num_value, data_level) PARALLEL 4 nologging;
+create index hpc_data_inherited_meta_main_mv_timestamp_query_level
+    on irods.hpc_data_inherited_meta_main_mv (meta_attr_name, meta_attr_timestamp_value, data_level) PARALLEL 4 nologging;
+
+--6. Recreate view hpc_data_hierarchy_meta_main_v (R_DATA_HIERARCHY_META_MAIN) with the typed columns.
+
+create or replace view irods.hpc_data_hierarchy_meta_main_v as
+select object_id,
+  object_path,
+  coll_id,
+  meta_id,
+  data_level,
+  level_label,
+  meta_attr_name,
+  meta_attr_value,
+  meta_attr_unit,
+  meta_attr_num_value,
+  meta_attr_timestamp_value
+from irods.hpc_data_meta_main_mv
+union all
+select object_id,
+  object_path,
+  coll_id,
+  meta_id,
+  data_level,
+  level_label,
+  meta_attr_name,
+  meta_attr_value,
+  meta_attr_unit,
+  meta_attr_num_value,
+  meta_attr_timestamp_value
+from irods.hpc_data_inherited_meta_main_mv;
+
+--7. Gather statistics
+begin
+   dbms_stats.gather_table_stats('IRODS', 'HPC_DATA_META_MAIN', cascade => TRUE, method_opt=>'FOR ALL INDEXED COLUMNS');
+   dbms_stats.gather_table_stats('IRODS', 'HPC_DATA_META_MAIN_MV', cascade => TRUE, method_opt=>'FOR ALL INDEXED COLUMNS');
+   dbms_stats.gather_table_stats('IRODS', 'R_COLL_HIERARCHY_META_MAIN', cascade => TRUE, method_opt=>'FOR ALL INDEXED COLUMNS');
+   dbms_stats.gather_table_stats('IRODS', 'HPC_DATA_INHERITED_META_MAIN_MV', cascade => TRUE, method_opt=>'FOR ALL INDEXED COLUMNS');
+end;
+/
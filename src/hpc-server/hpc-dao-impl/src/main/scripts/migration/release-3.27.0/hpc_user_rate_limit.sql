@@ -0,0 +1,33 @@
+--
+-- hpc_user_rate_limit.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+--
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+--
+
+create table HPC_USER_RATE_LIMIT
+(
+    USER_ID              VARCHAR2(50)   not null,
+    TOKENS               NUMBER         not null,
+    LAST_REFILL          NUMBER(19)     not null,
+    constraint HPC_USER_RATE_LIMIT_PK primary key (USER_ID)
+)
+/
+
+comment on table HPC_USER_RATE_LIMIT is 'User rate limit token buckets shared by the REST API servers (cluster mode)'
+/
+
+comment on column HPC_USER_RATE_LIMIT.USER_ID is 'The user ID'
+/
+
+comment on column HPC_USER_RATE_LIMIT.TOKENS is 'The tokens available in the user bucket as of LAST_REFILL'
+/
+
+comment on column HPC_USER_RATE_LIMIT.LAST_REFILL is 'The time (epoch milliseconds) the user bucket was last refilled'
+/
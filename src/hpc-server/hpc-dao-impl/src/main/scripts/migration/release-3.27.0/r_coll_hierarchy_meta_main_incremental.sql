@@ -0,0 +1,334 @@
+--
+-- r_coll_hierarchy_meta_main_incremental.sql
+--
+-- Copyright SVG, Inc.
+-- Copyright Leidos Biomedical Research, Inc
+--
+-- Distributed under the OSI-approved BSD 3-Clause License.
+-- See http://ncip.github.com/HPC/LICENSE.txt for details.
+--
+--
+-- @author <a href="mailto:yuri.dinh@nih.gov">Yuri Dinh</a>
+--
+-- Incremental refresh of R_COLL_HIERARCHY_META_MAIN. The materialized view (complete refresh every hour)
+-- is replaced by a table of the same name and columns. The hourly refresh merges into it only the
+-- hierarchy rows of collections whose metadata changed (based on the iRODS modify_ts timestamps) since
+-- the last refresh. A complete rebuild (also merged) is done periodically as a fallback, i.e. to account
+-- for metadata removed from a collection and for deleted collections.
+--
+-- Run order: this script needs the typed columns and the meta_attr_number() / meta_attr_timestamp()
+-- functions of hpc_typed_metadata_values.sql, and the HPC_METADATA_VIEW_REFRESH table of
+-- hpc_metadata_view_refresh.sql, so it must run after both (it is named to sort after them).
+
+--1. Change tracking indexes on the iRODS modify_ts timestamps (zero padded seconds since epoch, so they
+--   are range scanned as strings).
+
+create index hpc_objt_metamap_modify_ts on r_objt_metamap (modify_ts)
+/
+
+create index hpc_meta_main_modify_ts on r_meta_main (modify_ts)
+/
+
+create index hpc_coll_main_modify_ts on r_coll_main (modify_ts)
+/
+
+--2. Replace the R_COLL_HIERARCHY_META_MAIN materialized view with a table (same columns and data).
+--   Dependent materialized views are recompiled by the next refresh_daily_materialized_view run.
+
+create table irods.hpc_coll_hierarchy_meta_main_t as select * from irods.r_coll_hierarchy_meta_main
+/
+
+drop materialized view irods.r_coll_hierarchy_meta_main
+/
+
+alter table irods.hpc_coll_hierarchy_meta_main_t rename to r_coll_hierarchy_meta_main
+/
+
+comment on table irods.r_coll_hierarchy_meta_main is 'Collection hierarchy metadata. Refreshed incrementally by refresh_coll_hierarchy_meta_main'
+/
+comment on column irods.r_coll_hierarchy_meta_main.object_id is 'Collection Hierarchy ID: r_coll_main.coll_id'
+/
+comment on column irods.r_coll_hierarchy_meta_main.object_path is 'Collection Hierarchy Path: r_coll_main.coll_name'
+/
+comment on column irods.r_coll_hierarchy_meta_main.coll_id is 'Collection (in the hierarchy) ID: r_coll_main.coll_id. Same as object_id if the metadata is associated with the collection itself'
+/
+comment on column irods.r_coll_hierarchy_meta_main.meta_id is 'Metadata ID: r_meta_main.meta_id'
+/
+comment on column irods.r_coll_hierarchy_meta_main.data_level is 'The level of the metadata in the hierarchy, starting with 1 at the collection level'
+/
+comment on column irods.r_coll_hierarchy_meta_main.level_label is 'The level label of the metadata in the hierarchy which is the collection_type value at the same level'
+/
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_name is 'Metadata attribute: r_meta_main.meta_attr_name'
+/
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_value is 'Metadata value: r_meta_main.meta_attr_value'
+/
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_unit is 'Metadata unit: r_meta_main.meta_attr_unit'
+/
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_num_value is 'Metadata value as a number. Null if the value is not numeric'
+/
+comment on column irods.r_coll_hierarchy_meta_main.meta_attr_timestamp_value is 'Metadata value as a timestamp. Null if the value is not a timestamp'
+/
+
+create unique index r_coll_hierarchy_meta_main_unique
+    on irods.r_coll_hierarchy_meta_main (object_id, meta_id, data_level)
+/
+create index r_coll_hierarchy_meta_main_path_query
+    on irods.r_coll_hierarchy_meta_main (object_path)
+/
+create index r_coll_hierarchy_meta_main_metadata_query_level
+    on irods.r_coll_hierarchy_meta_main (meta_attr_name, meta_attr_value, data_level)
+/
+create index r_coll_hierarchy_meta_main_metadata_query_level_label
+    on irods.r_coll_hierarchy_meta_main (meta_attr_name, level_label)
+/
+create index r_coll_hierarchy_meta_main_metadata_query_level_lower
+    on irods.r_coll_hierarchy_meta_main (meta_attr_name, lower(meta_attr_value), data_level)
+/
+create index r_coll_hierarchy_meta_main_num_query_level
+    on irods.r_coll_hierarchy_meta_main (meta_attr_name, meta_attr_num_value, data_level)
+/
+create index r_coll_hierarchy_meta_main_timestamp_query_level
+    on irods.r_coll_hierarchy_meta_main (meta_attr_name, meta_attr_timestamp_value, data_level)
+/
+
+--3. Refresh working tables: the collections to refresh, and their recomputed hierarchy rows.
+
+create global temporary table hpc_coll_hierarchy_refresh_ids
+(
+    COLL_ID NUMBER(19) not null
+) on commit delete rows
+/
+
+create global temporary table hpc_coll_hierarchy_meta_stage on commit delete rows
+as select * from irods.r_coll_hierarchy_meta_main where 1 = 0
+/
+
+--4. The incremental refresh procedure.
+--   The collections refreshed are the ones whose metadata was added / modified, or that were created / moved,
+--   since the last refresh (and all their sub-collections, which inherit the metadata), and the ones whose
+--   collection_size differs from the R_REPORT_COLLECTION_SIZE total (i.e. data objects registered or deleted
+--   under them, at any depth). Metadata changes are looked up from the start of the last refresh, less a
+--   look back window to account for transactions that were in flight at that time. All the collections are
+--   refreshed if the last full refresh is older than full_refresh_interval (hours).
+
+create or replace PROCEDURE refresh_coll_hierarchy_meta_main(full_refresh_interval IN NUMBER DEFAULT 24,
+                                                             look_back IN NUMBER DEFAULT 300) AS
+
+    refresh_started TIMESTAMP := SYSTIMESTAMP;
+    refresh_started_ts NUMBER := round((CAST(SYS_EXTRACT_UTC(SYSTIMESTAMP) AS DATE) - DATE '1970-01-01') * 86400);
+    last_refresh_started_ts NUMBER := NULL;
+    last_full_refresh TIMESTAMP := NULL;
+    full_refresh BOOLEAN := FALSE;
+    refresh_type VARCHAR2(20) := 'INCREMENTAL';
+    changes_since VARCHAR2(32);
+    refreshed_collections NUMBER := 0;
+
+BEGIN
+
+    BEGIN
+        SELECT LAST_REFRESH_STARTED_TS, LAST_FULL_REFRESH_COMPLETED INTO last_refresh_started_ts, last_full_refresh
+        FROM HPC_METADATA_VIEW_REFRESH WHERE VIEW_NAME = 'R_COLL_HIERARCHY_META_MAIN';
+    EXCEPTION
+        WHEN NO_DATA_FOUND THEN
+            NULL;
+    END;
+
+    full_refresh := last_refresh_started_ts IS NULL OR last_full_refresh IS NULL
+                    OR last_full_refresh < refresh_started - NUMTODSINTERVAL(full_refresh_interval, 'HOUR');
+
+    IF full_refresh THEN
+        refresh_type := 'FULL';
+
+        -- Not used by this refresh, but kept in sync for ad-hoc queries.
+        DBMS_MVIEW.REFRESH('R_COLL_HIERARCHY_METAMAP',
+                           METHOD => 'C', ATOMIC_REFRESH => FALSE, OUT_OF_PLACE => TRUE, PARALLELISM => 4);
+
+        INSERT INTO hpc_coll_hierarchy_refresh_ids (coll_id)
+        SELECT coll_id FROM r_coll_main;
+    ELSE
+        changes_since := lpad(to_char(greatest(last_refresh_started_ts - look_back, 0)), 11, '0');
+
+        INSERT INTO hpc_coll_hierarchy_refresh_ids (coll_id)
+        SELECT coll_id FROM r_coll_main
+        START WITH coll_id IN (SELECT metamap.object_id
+                               FROM r_objt_metamap metamap
+                               WHERE metamap.modify_ts >= changes_since
+                               UNION
+                               SELECT metamap.object_id
+                               FROM r_meta_main meta_main
+                                        JOIN r_objt_metamap metamap ON meta_main.meta_id = metamap.meta_id
+                               WHERE meta_main.modify_ts >= changes_since
+                               UNION
+                               SELECT coll_id
+                               FROM r_coll_main
+                               WHERE modify_ts >= changes_since)
+        CONNECT BY NOCYCLE parent_coll_name = PRIOR coll_name
+        UNION
+        -- Collections whose collection_size changed: data objects registered or deleted anywhere under them
+        -- (R_REPORT_COLLECTION_SIZE, refreshed just before, has a row per collection and ancestor).
+        SELECT coll_type.object_id
+        FROM r_coll_hierarchy_meta_main coll_type
+                 LEFT JOIN (SELECT coll_name, sum(totalSize) AS total_size
+                            FROM r_report_collection_size
+                            GROUP BY coll_name) report_collection_size
+                           ON report_collection_size.coll_name = coll_type.object_path
+                 LEFT JOIN r_coll_hierarchy_meta_main coll_size
+                           ON coll_size.object_id = coll_type.object_id AND coll_size.data_level = 1
+                               AND coll_size.meta_attr_name = 'collection_size'
+        WHERE coll_type.data_level = 1 AND coll_type.meta_attr_name = 'collection_type'
+          AND decode(coll_size.meta_attr_num_value, report_collection_size.total_size, 0, 1) = 1;
+    END IF;
+
+    refreshed_collections := SQL%ROWCOUNT;
+
+    -- Recompute the hierarchy rows of the collections to refresh (same as the former materialized view, with the
+    -- hierarchy computed for these collections only).
+    INSERT INTO hpc_coll_hierarchy_meta_stage
+    WITH coll_hierarchy_metamap AS (
+        SELECT coll_hierarchy.object_id,
+               coll_hierarchy.object_path,
+               metamap.meta_id,
+               coll_hierarchy.coll_id,
+               coll_hierarchy.data_level
+        FROM (SELECT CONNECT_BY_ROOT coll_id AS object_id,
+                     CONNECT_BY_ROOT coll_name AS object_path,
+                     coll_id,
+                     LEVEL AS data_level
+              FROM r_coll_main
+              START WITH coll_id IN (SELECT coll_id FROM hpc_coll_hierarchy_refresh_ids)
+              CONNECT BY cast(coll_name as varchar2(2700)) = PRIOR cast(parent_coll_name as varchar2(2700))
+                     AND cast(coll_name as varchar2(2700)) <> cast('/' as varchar2(1))) coll_hierarchy,
+             r_objt_metamap metamap
+        WHERE coll_hierarchy.coll_id = metamap.object_id
+    )
+    SELECT coll_hierarchy_metamap.object_id,
+           coll_hierarchy_metamap.object_path,
+           coll_hierarchy_metamap.coll_id,
+           coll_hierarchy_metamap.meta_id,
+           coll_hierarchy_metamap.data_level,
+           coll_type_metadata.meta_attr_value AS level_label,
+           meta_main.meta_attr_name,
+           meta_main.meta_attr_value,
+           meta_main.meta_attr_unit,
+           meta_attr_number(meta_main.meta_attr_value) AS meta_attr_num_value,
+           meta_attr_timestamp(meta_main.meta_attr_value) AS meta_attr_timestamp_value
+    FROM coll_hierarchy_metamap
+             LEFT JOIN r_meta_main meta_main ON coll_hierarchy_metamap.meta_id = meta_main.meta_id
+             LEFT JOIN (r_objt_metamap metamap
+        JOIN r_meta_main coll_type_metadata ON metamap.meta_id = coll_type_metadata.meta_id AND
+                                               cast(coll_type_metadata.meta_attr_name as varchar2(250)) = cast('collection_type' as varchar2(50)))
+                       ON metamap.object_id = coll_hierarchy_metamap.coll_id
+    UNION ALL
+    SELECT coll_hierarchy_metamap.object_id,
+           coll_hierarchy_metamap.object_path,
+           coll_hierarchy_metamap.coll_id,
+           0 as meta_id,
+           1 as data_level,
+           meta_main.meta_attr_value AS level_label,
+           'collection_size' AS meta_attr_name,
+           to_char(sum(report_collection_size.totalSize)) AS meta_attr_value,
+           'EMPTY_ATTR_UNIT' AS meta_attr_unit,
+           sum(report_collection_size.totalSize) AS meta_attr_num_value,
+           cast(null as timestamp) AS meta_attr_timestamp_value
+    FROM coll_hierarchy_metamap
+             LEFT JOIN r_meta_main meta_main ON coll_hierarchy_metamap.meta_id = meta_main.meta_id
+             LEFT JOIN r_report_collection_size report_collection_size ON coll_hierarchy_metamap.OBJECT_PATH = report_collection_size.coll_name
+    WHERE coll_hierarchy_metamap.data_level = 1 AND meta_main.META_ATTR_NAME='collection_type'
+      and (report_collection_size.coll_name like coll_hierarchy_metamap.OBJECT_PATH || '%'
+        or report_collection_size.coll_name = coll_hierarchy_metamap.OBJECT_PATH)
+    GROUP BY coll_hierarchy_metamap.object_id,coll_hierarchy_metamap.object_path,coll_hierarchy_metamap.coll_id,meta_main.meta_attr_value;
+
+    -- Merge the recomputed rows. Unchanged rows are not updated.
+    MERGE INTO r_coll_hierarchy_meta_main t
+    USING hpc_coll_hierarchy_meta_stage s
+    ON (t.object_id = s.object_id AND t.meta_id = s.meta_id AND t.data_level = s.data_level)
+    WHEN MATCHED THEN
+        UPDATE SET t.object_path = s.object_path,
+                   t.coll_id = s.coll_id,
+                   t.level_label = s.level_label,
+                   t.meta_attr_name = s.meta_attr_name,
+                   t.meta_attr_value = s.meta_attr_value,
+                   t.meta_attr_unit = s.meta_attr_unit,
+                   t.meta_attr_num_value = s.meta_attr_num_value,
+                   t.meta_attr_timestamp_value = s.meta_attr_timestamp_value
+        WHERE decode(t.object_path, s.object_path, 0, 1) = 1
+           OR decode(t.coll_id, s.coll_id, 0, 1) = 1
+           OR decode(t.level_label, s.level_label, 0, 1) = 1
+           OR decode(t.meta_attr_name, s.meta_attr_name, 0, 1) = 1
+           OR decode(t.meta_attr_value, s.meta_attr_value, 0, 1) = 1
+           OR decode(t.meta_attr_unit, s.meta_attr_unit, 0, 1) = 1
+    WHEN NOT MATCHED THEN
+        INSERT (object_id, object_path, coll_id, meta_id, data_level, level_label, meta_attr_name, meta_attr_value,
+                meta_attr_unit, meta_attr_num_value, meta_attr_timestamp_value)
+        VALUES (s.object_id, s.object_path, s.coll_id, s.meta_id, s.data_level, s.level_label, s.meta_attr_name,
+                s.meta_attr_value, s.meta_attr_unit, s.meta_attr_num_value, s.meta_attr_timestamp_value);
+
+    -- Delete the rows of the refreshed collections that were not recomputed (i.e. metadata removed).
+    DELETE FROM r_coll_hierarchy_meta_main t
+    WHERE t.object_id IN (SELECT coll_id FROM hpc_coll_hierarchy_refresh_ids)
+      AND NOT EXISTS (SELECT 1 FROM hpc_coll_hierarchy_meta_stage s
+                      WHERE s.object_id = t.object_id AND s.meta_id = t.meta_id AND s.data_level = t.data_level);
+
+    -- Delete the rows of deleted collections.
+    IF full_refresh THEN
+        DELETE FROM r_coll_hierarchy_meta_main t
+        WHERE NOT EXISTS (SELECT 1 FROM r_coll_main c WHERE c.coll_id = t.object_id);
+    END IF;
+
+    MERGE INTO HPC_METADATA_VIEW_REFRESH r
+    USING (SELECT 'R_COLL_HIERARCHY_META_MAIN' AS VIEW_NAME FROM dual) v
+    ON (r.VIEW_NAME = v.VIEW_NAME)
+    WHEN MATCHED THEN
+        UPDATE SET r.LAST_REFRESH_TYPE = refresh_type,
+                   r.LAST_REFRESH_STARTED = refresh_started,
+                   r.LAST_REFRESH_STARTED_TS = refresh_started_ts,
+                   r.LAST_REFRESH_COMPLETED = SYSTIMESTAMP,
+                   r.LAST_REFRESH_DURATION = (CAST(SYSTIMESTAMP AS DATE) - CAST(refresh_started AS DATE)) * 86400,
+                   r.LAST_REFRESH_COLLECTIONS = refreshed_collections,
+                   r.LAST_FULL_REFRESH_COMPLETED = CASE WHEN refresh_type = 'FULL' THEN SYSTIMESTAMP
+                                                        ELSE r.LAST_FULL_REFRESH_COMPLETED END
+    WHEN NOT MATCHED THEN
+        INSERT (VIEW_NAME, LAST_REFRESH_TYPE, LAST_REFRESH_STARTED, LAST_REFRESH_STARTED_TS, LAST_REFRESH_COMPLETED,
+                LAST_REFRESH_DURATION, LAST_REFRESH_COLLECTIONS, LAST_FULL_REFRESH_COMPLETED)
+        VALUES (v.VIEW_NAME, refresh_type, refresh_started,
+                refresh_started_ts, SYSTIMESTAMP, (CAST(SYSTIMESTAMP AS DATE) - CAST(refresh_started AS DATE)) * 86400,
+                refreshed_collections, CASE WHEN refresh_type = 'FULL' THEN SYSTIMESTAMP END);
+
+    COMMIT;
+
+END;
+/
+
+--5. The hourly refresh. R_COLL_HIERARCHY_META_MAIN is refreshed after the collection size report view it
+--   depends on, and before the catalog view that depends on it. R_COLL_HIERARCHY_METAMAP is only refreshed with
+--   the full refresh of R_COLL_HIERARCHY_META_MAIN.
+
+CREATE or replace PROCEDURE refresh_hourly_materialized_view(full_refresh_interval IN NUMBER DEFAULT 24) AS
+
+BEGIN
+
+		DBMS_MVIEW.REFRESH('HPC_DATA_META_MAIN_MV',
+                        METHOD => 'F', ATOMIC_REFRESH => FALSE, OUT_OF_PLACE => TRUE);
+
+        DBMS_MVIEW.REFRESH('R_REPORT_COLLECTION_PATH,
+                        R_REPORT_SOURCE_FILE_SIZE,
+                        R_REPORT_COLLECTION_SIZE',
+                        METHOD => 'C',  ATOMIC_REFRESH => FALSE, OUT_OF_PLACE => TRUE, PARALLELISM=>4);
+
+        refresh_coll_hierarchy_meta_main(full_refresh_interval);
+
+        DBMS_MVIEW.REFRESH('R_CATALOG_META_MAIN',
+                        METHOD => 'C',  ATOMIC_REFRESH => FALSE, OUT_OF_PLACE => TRUE, PARALLELISM=>4);
+
+END;
+/
+
+--6. Initial (full) refresh, and gather statistics.
+
+call refresh_coll_hierarchy_meta_main(0)
+/
+
+begin
+   dbms_stats.gather_table_stats('IRODS', 'R_COLL_HIERARCHY_META_MAIN', cascade => TRUE, method_opt=>'FOR ALL INDEXED COLUMNS');
+end;
+/
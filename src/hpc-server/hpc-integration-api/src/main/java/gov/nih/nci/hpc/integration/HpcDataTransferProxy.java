@@ -31,6 +31,7 @@ import gov.nih.nci.hpc.domain.datatransfer.HpcSetArchiveObjectMetadataResponse;
 import gov.nih.nci.hpc.domain.datatransfer.HpcUploadPartETag;
 import gov.nih.nci.hpc.domain.error.HpcErrorType;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
+import gov.nih.nci.hpc.domain.model.HpcDataTransferConfiguration;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectUploadRequest;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectUploadResponse;
 import gov.nih.nci.hpc.domain.user.HpcIntegratedSystemAccount;
@@ -64,6 +65,23 @@ public interface HpcDataTransferProxy {
 				HpcErrorType.UNEXPECTED_ERROR);
 	}
 
+	/**
+	 * Authenticate the invoker w/ the data transfer system, using the connection
+	 * settings of a data transfer (archive) configuration. Proxies that support
+	 * per-archive client tuning (concurrency, part size, etc) override this method.
+	 *
+	 * @param dataTransferAccount       The Data Transfer account to authenticate.
+	 * @param dataTransferConfiguration The data transfer configuration.
+	 * @return An authenticated token, to be used in subsequent calls to data
+	 *         transfer. It returns null if the account is not authenticated.
+	 * @throws HpcException on data transfer system failure.
+	 */
+	public default Object authenticate(HpcIntegratedSystemAccount dataTransferAccount,
+			HpcDataTransferConfiguration dataTransferConfiguration) throws HpcException {
+		return authenticate(dataTransferAccount, dataTransferConfiguration.getUrlOrRegion(),
+				dataTransferConfiguration.getEncryptionAlgorithm(), dataTransferConfiguration.getEncryptionKey());
+	}
+
 	/**
 	 * Authenticate a AWS S3 account.
 	 *
@@ -18,8 +18,11 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
 
 import org.apache.commons.lang3.StringUtils;
 import org.irods.jargon.core.exception.DataNotFoundException;
@@ -54,6 +57,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.CollectionUtils;
 
+import com.google.common.util.concurrent.Striped;
+
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollection;
 import gov.nih.nci.hpc.domain.datamanagement.HpcCollectionListingEntry;
 import gov.nih.nci.hpc.domain.datamanagement.HpcDataObject;
@@ -91,6 +96,9 @@ public class HpcDataManagementProxyImpl implements HpcDataManagementProxy {
 	// Default metadata unit value
 	private static String DEFAULT_METADATA_UNIT = "EMPTY_ATTR_UNIT";
 
+	// Locks to synchronize threads adding metadata to the same data object path.
+	private Striped<Lock> pathLocks = Striped.lock(127);
+
 	// The logger instance.
 	private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
@@ -289,24 +297,46 @@ public class HpcDataManagementProxyImpl implements HpcDataManagementProxy {
 		}
 	}
 
-	// TODO - remove synchronized after testing if this resolved the duplicated
-	// metadata
 	@Override
-	public synchronized void addMetadataToDataObject(Object authenticatedToken, String path,
+	public void addMetadataToDataObject(Object authenticatedToken, String path,
 			List<HpcMetadataEntry> metadataEntries) throws HpcException {
 		List<AvuData> avuDatas = new ArrayList<AvuData>();
+		String absolutePath = getAbsolutePath(path);
+
+		// Concurrent adds to the same data object are serialized, so the check for
+		// existing metadata below and the add are atomic. Adds to different data
+		// objects run in parallel. Note: the lock is local to this process, so adds
+		// from other servers are not serialized. The check costs an extra iRODS
+		// metadata read per add.
+		Lock lock = pathLocks.get(absolutePath);
+		lock.lock();
 
 		try {
+			DataObjectAO dataObjectAO = irodsConnection.getDataObjectAO(authenticatedToken);
+
+			// Skip metadata already added to the data object (i.e. a retried add), so
+			// the add is idempotent and doesn't create duplicated metadata.
+			Set<String> existingAvus = new HashSet<>();
+			for (MetaDataAndDomainData metadata : dataObjectAO.findMetadataValuesForDataObject(absolutePath)) {
+				existingAvus.add(toAvuKey(metadata.getAvuAttribute(), metadata.getAvuValue(), metadata.getAvuUnit()));
+			}
+
 			for (HpcMetadataEntry metadataEntry : metadataEntries) {
-				avuDatas.add(AvuData.instance(metadataEntry.getAttribute(), metadataEntry.getValue(),
+				AvuData avuData = AvuData.instance(metadataEntry.getAttribute(), metadataEntry.getValue(),
 						!StringUtils.isEmpty(metadataEntry.getUnit()) ? metadataEntry.getUnit()
-								: DEFAULT_METADATA_UNIT));
+								: DEFAULT_METADATA_UNIT);
+				if (existingAvus.add(toAvuKey(avuData.getAttribute(), avuData.getValue(), avuData.getUnit()))) {
+					avuDatas.add(avuData);
+				} else {
+					logger.info("Metadata [{}] already exists on data object [{}]. Skipping add",
+							avuData.getAttribute(), path);
+				}
 			}
 
 			if (!avuDatas.isEmpty()) {
 				// Add bulk metadata to iRODS, and validate the result.
-				for (BulkAVUOperationResponse addAvuResponse : irodsConnection.getDataObjectAO(authenticatedToken)
-						.addBulkAVUMetadataToDataObject(getAbsolutePath(path), avuDatas)) {
+				for (BulkAVUOperationResponse addAvuResponse : dataObjectAO
+						.addBulkAVUMetadataToDataObject(absolutePath, avuDatas)) {
 					if (!addAvuResponse.getResultStatus().equals(ResultStatus.OK)) {
 						// Add metadata failed.
 						String message = "Failed to add metadata to a data object [" + path + "]: "
@@ -322,6 +352,8 @@ public class HpcDataManagementProxyImpl implements HpcDataManagementProxy {
 		} catch (JargonException e) {
 			throw new HpcException("Failed to add metadata to a data object: " + e.getMessage(),
 					HpcErrorType.DATA_MANAGEMENT_ERROR, HpcIntegratedSystem.IRODS, e);
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -1436,4 +1468,16 @@ public class HpcDataManagementProxyImpl implements HpcDataManagementProxy {
 
 		return subjectPermission;
 	}
+
+	/**
+	 * Create a key identifying a metadata AVU (attribute, value, unit).
+	 *
+	 * @param attribute The AVU attribute.
+	 * @param value     The AVU value.
+	 * @param unit      The AVU unit.
+	 * @return A key identifying the AVU.
+	 */
+	private String toAvuKey(String attribute, String value, String unit) {
+		return attribute + "\0" + value + "\0" + unit;
+	}
 }
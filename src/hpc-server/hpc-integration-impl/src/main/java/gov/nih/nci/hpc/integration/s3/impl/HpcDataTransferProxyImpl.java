@@ -710,6 +710,11 @@ public class HpcDataTransferProxyImpl implements HpcDataTransferProxy {
 
 	@Override
 	public void shutdown(Object authenticatedToken) throws HpcException {
+		if (s3Connection.isShared(authenticatedToken)) {
+			// Shared (cached) transfer managers are shut down by the cache on shutdown.
+			return;
+		}
+
 		try {
 			s3Connection.getTransferManager(authenticatedToken).shutdownNow();
 
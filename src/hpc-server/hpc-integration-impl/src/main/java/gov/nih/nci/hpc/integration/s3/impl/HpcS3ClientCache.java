@@ -0,0 +1,275 @@
+/**
+ * HpcS3ClientCache.java
+ *
+ * <p>
+ * Copyright SVG, Inc. Copyright Leidos Biomedical Research, Inc
+ *
+ * <p>
+ * Distributed under the OSI-approved BSD 3-Clause License. See
+ * http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+package gov.nih.nci.hpc.integration.s3.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import gov.nih.nci.hpc.domain.error.HpcErrorType;
+import gov.nih.nci.hpc.domain.user.HpcIntegratedSystem;
+import gov.nih.nci.hpc.exception.HpcException;
+
+/**
+ * A process-wide cache of authenticated S3 clients (transfer manager, client,
+ * presigner) shared by the S3 connections. Clients are keyed by the S3 archive
+ * provider, URL/region and credentials, and evicted when idle or when the cache
+ * is full. An evicted client may still be used by a transfer in progress, so it
+ * is not closed on eviction. It is reused if its key is requested again, and
+ * closed after a grace period (long enough for its in-flight transfers to
+ * finish), or when the cache is invalidated (on shutdown).
+ *
+ * @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+ */
+public class HpcS3ClientCache {
+	// ---------------------------------------------------------------------//
+	// Constants
+	// ---------------------------------------------------------------------//
+
+	// The interval (in milliseconds) between checks for evicted clients to close.
+	private static final long CLOSE_EVICTED_CLIENTS_INTERVAL = 60000;
+
+	// ---------------------------------------------------------------------//
+	// Instance members
+	// ---------------------------------------------------------------------//
+
+	// The authenticated S3 clients.
+	private Cache<String, AutoCloseable> clients = null;
+
+	// The clients evicted from the cache (not closed yet).
+	private ListMultimap<String, HpcEvictedClient> evictedClients = Multimaps
+			.synchronizedListMultimap(ArrayListMultimap.create());
+
+	// The time (in milliseconds) an evicted client is kept before it is closed.
+	private long evictedClientGracePeriod = 0;
+
+	// The time (in milliseconds) of the next check for evicted clients to close.
+	private volatile long nextCloseEvictedClients = 0;
+
+	// All the clients created by this cache (cached or evicted).
+	private Set<AutoCloseable> ownedClients = ConcurrentHashMap.newKeySet();
+
+	// The logger instance.
+	private final Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+	// ---------------------------------------------------------------------//
+	// Constructors
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 *
+	 * @param maxSize                   The max number of authenticated S3
+	 *                                  clients to cache.
+	 * @param idleMinutes               The time (in minutes) an authenticated S3
+	 *                                  client is kept in the cache after its last
+	 *                                  use.
+	 * @param evictedClientGraceMinutes The time (in minutes) an evicted S3 client
+	 *                                  is kept open, so its in-flight transfers
+	 *                                  can finish.
+	 */
+	private HpcS3ClientCache(int maxSize, int idleMinutes, int evictedClientGraceMinutes) {
+		clients = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+				.removalListener(this::evict).build();
+		evictedClientGracePeriod = TimeUnit.MINUTES.toMillis(evictedClientGraceMinutes);
+	}
+
+	// ---------------------------------------------------------------------//
+	// Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Get an authenticated S3 client from the cache, or authenticate and cache it
+	 * if not found. Concurrent requests for the same key authenticate once.
+	 *
+	 * @param key           The cache key (see key()).
+	 * @param authenticator Authenticates w/ S3 if the client is not cached.
+	 * @return An authenticated S3 client.
+	 * @throws HpcException if authentication failed.
+	 */
+	public Object get(String key, Callable<? extends AutoCloseable> authenticator) throws HpcException {
+		closeEvictedClients();
+		try {
+			return clients.get(key, () -> reuseOrAuthenticate(key, authenticator));
+
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			if (e.getCause() instanceof HpcException) {
+				throw (HpcException) e.getCause();
+			}
+			throw new HpcException("[S3] Failed to authenticate: " + e.getMessage(), HpcErrorType.DATA_TRANSFER_ERROR,
+					e.getCause());
+		}
+	}
+
+	/**
+	 * Check if an authenticated S3 client is owned by this cache. Owned clients
+	 * (cached or evicted) are closed by the cache, and must not be closed by the
+	 * caller.
+	 *
+	 * @param client The authenticated S3 client.
+	 * @return true if the client is owned by the cache.
+	 */
+	public boolean contains(Object client) {
+		return client != null && ownedClients.contains(client);
+	}
+
+	/**
+	 * Evict and close all the clients (cached and evicted).
+	 */
+	public void invalidateAll() {
+		clients.invalidateAll();
+		synchronized (evictedClients) {
+			evictedClients.entries().forEach(entry -> close(entry.getKey(), entry.getValue().client));
+			evictedClients.clear();
+		}
+		ownedClients.clear();
+	}
+
+	/**
+	 * Create a cache key. The credentials are hashed, so secrets are not kept in
+	 * the key.
+	 *
+	 * @param clientType    The client type (so v1 and v2 clients are kept
+	 *                      separately).
+	 * @param s3Provider    The S3 provider.
+	 * @param s3URLorRegion The S3 URL or AWS region.
+	 * @param credentials   The credentials (and other settings) used to
+	 *                      authenticate.
+	 * @return A cache key.
+	 */
+	public static String key(String clientType, HpcIntegratedSystem s3Provider, String s3URLorRegion,
+			String... credentials) {
+		String hashedCredentials = Hashing.sha256().hashString(
+				Arrays.stream(credentials).map(c -> Optional.ofNullable(c).orElse("")).collect(Collectors.joining("\0")),
+				StandardCharsets.UTF_8).toString();
+		return clientType + "|" + s3Provider.value() + "|" + s3URLorRegion + "|" + hashedCredentials;
+	}
+
+	// ---------------------------------------------------------------------//
+	// Helper Methods
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Reuse a client evicted w/ the same key, or authenticate a new one.
+	 *
+	 * @param key           The cache key.
+	 * @param authenticator Authenticates w/ S3 if no evicted client is found.
+	 * @return An authenticated S3 client.
+	 * @throws Exception if authentication failed.
+	 */
+	private AutoCloseable reuseOrAuthenticate(String key, Callable<? extends AutoCloseable> authenticator)
+			throws Exception {
+		synchronized (evictedClients) {
+			List<HpcEvictedClient> evicted = evictedClients.get(key);
+			if (!evicted.isEmpty()) {
+				return evicted.remove(evicted.size() - 1).client;
+			}
+		}
+
+		AutoCloseable client = authenticator.call();
+		ownedClients.add(client);
+		return client;
+	}
+
+	/**
+	 * Keep an evicted S3 client until it is reused, its grace period is over, or
+	 * the cache is invalidated.
+	 *
+	 * @param notification The removal notification.
+	 */
+	private void evict(RemovalNotification<String, AutoCloseable> notification) {
+		logger.info("[S3] Evicted cached client [{}] - {}", notification.getKey().split("\\|", 3)[1],
+				notification.getCause());
+		evictedClients.put(notification.getKey(),
+				new HpcEvictedClient(notification.getValue(), System.currentTimeMillis()));
+	}
+
+	/**
+	 * Close the evicted S3 clients whose grace period is over. Checked at most
+	 * once per CLOSE_EVICTED_CLIENTS_INTERVAL.
+	 */
+	private void closeEvictedClients() {
+		long now = System.currentTimeMillis();
+		if (now < nextCloseEvictedClients) {
+			return;
+		}
+		nextCloseEvictedClients = now + CLOSE_EVICTED_CLIENTS_INTERVAL;
+
+		List<Map.Entry<String, AutoCloseable>> expiredClients = new ArrayList<>();
+		synchronized (evictedClients) {
+			Iterator<Map.Entry<String, HpcEvictedClient>> entries = evictedClients.entries().iterator();
+			while (entries.hasNext()) {
+				Map.Entry<String, HpcEvictedClient> entry = entries.next();
+				if (now - entry.getValue().evicted >= evictedClientGracePeriod) {
+					expiredClients.add(Maps.immutableEntry(entry.getKey(), entry.getValue().client));
+					entries.remove();
+				}
+			}
+		}
+
+		expiredClients.forEach(entry -> {
+			ownedClients.remove(entry.getValue());
+			close(entry.getKey(), entry.getValue());
+		});
+	}
+
+	/**
+	 * Close an S3 client.
+	 *
+	 * @param key    The cache key.
+	 * @param client The client to close.
+	 */
+	private void close(String key, AutoCloseable client) {
+		logger.info("[S3] Closing cached client [{}]", key.split("\\|", 3)[1]);
+		try {
+			client.close();
+
+		} catch (Exception e) {
+			logger.error("[S3] Failed to close cached client", e);
+		}
+	}
+
+	/**
+	 * An S3 client evicted from the cache, and the time it was evicted.
+	 */
+	private static class HpcEvictedClient {
+		private final AutoCloseable client;
+		private final long evicted;
+
+		private HpcEvictedClient(AutoCloseable client, long evicted) {
+			this.client = client;
+			this.evicted = evicted;
+		}
+	}
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.Executors;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
 import com.amazonaws.AmazonClientException;
@@ -103,6 +104,10 @@ public class HpcS3Connection {
 	// The executor service to be used by AWSTransferManager
 	private ExecutorService executorService = null;
 
+	// The cache of authenticated (system account) S3 clients.
+	@Autowired
+	private HpcS3ClientCache s3ClientCache = null;
+
 	// ---------------------------------------------------------------------//
 	// Constructors
 	// ---------------------------------------------------------------------//
@@ -141,23 +146,30 @@ public class HpcS3Connection {
 	 * @param encryptionAlgorithm (Optional) The encryption algorithm.
 	 * @param encryptionKey       (Optional) The encryption key.
 	 * @return An authenticated TransferManager object, or null if authentication
-	 *         failed.
+	 *         failed. The TransferManager is shared (cached) and must not be shut
+	 *         down by the caller.
 	 * @throws HpcException if authentication failed
 	 */
 	public Object authenticate(HpcIntegratedSystemAccount dataTransferAccount, String s3URLorRegion,
 			String encryptionAlgorithm, String encryptionKey) throws HpcException {
-		if (dataTransferAccount.getIntegratedSystem().equals(HpcIntegratedSystem.AWS)) {
-			return authenticateAWS(dataTransferAccount.getUsername(), dataTransferAccount.getPassword(), s3URLorRegion,
-					encryptionAlgorithm, encryptionKey);
-		} else {
-			// Determine if this S3 provider require path-style enabled.
-			boolean pathStyleAccessEnabled = pathStyleAccessEnabledProviders
-					.contains(dataTransferAccount.getIntegratedSystem());
+		String key = HpcS3ClientCache.key("v1", dataTransferAccount.getIntegratedSystem(), s3URLorRegion,
+				dataTransferAccount.getUsername(), dataTransferAccount.getPassword(), encryptionAlgorithm,
+				encryptionKey);
+
+		return s3ClientCache.get(key, () -> {
+			if (dataTransferAccount.getIntegratedSystem().equals(HpcIntegratedSystem.AWS)) {
+				return authenticateAWS(dataTransferAccount.getUsername(), dataTransferAccount.getPassword(),
+						s3URLorRegion, encryptionAlgorithm, encryptionKey);
+			} else {
+				// Determine if this S3 provider require path-style enabled.
+				boolean pathStyleAccessEnabled = pathStyleAccessEnabledProviders
+						.contains(dataTransferAccount.getIntegratedSystem());
 
-			return authenticateS3Provider(dataTransferAccount.getUsername(), dataTransferAccount.getPassword(),
-					s3URLorRegion, pathStyleAccessEnabled, dataTransferAccount.getIntegratedSystem(),
-					encryptionAlgorithm, encryptionKey);
-		}
+				return authenticateS3Provider(dataTransferAccount.getUsername(), dataTransferAccount.getPassword(),
+						s3URLorRegion, pathStyleAccessEnabled, dataTransferAccount.getIntegratedSystem(),
+						encryptionAlgorithm, encryptionKey);
+			}
+		});
 	}
 
 	/**
@@ -211,13 +223,29 @@ public class HpcS3Connection {
 		return ((HpcS3TransferManager) authenticatedToken).s3Provider;
 	}
 
+	/**
+	 * Check if an authenticated token is shared (cached). Shared tokens are shut
+	 * down by the cache on shutdown.
+	 *
+	 * @param authenticatedToken An authenticated token.
+	 * @return true if the token is shared.
+	 */
+	public boolean isShared(Object authenticatedToken) {
+		return s3ClientCache.contains(authenticatedToken);
+	}
+
 	// ---------------------------------------------------------------------//
 	// Helper Methods
 	// ---------------------------------------------------------------------//
 
-	private class HpcS3TransferManager {
+	private class HpcS3TransferManager implements AutoCloseable {
 		private TransferManager transferManager = null;
 		private HpcIntegratedSystem s3Provider = null;
+
+		@Override
+		public void close() {
+			transferManager.shutdownNow();
+		}
 	}
 
 	/**
@@ -235,7 +263,7 @@ public class HpcS3Connection {
 	 * @throws HpcException if authentication failed
 	 */
 	@SuppressWarnings("deprecation")
-	private Object authenticateS3Provider(String username, String password, String url, boolean pathStyleAccessEnabled,
+	private HpcS3TransferManager authenticateS3Provider(String username, String password, String url, boolean pathStyleAccessEnabled,
 			HpcIntegratedSystem s3Provider, String encryptionAlgorithm, String encryptionKey) throws HpcException {
 		try {
 			// Create the credential provider based on the configured credentials.
@@ -301,7 +329,7 @@ public class HpcS3Connection {
 	 * @throws HpcException if authentication failed
 	 */
 	@SuppressWarnings("deprecation")
-	private Object authenticateAWS(String accessKey, String secretKey, String region, String encryptionAlgorithm,
+	private HpcS3TransferManager authenticateAWS(String accessKey, String secretKey, String region, String encryptionAlgorithm,
 			String encryptionKey) throws HpcException {
 		try {
 			// Create the credential provider based on provided S3 account.
@@ -58,6 +58,7 @@ import gov.nih.nci.hpc.domain.error.HpcErrorType;
 import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectUploadRequest;
 import gov.nih.nci.hpc.domain.model.HpcDataObjectUploadResponse;
+import gov.nih.nci.hpc.domain.model.HpcDataTransferConfiguration;
 import gov.nih.nci.hpc.domain.user.HpcIntegratedSystemAccount;
 import gov.nih.nci.hpc.exception.HpcException;
 import gov.nih.nci.hpc.integration.HpcDataTransferProgressListener;
@@ -174,6 +175,12 @@ public class HpcDataTransferProxyImpl implements HpcDataTransferProxy {
 		return s3Connection.authenticate(dataTransferAccount, urlOrRegion);
 	}
 
+	@Override
+	public Object authenticate(HpcIntegratedSystemAccount dataTransferAccount,
+			HpcDataTransferConfiguration dataTransferConfiguration) throws HpcException {
+		return s3Connection.authenticate(dataTransferAccount, dataTransferConfiguration);
+	}
+
 	@Override
 	public Object authenticate(HpcS3Account s3Account) throws HpcException {
 		return s3Connection.authenticate(s3Account);
@@ -301,6 +308,7 @@ public class HpcDataTransferProxyImpl implements HpcDataTransferProxy {
 			String storageClass) throws HpcException {
 
 		HpcSetArchiveObjectMetadataResponse response = new HpcSetArchiveObjectMetadataResponse();
+		Long objectSize = null;
 
 		// Check if the metadata was already set on the data-object in the S3 archive.
 		try {
@@ -308,6 +316,7 @@ public class HpcDataTransferProxyImpl implements HpcDataTransferProxy {
 					.key(fileLocation.getFileId()).build();
 			HeadObjectResponse headObjectResponse = s3Connection.getClient(authenticatedToken)
 					.headObject(headObjectRequest).join();
+			objectSize = headObjectResponse.contentLength();
 
 			Map<String, String> s3Metadata = headObjectResponse.metadata();
 			boolean metadataAlreadySet = true;
@@ -343,7 +352,7 @@ public class HpcDataTransferProxyImpl implements HpcDataTransferProxy {
 		CopyRequest copyRequest = CopyRequest.builder().copyObjectRequest(copyObjectRequest).build();
 
 		try {
-			Copy copy = s3Connection.getTransferManager(authenticatedToken).copy(copyRequest);
+			Copy copy = s3Connection.getTransferManager(authenticatedToken, objectSize).copy(copyRequest);
 
 			CompletedCopy completedCopy = copy.completionFuture().join();
 			response.setChecksum(completedCopy.response().copyObjectResult().eTag().replace("\"", ""));
@@ -691,6 +700,11 @@ public class HpcDataTransferProxyImpl implements HpcDataTransferProxy {
 
 	@Override
 	public void shutdown(Object authenticatedToken) throws HpcException {
+		if (s3Connection.isShared(authenticatedToken)) {
+			// Shared (cached) clients are closed by the cache on shutdown.
+			return;
+		}
+
 		try {
 			s3Connection.getTransferManager(authenticatedToken).close();
 			s3Connection.getPresigner(authenticatedToken).close();
@@ -743,7 +757,8 @@ public class HpcDataTransferProxyImpl implements HpcDataTransferProxy {
 		Calendar dataTransferStarted = Calendar.getInstance();
 		Calendar dataTransferCompleted = null;
 		try {
-			fileUpload = s3Connection.getTransferManager(authenticatedToken).uploadFile(uploadFileRequest);
+			fileUpload = s3Connection.getTransferManager(authenticatedToken, sourceFile.length())
+					.uploadFile(uploadFileRequest);
 			progressListener.setCompletableFuture(fileUpload.completionFuture());
 			fileUpload.completionFuture().join();
 
@@ -862,7 +877,7 @@ public class HpcDataTransferProxyImpl implements HpcDataTransferProxy {
 
 				// Create a S3 upload request.
 				BlockingInputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingInputStream(size);
-				Upload streamUpload = s3Connection.getTransferManager(authenticatedToken)
+				Upload streamUpload = s3Connection.getTransferManager(authenticatedToken, size)
 						.upload(builder -> builder
 								.putObjectRequest(
 										request -> request.bucket(archiveDestinationLocation.getFileContainerId())
@@ -15,19 +15,24 @@ import java.net.URISyntaxException;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
 import gov.nih.nci.hpc.domain.datatransfer.HpcS3Account;
 import gov.nih.nci.hpc.domain.error.HpcErrorType;
+import gov.nih.nci.hpc.domain.model.HpcDataTransferConfiguration;
 import gov.nih.nci.hpc.domain.user.HpcIntegratedSystem;
 import gov.nih.nci.hpc.domain.user.HpcIntegratedSystemAccount;
 import gov.nih.nci.hpc.exception.HpcException;
+import gov.nih.nci.hpc.integration.s3.impl.HpcS3ClientCache;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkException;
@@ -53,6 +58,9 @@ public class HpcS3Connection {
 	// 5GB in bytes
 	private static final long FIVE_GB = 5368709120L;
 
+	// The max number of parts in a S3 multipart upload.
+	private static final long MAX_UPLOAD_PARTS = 10000;
+
 	// Google Storage S3 URL.
 	private static final String GOOGLE_STORAGE_URL = "https://storage.googleapis.com";
 
@@ -72,6 +80,11 @@ public class HpcS3Connection {
 	@Value("${hpc.integration.s3.multipartUploadThreshold}")
 	private Long multipartUploadThreshold = null;
 
+	// The default max number of concurrent S3 requests (parts) per transfer. Used
+	// if not configured for the S3 archive.
+	@Value("${hpc.integration.s3.maxConcurrency:1}")
+	private Integer maxConcurrency = null;
+
 	// The CRT log file (Optional).
 	@Value("${hpc.integration.s3.crtLogFile:#{null}}")
 	private String crtLogFile = null;
@@ -83,6 +96,10 @@ public class HpcS3Connection {
 	// The executor service to be used by AWSTransferManager
 	private ExecutorService executorService = null;
 
+	// The cache of authenticated (system account) S3 clients.
+	@Autowired
+	private HpcS3ClientCache s3ClientCache = null;
+
 	// The logger instance.
 	private final Logger logger = LoggerFactory.getLogger(getClass().getName());
 
@@ -122,21 +139,54 @@ public class HpcS3Connection {
 	 *                            Provider (Cleversafe, Cloudian, etc), or Region if
 	 *                            authenticating w/ AWS.
 	 * @return An authenticated TransferManager object, or null if authentication
-	 *         failed.
+	 *         failed. The token is shared (cached) and must not be closed by the
+	 *         caller.
 	 * @throws HpcException if authentication failed
 	 */
 	public Object authenticate(HpcIntegratedSystemAccount dataTransferAccount, String s3URLorRegion)
 			throws HpcException {
-		if (dataTransferAccount.getIntegratedSystem().equals(HpcIntegratedSystem.AWS)) {
-			return authenticateAWS(dataTransferAccount.getUsername(), dataTransferAccount.getPassword(), s3URLorRegion);
-		} else {
-			// Determine if this S3 provider require path-style enabled.
-			boolean pathStyleAccessEnabled = pathStyleAccessEnabledProviders
-					.contains(dataTransferAccount.getIntegratedSystem());
+		HpcDataTransferConfiguration dataTransferConfiguration = new HpcDataTransferConfiguration();
+		dataTransferConfiguration.setUrlOrRegion(s3URLorRegion);
+		return authenticate(dataTransferAccount, dataTransferConfiguration);
+	}
 
-			return authenticateS3Provider(dataTransferAccount.getUsername(), dataTransferAccount.getPassword(),
-					s3URLorRegion, pathStyleAccessEnabled, dataTransferAccount.getIntegratedSystem());
-		}
+	/**
+	 * Authenticate a (system) data transfer account to a S3 archive (AWS or 3rd
+	 * Party Provider). The S3 client is tuned (concurrency, throughput, part size)
+	 * per the S3 archive configuration, w/ fallback to the system defaults.
+	 *
+	 * @param dataTransferAccount       A data transfer account to authenticate.
+	 * @param dataTransferConfiguration The S3 archive configuration.
+	 * @return An authenticated TransferManager object, or null if authentication
+	 *         failed. The token is shared (cached) and must not be closed by the
+	 *         caller.
+	 * @throws HpcException if authentication failed
+	 */
+	public Object authenticate(HpcIntegratedSystemAccount dataTransferAccount,
+			HpcDataTransferConfiguration dataTransferConfiguration) throws HpcException {
+		String s3URLorRegion = dataTransferConfiguration.getUrlOrRegion();
+		String key = HpcS3ClientCache.key("v2", dataTransferAccount.getIntegratedSystem(), s3URLorRegion,
+				dataTransferAccount.getUsername(), dataTransferAccount.getPassword(),
+				String.valueOf(dataTransferConfiguration.getMaxConcurrency()),
+				String.valueOf(dataTransferConfiguration.getTargetThroughputInGbps()),
+				String.valueOf(dataTransferConfiguration.getMinimumUploadPartSize()),
+				String.valueOf(dataTransferConfiguration.getMultipartUploadThreshold()),
+				String.valueOf(dataTransferConfiguration.getAdaptivePartSize()));
+
+		return s3ClientCache.get(key, () -> {
+			if (dataTransferAccount.getIntegratedSystem().equals(HpcIntegratedSystem.AWS)) {
+				return authenticateAWS(dataTransferAccount.getUsername(), dataTransferAccount.getPassword(),
+						s3URLorRegion, dataTransferConfiguration);
+			} else {
+				// Determine if this S3 provider require path-style enabled.
+				boolean pathStyleAccessEnabled = pathStyleAccessEnabledProviders
+						.contains(dataTransferAccount.getIntegratedSystem());
+
+				return authenticateS3Provider(dataTransferAccount.getUsername(), dataTransferAccount.getPassword(),
+						s3URLorRegion, pathStyleAccessEnabled, dataTransferAccount.getIntegratedSystem(),
+						dataTransferConfiguration);
+			}
+		});
 	}
 
 	/**
@@ -148,7 +198,8 @@ public class HpcS3Connection {
 	 */
 	public Object authenticate(HpcS3Account s3Account) throws HpcException {
 		if (!StringUtils.isEmpty(s3Account.getRegion())) {
-			return authenticateAWS(s3Account.getAccessKey(), s3Account.getSecretKey(), s3Account.getRegion());
+			return authenticateAWS(s3Account.getAccessKey(), s3Account.getSecretKey(), s3Account.getRegion(),
+					new HpcDataTransferConfiguration());
 
 		} else {
 			// Default S3 provider require path-style enabled to true if not provided by the
@@ -156,7 +207,7 @@ public class HpcS3Connection {
 			boolean pathStyleAccessEnabled = Optional.ofNullable(s3Account.getPathStyleAccessEnabled()).orElse(true);
 
 			return authenticateS3Provider(s3Account.getAccessKey(), s3Account.getSecretKey(), s3Account.getUrl(),
-					pathStyleAccessEnabled, HpcIntegratedSystem.USER_S_3_PROVIDER);
+					pathStyleAccessEnabled, HpcIntegratedSystem.USER_S_3_PROVIDER, new HpcDataTransferConfiguration());
 		}
 	}
 
@@ -175,6 +226,41 @@ public class HpcS3Connection {
 		return ((HpcS3) authenticatedToken).transferManager;
 	}
 
+	/**
+	 * Get S3 Transfer Manager from an authenticated token to transfer an object of
+	 * a given size. If adaptive part size is configured for the S3 archive, the
+	 * returned transfer manager uses a part size large enough to keep the object
+	 * within the S3 max number of parts.
+	 *
+	 * @param authenticatedToken An authenticated token.
+	 * @param size               The size of the object to transfer.
+	 * @return A transfer manager object.
+	 * @throws HpcException on invalid authentication token.
+	 */
+	public S3TransferManager getTransferManager(Object authenticatedToken, Long size) throws HpcException {
+		if (!(authenticatedToken instanceof HpcS3)) {
+			throw new HpcException("Invalid S3 authentication token", HpcErrorType.INVALID_REQUEST_INPUT);
+		}
+
+		HpcS3 s3 = (HpcS3) authenticatedToken;
+		if (!s3.adaptivePartSize || size == null) {
+			return s3.transferManager;
+		}
+
+		long partSize = getAdaptivePartSize(s3.minimumPartSize, size);
+		if (partSize == s3.minimumPartSize) {
+			return s3.transferManager;
+		}
+
+		try {
+			return s3.partSizeTransferManagers.computeIfAbsent(partSize, s3::createTransferManager);
+
+		} catch (SdkException | CrtRuntimeException e) {
+			throw new HpcException("[S3] Failed to create a transfer manager w/ part size " + partSize + " - "
+					+ e.getMessage(), HpcErrorType.DATA_TRANSFER_ERROR, s3.provider, e);
+		}
+	}
+
 	/**
 	 * Get S3 Client from an authenticated token.
 	 *
@@ -220,15 +306,116 @@ public class HpcS3Connection {
 		return ((HpcS3) authenticatedToken).provider;
 	}
 
+	/**
+	 * Check if an authenticated token is shared (cached). Shared tokens are closed
+	 * by the cache on shutdown.
+	 *
+	 * @param authenticatedToken An authenticated token.
+	 * @return true if the token is shared.
+	 */
+	public boolean isShared(Object authenticatedToken) {
+		return s3ClientCache.contains(authenticatedToken);
+	}
+
 	// ---------------------------------------------------------------------//
 	// Helper Methods
 	// ---------------------------------------------------------------------//
 
-	private class HpcS3 {
+	private class HpcS3 implements AutoCloseable {
 		private S3TransferManager transferManager = null;
 		private S3AsyncClient client = null;
 		private S3Presigner presigner = null;
 		private HpcIntegratedSystem provider = null;
+
+		// Creates a (tuned) CRT client builder. The part size is set per client.
+		private Supplier<S3CrtAsyncClientBuilder> clientBuilder = null;
+		private long minimumPartSize = 0;
+		private boolean adaptivePartSize = false;
+
+		// Transfer managers (and their clients) w/ larger part sizes, created on
+		// demand when adaptive part size is configured.
+		private ConcurrentHashMap<Long, S3TransferManager> partSizeTransferManagers = new ConcurrentHashMap<>();
+		private ConcurrentHashMap<Long, S3AsyncClient> partSizeClients = new ConcurrentHashMap<>();
+
+		private void createDefaultTransferManager() {
+			client = clientBuilder.get().minimumPartSizeInBytes(minimumPartSize).build();
+			transferManager = S3TransferManager.builder().s3Client(client).executor(executorService).build();
+		}
+
+		private S3TransferManager createTransferManager(long partSize) {
+			logger.info("[S3] Creating a transfer manager w/ part size {} bytes for provider [{}]", partSize,
+					provider.value());
+			S3AsyncClient partSizeClient = clientBuilder.get().minimumPartSizeInBytes(partSize).build();
+			partSizeClients.put(partSize, partSizeClient);
+			return S3TransferManager.builder().s3Client(partSizeClient).executor(executorService).build();
+		}
+
+		@Override
+		public void close() {
+			partSizeTransferManagers.values().forEach(S3TransferManager::close);
+			partSizeClients.values().forEach(S3AsyncClient::close);
+			transferManager.close();
+			presigner.close();
+			client.close();
+		}
+	}
+
+	/**
+	 * Calculate the part size to use for an object, so the object is uploaded in
+	 * no more than 10,000 parts. The part size is doubled (starting w/ the minimum
+	 * part size) until it fits, so a small set of clients serves all object sizes.
+	 *
+	 * @param minimumPartSize The minimum part size.
+	 * @param size            The object size.
+	 * @return The part size to use.
+	 */
+	private long getAdaptivePartSize(long minimumPartSize, long size) {
+		long partSize = minimumPartSize;
+		while (partSize < FIVE_GB && (size + partSize - 1) / partSize > MAX_UPLOAD_PARTS) {
+			partSize *= 2;
+		}
+		return Math.min(partSize, FIVE_GB);
+	}
+
+	/**
+	 * Apply the S3 archive tuning (concurrency, throughput, multipart threshold)
+	 * to a CRT client builder. System defaults are used for settings not configured
+	 * for the S3 archive.
+	 *
+	 * @param crtAsyncClientBuilder     The CRT client builder.
+	 * @param dataTransferConfiguration The S3 archive configuration.
+	 * @param threshold                 The default multipart upload threshold.
+	 * @return The CRT client builder.
+	 */
+	private S3CrtAsyncClientBuilder tune(S3CrtAsyncClientBuilder crtAsyncClientBuilder,
+			HpcDataTransferConfiguration dataTransferConfiguration, long threshold) {
+		crtAsyncClientBuilder.thresholdInBytes(
+				Optional.ofNullable(dataTransferConfiguration.getMultipartUploadThreshold()).orElse(threshold));
+
+		// If only a target throughput is configured, let CRT derive the concurrency
+		// from it.
+		if (dataTransferConfiguration.getMaxConcurrency() != null) {
+			crtAsyncClientBuilder.maxConcurrency(dataTransferConfiguration.getMaxConcurrency());
+		} else if (dataTransferConfiguration.getTargetThroughputInGbps() == null) {
+			crtAsyncClientBuilder.maxConcurrency(maxConcurrency);
+		}
+		if (dataTransferConfiguration.getTargetThroughputInGbps() != null) {
+			crtAsyncClientBuilder.targetThroughputInGbps(dataTransferConfiguration.getTargetThroughputInGbps());
+		}
+
+		return crtAsyncClientBuilder;
+	}
+
+	/**
+	 * Set the part size settings of a S3 client from the S3 archive configuration.
+	 *
+	 * @param s3                        The S3 client.
+	 * @param dataTransferConfiguration The S3 archive configuration.
+	 */
+	private void setPartSize(HpcS3 s3, HpcDataTransferConfiguration dataTransferConfiguration) {
+		s3.minimumPartSize = Optional.ofNullable(dataTransferConfiguration.getMinimumUploadPartSize())
+				.orElse(minimumUploadPartSize);
+		s3.adaptivePartSize = Optional.ofNullable(dataTransferConfiguration.getAdaptivePartSize()).orElse(false);
 	}
 
 	/**
@@ -239,12 +426,15 @@ public class HpcS3Connection {
 	 * @param url                    The S3 3rd party provider URL.
 	 * @param pathStyleAccessEnabled true if the S3 3rd Party provider supports path
 	 *                               style access.
-	 * @param s3Provider             The 3rd party provider.
+	 * @param s3Provider                The 3rd party provider.
+	 * @param dataTransferConfiguration The S3 archive configuration (client
+	 *                                  tuning).
 	 * @return HpcS3 instance
 	 * @throws HpcException if authentication failed
 	 */
-	private Object authenticateS3Provider(String username, String password, String url, boolean pathStyleAccessEnabled,
-			HpcIntegratedSystem s3Provider) throws HpcException {
+	private HpcS3 authenticateS3Provider(String username, String password, String url, boolean pathStyleAccessEnabled,
+			HpcIntegratedSystem s3Provider, HpcDataTransferConfiguration dataTransferConfiguration)
+			throws HpcException {
 		// Create the credential provider based on the configured credentials.
 		AwsBasicCredentials s3ProviderCredentials = AwsBasicCredentials.create(username, password);
 		StaticCredentialsProvider s3ProviderCredentialsProvider = StaticCredentialsProvider
@@ -261,6 +451,8 @@ public class HpcS3Connection {
 
 		HpcS3 s3 = new HpcS3();
 		s3.provider = s3Provider;
+		setPartSize(s3, dataTransferConfiguration);
+		final URI endpoint = uri;
 
 		try {
 			// If configured, start the AWS CRT logger.
@@ -268,21 +460,25 @@ public class HpcS3Connection {
 				Log.initLoggingToFile(Log.LogLevel.Trace, crtLogFile);
 			}
 
-			// Instantiate a S3 async client.
-			S3CrtAsyncClientBuilder crtAsyncClientBuilder = S3AsyncClient.crtBuilder()
-					.credentialsProvider(s3ProviderCredentialsProvider).forcePathStyle(pathStyleAccessEnabled)
-					.endpointOverride(uri).minimumPartSizeInBytes(minimumUploadPartSize)
-					.thresholdInBytes(url.equalsIgnoreCase(GOOGLE_STORAGE_URL) ? FIVE_GB : multipartUploadThreshold).maxConcurrency(1);
+			// Instantiate a S3 async client and transfer manager.
+			s3.clientBuilder = () -> {
+				S3CrtAsyncClientBuilder crtAsyncClientBuilder = tune(
+						S3AsyncClient.crtBuilder().credentialsProvider(s3ProviderCredentialsProvider)
+								.forcePathStyle(pathStyleAccessEnabled).endpointOverride(endpoint),
+						dataTransferConfiguration,
+						url.equalsIgnoreCase(GOOGLE_STORAGE_URL) ? FIVE_GB : multipartUploadThreshold);
+
+				if (trustAllCerts) {
+					crtAsyncClientBuilder.httpConfiguration(builder -> builder.trustAllCertificatesEnabled(true));
+				}
+				return crtAsyncClientBuilder;
+			};
 
 			if (trustAllCerts) {
-				crtAsyncClientBuilder.httpConfiguration(builder -> builder.trustAllCertificatesEnabled(true));
 				logger.warn("hpc.integration.s3.trustAllCerts property is set to true. CRT cert validation is off");
 			}
 
-			s3.client = crtAsyncClientBuilder.build();
-
-			// Instantiate the S3 transfer manager.
-			s3.transferManager = S3TransferManager.builder().s3Client(s3.client).executor(executorService).build();
+			s3.createDefaultTransferManager();
 
 			// Instantiate the S3 presigner.
 			s3.presigner = S3Presigner.builder().credentialsProvider(s3ProviderCredentialsProvider)
@@ -304,17 +500,21 @@ public class HpcS3Connection {
 	 *
 	 * @param accessKey The AWS account access key.
 	 * @param secretKey The AWS account secret key.
-	 * @param region    The AWS account region.
+	 * @param region                    The AWS account region.
+	 * @param dataTransferConfiguration The S3 archive configuration (client
+	 *                                  tuning).
 	 * @return TransferManager
 	 * @throws HpcException if authentication failed
 	 */
-	private Object authenticateAWS(String accessKey, String secretKey, String region) throws HpcException {
+	private HpcS3 authenticateAWS(String accessKey, String secretKey, String region,
+			HpcDataTransferConfiguration dataTransferConfiguration) throws HpcException {
 		// Create the credential provider based on provided AWS S3 account.
 		AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKey, secretKey);
 		StaticCredentialsProvider awsCredentialsProvider = StaticCredentialsProvider.create(awsCredentials);
 
 		HpcS3 s3 = new HpcS3();
 		s3.provider = HpcIntegratedSystem.AWS;
+		setPartSize(s3, dataTransferConfiguration);
 
 		try {
 			// If configured, start the AWS CRT logger.
@@ -322,13 +522,11 @@ public class HpcS3Connection {
 				Log.initLoggingToFile(Log.LogLevel.Trace, crtLogFile);
 			}
 
-			// Instantiate a S3 async client.
-			s3.client = S3AsyncClient.crtBuilder().credentialsProvider(awsCredentialsProvider).region(Region.of(region))
-					.minimumPartSizeInBytes(minimumUploadPartSize)
-					.thresholdInBytes(multipartUploadThreshold).maxConcurrency(1).build();
-
-			// Instantiate the S3 transfer manager.
-			s3.transferManager = S3TransferManager.builder().s3Client(s3.client).executor(executorService).build();
+			// Instantiate a S3 async client and transfer manager.
+			s3.clientBuilder = () -> tune(
+					S3AsyncClient.crtBuilder().credentialsProvider(awsCredentialsProvider).region(Region.of(region)),
+					dataTransferConfiguration, multipartUploadThreshold);
+			s3.createDefaultTransferManager();
 
 			// Instantiate the S3 presigner.
 			s3.presigner = S3Presigner.builder().credentialsProvider(awsCredentialsProvider).region(Region.of(region))
@@ -0,0 +1,257 @@
+/**
+ * HpcDataManagementProxyImplTest.java
+ *
+ * <p>
+ * Copyright SVG, Inc. Copyright Leidos Biomedical Research, Inc
+ *
+ * <p>
+ * Distributed under the OSI-approved BSD 3-Clause License. See
+ * http://ncip.github.com/HPC/LICENSE.txt for details.
+ */
+package gov.nih.nci.hpc.integration.irods.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.irods.jargon.core.pub.BulkAVUOperationResponse;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
+import org.irods.jargon.core.pub.DataObjectAO;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.irods.jargon.core.query.MetaDataAndDomainData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import gov.nih.nci.hpc.domain.metadata.HpcMetadataEntry;
+import gov.nih.nci.hpc.exception.HpcException;
+
+/**
+ * HPC Data Management Proxy iRODS Implementation - addMetadataToDataObject()
+ * concurrency tests.
+ *
+ * @author <a href="mailto:eran.rosenberg@nih.gov">Eran Rosenberg</a>
+ */
+@ExtendWith(MockitoExtension.class)
+public class HpcDataManagementProxyImplTest {
+
+	// ---------------------------------------------------------------------//
+	// Constants
+	// ---------------------------------------------------------------------//
+
+	private static final String BASE_PATH = "/tempZone/home";
+	private static final int THREADS = 16;
+
+	// ---------------------------------------------------------------------//
+	// Instance members
+	// ---------------------------------------------------------------------//
+
+	// The proxy under test.
+	@InjectMocks
+	private HpcDataManagementProxyImpl dataManagementProxy = null;
+
+	// Mocks.
+	@Mock
+	private HpcIRODSConnection irodsConnectionMock = null;
+	@Mock
+	private DataObjectAO dataObjectAOMock = null;
+	@Mock
+	private BulkAVUOperationResponse okResponseMock = null;
+
+	// A simulated iRODS catalog: data object path -> AVUs (duplicates are kept, as
+	// iRODS would if the same AVU were added by racing threads).
+	private Map<String, List<String>> catalog = new ConcurrentHashMap<>();
+
+	// Hook invoked (in the calling thread) when iRODS add-metadata is called.
+	private Runnable onAddMetadata = () -> {
+	};
+
+	private ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+
+	// ---------------------------------------------------------------------//
+	// Setup
+	// ---------------------------------------------------------------------//
+
+	@BeforeEach
+	public void init() throws Exception {
+		Mockito.lenient().when(irodsConnectionMock.getBasePath()).thenReturn(BASE_PATH);
+		Mockito.lenient().when(irodsConnectionMock.getDataObjectAO(any())).thenReturn(dataObjectAOMock);
+		Mockito.lenient().when(okResponseMock.getResultStatus()).thenReturn(ResultStatus.OK);
+
+		Mockito.lenient().when(dataObjectAOMock.findMetadataValuesForDataObject(anyString())).thenAnswer(invocation -> {
+			List<MetaDataAndDomainData> metadata = new ArrayList<>();
+			for (String avu : catalog.getOrDefault(invocation.getArgument(0), Collections.emptyList())) {
+				metadata.add(toMetaDataAndDomainData(avu));
+			}
+			return metadata;
+		});
+
+		Mockito.lenient().when(dataObjectAOMock.addBulkAVUMetadataToDataObject(anyString(), anyList()))
+				.thenAnswer(invocation -> {
+					String path = invocation.getArgument(0);
+					List<AvuData> avuDatas = invocation.getArgument(1);
+					onAddMetadata.run();
+
+					// Widen the window between reading and adding metadata, so racing threads
+					// would add duplicates if not serialized.
+					Thread.sleep(5);
+					List<String> avus = catalog.computeIfAbsent(path, p -> new CopyOnWriteArrayList<>());
+					for (AvuData avuData : avuDatas) {
+						avus.add(avuData.getAttribute() + "|" + avuData.getValue() + "|" + avuData.getUnit());
+					}
+					return Collections.nCopies(avuDatas.size(), okResponseMock);
+				});
+	}
+
+	@AfterEach
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	// ---------------------------------------------------------------------//
+	// Unit Tests
+	// ---------------------------------------------------------------------//
+
+	/**
+	 * Concurrent adds of the same metadata to the same data object don't create
+	 * duplicated metadata.
+	 *
+	 * @throws Exception on test failure.
+	 */
+	@Test
+	public void testAddMetadataToDataObjectNoDuplicatesUnderContention() throws Exception {
+		List<HpcMetadataEntry> metadataEntries = List.of(toMetadataEntry("uuid", "1234", null),
+				toMetadataEntry("registered_by", "user", null), toMetadataEntry("source_file_size", "100", "bytes"));
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			futures.add(executorService.submit(() -> {
+				start.await();
+				dataManagementProxy.addMetadataToDataObject(null, "/collection/file.txt", metadataEntries);
+				return null;
+			}));
+		}
+
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+
+		List<String> avus = catalog.get(BASE_PATH + "/collection/file.txt");
+		assertEquals(metadataEntries.size(), avus.size(), "Duplicated metadata added: " + avus);
+		assertEquals(metadataEntries.size(), avus.stream().distinct().count());
+		assertTrue(avus.contains("uuid|1234|EMPTY_ATTR_UNIT"));
+		assertTrue(avus.contains("source_file_size|100|bytes"));
+	}
+
+	/**
+	 * Adds of metadata to different data objects run in parallel (i.e. no global
+	 * lock).
+	 *
+	 * @throws Exception on test failure.
+	 */
+	@Test
+	public void testAddMetadataToDifferentDataObjectsInParallel() throws Exception {
+		// Each add blocks until another add is in progress concurrently. This would
+		// time out if the adds were serialized.
+		CountDownLatch concurrentAdds = new CountDownLatch(2);
+		AtomicInteger timedOut = new AtomicInteger();
+		onAddMetadata = () -> {
+			concurrentAdds.countDown();
+			try {
+				if (!concurrentAdds.await(10, TimeUnit.SECONDS)) {
+					timedOut.incrementAndGet();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		List<String> paths = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			paths.add("/collection/file-" + i + ".txt");
+		}
+
+		List<Future<?>> futures = new ArrayList<>();
+		for (String path : paths) {
+			futures.add(executorService.submit(() -> {
+				dataManagementProxy.addMetadataToDataObject(null, path, List.of(toMetadataEntry("uuid", path, null)));
+				return null;
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+
+		assertEquals(0, timedOut.get(), "Metadata adds to different data objects were serialized");
+		for (String path : paths) {
+			assertEquals(1, catalog.get(BASE_PATH + path).size());
+		}
+	}
+
+	/**
+	 * Re-adding metadata that already exists on a data object is a no-op.
+	 *
+	 * @throws HpcException on test failure.
+	 */
+	@Test
+	public void testAddMetadataToDataObjectIdempotent() throws HpcException {
+		List<HpcMetadataEntry> metadataEntries = List.of(toMetadataEntry("uuid", "1234", null));
+
+		dataManagementProxy.addMetadataToDataObject(null, "/collection/file.txt", metadataEntries);
+		dataManagementProxy.addMetadataToDataObject(null, "/collection/file.txt", metadataEntries);
+
+		assertEquals(1, catalog.get(BASE_PATH + "/collection/file.txt").size());
+		Mockito.verify(dataObjectAOMock, Mockito.times(1)).addBulkAVUMetadataToDataObject(anyString(), anyList());
+	}
+
+	// ---------------------------------------------------------------------//
+	// Helper Methods
+	// ---------------------------------------------------------------------//
+
+	private HpcMetadataEntry toMetadataEntry(String attribute, String value, String unit) {
+		HpcMetadataEntry metadataEntry = new HpcMetadataEntry();
+		metadataEntry.setAttribute(attribute);
+		metadataEntry.setValue(value);
+		metadataEntry.setUnit(unit);
+		return metadataEntry;
+	}
+
+	private MetaDataAndDomainData toMetaDataAndDomainData(String avu) {
+		String[] avuParts = avu.split("\\|");
+		return Mockito.mock(MetaDataAndDomainData.class, withSettings().defaultAnswer(invocation -> {
+			switch (invocation.getMethod().getName()) {
+			case "getAvuAttribute":
+				return avuParts[0];
+			case "getAvuValue":
+				return avuParts[1];
+			case "getAvuUnit":
+				return avuParts[2];
+			default:
+				return null;
+			}
+		}));
+	}
+}
@@ -244,12 +244,24 @@ public class HpcScheduledTasksImpl {
 				systemBusService::completeBulkDataObjectRegistrationTasks, logger);
 	}
 
+	/** Process bulk metadata update tasks. */
+	@Scheduled(cron = "${hpc.scheduler.cron.processBulkMetadataUpdateTasks.delay}")
+	private void processBulkMetadataUpdateTasksTask() {
+		execute("processBulkMetadataUpdateTasksTask()", systemBusService::processBulkMetadataUpdateTasks, logger);
+	}
+
 	/** Process events and send notifications. */
 	@Scheduled(cron = "${hpc.scheduler.cron.processevents.delay}")
 	private void processEventsTask() {
 		execute("processEventsTask()", systemBusService::processEvents, logger);
 	}
 
+	/** Send notification digests. */
+	@Scheduled(cron = "${hpc.scheduler.cron.sendNotificationDigests.delay}")
+	private void sendNotificationDigestsTask() {
+		execute("sendNotificationDigestsTask()", systemBusService::sendNotificationDigests, logger);
+	}
+
 	/** Generate a summary report event. */
 	@Scheduled(cron = "${hpc.scheduler.cron.summaryreport.delay}")
 	private void generateSummaryReportTask() {
@@ -161,13 +161,18 @@ public interface HpcDataManagementRestService {
 	/**
 	 * Get collection download task status.
 	 *
-	 * @param taskId The collection download task ID.
+	 * @param taskId        The collection download task ID.
+	 * @param itemsAfter    (Optional) Return download items after this item ID
+	 *                      (the 'nextItemsAfter' of the previous page).
+	 * @param itemsPageSize (Optional) The max number of download items to return.
+	 *                      If not provided, all the download items are returned.
 	 * @return The REST service response w/ HpcCollectionDownloadStatusDTO entity.
 	 */
 	@GET
 	@Path("/collection/download/{taskId}")
 	@Produces("application/json; charset=UTF-8, application/xml; charset=UTF-8")
-	public Response getCollectionDownloadStatus(@PathParam("taskId") String taskId);
+	public Response getCollectionDownloadStatus(@PathParam("taskId") String taskId,
+			@QueryParam("itemsAfter") Integer itemsAfter, @QueryParam("itemsPageSize") Integer itemsPageSize);
 
 	/**
 	 * Cancel a collection download task status.
@@ -738,13 +743,18 @@ public interface HpcDataManagementRestService {
 	/**
 	 * Get download task status of a list of data objects or a list of collections.
 	 *
-	 * @param taskId The download task ID.
+	 * @param taskId        The download task ID.
+	 * @param itemsAfter    (Optional) Return download items after this item ID
+	 *                      (the 'nextItemsAfter' of the previous page).
+	 * @param itemsPageSize (Optional) The max number of download items to return.
+	 *                      If not provided, all the download items are returned.
 	 * @return The REST service response w/ HpcCollectionDownloadStatusDTO entity.
 	 */
 	@GET
 	@Path("/download/{taskId}")
 	@Produces("application/json; charset=UTF-8, application/xml; charset=UTF-8")
-	public Response getDataObjectsOrCollectionsDownloadStatus(@PathParam("taskId") String taskId);
+	public Response getDataObjectsOrCollectionsDownloadStatus(@PathParam("taskId") String taskId,
+			@QueryParam("itemsAfter") Integer itemsAfter, @QueryParam("itemsPageSize") Integer itemsPageSize);
 
 	/**
 	 * Cancel download task of a list of data objects or a list of collections.
@@ -861,6 +871,31 @@ public interface HpcDataManagementRestService {
 	@Produces("application/json; charset=UTF-8, application/xml; charset=UTF-8")
 	public Response updateMetadata(HpcBulkMetadataUpdateRequestDTO bulkMetadataUpdateRequest);
 
+	/**
+	 * Submit a bulk metadata update task. The task is processed asynchronously.
+	 *
+	 * @param bulkMetadataUpdateRequest The bulk metadata update request.
+	 * @return The REST service response w/ HpcBulkMetadataUpdateTaskResponseDTO
+	 *         entity.
+	 */
+	@POST
+	@Path("/metadata/task")
+	@Consumes("application/json; charset=UTF-8, application/xml; charset=UTF-8")
+	@Produces("application/json; charset=UTF-8, application/xml; charset=UTF-8")
+	public Response submitBulkMetadataUpdateTask(HpcBulkMetadataUpdateRequestDTO bulkMetadataUpdateRequest);
+
+	/**
+	 * Get bulk metadata update task status.
+	 *
+	 * @param taskId The bulk metadata update task ID.
+	 * @return The REST service response w/ HpcBulkMetadataUpdateTaskStatusDTO
+	 *         entity.
+	 */
+	@GET
+	@Path("/metadata/task/{taskId}")
+	@Produces("application/json; charset=UTF-8, application/xml; charset=UTF-8")
+	public Response getBulkMetadataUpdateTaskStatus(@PathParam("taskId") String taskId);
+
 	/**
 	 * List objects directly under path. Non-recursive listing.
 	 *
@@ -132,6 +132,30 @@ public interface HpcDataSearchRestService {
 	  @QueryParam("pageSize") Integer pageSize,
 	  @QueryParam("totalCount") Boolean totalCount);
   
+  /**
+   * Export all data objects as newline-delimited JSON (a HpcDataObjectDTO per line).
+   * The data objects are streamed from the DB as they are read, without paging.
+   *
+   * @return The REST service response w/ a stream of HpcDataObjectDTO entities.
+   */
+  @GET
+  @Path("/dataObject/export/all")
+  @Produces("application/x-ndjson; charset=UTF-8, application/json; charset=UTF-8")
+  public Response exportAllDataObjects();
+  
+  /**
+   * Export all data objects within the requested path as newline-delimited JSON
+   * (a HpcDataObjectDTO per line). The data objects are streamed from the DB as they
+   * are read, without paging.
+   *
+   * @param path The path to search in.
+   * @return The REST service response w/ a stream of HpcDataObjectDTO entities.
+   */
+  @GET
+  @Path("/dataObject/export/all/{path:.*}")
+  @Produces("application/x-ndjson; charset=UTF-8, application/json; charset=UTF-8")
+  public Response exportAllDataObjectsInPath(@PathParam("path") String path);
+  
 
   /**
    * Get data objects by named query.
@@ -278,4 +302,15 @@ public interface HpcDataSearchRestService {
   @POST
   @Path("/refreshMetadataViews")
   public Response refreshMetadataViews();
+
+  /**
+   * Get the last refresh status (type, duration, staleness) of the incrementally
+   * refreshed metadata views.
+   *
+   * @return The REST service response w/ HpcMetadataViewsRefreshStatusDTO entity.
+   */
+  @GET
+  @Path("/refreshMetadataViews")
+  @Produces("application/json; charset=UTF-8, application/xml; charset=UTF-8")
+  public Response getMetadataViewsRefreshStatus();
 }
@@ -47,6 +47,8 @@ import gov.nih.nci.hpc.dto.datamanagement.HpcBulkDataObjectRegistrationStatusDTO
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkDataObjectRegistrationTaskDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateRequestDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateResponseDTO;
+import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateTaskResponseDTO;
+import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMetadataUpdateTaskStatusDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMoveRequestDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcBulkMoveResponseDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcCollectionDTO;
@@ -238,14 +240,14 @@ public class HpcDataManagementRestServiceImpl extends HpcRestServiceImpl impleme
 	@Deprecated
 	@Override
 	public Response getCollectionDownloadStatusV1(String taskId) {
-		return getCollectionDownloadStatus(taskId);
+		return getCollectionDownloadStatus(taskId, null, null);
 	}
 
 	@Override
-	public Response getCollectionDownloadStatus(String taskId) {
+	public Response getCollectionDownloadStatus(String taskId, Integer itemsAfter, Integer itemsPageSize) {
 		HpcCollectionDownloadStatusDTO downloadStatus = null;
 		try {
-			downloadStatus = dataManagementBusService.getCollectionDownloadStatus(taskId);
+			downloadStatus = dataManagementBusService.getCollectionDownloadStatus(taskId, itemsAfter, itemsPageSize);
 
 		} catch (HpcException e) {
 			return errorResponse(e);
@@ -839,10 +841,12 @@ public class HpcDataManagementRestServiceImpl extends HpcRestServiceImpl impleme
 	}
 
 	@Override
-	public Response getDataObjectsOrCollectionsDownloadStatus(String taskId) {
+	public Response getDataObjectsOrCollectionsDownloadStatus(String taskId, Integer itemsAfter,
+			Integer itemsPageSize) {
 		HpcCollectionDownloadStatusDTO downloadStatus = null;
 		try {
-			downloadStatus = dataManagementBusService.getDataObjectsOrCollectionsDownloadStatus(taskId);
+			downloadStatus = dataManagementBusService.getDataObjectsOrCollectionsDownloadStatus(taskId,
+					itemsAfter, itemsPageSize);
 
 		} catch (HpcException e) {
 			return errorResponse(e);
@@ -976,6 +980,33 @@ public class HpcDataManagementRestServiceImpl extends HpcRestServiceImpl impleme
 
 		return okResponse(bulkMetadataUpdateResponse, false);
 	}
+
+	@Override
+	public Response submitBulkMetadataUpdateTask(HpcBulkMetadataUpdateRequestDTO bulkMetadataUpdateRequest) {
+		HpcBulkMetadataUpdateTaskResponseDTO bulkMetadataUpdateTaskResponse = null;
+		try {
+			bulkMetadataUpdateTaskResponse = dataManagementBusService
+					.submitBulkMetadataUpdateTask(bulkMetadataUpdateRequest);
+
+		} catch (HpcException e) {
+			return errorResponse(e);
+		}
+
+		return createdResponse(bulkMetadataUpdateTaskResponse.getTaskId(), bulkMetadataUpdateTaskResponse);
+	}
+
+	@Override
+	public Response getBulkMetadataUpdateTaskStatus(String taskId) {
+		HpcBulkMetadataUpdateTaskStatusDTO taskStatus = null;
+		try {
+			taskStatus = dataManagementBusService.getBulkMetadataUpdateTaskStatus(taskId);
+
+		} catch (HpcException e) {
+			return errorResponse(e);
+		}
+
+		return okResponse(taskStatus, true);
+	}
 	
 	@Override
 	public Response listObjects(String path) {
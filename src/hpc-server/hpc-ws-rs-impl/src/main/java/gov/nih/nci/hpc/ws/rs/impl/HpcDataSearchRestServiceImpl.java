@@ -11,14 +11,27 @@ package gov.nih.nci.hpc.ws.rs.impl;
 
 import static gov.nih.nci.hpc.util.HpcUtil.toNormalizedPath;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.CollectionUtils;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import gov.nih.nci.hpc.bus.HpcDataSearchBusService;
 import gov.nih.nci.hpc.bus.HpcSystemBusService;
 import gov.nih.nci.hpc.domain.error.HpcErrorType;
@@ -32,6 +45,7 @@ import gov.nih.nci.hpc.dto.datamanagement.HpcCollectionListDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcDataObjectListDTO;
 import gov.nih.nci.hpc.dto.datamanagement.HpcMetadataAttributesListDTO;
 import gov.nih.nci.hpc.dto.datasearch.HpcCompoundMetadataQueryDTO;
+import gov.nih.nci.hpc.dto.datasearch.HpcMetadataViewsRefreshStatusDTO;
 import gov.nih.nci.hpc.dto.datasearch.HpcNamedCompoundMetadataQueryDTO;
 import gov.nih.nci.hpc.dto.datasearch.HpcNamedCompoundMetadataQueryListDTO;
 import gov.nih.nci.hpc.exception.HpcException;
@@ -50,6 +64,9 @@ public class HpcDataSearchRestServiceImpl extends HpcRestServiceImpl implements
 	// Constants
 	// ---------------------------------------------------------------------//
 
+	// The newline-delimited JSON media type.
+	private static final MediaType NDJSON_MEDIA_TYPE = new MediaType("application", "x-ndjson", "UTF-8");
+
 	// ---------------------------------------------------------------------//
 	// Instance members
 	// ---------------------------------------------------------------------//
@@ -61,6 +78,12 @@ public class HpcDataSearchRestServiceImpl extends HpcRestServiceImpl implements
 	@Autowired
 	private HpcSystemBusService systemBusService = null;
 
+	// The JSON mapper used to write streamed data objects.
+	private ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+	// The logger instance.
+	private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
+
 	// ---------------------------------------------------------------------//
 	// constructors
 	// ---------------------------------------------------------------------//
@@ -235,6 +258,16 @@ public class HpcDataSearchRestServiceImpl extends HpcRestServiceImpl implements
 		}
 	}
 
+	@Override
+	public Response exportAllDataObjects() {
+		return streamAllDataObjects(null);
+	}
+
+	@Override
+	public Response exportAllDataObjectsInPath(String path) {
+		return streamAllDataObjects(toNormalizedPath(path));
+	}
+
 	@Override
 	public Response addQuery(String queryName, HpcCompoundMetadataQueryDTO compoundMetadataQuery) {
 		try {
@@ -362,6 +395,57 @@ public class HpcDataSearchRestServiceImpl extends HpcRestServiceImpl implements
 		return okResponse(null, false);
 	}
 
+	@Override
+	public Response getMetadataViewsRefreshStatus() {
+		HpcMetadataViewsRefreshStatusDTO refreshStatus = null;
+		try {
+			refreshStatus = systemBusService.getMetadataViewsRefreshStatus();
+
+		} catch (HpcException e) {
+			return errorResponse(e);
+		}
+
+		return okResponse(refreshStatus, false);
+	}
+
+	/**
+	 * Build a response that streams all data objects (within a path if specified)
+	 * as newline-delimited JSON. The data objects are written to the response as
+	 * they are read from the DB, and the writes block while the client is not
+	 * reading, so the DB cursor is consumed at the client's pace.
+	 *
+	 * @param path The path to search in (optional).
+	 * @return The REST service response w/ a stream of HpcDataObjectDTO entities.
+	 */
+	private Response streamAllDataObjects(String path) {
+		StreamingOutput dataObjectsStream = outputStream -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+			try {
+				dataSearchBusService.streamAllDataObjects(path, dataObject -> {
+					try {
+						writer.write(objectMapper.writeValueAsString(dataObject));
+						writer.write('\n');
+
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				writer.flush();
+
+			} catch (UncheckedIOException e) {
+				logger.info("Data objects export of path {} terminated: {}", path, e.getMessage());
+				throw e.getCause();
+
+			} catch (HpcException e) {
+				// The response status may already be sent, so the stream is just truncated.
+				logger.error("Failed to export data objects of path {}", path, e);
+				throw new IOException("Failed to export data objects: " + e.getMessage(), e);
+			}
+		};
+
+		return okResponse(dataObjectsStream, NDJSON_MEDIA_TYPE);
+	}
+
 	private String decodeString(String encodedValue) throws HpcException {
 		try {
 			return URLDecoder.decode(encodedValue, "UTF-8");
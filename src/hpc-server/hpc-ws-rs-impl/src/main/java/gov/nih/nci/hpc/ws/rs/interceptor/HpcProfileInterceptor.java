@@ -8,9 +8,11 @@
  */
 package gov.nih.nci.hpc.ws.rs.interceptor;
 
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
@@ -19,8 +21,6 @@ import java.util.Optional;
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.cxf.helpers.IOUtils;
-import org.apache.cxf.io.CachedOutputStream;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
@@ -70,6 +70,11 @@ public class HpcProfileInterceptor extends AbstractPhaseInterceptor<Message> {
 	@Value("#{'${hpc.ws.rs.profile.excludeJsonURI:}'.split(',')}")
 	private List<String> excludeJsonURI = null;
 
+	// The max size (in bytes) of a request JSON body stored in the audit table.
+	// Larger bodies are truncated. 0 disables storing the JSON body.
+	@Value("${hpc.ws.rs.profile.jsonBodyMaxSize:32000}")
+	private int jsonBodyMaxSize = 0;
+
 	// The Logger instance.
 	private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
@@ -137,26 +142,16 @@ public class HpcProfileInterceptor extends AbstractPhaseInterceptor<Message> {
 			
 			String contentType = (String) message.get(Message.CONTENT_TYPE);
 
-		    if (contentType != null) {
+		    if (contentType != null && jsonBodyMaxSize > 0) {
 		    	if (!"GET".equalsIgnoreCase(request.getMethod()) && contentType.toLowerCase().startsWith("application/json") && !skipJson(serviceURI)) {
-		    		try {
-		                InputStream is = message.getContent(InputStream.class);
-		                if (is != null) {
-		                    CachedOutputStream cos = new CachedOutputStream();
-		                    IOUtils.copy(is, cos);
-		                    cos.flush();
-
-		                    // Read the content as a String (assuming UTF-8 for JSON)
-		                    String jsonBody = IOUtils.toString(cos.getInputStream(), "UTF-8");
-		                    message.getExchange().put(SERVICE_JSON_MC_ATTRIBUTE, jsonBody);
-
-		                    // Re-set the input stream on the message so subsequent interceptors can still read it
-		                    message.setContent(InputStream.class, new ByteArrayInputStream(cos.getBytes()));
-		                    cos.close();
-		                }
-		            } catch (IOException e) {
-		            	logger.error("failed to parse json content for API call audit record", e);
-		            }
+		    		InputStream is = message.getContent(InputStream.class);
+		    		if (is != null) {
+		    			// Capture (up to the max size) the JSON body while the service reads it, so the
+		    			// request payload is not buffered in memory.
+		    			HpcJsonBodyCaptureInputStream captureInputStream = new HpcJsonBodyCaptureInputStream(is, jsonBodyMaxSize);
+		    			message.setContent(InputStream.class, captureInputStream);
+		    			message.getExchange().put(SERVICE_JSON_MC_ATTRIBUTE, captureInputStream);
+		    		}
 	            } 
 		    }
 			
@@ -198,7 +193,9 @@ public class HpcProfileInterceptor extends AbstractPhaseInterceptor<Message> {
 			String responseCode = Optional.ofNullable(message.get(Message.RESPONSE_CODE)).orElse("Unknown").toString();
 			String userId = authenticationResponse != null ? authenticationResponse.getUserId() : "Unknown";
 
-			String jsonBody = (String) message.getExchange().get(SERVICE_JSON_MC_ATTRIBUTE);
+			HpcJsonBodyCaptureInputStream captureInputStream = (HpcJsonBodyCaptureInputStream) message.getExchange()
+					.get(SERVICE_JSON_MC_ATTRIBUTE);
+			String jsonBody = captureInputStream != null ? captureInputStream.getCapturedBody() : null;
     
 			try {
 				securityBusService.addApiCallAuditRecord(userId, serviceMethod, serviceURI, responseCode, serverId,
@@ -216,4 +213,79 @@ public class HpcProfileInterceptor extends AbstractPhaseInterceptor<Message> {
 			      .anyMatch(str -> StringUtils.isNotEmpty(str) && uri.contains(str));
 
 	}
+
+	/**
+	 * An input stream that captures the first bytes (up to a max size) read from
+	 * the request JSON body.
+	 */
+	private static class HpcJsonBodyCaptureInputStream extends FilterInputStream {
+		// The captured JSON body.
+		private ByteArrayOutputStream capturedBody = new ByteArrayOutputStream();
+
+		// The max number of bytes to capture.
+		private int maxSize = 0;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param in      The request input stream.
+		 * @param maxSize The max number of bytes to capture.
+		 */
+		private HpcJsonBodyCaptureInputStream(InputStream in, int maxSize) {
+			super(in);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1 && capturedBody.size() < maxSize) {
+				capturedBody.write(b);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int count = super.read(b, off, len);
+			if (count > 0 && capturedBody.size() < maxSize) {
+				capturedBody.write(b, off, Math.min(count, maxSize - capturedBody.size()));
+			}
+			return count;
+		}
+
+		/**
+		 * Get the captured JSON body. If the body was truncated in the middle of a
+		 * multi-byte UTF-8 character, the partial character is dropped.
+		 *
+		 * @return The captured JSON body (UTF-8), or null if nothing was read.
+		 */
+		private String getCapturedBody() {
+			byte[] body = capturedBody.toByteArray();
+			int length = body.length >= maxSize ? utf8Length(body) : body.length;
+			return length > 0 ? new String(body, 0, length, StandardCharsets.UTF_8) : null;
+		}
+
+		/**
+		 * Get the length of a UTF-8 byte array excluding a trailing incomplete
+		 * character.
+		 *
+		 * @param bytes The UTF-8 bytes.
+		 * @return The length of the bytes that end on a character boundary.
+		 */
+		private static int utf8Length(byte[] bytes) {
+			// Find the lead byte of the last character (skip up to 3 continuation bytes).
+			int lead = bytes.length - 1;
+			while (lead > 0 && bytes.length - lead < 4 && (bytes[lead] & 0xC0) == 0x80) {
+				lead--;
+			}
+			if (lead < 0) {
+				return 0;
+			}
+
+			int leadByte = bytes[lead] & 0xFF;
+			int charLength = leadByte < 0x80 ? 1 : leadByte >= 0xF0 ? 4 : leadByte >= 0xE0 ? 3 : leadByte >= 0xC0 ? 2 : 1;
+			return lead + charLength <= bytes.length ? bytes.length : lead;
+		}
+	}
 }
@@ -9,23 +9,38 @@
 package gov.nih.nci.hpc.ws.rs.interceptor;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.cxf.interceptor.security.AccessDeniedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.apache.commons.lang3.StringUtils;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
 import org.apache.cxf.security.SecurityContext;
+import org.apache.cxf.transport.http.AbstractHTTPDestination;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import gov.nih.nci.hpc.bus.HpcSecurityBusService;
+import gov.nih.nci.hpc.domain.error.HpcErrorType;
+import gov.nih.nci.hpc.dto.error.HpcExceptionDTO;
 import gov.nih.nci.hpc.dto.security.HpcAuthenticationResponseDTO;
 import gov.nih.nci.hpc.exception.HpcException;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
 
 /**
  * HPC User Rate Limit Interceptor.
@@ -49,10 +64,21 @@ public class HpcUserRateLimitInterceptor extends AbstractPhaseInterceptor<Messag
 	@Value("${hpc.ws.rs.auth.userRateLimitDurationSeconds}")
 	private Integer userRateLimitDurationSeconds = null;
 
+	// Cluster mode - share the user buckets w/ all servers via the DB.
+	@Value("${hpc.ws.rs.auth.userRateLimitClusterMode:false}")
+	private Boolean userRateLimitClusterMode = null;
+
 	// The Security Business Service instance.
 	@Autowired
 	private HpcSecurityBusService securityBusService = null;
-	
+
+	// The user buckets (local mode). Buckets of idle users are evicted.
+	private Cache<String, Bucket> buckets = null;
+
+	// The endpoint costs (number of tokens a call consumes). Calls to other
+	// endpoints cost 1 token.
+	private List<HpcEndpointCost> endpointCosts = new ArrayList<>();
+
 	// The logger instance.
 	private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
@@ -60,9 +86,34 @@ public class HpcUserRateLimitInterceptor extends AbstractPhaseInterceptor<Messag
 	// Constructors
 	// ---------------------------------------------------------------------//
 
-	/** Constructor for Spring Dependency Injection. */
-	public HpcUserRateLimitInterceptor() {
+	/**
+	 * Constructor for Spring Dependency Injection.
+	 *
+	 * @param maxUsers      The max number of user buckets kept (local mode).
+	 * @param idleMinutes   The time (in minutes) a user bucket is kept after the
+	 *                      user's last call (local mode).
+	 * @param endpointCosts A comma separated list of endpoint costs, each in the
+	 *                      format '&lt;HTTP method&gt; &lt;URI&gt;=&lt;tokens&gt;'.
+	 *                      A call matches an endpoint if the HTTP method is the
+	 *                      same and the request URI contains the endpoint URI.
+	 *                      The first match applies.
+	 * @throws HpcException If an endpoint cost is invalid.
+	 */
+	private HpcUserRateLimitInterceptor(int maxUsers, int idleMinutes, String endpointCosts) throws HpcException {
 		super(Phase.RECEIVE);
+
+		buckets = CacheBuilder.newBuilder().maximumSize(maxUsers).expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+				.build();
+
+		for (String endpointCost : StringUtils.split(StringUtils.defaultString(endpointCosts), ',')) {
+			String[] endpointCostParts = StringUtils.split(endpointCost.trim(), " =");
+			if (endpointCostParts.length != 3 || !StringUtils.isNumeric(endpointCostParts[2])) {
+				throw new HpcException("Invalid user rate limit endpoint cost: " + endpointCost,
+						HpcErrorType.SPRING_CONFIGURATION_ERROR);
+			}
+			this.endpointCosts.add(new HpcEndpointCost(endpointCostParts[0], endpointCostParts[1],
+					Long.parseLong(endpointCostParts[2])));
+		}
 	}
 
 	// ---------------------------------------------------------------------//
@@ -72,13 +123,12 @@ public class HpcUserRateLimitInterceptor extends AbstractPhaseInterceptor<Messag
 	// ---------------------------------------------------------------------//
 	// AbstractPhaseInterceptor<Message> Interface Implementation
 	// ---------------------------------------------------------------------//
-	private final Map<String, Bucket> buckets = new HashMap<>();
 
 	@Override
 	public void handleMessage(Message message) {
 		// Check if User Rate Limit is enabled
 		if (enableUserRateLimit) {
-			
+
 			// Get User information
 			SecurityContext sc = message.get(SecurityContext.class);
 			HpcAuthenticationResponseDTO authenticationResponse = null;
@@ -90,13 +140,21 @@ public class HpcUserRateLimitInterceptor extends AbstractPhaseInterceptor<Messag
 				logger.error("Failed to get authentication response", e);
 			}
 
+			if (authenticationResponse == null || authenticationResponse.getUserId() == null) {
+				return;
+			}
 			String userId = authenticationResponse.getUserId();
 
 			// Check role if system admin
-			if (!sc.isUserInRole("SYSTEM_ADMIN")) {
+			if (sc == null || !sc.isUserInRole("SYSTEM_ADMIN")) {
+				HttpServletRequest request = (HttpServletRequest) message.get(AbstractHTTPDestination.HTTP_REQUEST);
+				long tokens = getEndpointCost(request.getMethod(), request.getRequestURI());
 
-				if (isUserRateLimitExceeded(userId)) {
-					throw new AccessDeniedException("Too Many Requests.");
+				long retryAfter = consume(userId, tokens);
+				if (retryAfter > 0) {
+					logger.info("User rate limit exceeded: {} {} {} - retry after {} seconds", userId,
+							request.getMethod(), request.getRequestURI(), retryAfter);
+					throw new WebApplicationException(tooManyRequests(retryAfter));
 				}
 			}
 		}
@@ -106,21 +164,49 @@ public class HpcUserRateLimitInterceptor extends AbstractPhaseInterceptor<Messag
 	// Helper Methods
 	// ---------------------------------------------------------------------//
 
-	private boolean isUserRateLimitExceeded(String userId) {
-		// Get bucket for a specific user
-		Bucket userBucket = getBucket(userId);
-		// Check if the user can make a request
-		if (userBucket.tryConsume(1)) {
-			return false;
+	/**
+	 * Consume tokens from the user bucket.
+	 *
+	 * @param userId The user ID.
+	 * @param tokens The number of tokens to consume.
+	 * @return 0 if the tokens were consumed, otherwise the time (in seconds) to
+	 *         wait until enough tokens are available.
+	 */
+	private long consume(String userId, long tokens) {
+		// A call costing more than the bucket capacity consumes the entire bucket.
+		tokens = Math.min(tokens, userRateLimitMaxRequest);
+
+		long retryAfterMillis = 0;
+		if (userRateLimitClusterMode) {
+			try {
+				retryAfterMillis = securityBusService.consumeUserRateLimitTokens(userId, tokens,
+						userRateLimitMaxRequest, userRateLimitDurationSeconds);
+
+			} catch (HpcException e) {
+				// Don't reject calls if the shared buckets are not available.
+				logger.error("Failed to consume user rate limit tokens: {}", userId, e);
+			}
+		} else {
+			ConsumptionProbe probe = getBucket(userId).tryConsumeAndReturnRemaining(tokens);
+			if (!probe.isConsumed()) {
+				retryAfterMillis = TimeUnit.NANOSECONDS.toMillis(probe.getNanosToWaitForRefill());
+			}
 		}
-		return true;
+
+		return retryAfterMillis > 0 ? Math.max(1, (long) Math.ceil(retryAfterMillis / 1000.0)) : 0;
 	}
 
 	private Bucket getBucket(String userId) {
-		return buckets.computeIfAbsent(userId, this::createBucket);
+		try {
+			return buckets.get(userId, this::createBucket);
+
+		} catch (ExecutionException e) {
+			// Creating a bucket doesn't throw checked exceptions.
+			throw new IllegalStateException(e.getCause());
+		}
 	}
 
-	private Bucket createBucket(String userId) {
+	private Bucket createBucket() {
 		// Create a new bucket for the given userId
 		// Bandwidth defines the maximum count of tokens which can be held by bucket.
 		// Setting capacity and refill tokens per duration to be the same which will
@@ -130,4 +216,51 @@ public class HpcUserRateLimitInterceptor extends AbstractPhaseInterceptor<Messag
 						.refillGreedy(userRateLimitMaxRequest, Duration.ofSeconds(userRateLimitDurationSeconds)))
 				.build();
 	}
+
+	/**
+	 * Get the number of tokens a call consumes.
+	 *
+	 * @param method The HTTP method.
+	 * @param uri    The request URI.
+	 * @return The cost of the first matching endpoint, or 1 if no endpoint
+	 *         matched.
+	 */
+	private long getEndpointCost(String method, String uri) {
+		for (HpcEndpointCost endpointCost : endpointCosts) {
+			if (endpointCost.method.equalsIgnoreCase(method) && StringUtils.contains(uri, endpointCost.uri)) {
+				return endpointCost.tokens;
+			}
+		}
+		return 1;
+	}
+
+	/**
+	 * Create a 'Too Many Requests' (429) response.
+	 *
+	 * @param retryAfter The time (in seconds) to wait before calling again.
+	 * @return The response.
+	 */
+	private Response tooManyRequests(long retryAfter) {
+		HpcExceptionDTO exceptionDTO = new HpcExceptionDTO();
+		exceptionDTO.setMessage("Too Many Requests. Retry after " + retryAfter + " seconds.");
+		exceptionDTO.setErrorType(HpcErrorType.REQUEST_REJECTED);
+
+		return Response.status(Response.Status.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, retryAfter)
+				.entity(exceptionDTO).type(MediaType.APPLICATION_JSON_TYPE).build();
+	}
+
+	/**
+	 * The number of tokens a call to an endpoint consumes.
+	 */
+	private static class HpcEndpointCost {
+		private String method = null;
+		private String uri = null;
+		private long tokens = 0;
+
+		private HpcEndpointCost(String method, String uri, long tokens) {
+			this.method = method;
+			this.uri = uri;
+			this.tokens = tokens;
+		}
+	}
 }
@@ -4,8 +4,8 @@ package gov.nih.nci.hpc.web.util;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,8 +38,10 @@ public class ExcelExportProc {
     public static final String XLS_MIMETYPE = "application/vnd.ms-excel";
 
     public void doExport(HttpServletRequest request, HttpServletResponse response) throws IOException {
-		XSSFWorkbook wb = new XSSFWorkbook();
-		XSSFSheet s = wb.createSheet("Sheet1");
+		// Streaming workbook - only the last SXSSFWorkbook.DEFAULT_WINDOW_SIZE rows are kept in memory.
+		SXSSFWorkbook wb = new SXSSFWorkbook(SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+		wb.setCompressTempFiles(true);
+		Sheet s = wb.createSheet("Sheet1");
 		Row r = null;
 		Date currentDate = new Date();
 		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -73,7 +75,13 @@ public class ExcelExportProc {
             }
         }
 
-        wb.write(response.getOutputStream());
+        try {
+            wb.write(response.getOutputStream());
+        } finally {
+            // Delete the temporary files backing the workbook.
+            wb.dispose();
+            wb.close();
+        }
     }
 
     /**